@@ -0,0 +1,78 @@
+package com.docflow.banking;
+
+import com.docflow.matching.StatementMatcher;
+import org.openjdk.jmh.annotations.*;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of camt.053 reconciliation without the database: one operation indexes the
+ * open invoices, streams a whole statement from memory and matches every credit. Entries
+ * quote an invoice number, name the client or carry only an amount in equal parts, so all
+ * three lookups are exercised. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatementReconciliationBenchmark {
+
+    @Param({"10000", "100000"})
+    public int entries;
+
+    private byte[] statement;
+
+    @Setup
+    public void setUp() {
+        StringBuilder xml = new StringBuilder(entries * 400)
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+                .append("<Document xmlns=\"urn:iso:std:iso:20022:tech:xsd:camt.053.001.02\"><BkToCstmrStmt>")
+                .append("<GrpHdr><MsgId>STMT-BENCH</MsgId></GrpHdr><Stmt><Id>STMT-1</Id>")
+                .append("<Acct><Id><IBAN>DE89370400440532013000</IBAN></Id></Acct>");
+        for (int i = 0; i < entries; i++) {
+            xml.append("<Ntry><Amt Ccy=\"EUR\">").append(amount(i).toPlainString()).append("</Amt>")
+                    .append("<CdtDbtInd>CRDT</CdtDbtInd><Sts>BOOK</Sts>")
+                    .append("<BookgDt><Dt>2024-12-01</Dt></BookgDt><AcctSvcrRef>REF-").append(i)
+                    .append("</AcctSvcrRef><NtryDtls><TxDtls><RltdPties><Dbtr><Nm>")
+                    .append(i % 3 == 1 ? "Client " + i : "Payer " + i)
+                    .append("</Nm></Dbtr></RltdPties><RmtInf><Ustrd>")
+                    .append(i % 3 == 0 ? "Invoice INV-2024-" + i : "Thank you")
+                    .append("</Ustrd></RmtInf></TxDtls></NtryDtls></Ntry>");
+        }
+        xml.append("</Stmt></BkToCstmrStmt></Document>");
+        statement = xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return Credits matched; one operation is one whole statement
+     */
+    @Benchmark
+    public int reconcile() throws XMLStreamException {
+        StatementMatcher matcher = new StatementMatcher();
+        for (int i = 0; i < entries; i++) {
+            matcher.add(i, "Client " + i, "INV-2024-" + i, "EUR", amount(i));
+        }
+
+        int matched = 0;
+        try (Camt053Reader reader = new Camt053Reader(new ByteArrayInputStream(statement))) {
+            StatementEntry entry;
+            while ((entry = reader.next()) != null) {
+                if (matcher.match(entry).matched()) {
+                    matched++;
+                }
+            }
+        }
+        return matched;
+    }
+
+    // Distinct per invoice, so an amount alone identifies it
+    private static BigDecimal amount(int i) {
+        return BigDecimal.valueOf(10_000 + i, 2);
+    }
+}
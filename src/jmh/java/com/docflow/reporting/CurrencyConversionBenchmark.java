@@ -0,0 +1,99 @@
+package com.docflow.reporting;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Period totals of millions of amounts in eight currencies converted into EUR, each at the
+ * rate of its date, without the database: one operation converts every row. Rows arrive as
+ * the streaming query delivers them (status, currency, epoch day, cents) in random order
+ * over one year, against weekday rates of three years.
+ *
+ * {@code aggregator} is {@link ConvertedTotalsAggregator}; {@code perRow} converts each
+ * amount with {@link FxRateTable#convert} and sums BigDecimals, for comparison. Run with
+ * {@code ./gradlew jmh}; add {@code -prof gc} to see that the aggregator allocates nothing
+ * per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CurrencyConversionBenchmark {
+
+    private static final String[] CURRENCIES = {"EUR", "USD", "GBP", "CHF", "JPY", "SEK", "PLN", "CAD"};
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 12, 31);
+    private static final int STATUSES = 6;
+
+    @Param({"1000000", "5000000"})
+    public int rows;
+
+    private FxRateTable rates;
+    private int[] statuses;
+    private String[] currencies;
+    private long[] days;
+    private long[] cents;
+
+    @Setup
+    public void setUp() {
+        FxRateTable.Builder builder = FxRateTable.builder("EUR");
+        for (int c = 1; c < CURRENCIES.length; c++) {
+            for (LocalDate date = FROM.minusYears(2); !date.isAfter(TO); date = date.plusDays(1)) {
+                if (date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                    builder.add(CURRENCIES[c], date, BigDecimal.valueOf(c * 100_000L + date.getDayOfYear(), 5));
+                }
+            }
+        }
+        rates = builder.build();
+
+        Random random = new Random(42);
+        int period = (int) (TO.toEpochDay() - FROM.toEpochDay() + 1);
+        statuses = new int[rows];
+        currencies = new String[rows];
+        days = new long[rows];
+        cents = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            statuses[i] = random.nextInt(STATUSES);
+            // A new String per row, like the driver returns
+            currencies[i] = new String(CURRENCIES[random.nextInt(CURRENCIES.length)]);
+            days[i] = FROM.toEpochDay() + random.nextInt(period);
+            cents[i] = 100 + random.nextInt(10_000_000);
+        }
+    }
+
+    /**
+     * @return The converted total of the first status
+     */
+    @Benchmark
+    public BigDecimal aggregator() {
+        ConvertedTotalsAggregator aggregator = new ConvertedTotalsAggregator(FROM, TO, STATUSES);
+        for (int i = 0; i < rows; i++) {
+            aggregator.add(statuses[i], currencies[i], days[i], cents[i]);
+        }
+        return aggregator.convert(rates, "EUR").groups().get(0).convertedAmount();
+    }
+
+    /**
+     * @return The converted total of the first status
+     */
+    @Benchmark
+    public BigDecimal perRow() {
+        BigDecimal[] totals = new BigDecimal[STATUSES];
+        Arrays.fill(totals, BigDecimal.ZERO);
+        for (int i = 0; i < rows; i++) {
+            BigDecimal converted = rates.convert(BigDecimal.valueOf(cents[i], 2), currencies[i], "EUR",
+                    LocalDate.ofEpochDay(days[i]));
+            totals[statuses[i]] = totals[statuses[i]].add(converted);
+        }
+        return totals[0].setScale(2, RoundingMode.HALF_EVEN);
+    }
+}
@@ -0,0 +1,148 @@
+package com.docflow.specification;
+
+import com.docflow.domain.entity.*;
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import com.docflow.dto.filter.InvoiceFilterCriteria;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.query.Query;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares Specification-based filtering (Criteria tree built and translated per call)
+ * with precompiled {@link FilterQueryTemplate} JPQL (translation served from the query plan cache).
+ *
+ * Runs against in-memory H2 so the database cost is small and the same for both variants.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterQueryBenchmark {
+
+    private static final int INVOICES = 200;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"status", "vendorAndDates", "all"})
+    public String criteriaShape;
+
+    private SessionFactory sessionFactory;
+    private InvoiceFilterCriteria criteria;
+
+    @Setup
+    public void setUp() {
+        Configuration configuration = new Configuration()
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:filter-bench;MODE=MySQL;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.SHOW_SQL, "false");
+        for (Class<?> entity : List.of(Document.class, InvoiceIn.class, InvoiceOut.class, ExpenseClaim.class,
+                ExpenseItem.class, Reimbursement.class, User.class, Role.class, Employee.class, Vendor.class,
+                Client.class, PurchaseOrderHeader.class, GoodsReceiptNoteHeader.class, Payment.class, PaymentRun.class,
+                BankStatement.class, CreditNote.class, AuditLog.class, DocumentFile.class, DocumentSummary.class)) {
+            configuration.addAnnotatedClass(entity);
+        }
+        sessionFactory = configuration.buildSessionFactory();
+        seed();
+
+        criteria = switch (criteriaShape) {
+            case "status" -> InvoiceFilterCriteria.builder().status(DocumentStatus.PENDING).build();
+            case "vendorAndDates" -> InvoiceFilterCriteria.builder()
+                    .vendorId(1L)
+                    .dateFrom(LocalDate.of(2024, 1, 1))
+                    .dateTo(LocalDate.of(2024, 6, 30))
+                    .build();
+            default -> InvoiceFilterCriteria.builder()
+                    .status(DocumentStatus.PENDING)
+                    .vendorId(1L)
+                    .dateFrom(LocalDate.of(2024, 1, 1))
+                    .dateTo(LocalDate.of(2024, 12, 31))
+                    .amountMin(new BigDecimal("10.00"))
+                    .amountMax(new BigDecimal("5000.00"))
+                    .currency("USD")
+                    .invoiceNo("inv")
+                    .build();
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<InvoiceIn> specification() {
+        try (Session session = sessionFactory.openSession()) {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+            CriteriaQuery<InvoiceIn> query = cb.createQuery(InvoiceIn.class);
+            Root<InvoiceIn> root = query.from(InvoiceIn.class);
+            root.fetch("vendor", JoinType.LEFT);
+            root.fetch("ownerUser", JoinType.LEFT);
+            query.where(InvoiceInSpecification.withFilters(criteria).toPredicate(root, query, cb));
+            query.orderBy(cb.desc(root.get("createdAt")));
+
+            return session.createQuery(query)
+                    .setFirstResult(0)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+        }
+    }
+
+    @Benchmark
+    public List<InvoiceIn> template() {
+        try (Session session = sessionFactory.openSession()) {
+            FilterQueryTemplate.BoundQuery bound = InvoiceInSpecification.TEMPLATE.bind(criteria);
+            Query<InvoiceIn> query = session.createQuery(
+                    bound.shape().selectJpql() + " ORDER BY i.createdAt DESC", InvoiceIn.class);
+            bound.parameters().forEach(query::setParameter);
+
+            return query.setFirstResult(0)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+        }
+    }
+
+    private void seed() {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+
+            User owner = User.builder().name("Bench User").email("bench@docflow.com").build();
+            session.persist(owner);
+            Vendor vendor = Vendor.builder().name("Bench Vendor").build();
+            session.persist(vendor);
+
+            DocumentStatus[] statuses = DocumentStatus.values();
+            for (int i = 0; i < INVOICES; i++) {
+                BigDecimal amount = BigDecimal.valueOf(50 + i * 10L, 0);
+                session.persist(InvoiceIn.builder()
+                        .docType(DocumentType.INVOICE_IN)
+                        .status(statuses[i % statuses.length])
+                        .ownerUser(owner)
+                        .vendor(vendor)
+                        .invoiceNo("INV-BENCH-" + i)
+                        .invoiceDate(LocalDate.of(2024, 1, 1).plusDays(i))
+                        .currency("USD")
+                        .subtotal(amount)
+                        .tax(BigDecimal.ZERO)
+                        .total(amount)
+                        .build());
+            }
+
+            session.getTransaction().commit();
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.docflow.banking;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Reads an ISO 20022 bank-to-customer statement (camt.053) with a StAX reader, one entry at
+ * a time, so memory use does not grow with the statement size.
+ *
+ * Elements are matched by local name and parent, which covers camt.053.001.02 up to .08
+ * (the entry status moved into a code element in later versions). A batch-booked entry
+ * whose transactions each carry an amount is returned as one {@link StatementEntry} per
+ * transaction; otherwise an entry is returned once, with the remittance lines of all its
+ * transactions. Only the first statement's id and account are kept. DTDs and external
+ * entities are not processed.
+ */
+public final class Camt053Reader implements AutoCloseable {
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final XMLStreamReader xml;
+    // Open elements above the current one, root first
+    private final List<String> path = new ArrayList<>();
+    private final Deque<StatementEntry> ready = new ArrayDeque<>();
+
+    private String messageId;
+    private String statementId;
+    private String accountIban;
+    private EntryBuilder entry;
+    private TransactionBuilder transaction;
+
+    /**
+     * Opens a statement and reads up to its first entry.
+     *
+     * @throws IllegalArgumentException if the document is not a camt.053 statement
+     */
+    public Camt053Reader(InputStream in) throws XMLStreamException {
+        this.xml = INPUT_FACTORY.createXMLStreamReader(in);
+        advance();
+    }
+
+    /**
+     * @return The next entry, or null at the end of the statement
+     * @throws IllegalArgumentException if an entry has an invalid amount or date
+     */
+    public StatementEntry next() throws XMLStreamException {
+        advance();
+        return ready.poll();
+    }
+
+    public String getMessageId() {
+        return messageId;
+    }
+
+    public String getStatementId() {
+        return statementId;
+    }
+
+    public String getAccountIban() {
+        return accountIban;
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        xml.close();
+    }
+
+    private void advance() throws XMLStreamException {
+        while (ready.isEmpty() && xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                start(xml.getLocalName());
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                end(path.remove(path.size() - 1));
+            }
+        }
+    }
+
+    private void start(String name) throws XMLStreamException {
+        if (path.isEmpty() && !name.equals("Document")
+                || path.size() == 1 && !name.equals("BkToCstmrStmt")) {
+            throw new IllegalArgumentException("Not a camt.053 statement: unexpected element " + name);
+        }
+
+        String parent = parent(0);
+        switch (name) {
+            case "MsgId" -> {
+                if (parent.equals("GrpHdr")) {
+                    messageId = text();
+                    return;
+                }
+            }
+            case "Id" -> {
+                if (parent.equals("Stmt")) {
+                    String id = text();
+                    statementId = statementId != null ? statementId : id;
+                    return;
+                }
+            }
+            case "IBAN" -> {
+                if (parent.equals("Id") && parent(1).equals("Acct") && parent(2).equals("Stmt")) {
+                    String iban = text();
+                    accountIban = accountIban != null ? accountIban : iban;
+                    return;
+                }
+            }
+            case "Ntry" -> entry = new EntryBuilder();
+            case "TxDtls" -> {
+                if (entry != null) {
+                    transaction = new TransactionBuilder();
+                }
+            }
+            default -> {
+                if (entry != null && readEntryField(name, parent)) {
+                    return;
+                }
+            }
+        }
+        path.add(name);
+    }
+
+    /**
+     * Reads a field of the current entry or transaction.
+     *
+     * @return True if the element was consumed
+     */
+    private boolean readEntryField(String name, String parent) throws XMLStreamException {
+        if (transaction != null) {
+            switch (name) {
+                case "Amt" -> {
+                    if (parent.equals("TxAmt") || parent.equals("TxDtls")) {
+                        transaction.currency = xml.getAttributeValue(null, "Ccy");
+                        transaction.amount = amount(text());
+                        return true;
+                    }
+                }
+                case "EndToEndId" -> {
+                    if (parent.equals("Refs")) {
+                        String id = text();
+                        transaction.endToEndId = id.equals("NOTPROVIDED") ? null : id;
+                        return true;
+                    }
+                }
+                case "Nm" -> {
+                    boolean debtor = parent.equals("Dbtr") && parent(1).equals("RltdPties")
+                            || parent.equals("Pty") && parent(1).equals("Dbtr") && parent(2).equals("RltdPties");
+                    if (debtor) {
+                        transaction.debtorName = text();
+                        return true;
+                    }
+                }
+                case "Ustrd" -> {
+                    if (parent.equals("RmtInf")) {
+                        transaction.remittance.add(text());
+                        return true;
+                    }
+                }
+                case "Ref" -> {
+                    if (parent.equals("CdtrRefInf")) {
+                        transaction.structuredReference = text();
+                        return true;
+                    }
+                }
+                default -> {
+                }
+            }
+            return false;
+        }
+
+        switch (name) {
+            case "Amt" -> {
+                if (parent.equals("Ntry")) {
+                    entry.currency = xml.getAttributeValue(null, "Ccy");
+                    entry.amount = amount(text());
+                    return true;
+                }
+            }
+            case "CdtDbtInd" -> {
+                if (parent.equals("Ntry")) {
+                    entry.credit = text().equals("CRDT");
+                    return true;
+                }
+            }
+            case "Sts" -> {
+                if (parent.equals("Ntry")) {
+                    entry.booked = status().equals("BOOK");
+                    return true;
+                }
+            }
+            case "Dt", "DtTm" -> {
+                if (parent.equals("BookgDt")) {
+                    entry.bookingDate = date(text());
+                    return true;
+                }
+            }
+            case "AcctSvcrRef" -> {
+                if (parent.equals("Ntry")) {
+                    entry.reference = text();
+                    return true;
+                }
+            }
+            case "NtryRef" -> {
+                if (parent.equals("Ntry")) {
+                    String reference = text();
+                    entry.reference = entry.reference != null ? entry.reference : reference;
+                    return true;
+                }
+            }
+            default -> {
+            }
+        }
+        return false;
+    }
+
+    private void end(String name) {
+        if (name.equals("TxDtls") && transaction != null) {
+            entry.transactions.add(transaction);
+            transaction = null;
+        } else if (name.equals("Ntry") && entry != null) {
+            emit(entry);
+            entry = null;
+        }
+    }
+
+    private void emit(EntryBuilder entry) {
+        if (entry.amount == null || entry.currency == null) {
+            throw new IllegalArgumentException("Statement entry without amount at line " + line());
+        }
+
+        List<TransactionBuilder> transactions = entry.transactions;
+        if (transactions.size() > 1 && transactions.stream().allMatch(t -> t.amount != null)) {
+            for (TransactionBuilder t : transactions) {
+                ready.add(new StatementEntry(entry.reference, t.amount, t.currency != null ? t.currency : entry.currency,
+                        entry.credit, entry.booked, entry.bookingDate, t.debtorName, t.structuredReference,
+                        join(t.remittance), t.endToEndId));
+            }
+            return;
+        }
+
+        TransactionBuilder merged = new TransactionBuilder();
+        for (TransactionBuilder t : transactions) {
+            merged.debtorName = merged.debtorName != null ? merged.debtorName : t.debtorName;
+            merged.structuredReference = merged.structuredReference != null
+                    ? merged.structuredReference : t.structuredReference;
+            merged.endToEndId = merged.endToEndId != null ? merged.endToEndId : t.endToEndId;
+            merged.remittance.addAll(t.remittance);
+        }
+        ready.add(new StatementEntry(entry.reference, entry.amount, entry.currency, entry.credit, entry.booked,
+                entry.bookingDate, merged.debtorName, merged.structuredReference, join(merged.remittance),
+                transactions.size() == 1 ? merged.endToEndId : null));
+    }
+
+    // Plain text in camt.053.001.02, a Cd or Prtry element in later versions
+    private String status() throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        String code = null;
+        while (true) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                text.append(xml.getText());
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                code = text();
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return code != null ? code : text.toString().trim();
+            }
+        }
+    }
+
+    private String text() throws XMLStreamException {
+        return xml.getElementText().trim();
+    }
+
+    private BigDecimal amount(String text) {
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount '" + text + "' at line " + line());
+        }
+    }
+
+    // Booking dates come as a date or a date-time
+    private LocalDate date(String text) {
+        try {
+            return LocalDate.parse(text.length() > 10 ? text.substring(0, 10) : text);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid booking date '" + text + "' at line " + line());
+        }
+    }
+
+    private String parent(int level) {
+        int index = path.size() - 1 - level;
+        return index >= 0 ? path.get(index) : "";
+    }
+
+    private int line() {
+        return xml.getLocation().getLineNumber();
+    }
+
+    private static String join(List<String> lines) {
+        return lines.isEmpty() ? null : String.join(" ", lines);
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static final class EntryBuilder {
+        String reference;
+        BigDecimal amount;
+        String currency;
+        boolean credit;
+        boolean booked;
+        LocalDate bookingDate;
+        final List<TransactionBuilder> transactions = new ArrayList<>(1);
+    }
+
+    private static final class TransactionBuilder {
+        BigDecimal amount;
+        String currency;
+        String debtorName;
+        String structuredReference;
+        String endToEndId;
+        final List<String> remittance = new ArrayList<>(1);
+    }
+}
@@ -0,0 +1,203 @@
+package com.docflow.banking;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * Writes an ISO 20022 customer credit transfer initiation (pain.001.001.03) with a StAX
+ * writer, one transfer at a time, so memory use does not grow with the number of
+ * transfers.
+ *
+ * The group header carries the transfer count and control sum, so both must be known
+ * before the first transfer is written; {@link #finish()} fails if the transfers written
+ * do not add up to them. All transfers go into one payment information block debiting
+ * the {@link Debtor} on the requested execution date. Texts are cut to the lengths the
+ * schema allows and amounts are written with two decimals.
+ */
+public final class Pain001Writer implements AutoCloseable {
+
+    public static final String NAMESPACE = "urn:iso:std:iso:20022:tech:xsd:pain.001.001.03";
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    // Max35Text and Max140Text
+    private static final int ID_LENGTH = 35;
+    private static final int TEXT_LENGTH = 140;
+
+    /**
+     * The account debited for all transfers. The BIC is optional.
+     */
+    public record Debtor(String name, String iban, String bic) {
+    }
+
+    public record Header(String messageId, LocalDateTime createdAt, long numberOfTransactions,
+                         BigDecimal controlSum, LocalDate executionDate, Debtor debtor) {
+    }
+
+    /**
+     * One transfer to a creditor account. The BIC and remittance information are optional.
+     */
+    public record CreditTransfer(String endToEndId, BigDecimal amount, String currency, String creditorName,
+                                 String creditorIban, String creditorBic, String remittanceInformation) {
+    }
+
+    private final XMLStreamWriter xml;
+    private final Header header;
+    private long transactions;
+    private BigDecimal sum = BigDecimal.ZERO;
+
+    /**
+     * Writes the document start, group header and debtor. The stream is not closed.
+     */
+    public Pain001Writer(OutputStream out, Header header) throws XMLStreamException {
+        this.xml = OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+        this.header = header;
+
+        xml.writeStartDocument("UTF-8", "1.0");
+        xml.setDefaultNamespace(NAMESPACE);
+        xml.writeStartElement(NAMESPACE, "Document");
+        xml.writeDefaultNamespace(NAMESPACE);
+        xml.writeStartElement("CstmrCdtTrfInitn");
+
+        xml.writeStartElement("GrpHdr");
+        element("MsgId", truncate(header.messageId(), ID_LENGTH));
+        element("CreDtTm", header.createdAt().truncatedTo(ChronoUnit.SECONDS).format(DATE_TIME));
+        element("NbOfTxs", Long.toString(header.numberOfTransactions()));
+        element("CtrlSum", amount(header.controlSum()));
+        xml.writeStartElement("InitgPty");
+        element("Nm", truncate(header.debtor().name(), TEXT_LENGTH));
+        xml.writeEndElement();
+        xml.writeEndElement();
+
+        xml.writeStartElement("PmtInf");
+        element("PmtInfId", truncate(header.messageId(), ID_LENGTH));
+        element("PmtMtd", "TRF");
+        element("NbOfTxs", Long.toString(header.numberOfTransactions()));
+        element("CtrlSum", amount(header.controlSum()));
+        element("ReqdExctnDt", header.executionDate().toString());
+        party("Dbtr", header.debtor().name());
+        account("DbtrAcct", header.debtor().iban());
+        xml.writeStartElement("DbtrAgt");
+        xml.writeStartElement("FinInstnId");
+        if (hasText(header.debtor().bic())) {
+            element("BIC", normalize(header.debtor().bic()));
+        } else {
+            xml.writeStartElement("Othr");
+            element("Id", "NOTPROVIDED");
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+
+    /**
+     * Writes one transfer.
+     *
+     * @throws IllegalArgumentException if the creditor has no IBAN
+     */
+    public void write(CreditTransfer transfer) throws XMLStreamException {
+        if (!hasText(transfer.creditorIban())) {
+            throw new IllegalArgumentException("No creditor IBAN for transfer " + transfer.endToEndId());
+        }
+
+        xml.writeStartElement("CdtTrfTxInf");
+        xml.writeStartElement("PmtId");
+        element("EndToEndId", truncate(transfer.endToEndId(), ID_LENGTH));
+        xml.writeEndElement();
+
+        xml.writeStartElement("Amt");
+        xml.writeStartElement("InstdAmt");
+        xml.writeAttribute("Ccy", transfer.currency().toUpperCase(Locale.ROOT));
+        xml.writeCharacters(amount(transfer.amount()));
+        xml.writeEndElement();
+        xml.writeEndElement();
+
+        if (hasText(transfer.creditorBic())) {
+            xml.writeStartElement("CdtrAgt");
+            xml.writeStartElement("FinInstnId");
+            element("BIC", normalize(transfer.creditorBic()));
+            xml.writeEndElement();
+            xml.writeEndElement();
+        }
+        party("Cdtr", transfer.creditorName());
+        account("CdtrAcct", transfer.creditorIban());
+
+        if (hasText(transfer.remittanceInformation())) {
+            xml.writeStartElement("RmtInf");
+            element("Ustrd", truncate(transfer.remittanceInformation(), TEXT_LENGTH));
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+
+        transactions++;
+        sum = sum.add(transfer.amount().setScale(2, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * Closes all open elements and flushes.
+     *
+     * @throws IllegalStateException if the transfers written differ from the header's count or control sum
+     */
+    public void finish() throws XMLStreamException {
+        if (transactions != header.numberOfTransactions()
+                || sum.compareTo(header.controlSum().setScale(2, RoundingMode.HALF_UP)) != 0) {
+            throw new IllegalStateException(String.format(
+                    "Wrote %d transfers totalling %s, header announced %d totalling %s",
+                    transactions, amount(sum), header.numberOfTransactions(), amount(header.controlSum())));
+        }
+        xml.writeEndDocument();
+        xml.flush();
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        xml.close();
+    }
+
+    private void party(String name, String partyName) throws XMLStreamException {
+        xml.writeStartElement(name);
+        element("Nm", truncate(partyName, TEXT_LENGTH));
+        xml.writeEndElement();
+    }
+
+    private void account(String name, String iban) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeStartElement("Id");
+        element("IBAN", normalize(iban));
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+
+    private void element(String name, String value) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(value);
+        xml.writeEndElement();
+    }
+
+    private static String amount(BigDecimal value) {
+        return value.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    // IBANs and BICs are often entered in groups of four
+    private static String normalize(String code) {
+        return code.replace(" ", "").toUpperCase(Locale.ROOT);
+    }
+
+    private static String truncate(String value, int length) {
+        return value.length() <= length ? value : value.substring(0, length);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,21 @@
+package com.docflow.banking;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One booked movement of a bank statement: an entry, or one transaction of a batch-booked entry.
+ *
+ * @param reference Bank reference of the entry (AcctSvcrRef, else NtryRef), may be null
+ * @param amount Amount, always positive
+ * @param credit True for money received
+ * @param booked True if the entry is booked rather than pending or informational
+ * @param debtorName Name of the payer, may be null
+ * @param structuredReference Creditor reference quoted by the payer, may be null
+ * @param remittanceInformation Unstructured remittance lines joined by spaces, may be null
+ * @param endToEndId End-to-end id set by the payer, may be null
+ */
+public record StatementEntry(String reference, BigDecimal amount, String currency, boolean credit, boolean booked,
+                             LocalDate bookingDate, String debtorName, String structuredReference,
+                             String remittanceInformation, String endToEndId) {
+}
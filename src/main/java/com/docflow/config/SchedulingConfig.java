@@ -0,0 +1,12 @@
+package com.docflow.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables background jobs (scan sweeps, reconciliation).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -52,6 +52,8 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/oauth2/**", "/login/oauth2/**").permitAll()
                 .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                // Pre-signed attachment downloads carry their own HMAC credential
+                .requestMatchers("/api/files/signed/**").permitAll()
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
             )
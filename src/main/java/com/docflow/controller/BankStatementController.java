@@ -0,0 +1,69 @@
+package com.docflow.controller;
+
+import com.docflow.domain.entity.User;
+import com.docflow.dto.filter.PageResponse;
+import com.docflow.dto.payment.BankStatementImportResponse;
+import com.docflow.dto.payment.StatementReviewItemResponse;
+import com.docflow.dto.payment.StatementReviewResolveRequest;
+import com.docflow.security.SecurityUtils;
+import com.docflow.service.BankStatementService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/bank-statements")
+@RequiredArgsConstructor
+public class BankStatementController {
+
+    private final BankStatementService bankStatementService;
+    private final SecurityUtils securityUtils;
+
+    /**
+     * Imports a camt.053 statement from the request body, streamed, and pays the outgoing invoices it matches.
+     */
+    @PostMapping(value = "/camt053", consumes = {"application/xml", "text/xml"})
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public ResponseEntity<BankStatementImportResponse> importCamt053(InputStream body) {
+        User currentUser = securityUtils.getCurrentUser();
+        BankStatementImportResponse response = bankStatementService.importCamt053(body, currentUser);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Statement credits waiting for review, oldest first.
+     */
+    @GetMapping("/review")
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public ResponseEntity<PageResponse<StatementReviewItemResponse>> getReviewItems(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        PageRequest pageable = PageRequest.of(page, size, Sort.by("id"));
+        return ResponseEntity.ok(bankStatementService.getOpenReviewItems(pageable));
+    }
+
+    @PostMapping("/review/{id}/resolve")
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public ResponseEntity<StatementReviewItemResponse> resolve(
+            @PathVariable Long id,
+            @Valid @RequestBody StatementReviewResolveRequest request
+    ) {
+        User currentUser = securityUtils.getCurrentUser();
+        return ResponseEntity.ok(bankStatementService.resolve(id, request, currentUser));
+    }
+
+    @PostMapping("/review/{id}/dismiss")
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public ResponseEntity<StatementReviewItemResponse> dismiss(@PathVariable Long id) {
+        User currentUser = securityUtils.getCurrentUser();
+        return ResponseEntity.ok(bankStatementService.dismiss(id, currentUser));
+    }
+}
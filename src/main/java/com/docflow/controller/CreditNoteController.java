@@ -0,0 +1,86 @@
+package com.docflow.controller;
+
+import com.docflow.domain.entity.User;
+import com.docflow.domain.enums.CreditNoteDirection;
+import com.docflow.domain.enums.CreditNoteStatus;
+import com.docflow.dto.creditnote.CreditNoteApplicationResponse;
+import com.docflow.dto.creditnote.CreditNoteApplyRequest;
+import com.docflow.dto.creditnote.CreditNoteBulkApplyRequest;
+import com.docflow.dto.creditnote.CreditNoteRequest;
+import com.docflow.dto.creditnote.CreditNoteResponse;
+import com.docflow.dto.filter.PageResponse;
+import com.docflow.security.SecurityUtils;
+import com.docflow.service.CreditNoteService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/credit-notes")
+@RequiredArgsConstructor
+public class CreditNoteController {
+
+    private final CreditNoteService creditNoteService;
+    private final SecurityUtils securityUtils;
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public ResponseEntity<CreditNoteResponse> createCreditNote(@Valid @RequestBody CreditNoteRequest request) {
+        User currentUser = securityUtils.getCurrentUser();
+        CreditNoteResponse response = creditNoteService.createCreditNote(request, currentUser);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public ResponseEntity<CreditNoteResponse> getCreditNote(@PathVariable Long id) {
+        return ResponseEntity.ok(creditNoteService.getCreditNote(id));
+    }
+
+    /**
+     * Credit notes, newest first, optionally of one direction, vendor, client or status.
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public ResponseEntity<PageResponse<CreditNoteResponse>> getCreditNotes(
+            @RequestParam(required = false) CreditNoteDirection direction,
+            @RequestParam(required = false) Long vendorId,
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) CreditNoteStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        PageRequest pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
+        return ResponseEntity.ok(creditNoteService.getCreditNotes(direction, vendorId, clientId, status, pageable));
+    }
+
+    /**
+     * Applies an open credit note against an approved invoice of its vendor or client.
+     */
+    @PostMapping("/{id}/apply")
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public ResponseEntity<CreditNoteResponse> applyCreditNote(
+            @PathVariable Long id,
+            @Valid @RequestBody CreditNoteApplyRequest request
+    ) {
+        User currentUser = securityUtils.getCurrentUser();
+        return ResponseEntity.ok(creditNoteService.applyCreditNote(id, request, currentUser));
+    }
+
+    /**
+     * Applies many credit notes of one vendor against its approved invoices in one transaction.
+     */
+    @PostMapping("/apply")
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public ResponseEntity<CreditNoteApplicationResponse> applyVendorCreditNotes(
+            @Valid @RequestBody CreditNoteBulkApplyRequest request
+    ) {
+        User currentUser = securityUtils.getCurrentUser();
+        return ResponseEntity.ok(creditNoteService.applyVendorCreditNotes(request, currentUser));
+    }
+}
@@ -0,0 +1,83 @@
+package com.docflow.controller;
+
+import com.docflow.domain.enums.DocumentType;
+import com.docflow.dto.dashboard.AgingReportResponse;
+import com.docflow.dto.dashboard.ConvertedSummaryResponse;
+import com.docflow.dto.dashboard.ConvertedTotalsResponse;
+import com.docflow.dto.dashboard.DashboardSummaryResponse;
+import com.docflow.service.AgingReportService;
+import com.docflow.service.CurrencyReportService;
+import com.docflow.service.DocumentSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DocumentSummaryService documentSummaryService;
+    private final AgingReportService agingReportService;
+    private final CurrencyReportService currencyReportService;
+
+    /**
+     * Get document counts and totals per type, status and currency.
+     * Served from the in-memory summary, so it does not query the database.
+     */
+    @GetMapping("/summary")
+    @PreAuthorize("hasAnyRole('MANAGER', 'FINANCE', 'ADMIN')")
+    public ResponseEntity<DashboardSummaryResponse> getSummary() {
+        return ResponseEntity.ok(documentSummaryService.getSummary());
+    }
+
+    /**
+     * Get the summary with each type and status totalled in one currency, at the rates of
+     * {@code rateDate}, today by default.
+     */
+    @GetMapping("/summary/converted")
+    @PreAuthorize("hasAnyRole('MANAGER', 'FINANCE', 'ADMIN')")
+    public ResponseEntity<ConvertedSummaryResponse> getConvertedSummary(
+            @RequestParam String baseCurrency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate rateDate
+    ) {
+        LocalDate date = rateDate != null ? rateDate : LocalDate.now();
+        return ResponseEntity.ok(currencyReportService.getConvertedSummary(baseCurrency, date));
+    }
+
+    /**
+     * Get totals per status of the invoices dated from {@code from} to {@code to}, each converted
+     * into one currency at the rate of its invoice date.
+     */
+    @GetMapping("/totals")
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public ResponseEntity<ConvertedTotalsResponse> getConvertedTotals(
+            @RequestParam DocumentType docType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam String baseCurrency
+    ) {
+        return ResponseEntity.ok(currencyReportService.getConvertedTotals(docType, from, to, baseCurrency));
+    }
+
+    /**
+     * Get the aging of approved, unpaid invoices: INVOICE_IN for payables, INVOICE_OUT for receivables.
+     * Days past due are counted to {@code asOf}, today by default.
+     */
+    @GetMapping("/aging")
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public ResponseEntity<AgingReportResponse> getAgingReport(
+            @RequestParam DocumentType docType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf
+    ) {
+        LocalDate reportDate = asOf != null ? asOf : LocalDate.now();
+        return ResponseEntity.ok(agingReportService.getAgingReport(docType, reportDate));
+    }
+}
@@ -1,13 +1,15 @@
 package com.docflow.controller;
 
-import com.docflow.domain.entity.Document;
 import com.docflow.domain.entity.User;
 import com.docflow.dto.file.DocumentFileResponse;
 import com.docflow.dto.file.FileUploadResponse;
+import com.docflow.dto.file.SignedUrlResponse;
 import com.docflow.exception.ResourceNotFoundException;
-import com.docflow.repository.DocumentRepository;
 import com.docflow.security.SecurityUtils;
+import com.docflow.security.SignedFileToken;
+import com.docflow.service.DocumentHeaderService;
 import com.docflow.service.FileStorageService;
+import com.docflow.specification.DocumentVisibility;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
@@ -17,8 +19,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/docs")
@@ -26,7 +30,7 @@ import java.util.List;
 public class DocumentFileController {
 
     private final FileStorageService fileStorageService;
-    private final DocumentRepository documentRepository;
+    private final DocumentHeaderService documentHeaderService;
     private final SecurityUtils securityUtils;
 
     @PostMapping("/{docId}/files")
@@ -36,7 +40,8 @@ public class DocumentFileController {
             @RequestParam("file") MultipartFile file
     ) {
         User currentUser = securityUtils.getCurrentUser();
-        FileUploadResponse response = fileStorageService.uploadFile(docId, file, currentUser);
+        FileUploadResponse response = fileStorageService.uploadFile(docId, file, currentUser,
+                securityUtils.getCurrentVisibility());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -45,7 +50,8 @@ public class DocumentFileController {
     public ResponseEntity<List<DocumentFileResponse>> getDocumentFiles(
             @PathVariable Long docId
     ) {
-        List<DocumentFileResponse> files = fileStorageService.getDocumentFiles(docId);
+        List<DocumentFileResponse> files = fileStorageService.getDocumentFiles(docId,
+                securityUtils.getCurrentVisibility());
         return ResponseEntity.ok(files);
     }
 
@@ -55,10 +61,11 @@ public class DocumentFileController {
             @PathVariable Long docId,
             @PathVariable Long fileId
     ) {
-        Resource resource = fileStorageService.downloadFile(docId, fileId);
+        DocumentVisibility visibility = securityUtils.getCurrentVisibility();
+        Resource resource = fileStorageService.downloadFile(docId, fileId, visibility);
         
         // Get file metadata for content type
-        List<DocumentFileResponse> files = fileStorageService.getDocumentFiles(docId);
+        List<DocumentFileResponse> files = fileStorageService.getDocumentFiles(docId, visibility);
         DocumentFileResponse fileMetadata = files.stream()
                 .filter(f -> f.getId().equals(fileId))
                 .findFirst()
@@ -71,6 +78,29 @@ public class DocumentFileController {
                 .body(resource);
     }
 
+    @PostMapping("/{docId}/files/{fileId}/signed-url")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SignedUrlResponse> createSignedUrl(
+            @PathVariable Long docId,
+            @PathVariable Long fileId
+    ) {
+        SignedFileToken signed = fileStorageService.createSignedDownload(docId, fileId,
+                securityUtils.getCurrentVisibility());
+        return ResponseEntity.ok(toSignedUrlResponse(signed));
+    }
+
+    @PostMapping("/{docId}/files/signed-urls")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<SignedUrlResponse>> createSignedUrls(
+            @PathVariable Long docId
+    ) {
+        List<SignedUrlResponse> urls = fileStorageService.createSignedDownloads(docId,
+                        securityUtils.getCurrentVisibility()).stream()
+                .map(this::toSignedUrlResponse)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(urls);
+    }
+
     @DeleteMapping("/{docId}/files/{fileId}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Void> deleteFile(
@@ -79,15 +109,26 @@ public class DocumentFileController {
     ) {
         User currentUser = securityUtils.getCurrentUser();
         
-        // Get document to check ownership
-        Document document = documentRepository.findById(docId)
-                .orElseThrow(() -> new ResourceNotFoundException("Document", docId));
-        
-        Long ownerId = document.getOwnerUser().getId();
+        // Get document owner from the header; the full document is not needed
+        Long ownerId = documentHeaderService.getHeader(docId).ownerUserId();
         
         // Delete file (RBAC enforced in service: owner, admin, or finance)
         fileStorageService.deleteFile(docId, fileId, currentUser, ownerId);
         
         return ResponseEntity.noContent().build();
     }
+
+    private SignedUrlResponse toSignedUrlResponse(SignedFileToken signed) {
+        String url = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path(SignedFileController.BASE_PATH + "/{token}")
+                .buildAndExpand(signed.token())
+                .toUriString();
+
+        return SignedUrlResponse.builder()
+                .fileId(signed.fileId())
+                .originalFilename(signed.originalFilename())
+                .url(url)
+                .expiresAt(signed.expiresAt())
+                .build();
+    }
 }
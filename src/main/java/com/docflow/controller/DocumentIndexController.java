@@ -0,0 +1,43 @@
+package com.docflow.controller;
+
+import com.docflow.domain.entity.User;
+import com.docflow.domain.enums.DocumentScope;
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import com.docflow.dto.filter.CursorPageResponse;
+import com.docflow.dto.search.DocumentListItem;
+import com.docflow.security.SecurityUtils;
+import com.docflow.service.DocumentIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/documents")
+@RequiredArgsConstructor
+public class DocumentIndexController {
+
+    private final DocumentIndexService documentIndexService;
+    private final SecurityUtils securityUtils;
+
+    /**
+     * List documents of every type, newest first, with keyset pagination.
+     * scope=MINE for any user; PENDING for approvers; ALL for finance and admin.
+     */
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPageResponse<DocumentListItem>> listDocuments(
+            @RequestParam(defaultValue = "MINE") DocumentScope scope,
+            @RequestParam(required = false) DocumentType type,
+            @RequestParam(required = false) DocumentStatus status,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        User currentUser = securityUtils.getCurrentUser();
+        CursorPageResponse<DocumentListItem> response = documentIndexService.list(
+                scope, type, status, q, cursor, size, currentUser);
+        return ResponseEntity.ok(response);
+    }
+}
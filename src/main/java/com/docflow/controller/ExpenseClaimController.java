@@ -2,28 +2,38 @@ package com.docflow.controller;
 
 import com.docflow.domain.entity.User;
 import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
 import com.docflow.dto.audit.StatusTransitionRequest;
 import com.docflow.dto.claim.ExpenseClaimRequest;
 import com.docflow.dto.claim.ExpenseClaimResponse;
+import com.docflow.dto.filter.ExpenseClaimFilterCriteria;
+import com.docflow.dto.filter.PageResponse;
+import com.docflow.dto.filter.SliceResponse;
 import com.docflow.security.SecurityUtils;
+import com.docflow.service.DocumentETagService;
 import com.docflow.service.ExpenseClaimService;
+import com.docflow.specification.DocumentVisibility;
+import com.docflow.specification.ExpenseClaimSpecification;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/claims")
 @RequiredArgsConstructor
 public class ExpenseClaimController {
 
     private final ExpenseClaimService expenseClaimService;
+    private final DocumentETagService documentETagService;
     private final SecurityUtils securityUtils;
 
     @PostMapping
@@ -38,28 +48,50 @@ public class ExpenseClaimController {
 
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ExpenseClaimResponse> getClaim(@PathVariable Long id) {
-        ExpenseClaimResponse response = expenseClaimService.getClaimById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<ExpenseClaimResponse> getClaim(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        DocumentVisibility visibility = securityUtils.getCurrentVisibility();
+
+        // Unchanged since the client's copy: answer from the version column alone
+        Optional<String> unchanged = documentETagService.notModified(DocumentType.EXPENSE_CLAIM, id, ifNoneMatch, visibility);
+        if (unchanged.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(unchanged.get())
+                    .cacheControl(DocumentETagService.cacheControl())
+                    .build();
+        }
+
+        ExpenseClaimResponse response = expenseClaimService.getClaimById(id, visibility);
+        return ResponseEntity.ok()
+                .eTag(DocumentETagService.forDocument(response))
+                .cacheControl(DocumentETagService.cacheControl())
+                .body(response);
     }
 
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Page<ExpenseClaimResponse>> getClaims(
+    public ResponseEntity<SliceResponse<ExpenseClaimResponse>> getClaims(
             @RequestParam(required = false) DocumentStatus status,
             @RequestParam(required = false) Long employeeId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(defaultValue = "false") boolean exactCount
     ) {
-        Sort sort = sortDir.equalsIgnoreCase("ASC")
-                ? Sort.by(sortBy).ascending()
-                : Sort.by(sortBy).descending();
+        Sort sort = ExpenseClaimSpecification.SORT.toSort(sortBy, sortDir,
+                employeeId != null ? "employeeId" : null, status != null ? "status" : null);
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<ExpenseClaimResponse> response = expenseClaimService.getClaims(status, employeeId, pageable);
-        return ResponseEntity.ok(response);
+        SliceResponse<ExpenseClaimResponse> response = expenseClaimService.getClaims(status, employeeId, securityUtils.getCurrentVisibility(),
+                pageable, exactCount);
+        // Matching If-None-Match is answered with 304 without serializing the page
+        return ResponseEntity.ok()
+                .eTag(DocumentETagService.forPage(response))
+                .cacheControl(DocumentETagService.cacheControl())
+                .body(response);
     }
 
     @PostMapping("/{id}/submit")
@@ -96,4 +128,23 @@ public class ExpenseClaimController {
         ExpenseClaimResponse response = expenseClaimService.rejectClaim(id, currentUser, request.getNote());
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/filter")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<PageResponse<ExpenseClaimResponse>> filterClaims(
+            @RequestBody ExpenseClaimFilterCriteria criteria,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir
+    ) {
+        Sort sort = ExpenseClaimSpecification.SORT.toSort(sortBy, sortDir,
+                criteria.getEmployeeId() != null ? "employeeId" : null,
+                criteria.getStatus() != null ? "status" : null);
+        Pageable pageable = PageRequest.of(page, size, sort);
+
+        PageResponse<ExpenseClaimResponse> response = expenseClaimService.filterClaims(criteria,
+                securityUtils.getCurrentVisibility(), pageable);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,48 @@
+package com.docflow.controller;
+
+import com.docflow.dto.fx.FxRateImportResponse;
+import com.docflow.dto.fx.FxRateResponse;
+import com.docflow.service.FxRateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/fx-rates")
+@RequiredArgsConstructor
+public class FxRateController {
+
+    private final FxRateService fxRateService;
+
+    /**
+     * Daily rates from a CSV request body (currency, date, rate), streamed; rejected rows are reported, not fatal.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public ResponseEntity<FxRateImportResponse> importRates(InputStream body) throws IOException {
+        return ResponseEntity.ok(fxRateService.importCsv(body));
+    }
+
+    /**
+     * The rate of a currency on a date, today by default: the latest rate on or before it.
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('MANAGER', 'FINANCE', 'ADMIN')")
+    public ResponseEntity<FxRateResponse> getRate(
+            @RequestParam String currency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        LocalDate rateDate = date != null ? date : LocalDate.now();
+        return ResponseEntity.ok(fxRateService.getRate(currency, rateDate));
+    }
+}
@@ -2,31 +2,51 @@ package com.docflow.controller;
 
 import com.docflow.domain.entity.User;
 import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
 import com.docflow.dto.audit.StatusTransitionRequest;
 import com.docflow.dto.filter.InvoiceFilterCriteria;
 import com.docflow.dto.filter.PageResponse;
+import com.docflow.dto.filter.SliceResponse;
+import com.docflow.dto.invoice.InvoiceImportResponse;
 import com.docflow.dto.invoice.InvoiceInRequest;
 import com.docflow.dto.invoice.InvoiceInResponse;
+import com.docflow.dto.invoice.InvoiceMatchResponse;
+import com.docflow.dto.invoice.InvoiceMatchRunResponse;
 import com.docflow.dto.invoice.PaymentRequest;
+import com.docflow.dto.search.InvoiceSearchResponse;
 import com.docflow.security.SecurityUtils;
+import com.docflow.service.DocumentETagService;
+import com.docflow.service.InvoiceImportService;
 import com.docflow.service.InvoiceInService;
+import com.docflow.service.InvoiceMatchService;
+import com.docflow.service.InvoiceSearchService;
+import com.docflow.specification.DocumentVisibility;
+import com.docflow.specification.InvoiceInSpecification;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/invoices/in")
 @RequiredArgsConstructor
 public class InvoiceInController {
 
     private final InvoiceInService invoiceInService;
+    private final InvoiceSearchService invoiceSearchService;
+    private final InvoiceImportService invoiceImportService;
+    private final InvoiceMatchService invoiceMatchService;
+    private final DocumentETagService documentETagService;
     private final SecurityUtils securityUtils;
 
     @PostMapping
@@ -39,30 +59,91 @@ public class InvoiceInController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Bulk import from a CSV request body, streamed; rejected rows are reported, not fatal.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public ResponseEntity<InvoiceImportResponse> importInvoices(InputStream body) throws IOException {
+        User currentUser = securityUtils.getCurrentUser();
+        InvoiceImportResponse response = invoiceImportService.importCsv(body, currentUser);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Runs the three-way match of all PENDING invoices now instead of waiting for the schedule.
+     */
+    @PostMapping("/match")
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public ResponseEntity<InvoiceMatchRunResponse> matchPendingInvoices() {
+        InvoiceMatchRunResponse response = invoiceMatchService.matchPendingInvoices();
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<InvoiceSearchResponse> searchInvoices(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit
+    ) {
+        InvoiceSearchResponse response = invoiceSearchService.searchPayables(query, limit,
+                securityUtils.getCurrentVisibility());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<InvoiceInResponse> getInvoice(@PathVariable Long id) {
-        InvoiceInResponse response = invoiceInService.getInvoiceById(id);
+    public ResponseEntity<InvoiceInResponse> getInvoice(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        DocumentVisibility visibility = securityUtils.getCurrentVisibility();
+
+        // Unchanged since the client's copy: answer from the version column alone
+        Optional<String> unchanged = documentETagService.notModified(DocumentType.INVOICE_IN, id, ifNoneMatch, visibility);
+        if (unchanged.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(unchanged.get())
+                    .cacheControl(DocumentETagService.cacheControl())
+                    .build();
+        }
+
+        InvoiceInResponse response = invoiceInService.getInvoiceById(id, visibility);
+        return ResponseEntity.ok()
+                .eTag(DocumentETagService.forDocument(response))
+                .cacheControl(DocumentETagService.cacheControl())
+                .body(response);
+    }
+
+    @GetMapping("/{id}/match")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<InvoiceMatchResponse> getInvoiceMatch(@PathVariable Long id) {
+        InvoiceMatchResponse response = invoiceMatchService.getMatch(id, securityUtils.getCurrentVisibility());
         return ResponseEntity.ok(response);
     }
 
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Page<InvoiceInResponse>> getInvoices(
+    public ResponseEntity<SliceResponse<InvoiceInResponse>> getInvoices(
             @RequestParam(required = false) DocumentStatus status,
             @RequestParam(required = false) Long vendorId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(defaultValue = "false") boolean exactCount
     ) {
-        Sort sort = sortDir.equalsIgnoreCase("ASC") 
-                ? Sort.by(sortBy).ascending() 
-                : Sort.by(sortBy).descending();
+        Sort sort = InvoiceInSpecification.SORT.toSort(sortBy, sortDir,
+                vendorId != null ? "vendorId" : null, status != null ? "status" : null);
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<InvoiceInResponse> response = invoiceInService.getInvoices(status, vendorId, pageable);
-        return ResponseEntity.ok(response);
+        SliceResponse<InvoiceInResponse> response = invoiceInService.getInvoices(status, vendorId, securityUtils.getCurrentVisibility(),
+                pageable, exactCount);
+        // Matching If-None-Match is answered with 304 without serializing the page
+        return ResponseEntity.ok()
+                .eTag(DocumentETagService.forPage(response))
+                .cacheControl(DocumentETagService.cacheControl())
+                .body(response);
     }
 
     @PutMapping("/{id}")
@@ -128,15 +209,16 @@ public class InvoiceInController {
             @RequestBody InvoiceFilterCriteria criteria,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(required = false) String sortBy,
             @RequestParam(defaultValue = "DESC") String sortDir
     ) {
-        Sort sort = sortDir.equalsIgnoreCase("ASC")
-                ? Sort.by(sortBy).ascending()
-                : Sort.by(sortBy).descending();
+        Sort sort = InvoiceInSpecification.SORT.toSort(sortBy, sortDir,
+                criteria.getVendorId() != null ? "vendorId" : null,
+                criteria.getStatus() != null ? "status" : null);
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        PageResponse<InvoiceInResponse> response = invoiceInService.filterInvoices(criteria, pageable);
+        PageResponse<InvoiceInResponse> response = invoiceInService.filterInvoices(criteria,
+                securityUtils.getCurrentVisibility(), pageable);
         return ResponseEntity.ok(response);
     }
 }
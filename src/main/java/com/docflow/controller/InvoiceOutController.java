@@ -2,29 +2,42 @@ package com.docflow.controller;
 
 import com.docflow.domain.entity.User;
 import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
 import com.docflow.dto.audit.StatusTransitionRequest;
+import com.docflow.dto.filter.InvoiceFilterCriteria;
+import com.docflow.dto.filter.PageResponse;
+import com.docflow.dto.filter.SliceResponse;
 import com.docflow.dto.invoice.InvoiceOutRequest;
 import com.docflow.dto.invoice.InvoiceOutResponse;
 import com.docflow.dto.invoice.PaymentRequest;
+import com.docflow.dto.search.InvoiceSearchResponse;
 import com.docflow.security.SecurityUtils;
+import com.docflow.service.DocumentETagService;
 import com.docflow.service.InvoiceOutService;
+import com.docflow.service.InvoiceSearchService;
+import com.docflow.specification.DocumentVisibility;
+import com.docflow.specification.InvoiceOutSpecification;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/invoices/out")
 @RequiredArgsConstructor
 public class InvoiceOutController {
 
     private final InvoiceOutService invoiceOutService;
+    private final InvoiceSearchService invoiceSearchService;
+    private final DocumentETagService documentETagService;
     private final SecurityUtils securityUtils;
 
     @PostMapping
@@ -37,30 +50,63 @@ public class InvoiceOutController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
-    @GetMapping("/{id}")
+    @GetMapping("/search")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<InvoiceOutResponse> getInvoice(@PathVariable Long id) {
-        InvoiceOutResponse response = invoiceOutService.getInvoiceById(id);
+    public ResponseEntity<InvoiceSearchResponse> searchInvoices(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit
+    ) {
+        InvoiceSearchResponse response = invoiceSearchService.searchReceivables(query, limit,
+                securityUtils.getCurrentVisibility());
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<InvoiceOutResponse> getInvoice(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        DocumentVisibility visibility = securityUtils.getCurrentVisibility();
+
+        // Unchanged since the client's copy: answer from the version column alone
+        Optional<String> unchanged = documentETagService.notModified(DocumentType.INVOICE_OUT, id, ifNoneMatch, visibility);
+        if (unchanged.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(unchanged.get())
+                    .cacheControl(DocumentETagService.cacheControl())
+                    .build();
+        }
+
+        InvoiceOutResponse response = invoiceOutService.getInvoiceById(id, visibility);
+        return ResponseEntity.ok()
+                .eTag(DocumentETagService.forDocument(response))
+                .cacheControl(DocumentETagService.cacheControl())
+                .body(response);
+    }
+
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Page<InvoiceOutResponse>> getInvoices(
+    public ResponseEntity<SliceResponse<InvoiceOutResponse>> getInvoices(
             @RequestParam(required = false) DocumentStatus status,
             @RequestParam(required = false) Long clientId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(defaultValue = "false") boolean exactCount
     ) {
-        Sort sort = sortDir.equalsIgnoreCase("ASC") 
-                ? Sort.by(sortBy).ascending() 
-                : Sort.by(sortBy).descending();
+        Sort sort = InvoiceOutSpecification.SORT.toSort(sortBy, sortDir,
+                clientId != null ? "clientId" : null, status != null ? "status" : null);
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<InvoiceOutResponse> response = invoiceOutService.getInvoices(status, clientId, pageable);
-        return ResponseEntity.ok(response);
+        SliceResponse<InvoiceOutResponse> response = invoiceOutService.getInvoices(status, clientId, securityUtils.getCurrentVisibility(),
+                pageable, exactCount);
+        // Matching If-None-Match is answered with 304 without serializing the page
+        return ResponseEntity.ok()
+                .eTag(DocumentETagService.forPage(response))
+                .cacheControl(DocumentETagService.cacheControl())
+                .body(response);
     }
 
     @PutMapping("/{id}")
@@ -119,4 +165,23 @@ public class InvoiceOutController {
         InvoiceOutResponse response = invoiceOutService.recordPayment(id, request, currentUser);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/filter")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<PageResponse<InvoiceOutResponse>> filterInvoices(
+            @RequestBody InvoiceFilterCriteria criteria,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir
+    ) {
+        Sort sort = InvoiceOutSpecification.SORT.toSort(sortBy, sortDir,
+                criteria.getClientId() != null ? "clientId" : null,
+                criteria.getStatus() != null ? "status" : null);
+        Pageable pageable = PageRequest.of(page, size, sort);
+
+        PageResponse<InvoiceOutResponse> response = invoiceOutService.filterInvoices(criteria,
+                securityUtils.getCurrentVisibility(), pageable);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,73 @@
+package com.docflow.controller;
+
+import com.docflow.domain.entity.User;
+import com.docflow.dto.payment.PaymentRunRequest;
+import com.docflow.dto.payment.PaymentRunResponse;
+import com.docflow.security.SecurityUtils;
+import com.docflow.banking.Pain001Writer;
+import com.docflow.service.PaymentFileService;
+import com.docflow.service.PaymentRunService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/payment-runs")
+@RequiredArgsConstructor
+public class PaymentRunController {
+
+    private final PaymentRunService paymentRunService;
+    private final PaymentFileService paymentFileService;
+    private final SecurityUtils securityUtils;
+
+    /**
+     * Pays all approved incoming invoices due by a date, vendor by vendor, and returns the run summary.
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public ResponseEntity<PaymentRunResponse> startRun(@Valid @RequestBody PaymentRunRequest request) {
+        User currentUser = securityUtils.getCurrentUser();
+        PaymentRunResponse response = paymentRunService.startRun(request, currentUser);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public ResponseEntity<PaymentRunResponse> getRun(@PathVariable Long id) {
+        return ResponseEntity.ok(paymentRunService.getRun(id));
+    }
+
+    /**
+     * Continues a failed run after its last committed chunk.
+     */
+    @PostMapping("/{id}/resume")
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public ResponseEntity<PaymentRunResponse> resumeRun(@PathVariable Long id) {
+        User currentUser = securityUtils.getCurrentUser();
+        PaymentRunResponse response = paymentRunService.resumeRun(id, currentUser);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Downloads the run's pain.001 credit transfer file, written straight to the response.
+     */
+    @GetMapping("/{id}/pain001")
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public void downloadPain001(@PathVariable Long id, HttpServletResponse response) throws IOException {
+        Pain001Writer.Header header = paymentFileService.preparePain001(id);
+
+        response.setContentType(MediaType.APPLICATION_XML_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + header.messageId() + "-pain001.xml\"");
+        paymentFileService.writePain001(id, header, response.getOutputStream());
+    }
+}
@@ -2,29 +2,37 @@ package com.docflow.controller;
 
 import com.docflow.domain.entity.User;
 import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
 import com.docflow.dto.audit.StatusTransitionRequest;
+import com.docflow.dto.filter.SliceResponse;
 import com.docflow.dto.invoice.PaymentRequest;
 import com.docflow.dto.reimbursement.ReimbursementRequest;
 import com.docflow.dto.reimbursement.ReimbursementResponse;
 import com.docflow.security.SecurityUtils;
+import com.docflow.service.DocumentETagService;
 import com.docflow.service.ReimbursementService;
+import com.docflow.specification.DocumentVisibility;
+import com.docflow.specification.ReimbursementSpecification;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/reimbursements")
 @RequiredArgsConstructor
 public class ReimbursementController {
 
     private final ReimbursementService reimbursementService;
+    private final DocumentETagService documentETagService;
     private final SecurityUtils securityUtils;
 
     @PostMapping
@@ -39,28 +47,50 @@ public class ReimbursementController {
 
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ReimbursementResponse> getReimbursement(@PathVariable Long id) {
-        ReimbursementResponse response = reimbursementService.getReimbursementById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<ReimbursementResponse> getReimbursement(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        DocumentVisibility visibility = securityUtils.getCurrentVisibility();
+
+        // Unchanged since the client's copy: answer from the version column alone
+        Optional<String> unchanged = documentETagService.notModified(DocumentType.REIMBURSEMENT, id, ifNoneMatch, visibility);
+        if (unchanged.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(unchanged.get())
+                    .cacheControl(DocumentETagService.cacheControl())
+                    .build();
+        }
+
+        ReimbursementResponse response = reimbursementService.getReimbursementById(id, visibility);
+        return ResponseEntity.ok()
+                .eTag(DocumentETagService.forDocument(response))
+                .cacheControl(DocumentETagService.cacheControl())
+                .body(response);
     }
 
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Page<ReimbursementResponse>> getReimbursements(
+    public ResponseEntity<SliceResponse<ReimbursementResponse>> getReimbursements(
             @RequestParam(required = false) DocumentStatus status,
             @RequestParam(required = false) Long employeeId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(defaultValue = "false") boolean exactCount
     ) {
-        Sort sort = sortDir.equalsIgnoreCase("ASC")
-                ? Sort.by(sortBy).ascending()
-                : Sort.by(sortBy).descending();
+        Sort sort = ReimbursementSpecification.SORT.toSort(sortBy, sortDir,
+                employeeId != null ? "employeeId" : null, status != null ? "status" : null);
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<ReimbursementResponse> response = reimbursementService.getReimbursements(status, employeeId, pageable);
-        return ResponseEntity.ok(response);
+        SliceResponse<ReimbursementResponse> response = reimbursementService.getReimbursements(status, employeeId, securityUtils.getCurrentVisibility(),
+                pageable, exactCount);
+        // Matching If-None-Match is answered with 304 without serializing the page
+        return ResponseEntity.ok()
+                .eTag(DocumentETagService.forPage(response))
+                .cacheControl(DocumentETagService.cacheControl())
+                .body(response);
     }
 
     @PostMapping("/{id}/approve")
@@ -0,0 +1,49 @@
+package com.docflow.controller;
+
+import com.docflow.security.SignedFileToken;
+import com.docflow.security.SignedUrlService;
+import com.docflow.service.FileStorageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Serves attachment downloads for pre-signed URLs.
+ * Public path: the HMAC token is the credential, so no JWT or session is required.
+ */
+@RestController
+@RequestMapping(SignedFileController.BASE_PATH)
+@RequiredArgsConstructor
+public class SignedFileController {
+
+    public static final String BASE_PATH = "/api/files/signed";
+
+    private final SignedUrlService signedUrlService;
+    private final FileStorageService fileStorageService;
+
+    @GetMapping("/{token}")
+    public ResponseEntity<Resource> download(@PathVariable String token) {
+        SignedFileToken signed = signedUrlService.verify(token);
+        Resource resource = fileStorageService.openSignedDownload(signed);
+
+        // The URL is unique per token, so it can be cached for the rest of its lifetime
+        long remainingSeconds = Math.max(0, Duration.between(Instant.now(), signed.expiresAt()).getSeconds());
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(signed.contentType()))
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(remainingSeconds)).cachePrivate())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + signed.originalFilename() + "\"")
+                .body(resource);
+    }
+}
@@ -0,0 +1,54 @@
+package com.docflow.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * An imported camt.053 statement with the outcome of its entries. Matched credits become
+ * payments referring to it; the others are queued as {@link StatementReviewItem}s.
+ */
+@Entity
+@Table(name = "bank_statements")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BankStatement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "message_id", nullable = false, length = 35)
+    private String messageId;
+
+    @Column(name = "statement_id", length = 35)
+    private String statementId;
+
+    @Column(name = "account_iban", length = 34)
+    private String accountIban;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    @Column(name = "matched_count", nullable = false)
+    private long matchedCount;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "skipped_count", nullable = false)
+    private long skippedCount;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "imported_by_user_id", nullable = false)
+    private User importedBy;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
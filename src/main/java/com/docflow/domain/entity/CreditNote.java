@@ -1,6 +1,7 @@
 package com.docflow.domain.entity;
 
 import com.docflow.domain.enums.CreditNoteDirection;
+import com.docflow.domain.enums.CreditNoteStatus;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -8,6 +9,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * A credit issued by a vendor to us or by us to a client. It is OPEN until applied against
+ * one of the counterparty's invoices, whose outstanding balance it then reduces.
+ */
 @Entity
 @Table(name = "credit_notes")
 @Getter
@@ -21,23 +26,55 @@ public class CreditNote {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Invoice the credit note was applied against, null while OPEN
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "related_doc_id", nullable = false)
+    @JoinColumn(name = "related_doc_id")
     private Document relatedDocument;
 
+    // Set for VENDOR credit notes
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "vendor_id")
+    private Vendor vendor;
+
+    // Set for CLIENT credit notes
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id")
+    private Client client;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private CreditNoteDirection direction;
 
+    @Column(nullable = false, length = 3)
+    private String currency;
+
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal amount;
 
+    @Column(length = 100)
+    private String reference;
+
     @Column(columnDefinition = "TEXT")
     private String reason;
 
     @Column(name = "issued_at", nullable = false)
     private LocalDateTime issuedAt;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CreditNoteStatus status;
+
+    @Column(name = "applied_at")
+    private LocalDateTime appliedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "applied_by_user_id")
+    private User appliedBy;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by_user_id")
+    private User createdBy;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -20,8 +20,11 @@ import java.time.LocalDateTime;
 @Inheritance(strategy = InheritanceType.JOINED)
 public class Document {
 
+    // Pooled ids (a table-backed sequence on MySQL) allow JDBC insert batching;
+    // bulk imports draw from the same pool through DocumentIdAllocator
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "document_id")
+    @SequenceGenerator(name = "document_id", sequenceName = "document_id_seq", allocationSize = 100)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -1,5 +1,6 @@
 package com.docflow.domain.entity;
 
+import com.docflow.domain.enums.ScanStatus;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -42,6 +43,17 @@ public class DocumentFile {
     @JoinColumn(name = "uploaded_by", nullable = false)
     private User uploadedBy;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scan_status", nullable = false, length = 20)
+    @Builder.Default
+    private ScanStatus scanStatus = ScanStatus.PENDING;
+
+    @Column(name = "scanned_at")
+    private LocalDateTime scannedAt;
+
+    @Column(name = "scan_detail", length = 255)
+    private String scanDetail;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
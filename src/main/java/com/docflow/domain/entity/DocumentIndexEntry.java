@@ -0,0 +1,57 @@
+package com.docflow.domain.entity;
+
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized, type-independent row per document for cross-type listings.
+ * Maintained by {@link com.docflow.service.DocumentIndexService}; never written directly.
+ */
+@Entity
+@Table(name = "document_index")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentIndexEntry {
+
+    @Id
+    @Column(name = "doc_id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "doc_type", nullable = false, length = 50)
+    private DocumentType docType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private DocumentStatus status;
+
+    @Column(name = "owner_user_id", nullable = false)
+    private Long ownerUserId;
+
+    @Column(name = "counterparty_name")
+    private String counterpartyName;
+
+    @Column(name = "doc_number", length = 100)
+    private String docNumber;
+
+    @Column(name = "doc_date", nullable = false)
+    private LocalDate docDate;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
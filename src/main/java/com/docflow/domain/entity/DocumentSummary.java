@@ -0,0 +1,57 @@
+package com.docflow.domain.entity;
+
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized document count and amount per (type, status, currency).
+ * Maintained by {@link com.docflow.service.DocumentSummaryService}.
+ */
+@Entity
+@Table(name = "document_summary")
+@IdClass(DocumentSummary.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentSummary {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "doc_type", nullable = false, length = 50)
+    private DocumentType docType;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private DocumentStatus status;
+
+    @Id
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "doc_count", nullable = false)
+    private long docCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private DocumentType docType;
+        private DocumentStatus status;
+        private String currency;
+    }
+}
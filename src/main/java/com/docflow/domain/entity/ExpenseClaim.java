@@ -3,6 +3,7 @@ package com.docflow.domain.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -15,7 +16,7 @@ import java.util.List;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class ExpenseClaim extends Document {
+public class ExpenseClaim extends Document implements MonetaryDocument {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
@@ -30,7 +31,9 @@ public class ExpenseClaim extends Document {
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal total;
 
+    // Initialized in batches when a page of claims is mapped, instead of one query per claim
     @OneToMany(mappedBy = "claim", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     private List<ExpenseItem> items = new ArrayList<>();
 
     public void addItem(ExpenseItem item) {
@@ -0,0 +1,31 @@
+package com.docflow.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "grn_lines")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GoodsReceiptNoteLine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "grn_header_id", nullable = false)
+    private GoodsReceiptNoteHeader goodsReceiptNote;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "po_line_id", nullable = false)
+    private PurchaseOrderLine purchaseOrderLine;
+
+    @Column(name = "quantity_received", nullable = false, precision = 15, scale = 3)
+    private BigDecimal quantityReceived;
+}
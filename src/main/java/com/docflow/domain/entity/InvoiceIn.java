@@ -3,9 +3,13 @@ package com.docflow.domain.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Locale;
 
 @Entity
 @Table(name = "invoice_in")
@@ -14,7 +18,7 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
-public class InvoiceIn extends Document {
+public class InvoiceIn extends Document implements PayableDocument {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "vendor_id", nullable = false)
@@ -27,6 +31,10 @@ public class InvoiceIn extends Document {
     @Column(name = "invoice_no", nullable = false, length = 100)
     private String invoiceNo;
 
+    // Upper-case letters and digits of invoiceNo, for the per-vendor suspected-duplicate lookup
+    @Column(name = "invoice_no_key", nullable = false, length = 100)
+    private String invoiceNoKey;
+
     @Column(name = "invoice_date", nullable = false)
     private LocalDate invoiceDate;
 
@@ -44,4 +52,40 @@ public class InvoiceIn extends Document {
 
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal total;
+
+    // Incremented in place by DocumentBalanceRepository, never written from the entity
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @ColumnDefault("0")
+    @Column(name = "amount_paid", nullable = false, precision = 15, scale = 2, insertable = false, updatable = false)
+    private BigDecimal amountPaid;
+
+    // Incremented in place when credit notes are applied, never written from the entity
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @ColumnDefault("0")
+    @Column(name = "amount_credited", nullable = false, precision = 15, scale = 2, insertable = false, updatable = false)
+    private BigDecimal amountCredited;
+
+    // Generated column: total - amount_paid - amount_credited
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(columnDefinition = "DECIMAL(15, 2) AS (total - amount_paid - amount_credited)",
+            insertable = false, updatable = false)
+    private BigDecimal outstanding;
+
+    /**
+     * Reduces an invoice number to upper-case letters and digits, so that
+     * "INV-001", "inv 001" and "INV001" compare equal.
+     */
+    public static String normalizeInvoiceNo(String invoiceNo) {
+        StringBuilder key = new StringBuilder(invoiceNo.length());
+        invoiceNo.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .forEach(key::appendCodePoint);
+        return key.toString().toUpperCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateInvoiceNoKey() {
+        invoiceNoKey = normalizeInvoiceNo(invoiceNo);
+    }
 }
@@ -0,0 +1,49 @@
+package com.docflow.domain.entity;
+
+import com.docflow.domain.enums.MatchStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Latest three-way match result of an incoming invoice. Amounts are net of tax; ordered and
+ * received are what was still uninvoiced on the purchase order when the invoice was matched.
+ */
+@Entity
+@Table(name = "invoice_matches")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InvoiceMatch {
+
+    @Id
+    @Column(name = "invoice_id")
+    private Long invoiceId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "po_header_id")
+    private PurchaseOrderHeader purchaseOrder;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private MatchStatus status;
+
+    @Column(name = "invoiced_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal invoicedAmount;
+
+    @Column(name = "ordered_amount", precision = 15, scale = 2)
+    private BigDecimal orderedAmount;
+
+    @Column(name = "received_amount", precision = 15, scale = 2)
+    private BigDecimal receivedAmount;
+
+    @Column(name = "variance_amount", precision = 15, scale = 2)
+    private BigDecimal varianceAmount;
+
+    @Column(name = "matched_at", nullable = false)
+    private LocalDateTime matchedAt;
+}
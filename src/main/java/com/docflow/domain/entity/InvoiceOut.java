@@ -3,6 +3,9 @@ package com.docflow.domain.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -14,7 +17,7 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
-public class InvoiceOut extends Document {
+public class InvoiceOut extends Document implements PayableDocument {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
@@ -40,4 +43,22 @@ public class InvoiceOut extends Document {
 
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal total;
+
+    // Incremented in place by DocumentBalanceRepository, never written from the entity
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @ColumnDefault("0")
+    @Column(name = "amount_paid", nullable = false, precision = 15, scale = 2, insertable = false, updatable = false)
+    private BigDecimal amountPaid;
+
+    // Incremented in place when credit notes are applied, never written from the entity
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @ColumnDefault("0")
+    @Column(name = "amount_credited", nullable = false, precision = 15, scale = 2, insertable = false, updatable = false)
+    private BigDecimal amountCredited;
+
+    // Generated column: total - amount_paid - amount_credited
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(columnDefinition = "DECIMAL(15, 2) AS (total - amount_paid - amount_credited)",
+            insertable = false, updatable = false)
+    private BigDecimal outstanding;
 }
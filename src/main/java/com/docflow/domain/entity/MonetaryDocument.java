@@ -0,0 +1,13 @@
+package com.docflow.domain.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * Document subtype that carries an amount in a single currency.
+ */
+public interface MonetaryDocument {
+
+    String getCurrency();
+
+    BigDecimal getTotal();
+}
@@ -0,0 +1,18 @@
+package com.docflow.domain.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * Monetary document that is settled by payments, possibly in parts, and for invoices by
+ * credit notes.
+ *
+ * Both balances are maintained by the database: {@code amount_paid} is only incremented in
+ * place and {@code outstanding} is a generated column, so neither is ever written from the
+ * entity.
+ */
+public interface PayableDocument extends MonetaryDocument {
+
+    BigDecimal getAmountPaid();
+
+    BigDecimal getOutstanding();
+}
@@ -43,6 +43,16 @@ public class Payment {
     @Column(length = 255)
     private String reference;
 
+    // Set when paid by a payment run
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_run_id")
+    private PaymentRun paymentRun;
+
+    // Set when matched from a bank statement
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "bank_statement_id")
+    private BankStatement bankStatement;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
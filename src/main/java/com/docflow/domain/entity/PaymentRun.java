@@ -0,0 +1,75 @@
+package com.docflow.domain.entity;
+
+import com.docflow.domain.enums.PaymentMethod;
+import com.docflow.domain.enums.PaymentRunStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Batch payment of approved incoming invoices, grouped by vendor. Progress is committed
+ * per chunk together with the position of its last invoice, from which a failed run resumes.
+ */
+@Entity
+@Table(name = "payment_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PaymentRunStatus status;
+
+    @Column(name = "due_before", nullable = false)
+    private LocalDate dueBefore;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "vendor_id")
+    private Vendor vendor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PaymentMethod method;
+
+    @Column(name = "paid_at", nullable = false)
+    private LocalDateTime paidAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String note;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by_user_id", nullable = false)
+    private User createdBy;
+
+    @Column(name = "last_vendor_id")
+    private Long lastVendorId;
+
+    @Column(name = "last_invoice_id")
+    private Long lastInvoiceId;
+
+    @Column(name = "invoice_count", nullable = false)
+    private long invoiceCount;
+
+    @Column(name = "vendor_count", nullable = false)
+    private long vendorCount;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
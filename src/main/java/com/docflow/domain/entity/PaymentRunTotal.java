@@ -0,0 +1,43 @@
+package com.docflow.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Count and amount paid by a payment run in one currency.
+ */
+@Entity
+@Table(name = "payment_run_totals")
+@IdClass(PaymentRunTotal.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentRunTotal {
+
+    @Id
+    @Column(name = "payment_run_id", nullable = false)
+    private Long paymentRunId;
+
+    @Id
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "invoice_count", nullable = false)
+    private long invoiceCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long paymentRunId;
+        private String currency;
+    }
+}
@@ -0,0 +1,37 @@
+package com.docflow.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "po_lines")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PurchaseOrderLine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "po_header_id", nullable = false)
+    private PurchaseOrderHeader purchaseOrder;
+
+    @Column(name = "line_no", nullable = false)
+    private Integer lineNo;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(nullable = false, precision = 15, scale = 3)
+    private BigDecimal quantity;
+
+    // Net of tax
+    @Column(name = "unit_price", nullable = false, precision = 15, scale = 4)
+    private BigDecimal unitPrice;
+}
@@ -3,6 +3,9 @@ package com.docflow.domain.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -13,7 +16,7 @@ import java.time.LocalDate;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class Reimbursement extends Document {
+public class Reimbursement extends Document implements PayableDocument {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
@@ -27,4 +30,15 @@ public class Reimbursement extends Document {
 
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal total;
+
+    // Incremented in place by DocumentBalanceRepository, never written from the entity
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @ColumnDefault("0")
+    @Column(name = "amount_paid", nullable = false, precision = 15, scale = 2, insertable = false, updatable = false)
+    private BigDecimal amountPaid;
+
+    // Generated column: total - amount_paid
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(columnDefinition = "DECIMAL(15, 2) AS (total - amount_paid)", insertable = false, updatable = false)
+    private BigDecimal outstanding;
 }
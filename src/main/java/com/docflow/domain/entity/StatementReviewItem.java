@@ -0,0 +1,75 @@
+package com.docflow.domain.entity;
+
+import com.docflow.domain.enums.StatementReviewReason;
+import com.docflow.domain.enums.StatementReviewStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A statement credit left for finance to book against an invoice or dismiss.
+ */
+@Entity
+@Table(name = "statement_review_items")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatementReviewItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "bank_statement_id", nullable = false)
+    private BankStatement bankStatement;
+
+    @Column(name = "entry_reference", length = 35)
+    private String entryReference;
+
+    @Column(name = "booking_date")
+    private LocalDate bookingDate;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "debtor_name", length = 140)
+    private String debtorName;
+
+    @Column(name = "remittance_information", length = 500)
+    private String remittanceInformation;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatementReviewReason reason;
+
+    @Column(name = "suggested_doc_id")
+    private Long suggestedDocumentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatementReviewStatus status;
+
+    @Column(name = "resolved_doc_id")
+    private Long resolvedDocumentId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "resolved_by_user_id")
+    private User resolvedBy;
+
+    @Column(name = "resolved_at")
+    private LocalDateTime resolvedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
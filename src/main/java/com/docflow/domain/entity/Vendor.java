@@ -2,12 +2,15 @@ package com.docflow.domain.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vendors")
 @Table(name = "vendors")
 @Getter
 @Setter
@@ -29,6 +32,13 @@ public class Vendor {
     @Column(name = "contact_email")
     private String contactEmail;
 
+    // Creditor account of payment files
+    @Column(length = 34)
+    private String iban;
+
+    @Column(length = 11)
+    private String bic;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,6 @@
+package com.docflow.domain.enums;
+
+public enum CreditNoteStatus {
+    OPEN,       // Issued, not yet applied
+    APPLIED     // Applied against an invoice, reducing its outstanding balance
+}
@@ -0,0 +1,7 @@
+package com.docflow.domain.enums;
+
+public enum DocumentScope {
+    MINE,       // Documents owned by the current user
+    PENDING,    // Documents of any owner awaiting approval
+    ALL         // Every document
+}
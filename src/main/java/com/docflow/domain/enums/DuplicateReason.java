@@ -0,0 +1,6 @@
+package com.docflow.domain.enums;
+
+public enum DuplicateReason {
+    SIMILAR_INVOICE_NO,     // Same vendor, number equal once reduced to letters and digits
+    SAME_AMOUNT_AND_DATE    // Same vendor, invoice date, currency and total
+}
@@ -0,0 +1,9 @@
+package com.docflow.domain.enums;
+
+public enum MatchStatus {
+    MATCHED,              // Invoiced amount covered by received, uninvoiced goods
+    PRICE_VARIANCE,       // Invoiced above the ordered value, or in another currency than the PO
+    QUANTITY_VARIANCE,    // Within the ordered value, but more than has been received
+    MISSING_GRN,          // Nothing received on the PO that is not already invoiced
+    NO_PURCHASE_ORDER     // No purchase order with lines to match against
+}
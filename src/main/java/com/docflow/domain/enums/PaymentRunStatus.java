@@ -0,0 +1,7 @@
+package com.docflow.domain.enums;
+
+public enum PaymentRunStatus {
+    RUNNING,      // Chunks being committed
+    COMPLETED,    // Every selected invoice paid
+    FAILED        // Stopped at a failed chunk; can be resumed
+}
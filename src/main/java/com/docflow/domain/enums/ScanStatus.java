@@ -0,0 +1,7 @@
+package com.docflow.domain.enums;
+
+public enum ScanStatus {
+    PENDING,    // Uploaded, waiting for the content scanner
+    CLEAN,      // Scanned, safe to download
+    INFECTED    // Scanned, quarantined
+}
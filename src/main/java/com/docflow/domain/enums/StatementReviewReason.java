@@ -0,0 +1,8 @@
+package com.docflow.domain.enums;
+
+public enum StatementReviewReason {
+    NO_MATCH,          // No open invoice by number, client or amount
+    AMBIGUOUS,         // Several open invoices fit equally well
+    AMOUNT_MISMATCH,   // Refers to an open invoice with a different amount
+    ALREADY_PAID       // Matched an invoice paid in the meantime
+}
@@ -0,0 +1,7 @@
+package com.docflow.domain.enums;
+
+public enum StatementReviewStatus {
+    OPEN,        // Waiting for finance
+    RESOLVED,    // Booked as payment of an invoice
+    DISMISSED    // Not a payment of ours (refund, transfer, ...)
+}
@@ -0,0 +1,11 @@
+package com.docflow.dto;
+
+/**
+ * Response of a single document, carrying the optimistic-lock version it was built from.
+ */
+public interface VersionedResponse {
+
+    Long getId();
+
+    Integer getVersion();
+}
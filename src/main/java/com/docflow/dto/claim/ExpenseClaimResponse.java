@@ -1,6 +1,7 @@
 package com.docflow.dto.claim;
 
 import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.dto.VersionedResponse;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,7 +16,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ExpenseClaimResponse {
+public class ExpenseClaimResponse implements VersionedResponse {
 
     private Long id;
     private Long employeeId;
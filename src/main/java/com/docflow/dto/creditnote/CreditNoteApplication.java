@@ -0,0 +1,20 @@
+package com.docflow.dto.creditnote;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditNoteApplication {
+
+    @NotNull(message = "Credit note ID is required")
+    private Long creditNoteId;
+
+    @NotNull(message = "Invoice ID is required")
+    private Long invoiceId;
+}
@@ -0,0 +1,23 @@
+package com.docflow.dto.creditnote;
+
+import com.docflow.dto.filter.CurrencyTotal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditNoteApplicationResponse {
+
+    private long creditNotes;
+    private long invoices;
+    // Invoices with nothing left outstanding, now PAID
+    private long settled;
+    // Credited count and amount per currency, ordered by currency
+    private List<CurrencyTotal> totals;
+}
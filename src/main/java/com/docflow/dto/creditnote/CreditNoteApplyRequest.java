@@ -0,0 +1,18 @@
+package com.docflow.dto.creditnote;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditNoteApplyRequest {
+
+    // Approved invoice of the credit note's vendor or client
+    @NotNull(message = "Invoice ID is required")
+    private Long invoiceId;
+}
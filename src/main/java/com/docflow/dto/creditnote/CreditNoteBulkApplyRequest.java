@@ -0,0 +1,29 @@
+package com.docflow.dto.creditnote;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditNoteBulkApplyRequest {
+
+    // Every credit note and invoice must be this vendor's
+    @NotNull(message = "Vendor ID is required")
+    private Long vendorId;
+
+    // Several credit notes may be applied to one invoice, each credit note once
+    @NotEmpty(message = "At least one application is required")
+    @Size(max = 1000, message = "At most 1000 applications per request")
+    @Valid
+    private List<CreditNoteApplication> applications;
+}
@@ -0,0 +1,44 @@
+package com.docflow.dto.creditnote;
+
+import com.docflow.domain.enums.CreditNoteDirection;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditNoteRequest {
+
+    @NotNull(message = "Direction is required")
+    private CreditNoteDirection direction;
+
+    // Required for VENDOR credit notes
+    private Long vendorId;
+
+    // Required for CLIENT credit notes
+    private Long clientId;
+
+    @NotBlank(message = "Currency is required")
+    @Size(min = 3, max = 3, message = "Currency must be 3 characters")
+    private String currency;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+
+    // The issuer's credit note number
+    @Size(max = 100, message = "Reference must not exceed 100 characters")
+    private String reference;
+
+    private String reason;
+
+    // Defaults to now
+    private LocalDateTime issuedAt;
+}
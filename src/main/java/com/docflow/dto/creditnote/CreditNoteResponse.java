@@ -0,0 +1,35 @@
+package com.docflow.dto.creditnote;
+
+import com.docflow.domain.enums.CreditNoteDirection;
+import com.docflow.domain.enums.CreditNoteStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditNoteResponse {
+
+    private Long id;
+    private CreditNoteDirection direction;
+    private Long vendorId;
+    private String vendorName;
+    private Long clientId;
+    private String clientName;
+    private String currency;
+    private BigDecimal amount;
+    private String reference;
+    private String reason;
+    private LocalDateTime issuedAt;
+    private CreditNoteStatus status;
+    // Invoice the credit note was applied against
+    private Long invoiceId;
+    private LocalDateTime appliedAt;
+    private LocalDateTime createdAt;
+}
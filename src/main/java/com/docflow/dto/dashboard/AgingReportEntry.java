@@ -0,0 +1,27 @@
+package com.docflow.dto.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgingReportEntry {
+
+    // Null on per-currency totals
+    private Long counterpartyId;
+    private String counterpartyName;
+    private String currency;
+    private BigDecimal current;
+    private BigDecimal days1To30;
+    private BigDecimal days31To60;
+    private BigDecimal days61To90;
+    private BigDecimal over90;
+    private BigDecimal total;
+    private long count;
+}
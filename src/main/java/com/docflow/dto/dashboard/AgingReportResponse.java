@@ -0,0 +1,26 @@
+package com.docflow.dto.dashboard;
+
+import com.docflow.domain.enums.DocumentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgingReportResponse {
+
+    private DocumentType docType;
+    private LocalDate asOf;
+    // One entry per (counterparty, currency), by counterparty name
+    private List<AgingReportEntry> entries;
+    // One entry per currency
+    private List<AgingReportEntry> totals;
+    private long invoiceCount;
+    private long durationMs;
+}
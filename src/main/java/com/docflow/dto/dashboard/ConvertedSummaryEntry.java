@@ -0,0 +1,23 @@
+package com.docflow.dto.dashboard;
+
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConvertedSummaryEntry {
+
+    private DocumentType docType;
+    private DocumentStatus status;
+    private long count;
+    // In the base currency; documents in unconverted currencies are counted but not summed
+    private BigDecimal totalAmount;
+}
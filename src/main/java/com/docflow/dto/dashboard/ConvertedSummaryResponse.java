@@ -0,0 +1,26 @@
+package com.docflow.dto.dashboard;
+
+import com.docflow.dto.filter.CurrencyTotal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConvertedSummaryResponse {
+
+    private String baseCurrency;
+    private LocalDate rateDate;
+    // One entry per non-empty (type, status)
+    private List<ConvertedSummaryEntry> entries;
+    // Totals in currencies without a rate on or before rateDate, per currency
+    private List<CurrencyTotal> unconverted;
+    private LocalDateTime asOf;
+}
@@ -0,0 +1,25 @@
+package com.docflow.dto.dashboard;
+
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.dto.filter.CurrencyTotal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConvertedTotalsEntry {
+
+    private DocumentStatus status;
+    private long count;
+    // In the base currency, each invoice at the rate of its date; unconverted invoices are not summed
+    private BigDecimal totalAmount;
+    // In the invoices' own currencies
+    private List<CurrencyTotal> totalsByCurrency;
+}
@@ -0,0 +1,31 @@
+package com.docflow.dto.dashboard;
+
+import com.docflow.domain.enums.DocumentType;
+import com.docflow.dto.filter.CurrencyTotal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConvertedTotalsResponse {
+
+    private DocumentType docType;
+    private LocalDate from;
+    private LocalDate to;
+    private String baseCurrency;
+    // One entry per status with invoices in the period
+    private List<ConvertedTotalsEntry> entries;
+    private BigDecimal totalAmount;
+    // Invoices dated before the first rate of their currency or the base currency, per currency
+    private List<CurrencyTotal> unconverted;
+    private long invoiceCount;
+    private long durationMs;
+}
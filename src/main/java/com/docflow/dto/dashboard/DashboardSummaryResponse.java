@@ -0,0 +1,26 @@
+package com.docflow.dto.dashboard;
+
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSummaryResponse {
+
+    // One entry per non-empty (type, status, currency) cell
+    private List<DocumentSummaryEntry> entries;
+    private Map<DocumentType, Long> countsByType;
+    private Map<DocumentStatus, Long> countsByStatus;
+    private long totalCount;
+    private LocalDateTime asOf;
+}
@@ -0,0 +1,23 @@
+package com.docflow.dto.dashboard;
+
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSummaryEntry {
+
+    private DocumentType docType;
+    private DocumentStatus status;
+    private String currency;
+    private long count;
+    private BigDecimal totalAmount;
+}
@@ -1,5 +1,6 @@
 package com.docflow.dto.file;
 
+import com.docflow.domain.enums.ScanStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,6 +20,7 @@ public class DocumentFileResponse {
     private String originalFilename;
     private String contentType;
     private Long size;
+    private ScanStatus scanStatus;
     private Long uploadedBy;
     private String uploadedByName;
     private String uploadedByEmail;
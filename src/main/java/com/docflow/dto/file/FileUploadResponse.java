@@ -1,5 +1,6 @@
 package com.docflow.dto.file;
 
+import com.docflow.domain.enums.ScanStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,4 +18,5 @@ public class FileUploadResponse {
     private String contentType;
     private Long size;
     private String path;
+    private ScanStatus scanStatus;
 }
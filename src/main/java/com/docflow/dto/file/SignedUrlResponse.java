@@ -0,0 +1,20 @@
+package com.docflow.dto.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SignedUrlResponse {
+
+    private Long fileId;
+    private String originalFilename;
+    private String url;
+    private Instant expiresAt;
+}
@@ -0,0 +1,47 @@
+package com.docflow.dto.filter;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CurrencyTotal {
+
+    private String currency;
+    private BigDecimal totalAmount;
+    private long count;
+
+    /**
+     * Adds one amount to its currency's total, starting the total at zero.
+     *
+     * @param totals Totals keyed by currency
+     * @param currency Currency of the amount
+     * @param amount Amount to add
+     */
+    public static void add(Map<String, CurrencyTotal> totals, String currency, BigDecimal amount) {
+        add(totals, currency, amount, 1);
+    }
+
+    /**
+     * Adds an amount summed over several rows to its currency's total, starting the total
+     * at zero.
+     *
+     * @param totals Totals keyed by currency
+     * @param currency Currency of the amount
+     * @param amount Sum of the rows' amounts
+     * @param count Number of rows the amount sums
+     */
+    public static void add(Map<String, CurrencyTotal> totals, String currency, BigDecimal amount, long count) {
+        CurrencyTotal total = totals.computeIfAbsent(currency, key ->
+                CurrencyTotal.builder().currency(key).totalAmount(BigDecimal.ZERO).build());
+        total.setCount(total.getCount() + count);
+        total.setTotalAmount(total.getTotalAmount().add(amount));
+    }
+}
@@ -22,9 +22,11 @@ public class PageResponse<T> {
     private boolean first;
     private boolean last;
     
-    // Summary totals
+    // Summary totals over the full filter, not just this page.
+    // totalAmount is only set when every match shares one currency.
     private BigDecimal totalAmount;
     private Long count;
+    private List<CurrencyTotal> totalsByCurrency;
 
     public static <T> PageResponse<T> of(org.springframework.data.domain.Page<T> page) {
         return PageResponse.<T>builder()
@@ -45,4 +47,18 @@ public class PageResponse<T> {
         response.setCount(count);
         return response;
     }
+
+    public static <T> PageResponse<T> of(org.springframework.data.domain.Page<T> page,
+                                          List<CurrencyTotal> totalsByCurrency) {
+        long count = totalsByCurrency.stream().mapToLong(CurrencyTotal::getCount).sum();
+        BigDecimal totalAmount = switch (totalsByCurrency.size()) {
+            case 0 -> BigDecimal.ZERO;
+            case 1 -> totalsByCurrency.get(0).getTotalAmount();
+            default -> null;
+        };
+
+        PageResponse<T> response = of(page, totalAmount, count);
+        response.setTotalsByCurrency(totalsByCurrency);
+        return response;
+    }
 }
@@ -0,0 +1,67 @@
+package com.docflow.dto.filter;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * List response that does not require a COUNT query.
+ * totalElements and totalPages are only set when the client asked for an exact count;
+ * otherwise approximateTotal carries a cached, possibly stale count.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceResponse<T> {
+
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean first;
+    private boolean last;
+    private boolean hasNext;
+
+    private Long totalElements;
+    private Integer totalPages;
+    private Long approximateTotal;
+
+    public static <T> SliceResponse<T> of(Slice<T> slice, long approximateTotal) {
+        // Keep the estimate consistent with what this slice proves about the real total
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements();
+        if (!slice.hasNext() && (slice.hasContent() || slice.isFirst())) {
+            approximateTotal = seen;
+        } else if (slice.hasNext()) {
+            approximateTotal = Math.max(approximateTotal, seen + 1);
+        }
+
+        return SliceResponse.<T>builder()
+                .content(slice.getContent())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .first(slice.isFirst())
+                .last(slice.isLast())
+                .hasNext(slice.hasNext())
+                .approximateTotal(approximateTotal)
+                .build();
+    }
+
+    public static <T> SliceResponse<T> of(Page<T> page) {
+        return SliceResponse.<T>builder()
+                .content(page.getContent())
+                .page(page.getNumber())
+                .size(page.getSize())
+                .first(page.isFirst())
+                .last(page.isLast())
+                .hasNext(page.hasNext())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .approximateTotal(page.getTotalElements())
+                .build();
+    }
+}
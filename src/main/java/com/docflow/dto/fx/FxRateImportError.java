@@ -0,0 +1,20 @@
+package com.docflow.dto.fx;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRateImportError {
+
+    /**
+     * Line of the CSV input on which the row starts, 1-based (the header is line 1).
+     */
+    private long line;
+    private String currency;
+    private String message;
+}
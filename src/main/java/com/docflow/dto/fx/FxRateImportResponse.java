@@ -0,0 +1,29 @@
+package com.docflow.dto.fx;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRateImportResponse {
+
+    private long imported;
+    private long failed;
+
+    /**
+     * Rejected rows, in input order; capped, see errorsTruncated.
+     */
+    private List<FxRateImportError> errors;
+    private boolean errorsTruncated;
+
+    // The rate table after the import
+    private String referenceCurrency;
+    private int currencyCount;
+    private long rateCount;
+}
@@ -0,0 +1,23 @@
+package com.docflow.dto.fx;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRateResponse {
+
+    private String currency;
+    private String referenceCurrency;
+    private LocalDate date;
+    // Latest rate on or before date: units of currency per one unit of referenceCurrency
+    private LocalDate rateDate;
+    private BigDecimal rate;
+}
@@ -0,0 +1,26 @@
+package com.docflow.dto.invoice;
+
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DuplicateReason;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateInvoiceResponse {
+
+    private Long id;
+    private String invoiceNo;
+    private LocalDate invoiceDate;
+    private String currency;
+    private BigDecimal total;
+    private DocumentStatus status;
+    private DuplicateReason reason;
+}
@@ -0,0 +1,20 @@
+package com.docflow.dto.invoice;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceImportError {
+
+    /**
+     * Line of the CSV input on which the row starts, 1-based (the header is line 1).
+     */
+    private long line;
+    private String invoiceNo;
+    private String message;
+}
@@ -0,0 +1,24 @@
+package com.docflow.dto.invoice;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceImportResponse {
+
+    private long imported;
+    private long failed;
+
+    /**
+     * Rejected rows, in input order; capped, see errorsTruncated.
+     */
+    private List<InvoiceImportError> errors;
+    private boolean errorsTruncated;
+}
@@ -1,6 +1,8 @@
 package com.docflow.dto.invoice;
 
 import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.dto.VersionedResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,12 +11,13 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class InvoiceInResponse {
+public class InvoiceInResponse implements VersionedResponse {
 
     private Long id;
     private Long vendorId;
@@ -26,6 +29,9 @@ public class InvoiceInResponse {
     private BigDecimal subtotal;
     private BigDecimal tax;
     private BigDecimal total;
+    private BigDecimal amountPaid;
+    private BigDecimal amountCredited;
+    private BigDecimal outstanding;
     private DocumentStatus status;
     private Long ownerUserId;
     private String ownerUserEmail;
@@ -33,4 +39,8 @@ public class InvoiceInResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Integer version;
+
+    // Suspected duplicates found on create and update; omitted from other responses
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<DuplicateInvoiceResponse> possibleDuplicates;
 }
@@ -0,0 +1,27 @@
+package com.docflow.dto.invoice;
+
+import com.docflow.domain.enums.MatchStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceMatchResponse {
+
+    private Long invoiceId;
+    private Long purchaseOrderId;
+    private String poNo;
+    private MatchStatus status;
+    private BigDecimal invoicedAmount;
+    private BigDecimal orderedAmount;
+    private BigDecimal receivedAmount;
+    private BigDecimal varianceAmount;
+    private LocalDateTime matchedAt;
+}
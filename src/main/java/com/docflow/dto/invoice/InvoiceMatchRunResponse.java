@@ -0,0 +1,20 @@
+package com.docflow.dto.invoice;
+
+import com.docflow.domain.enums.MatchStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceMatchRunResponse {
+
+    private long invoices;
+    private Map<MatchStatus, Long> statusCounts;
+    private long durationMs;
+}
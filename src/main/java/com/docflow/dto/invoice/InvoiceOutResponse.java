@@ -1,6 +1,7 @@
 package com.docflow.dto.invoice;
 
 import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.dto.VersionedResponse;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,7 +15,7 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class InvoiceOutResponse {
+public class InvoiceOutResponse implements VersionedResponse {
 
     private Long id;
     private Long clientId;
@@ -26,6 +27,9 @@ public class InvoiceOutResponse {
     private BigDecimal subtotal;
     private BigDecimal tax;
     private BigDecimal total;
+    private BigDecimal amountPaid;
+    private BigDecimal amountCredited;
+    private BigDecimal outstanding;
     private DocumentStatus status;
     private Long ownerUserId;
     private String ownerUserEmail;
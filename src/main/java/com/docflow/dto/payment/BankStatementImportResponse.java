@@ -0,0 +1,29 @@
+package com.docflow.dto.payment;
+
+import com.docflow.dto.filter.CurrencyTotal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BankStatementImportResponse {
+
+    private Long id;
+    private String messageId;
+    private String statementId;
+    private String accountIban;
+    private long entries;
+    private long matched;
+    private long review;
+    // Debits and entries not booked
+    private long skipped;
+    // Paid count and amount per currency, ordered by currency
+    private List<CurrencyTotal> matchedTotals;
+    private long durationMs;
+}
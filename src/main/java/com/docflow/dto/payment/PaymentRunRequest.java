@@ -0,0 +1,33 @@
+package com.docflow.dto.payment;
+
+import com.docflow.domain.enums.PaymentMethod;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentRunRequest {
+
+    // Pays approved invoices due on or before this date
+    @NotNull(message = "Due date is required")
+    private LocalDate dueBefore;
+
+    // Optional: only this vendor's invoices
+    private Long vendorId;
+
+    @NotNull(message = "Payment method is required")
+    private PaymentMethod method;
+
+    // Defaults to the start of the run
+    private LocalDateTime paidAt;
+
+    private String note;
+}
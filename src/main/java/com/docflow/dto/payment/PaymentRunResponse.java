@@ -0,0 +1,36 @@
+package com.docflow.dto.payment;
+
+import com.docflow.domain.enums.PaymentMethod;
+import com.docflow.domain.enums.PaymentRunStatus;
+import com.docflow.dto.filter.CurrencyTotal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentRunResponse {
+
+    private Long id;
+    private PaymentRunStatus status;
+    private LocalDate dueBefore;
+    private Long vendorId;
+    private String vendorName;
+    private PaymentMethod method;
+    private LocalDateTime paidAt;
+    private long invoiceCount;
+    private long vendorCount;
+    // Paid count and amount per currency, ordered by currency
+    private List<CurrencyTotal> totals;
+    private String lastError;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,35 @@
+package com.docflow.dto.payment;
+
+import com.docflow.domain.enums.StatementReviewReason;
+import com.docflow.domain.enums.StatementReviewStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementReviewItemResponse {
+
+    private Long id;
+    private Long bankStatementId;
+    private String entryReference;
+    private LocalDate bookingDate;
+    private BigDecimal amount;
+    private String currency;
+    private String debtorName;
+    private String remittanceInformation;
+    private StatementReviewReason reason;
+    // Invoice the credit refers to, if any
+    private Long suggestedInvoiceId;
+    private StatementReviewStatus status;
+    private Long resolvedInvoiceId;
+    private LocalDateTime resolvedAt;
+    private LocalDateTime createdAt;
+}
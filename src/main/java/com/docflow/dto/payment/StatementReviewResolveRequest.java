@@ -0,0 +1,20 @@
+package com.docflow.dto.payment;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementReviewResolveRequest {
+
+    // Approved outgoing invoice the credit pays
+    @NotNull(message = "Invoice ID is required")
+    private Long invoiceId;
+
+    private String note;
+}
@@ -1,6 +1,7 @@
 package com.docflow.dto.reimbursement;
 
 import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.dto.VersionedResponse;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,7 +15,7 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ReimbursementResponse {
+public class ReimbursementResponse implements VersionedResponse {
 
     private Long id;
     private Long employeeId;
@@ -24,6 +25,8 @@ public class ReimbursementResponse {
     private LocalDate requestedDate;
     private String currency;
     private BigDecimal total;
+    private BigDecimal amountPaid;
+    private BigDecimal outstanding;
     private DocumentStatus status;
     private Long ownerUserId;
     private String ownerUserEmail;
@@ -0,0 +1,17 @@
+package com.docflow.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CounterpartySearchHit {
+
+    private Long id;
+    private String name;
+    private double score;
+}
@@ -0,0 +1,30 @@
+package com.docflow.dto.search;
+
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentListItem {
+
+    private Long id;
+    private DocumentType docType;
+    private DocumentStatus status;
+    private Long ownerUserId;
+    private String counterpartyName;
+    private String docNumber;
+    private LocalDate docDate;
+    private BigDecimal amount;
+    private String currency;
+    private LocalDateTime createdAt;
+}
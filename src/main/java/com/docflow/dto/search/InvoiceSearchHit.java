@@ -0,0 +1,25 @@
+package com.docflow.dto.search;
+
+import com.docflow.domain.enums.DocumentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceSearchHit {
+
+    private Long id;
+    private String invoiceNo;
+    private Long counterpartyId;
+    private String counterpartyName;
+    private DocumentStatus status;
+    private String currency;
+    private BigDecimal total;
+    private double score;
+}
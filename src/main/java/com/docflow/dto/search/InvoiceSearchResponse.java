@@ -0,0 +1,19 @@
+package com.docflow.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceSearchResponse {
+
+    private String query;
+    private List<InvoiceSearchHit> invoices;
+    private List<CounterpartySearchHit> counterparties;
+}
@@ -0,0 +1,24 @@
+package com.docflow.exception;
+
+import com.docflow.domain.enums.ScanStatus;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a file is requested before the content scanner has cleared it; answered with
+ * 409 Conflict.
+ */
+@Getter
+@ResponseStatus(HttpStatus.CONFLICT)
+public class FileQuarantinedException extends RuntimeException {
+
+    private final ScanStatus scanStatus;
+
+    public FileQuarantinedException(Long fileId, ScanStatus scanStatus) {
+        super(scanStatus == ScanStatus.INFECTED
+                ? String.format("File %d failed the content scan and is quarantined", fileId)
+                : String.format("File %d is still being scanned, try again shortly", fileId));
+        this.scanStatus = scanStatus;
+    }
+}
@@ -0,0 +1,22 @@
+package com.docflow.matching;
+
+import com.docflow.domain.enums.MatchStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Result of matching one invoice.
+ *
+ * @param purchaseOrderId The purchase order matched against, null if none
+ * @param status The match status
+ * @param orderedAmount Uninvoiced ordered value of the purchase order before this invoice
+ * @param receivedAmount Uninvoiced received value of the purchase order before this invoice
+ * @param varianceAmount Invoiced minus uninvoiced received value; null when not comparable
+ */
+public record MatchOutcome(Long purchaseOrderId, MatchStatus status, BigDecimal orderedAmount,
+                           BigDecimal receivedAmount, BigDecimal varianceAmount) {
+
+    static MatchOutcome unmatched(Long purchaseOrderId) {
+        return new MatchOutcome(purchaseOrderId, MatchStatus.NO_PURCHASE_ORDER, null, null, null);
+    }
+}
@@ -0,0 +1,30 @@
+package com.docflow.matching;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * How far an invoiced amount may exceed the amount it is matched against: the larger of a
+ * percentage of that amount and an absolute amount (for rounding on small invoices).
+ *
+ * @param percent Allowed excess in percent of the base amount
+ * @param absolute Allowed excess in the invoice currency
+ */
+public record MatchTolerance(BigDecimal percent, BigDecimal absolute) {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    public MatchTolerance {
+        if (percent.signum() < 0 || absolute.signum() < 0) {
+            throw new IllegalArgumentException("Match tolerance must not be negative");
+        }
+    }
+
+    /**
+     * Whether {@code amount} is at most {@code base} plus the tolerance on {@code base}.
+     */
+    public boolean withinUpperBound(BigDecimal amount, BigDecimal base) {
+        BigDecimal allowed = base.multiply(percent).divide(HUNDRED, 2, RoundingMode.HALF_UP).max(absolute);
+        return amount.compareTo(base.add(allowed)) <= 0;
+    }
+}
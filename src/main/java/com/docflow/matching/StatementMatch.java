@@ -0,0 +1,16 @@
+package com.docflow.matching;
+
+import com.docflow.domain.enums.StatementReviewReason;
+
+/**
+ * Result of matching one statement credit.
+ *
+ * @param invoiceId The invoice matched, or with a reason the invoice the credit refers to; may be null
+ * @param reason Why the credit needs review; null when matched
+ */
+public record StatementMatch(Long invoiceId, StatementReviewReason reason) {
+
+    public boolean matched() {
+        return reason == null;
+    }
+}
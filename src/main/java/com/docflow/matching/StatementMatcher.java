@@ -0,0 +1,150 @@
+package com.docflow.matching;
+
+import com.docflow.banking.StatementEntry;
+import com.docflow.domain.enums.StatementReviewReason;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory matching of bank statement credits to open outgoing invoices.
+ *
+ * Invoices are added once and kept in three hash indexes: by invoice number reduced to
+ * letters and digits, by (client name, currency, amount) and by (currency, amount). Each
+ * credit is looked up with a constant number of probes per word of its references:
+ * <ol>
+ *   <li>Invoice numbers quoted in the structured reference, end-to-end id or remittance
+ *       text. One such invoice in the credit's currency and amount is a match; if none
+ *       has that amount the credit is an {@link StatementReviewReason#AMOUNT_MISMATCH}.</li>
+ *   <li>The payer's name with the amount, against the client name.</li>
+ *   <li>The amount alone.</li>
+ * </ol>
+ * The first step that finds exactly one invoice decides; several at any step make the
+ * credit {@link StatementReviewReason#AMBIGUOUS}. A matched invoice leaves all indexes, so
+ * it is matched once. Not thread-safe.
+ */
+public final class StatementMatcher {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[\\s,;:]+");
+    // Shorter words are too likely to be something else
+    private static final int MIN_INVOICE_NO_LENGTH = 3;
+
+    private final Map<String, List<OpenReceivable>> byInvoiceNo = new HashMap<>();
+    private final Map<String, List<OpenReceivable>> byClientAndAmount = new HashMap<>();
+    private final Map<String, List<OpenReceivable>> byAmount = new HashMap<>();
+    private int size;
+
+    /**
+     * Adds an open invoice to match against, by what is still outstanding of it.
+     */
+    public void add(long id, String clientName, String invoiceNo, String currency, BigDecimal outstanding) {
+        OpenReceivable invoice = new OpenReceivable(id, key(invoiceNo), key(clientName),
+                amountKey(currency, outstanding));
+        index(byInvoiceNo, invoice.invoiceNoKey(), invoice);
+        index(byClientAndAmount, invoice.clientKey() + "|" + invoice.amountKey(), invoice);
+        index(byAmount, invoice.amountKey(), invoice);
+        size++;
+    }
+
+    /**
+     * Matches a credit and, on a match, removes the invoice.
+     */
+    public StatementMatch match(StatementEntry entry) {
+        String amountKey = amountKey(entry.currency(), entry.amount());
+
+        Set<OpenReceivable> referenced = new LinkedHashSet<>();
+        lookUpReferences(entry.structuredReference(), referenced);
+        lookUpReferences(entry.endToEndId(), referenced);
+        lookUpReferences(entry.remittanceInformation(), referenced);
+        if (!referenced.isEmpty()) {
+            List<OpenReceivable> sameAmount = referenced.stream()
+                    .filter(invoice -> invoice.amountKey().equals(amountKey))
+                    .toList();
+            if (sameAmount.isEmpty()) {
+                Long suggested = referenced.size() == 1 ? referenced.iterator().next().id() : null;
+                return new StatementMatch(suggested, StatementReviewReason.AMOUNT_MISMATCH);
+            }
+            return decide(sameAmount);
+        }
+
+        if (entry.debtorName() != null) {
+            List<OpenReceivable> byClient = byClientAndAmount.get(key(entry.debtorName()) + "|" + amountKey);
+            if (byClient != null) {
+                return decide(byClient);
+            }
+        }
+
+        List<OpenReceivable> candidates = byAmount.get(amountKey);
+        return candidates != null ? decide(candidates) : new StatementMatch(null, StatementReviewReason.NO_MATCH);
+    }
+
+    /**
+     * @return Number of invoices not matched yet
+     */
+    public int size() {
+        return size;
+    }
+
+    private StatementMatch decide(List<OpenReceivable> candidates) {
+        if (candidates.size() > 1) {
+            return new StatementMatch(null, StatementReviewReason.AMBIGUOUS);
+        }
+        OpenReceivable invoice = candidates.get(0);
+        remove(byInvoiceNo, invoice.invoiceNoKey(), invoice);
+        remove(byClientAndAmount, invoice.clientKey() + "|" + invoice.amountKey(), invoice);
+        remove(byAmount, invoice.amountKey(), invoice);
+        size--;
+        return new StatementMatch(invoice.id(), null);
+    }
+
+    private void lookUpReferences(String text, Set<OpenReceivable> referenced) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        for (String word : WORD_SEPARATOR.split(text)) {
+            String key = key(word);
+            if (key.length() >= MIN_INVOICE_NO_LENGTH) {
+                List<OpenReceivable> invoices = byInvoiceNo.get(key);
+                if (invoices != null) {
+                    referenced.addAll(invoices);
+                }
+            }
+        }
+    }
+
+    private static void index(Map<String, List<OpenReceivable>> index, String key, OpenReceivable invoice) {
+        index.computeIfAbsent(key, k -> new ArrayList<>(1)).add(invoice);
+    }
+
+    private static void remove(Map<String, List<OpenReceivable>> index, String key, OpenReceivable invoice) {
+        List<OpenReceivable> invoices = index.get(key);
+        invoices.remove(invoice);
+        if (invoices.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    // Letters and digits only, upper case: "inv-2024/001" and "INV 2024001" are one number
+    private static String key(String text) {
+        StringBuilder key = new StringBuilder(text.length());
+        text.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .forEach(key::appendCodePoint);
+        return key.toString().toUpperCase(Locale.ROOT);
+    }
+
+    // 100.00 and 100 are one amount
+    private static String amountKey(String currency, BigDecimal amount) {
+        return currency.toUpperCase(Locale.ROOT) + "|" + amount.stripTrailingZeros().toPlainString();
+    }
+
+    private record OpenReceivable(long id, String invoiceNoKey, String clientKey, String amountKey) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.docflow.matching;
+
+import com.docflow.domain.enums.MatchStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory three-way match of incoming invoices against purchase orders and goods receipts.
+ *
+ * Purchase orders are added once with their ordered value (quantity x unit price over the
+ * lines), received value (received quantity x unit price) and the value already invoiced
+ * against them, and are indexed by id and by vendor. Invoices carry no lines, so they are
+ * matched on their net amount against what is still uninvoiced:
+ * <ul>
+ *   <li>nothing uninvoiced received: {@link MatchStatus#MISSING_GRN}</li>
+ *   <li>within the received value plus tolerance: {@link MatchStatus#MATCHED}</li>
+ *   <li>within the ordered value plus tolerance: {@link MatchStatus#QUANTITY_VARIANCE}</li>
+ *   <li>above the ordered value, or in another currency: {@link MatchStatus#PRICE_VARIANCE}</li>
+ * </ul>
+ * An invoice that names its purchase order is matched against that one. Otherwise the
+ * vendor's purchase orders in the invoice currency are tried, and the closest one that
+ * matches, or failing that covers the amount in ordered value, is taken. MATCHED and
+ * QUANTITY_VARIANCE invoices consume their amount from the purchase order, so invoices
+ * should be matched oldest first. Not thread-safe.
+ */
+public final class ThreeWayMatcher {
+
+    // Unreferenced invoices: MATCHED before QUANTITY_VARIANCE, then the closest amount
+    private static final Comparator<MatchOutcome> CANDIDATE_ORDER = Comparator
+            .comparing((MatchOutcome outcome) -> outcome.status() != MatchStatus.MATCHED)
+            .thenComparing(outcome -> outcome.varianceAmount().abs())
+            .thenComparing(MatchOutcome::purchaseOrderId);
+
+    private final MatchTolerance tolerance;
+    private final Map<Long, OpenPurchaseOrder> purchaseOrders = new HashMap<>();
+    private final Map<Long, List<OpenPurchaseOrder>> purchaseOrdersByVendor = new HashMap<>();
+
+    public ThreeWayMatcher(MatchTolerance tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Adds a purchase order to match against.
+     *
+     * @param id The purchase order ID
+     * @param vendorId The vendor
+     * @param currency The purchase order currency
+     * @param ordered Ordered value, net of tax
+     * @param received Received value at purchase order prices
+     * @param invoiced Value of invoices already matched and approved against it
+     */
+    public void addPurchaseOrder(long id, long vendorId, String currency, BigDecimal ordered, BigDecimal received,
+                                 BigDecimal invoiced) {
+        OpenPurchaseOrder purchaseOrder = new OpenPurchaseOrder(id, vendorId, currency, amount(ordered),
+                amount(received), amount(invoiced));
+        purchaseOrders.put(id, purchaseOrder);
+        purchaseOrdersByVendor.computeIfAbsent(vendorId, vendor -> new ArrayList<>()).add(purchaseOrder);
+    }
+
+    /**
+     * Matches an invoice and, when it matches, books its amount against the purchase order.
+     *
+     * @param vendorId The invoice vendor
+     * @param purchaseOrderId The purchase order named on the invoice, or null
+     * @param currency The invoice currency
+     * @param invoiced The invoice amount, net of tax
+     * @return The outcome
+     */
+    public MatchOutcome match(long vendorId, Long purchaseOrderId, String currency, BigDecimal invoiced) {
+        OpenPurchaseOrder purchaseOrder;
+        MatchOutcome outcome;
+
+        if (purchaseOrderId != null) {
+            purchaseOrder = purchaseOrders.get(purchaseOrderId);
+            if (purchaseOrder == null || purchaseOrder.vendorId != vendorId) {
+                return MatchOutcome.unmatched(purchaseOrderId);
+            }
+            outcome = evaluate(purchaseOrder, currency, invoiced);
+        } else {
+            purchaseOrder = null;
+            outcome = null;
+            for (OpenPurchaseOrder candidate : purchaseOrdersByVendor.getOrDefault(vendorId, List.of())) {
+                if (!candidate.currency.equalsIgnoreCase(currency)) {
+                    continue;
+                }
+                MatchOutcome candidateOutcome = evaluate(candidate, currency, invoiced);
+                if (isBetter(candidateOutcome, outcome)) {
+                    purchaseOrder = candidate;
+                    outcome = candidateOutcome;
+                }
+            }
+            if (outcome == null) {
+                return MatchOutcome.unmatched(null);
+            }
+        }
+
+        if (outcome.status() == MatchStatus.MATCHED || outcome.status() == MatchStatus.QUANTITY_VARIANCE) {
+            purchaseOrder.invoiced = purchaseOrder.invoiced.add(invoiced);
+        }
+        return outcome;
+    }
+
+    private MatchOutcome evaluate(OpenPurchaseOrder purchaseOrder, String currency, BigDecimal invoiced) {
+        BigDecimal openOrdered = purchaseOrder.ordered.subtract(purchaseOrder.invoiced).max(BigDecimal.ZERO);
+        BigDecimal openReceived = purchaseOrder.received.subtract(purchaseOrder.invoiced).max(BigDecimal.ZERO);
+
+        if (!purchaseOrder.currency.equalsIgnoreCase(currency)) {
+            return new MatchOutcome(purchaseOrder.id, MatchStatus.PRICE_VARIANCE, openOrdered, openReceived, null);
+        }
+
+        MatchStatus status;
+        if (openReceived.signum() == 0) {
+            status = MatchStatus.MISSING_GRN;
+        } else if (tolerance.withinUpperBound(invoiced, openReceived)) {
+            status = MatchStatus.MATCHED;
+        } else if (tolerance.withinUpperBound(invoiced, openOrdered)) {
+            status = MatchStatus.QUANTITY_VARIANCE;
+        } else {
+            status = MatchStatus.PRICE_VARIANCE;
+        }
+        return new MatchOutcome(purchaseOrder.id, status, openOrdered, openReceived,
+                amount(invoiced.subtract(openReceived)));
+    }
+
+    private static boolean isBetter(MatchOutcome candidate, MatchOutcome current) {
+        if (candidate.status() != MatchStatus.MATCHED && candidate.status() != MatchStatus.QUANTITY_VARIANCE) {
+            return false;
+        }
+        if (current == null) {
+            return true;
+        }
+        return CANDIDATE_ORDER.compare(candidate, current) < 0;
+    }
+
+    private static BigDecimal amount(BigDecimal value) {
+        return value.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static final class OpenPurchaseOrder {
+
+        private final long id;
+        private final long vendorId;
+        private final String currency;
+        private final BigDecimal ordered;
+        private final BigDecimal received;
+        private BigDecimal invoiced;
+
+        private OpenPurchaseOrder(long id, long vendorId, String currency, BigDecimal ordered, BigDecimal received,
+                                  BigDecimal invoiced) {
+            this.id = id;
+            this.vendorId = vendorId;
+            this.currency = currency;
+            this.ordered = ordered;
+            this.received = received;
+            this.invoiced = invoiced;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.docflow.reporting;
+
+import com.docflow.dto.dashboard.AgingReportEntry;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Single-pass aging of open invoices into current, 1-30, 31-60, 61-90 and over 90 days past
+ * due, per counterparty and currency.
+ *
+ * Each invoice is added once, in any order, and only a bucket array per (counterparty,
+ * currency) is kept, so memory grows with the number of counterparties rather than
+ * invoices. Amounts are summed in cents. Invoices without a due date are current.
+ * Not thread-safe.
+ */
+public final class AgingAggregator {
+
+    private static final int CURRENT = 0;
+    private static final int OVER_90 = 4;
+    // Bucket sums in cents, then the invoice count
+    private static final int COUNT = 5;
+
+    private final long asOfDay;
+    private final Map<Key, long[]> balances = new HashMap<>();
+    private long invoiceCount;
+
+    public AgingAggregator(LocalDate asOf) {
+        this.asOfDay = asOf.toEpochDay();
+    }
+
+    /**
+     * Adds an open invoice.
+     *
+     * @param counterpartyId The vendor or client
+     * @param currency The invoice currency
+     * @param dueDate The due date, or null
+     * @param amount The open amount
+     */
+    public void add(long counterpartyId, String currency, LocalDate dueDate, BigDecimal amount) {
+        long[] balance = balances.computeIfAbsent(new Key(counterpartyId, currency.toUpperCase(Locale.ROOT)),
+                key -> new long[COUNT + 1]);
+        balance[bucket(dueDate)] += cents(amount);
+        balance[COUNT]++;
+        invoiceCount++;
+    }
+
+    public long getInvoiceCount() {
+        return invoiceCount;
+    }
+
+    /**
+     * Balances per (counterparty, currency), ordered by counterparty id and currency; names are not set.
+     */
+    public List<AgingReportEntry> entries() {
+        List<Map.Entry<Key, long[]>> sorted = new ArrayList<>(balances.entrySet());
+        sorted.sort(Map.Entry.comparingByKey(Comparator.comparingLong(Key::counterpartyId)
+                .thenComparing(Key::currency)));
+
+        List<AgingReportEntry> entries = new ArrayList<>(sorted.size());
+        for (Map.Entry<Key, long[]> entry : sorted) {
+            entries.add(toEntry(entry.getKey().counterpartyId(), entry.getKey().currency(), entry.getValue()));
+        }
+        return entries;
+    }
+
+    /**
+     * Balances per currency over all counterparties, ordered by currency.
+     */
+    public List<AgingReportEntry> totals() {
+        Map<String, long[]> byCurrency = new TreeMap<>();
+        balances.forEach((key, balance) -> {
+            long[] total = byCurrency.computeIfAbsent(key.currency(), currency -> new long[COUNT + 1]);
+            for (int i = 0; i <= COUNT; i++) {
+                total[i] += balance[i];
+            }
+        });
+
+        List<AgingReportEntry> totals = new ArrayList<>(byCurrency.size());
+        byCurrency.forEach((currency, balance) -> totals.add(toEntry(null, currency, balance)));
+        return totals;
+    }
+
+    private int bucket(LocalDate dueDate) {
+        if (dueDate == null) {
+            return CURRENT;
+        }
+        long daysPastDue = asOfDay - dueDate.toEpochDay();
+        if (daysPastDue <= 0) {
+            return CURRENT;
+        }
+        // 1-30 -> 1, 31-60 -> 2, 61-90 -> 3
+        return (int) Math.min(OVER_90, (daysPastDue + 29) / 30);
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static AgingReportEntry toEntry(Long counterpartyId, String currency, long[] balance) {
+        long total = 0;
+        for (int i = CURRENT; i <= OVER_90; i++) {
+            total += balance[i];
+        }
+        return AgingReportEntry.builder()
+                .counterpartyId(counterpartyId)
+                .currency(currency)
+                .current(amount(balance[0]))
+                .days1To30(amount(balance[1]))
+                .days31To60(amount(balance[2]))
+                .days61To90(amount(balance[3]))
+                .over90(amount(balance[4]))
+                .total(amount(total))
+                .count(balance[COUNT])
+                .build();
+    }
+
+    private static BigDecimal amount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private record Key(long counterpartyId, String currency) {
+    }
+}
@@ -0,0 +1,206 @@
+package com.docflow.reporting;
+
+import com.docflow.dto.filter.CurrencyTotal;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Single-pass totals of amounts in several currencies, per group, converted into one base
+ * currency at the rate of each amount's date.
+ *
+ * Adding an amount only adds its cents and a count to a (currency, day, group) cell of
+ * primitive arrays; nothing is converted or allocated per amount. Conversion happens once
+ * at the end: consecutive days of a currency that share the same pair of rates are summed
+ * in cents and multiplied once, so the number of multiplications grows with rate changes
+ * rather than amounts. Memory grows with currencies times days in the period.
+ * Not thread-safe.
+ */
+public final class ConvertedTotalsAggregator {
+
+    private final long firstDay;
+    private final int days;
+    private final int groups;
+    private final Map<String, Sums> byCurrency = new HashMap<>();
+    private final List<Sums> currencies = new ArrayList<>();
+    // Amounts usually arrive in runs of one currency
+    private String lastCurrency;
+    private Sums lastSums;
+    private long count;
+
+    /**
+     * @param from First day of the period
+     * @param to Last day of the period
+     * @param groups Number of groups, numbered from 0
+     */
+    public ConvertedTotalsAggregator(LocalDate from, LocalDate to, int groups) {
+        long length = to.toEpochDay() - from.toEpochDay() + 1;
+        if (length <= 0) {
+            throw new IllegalArgumentException("Period ends before it starts: " + from + " to " + to);
+        }
+        this.firstDay = from.toEpochDay();
+        this.days = Math.toIntExact(length);
+        this.groups = groups;
+    }
+
+    /**
+     * Adds an amount.
+     *
+     * @param group The group, from 0
+     * @param currency The amount's currency
+     * @param epochDay The amount's date as {@link LocalDate#toEpochDay()}, within the period
+     * @param cents The amount in cents
+     */
+    public void add(int group, String currency, long epochDay, long cents) {
+        Sums sums = currency.equals(lastCurrency) ? lastSums : sums(currency);
+        long day = epochDay - firstDay;
+        if (day < 0 || day >= days) {
+            throw new IllegalArgumentException("Date outside the period: " + LocalDate.ofEpochDay(epochDay));
+        }
+        int cell = (int) day * groups + group;
+        sums.cents[cell] += cents;
+        sums.counts[cell]++;
+        count++;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Converts the totals of every group into the base currency.
+     *
+     * @param rates The rates to convert at
+     * @param baseCurrency The currency to convert into
+     * @return Totals per group, and the amounts that could not be converted for lack of a rate
+     */
+    public Result convert(FxRateTable rates, String baseCurrency) {
+        FxRateTable.Series to = rates.series(baseCurrency);
+        BigDecimal[] converted = new BigDecimal[groups];
+        long[] groupCounts = new long[groups];
+        List<Map<String, CurrencyTotal>> original = new ArrayList<>(groups);
+        for (int group = 0; group < groups; group++) {
+            converted[group] = BigDecimal.ZERO;
+            original.add(new TreeMap<>());
+        }
+        Map<String, CurrencyTotal> unconverted = new TreeMap<>();
+
+        for (Sums sums : currencies) {
+            FxRateTable.Series from = rates.series(sums.currency);
+            long[] groupCents = new long[groups];
+            long[] pendingCents = new long[groups];
+            long[] groupCountsOfCurrency = new long[groups];
+            BigDecimal factor = null;
+            int fromIndex = Integer.MIN_VALUE;
+            int toIndex = Integer.MIN_VALUE;
+
+            for (int day = 0; day < days; day++) {
+                int nextFromIndex = from != null ? from.floor(firstDay + day) : -1;
+                int nextToIndex = to != null ? to.floor(firstDay + day) : -1;
+                if (nextFromIndex != fromIndex || nextToIndex != toIndex) {
+                    // The rates change: convert what was summed at the previous ones
+                    flush(pendingCents, factor, converted);
+                    fromIndex = nextFromIndex;
+                    toIndex = nextToIndex;
+                    factor = FxRateTable.factor(from, fromIndex, to, toIndex);
+                }
+
+                int base = day * groups;
+                for (int group = 0; group < groups; group++) {
+                    long rows = sums.counts[base + group];
+                    if (rows == 0) {
+                        continue;
+                    }
+                    long cents = sums.cents[base + group];
+                    groupCents[group] += cents;
+                    groupCountsOfCurrency[group] += rows;
+                    if (factor != null) {
+                        pendingCents[group] += cents;
+                    } else {
+                        CurrencyTotal.add(unconverted, sums.currency, BigDecimal.valueOf(cents, 2), rows);
+                    }
+                }
+            }
+            flush(pendingCents, factor, converted);
+
+            for (int group = 0; group < groups; group++) {
+                if (groupCountsOfCurrency[group] > 0) {
+                    CurrencyTotal.add(original.get(group), sums.currency, BigDecimal.valueOf(groupCents[group], 2),
+                            groupCountsOfCurrency[group]);
+                    groupCounts[group] += groupCountsOfCurrency[group];
+                }
+            }
+        }
+
+        List<GroupTotal> totals = new ArrayList<>(groups);
+        for (int group = 0; group < groups; group++) {
+            totals.add(new GroupTotal(groupCounts[group], converted[group].setScale(2, RoundingMode.HALF_EVEN),
+                    List.copyOf(original.get(group).values())));
+        }
+        return new Result(totals, List.copyOf(unconverted.values()));
+    }
+
+    private Sums sums(String currency) {
+        Sums sums = byCurrency.get(currency);
+        if (sums == null) {
+            String key = currency.toUpperCase(Locale.ROOT);
+            sums = byCurrency.get(key);
+            if (sums == null) {
+                sums = new Sums(key, days * groups);
+                byCurrency.put(key, sums);
+                currencies.add(sums);
+            }
+            byCurrency.put(currency, sums);
+        }
+        lastCurrency = currency;
+        lastSums = sums;
+        return sums;
+    }
+
+    private static void flush(long[] pendingCents, BigDecimal factor, BigDecimal[] converted) {
+        for (int group = 0; group < pendingCents.length; group++) {
+            if (pendingCents[group] != 0) {
+                converted[group] = converted[group].add(BigDecimal.valueOf(pendingCents[group], 2).multiply(factor));
+                pendingCents[group] = 0;
+            }
+        }
+    }
+
+    /**
+     * Totals of one group.
+     *
+     * @param count Amounts added, converted or not
+     * @param convertedAmount Sum of the converted amounts in the base currency, rounded to cents
+     * @param totalsByCurrency Sums in the original currencies, converted or not
+     */
+    public record GroupTotal(long count, BigDecimal convertedAmount, List<CurrencyTotal> totalsByCurrency) {
+    }
+
+    /**
+     * @param groups Totals by group number
+     * @param unconverted Amounts on days without a rate of their currency or the base currency, per currency
+     */
+    public record Result(List<GroupTotal> groups, List<CurrencyTotal> unconverted) {
+    }
+
+    // Cents and counts per (day, group), day-major
+    private static final class Sums {
+
+        private final String currency;
+        private final long[] cents;
+        private final int[] counts;
+
+        Sums(String currency, int cells) {
+            this.currency = currency;
+            this.cents = new long[cells];
+            this.counts = new int[cells];
+        }
+    }
+}
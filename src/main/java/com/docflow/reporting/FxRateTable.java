@@ -0,0 +1,214 @@
+package com.docflow.reporting;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable in-memory table of daily exchange rates, quoted as units of each currency per
+ * one unit of the reference currency.
+ *
+ * Each currency's rates are kept as a sorted array of epoch days next to an array of rates,
+ * so the rate for a date is one binary search: the rate of the latest date on or before it
+ * (weekends and holidays have no rate of their own). Before a currency's first rate there
+ * is none. The reference currency is 1 on every date, and an amount converts into its own
+ * currency without a rate. Safe to share between threads.
+ */
+public final class FxRateTable {
+
+    private static final MathContext PRECISION = MathContext.DECIMAL64;
+
+    private final String referenceCurrency;
+    private final Map<String, Series> series;
+    private final long rateCount;
+
+    private FxRateTable(String referenceCurrency, Map<String, Series> series) {
+        this.referenceCurrency = referenceCurrency;
+        this.series = series;
+        this.rateCount = series.values().stream().mapToLong(rates -> rates.days.length).sum();
+    }
+
+    public static FxRateTable empty(String referenceCurrency) {
+        return builder(referenceCurrency).build();
+    }
+
+    public static Builder builder(String referenceCurrency) {
+        return new Builder(normalize(referenceCurrency));
+    }
+
+    public String getReferenceCurrency() {
+        return referenceCurrency;
+    }
+
+    public int getCurrencyCount() {
+        return series.size();
+    }
+
+    public long getRateCount() {
+        return rateCount;
+    }
+
+    /**
+     * @return Whether rates of the currency are known; always true for the reference currency
+     */
+    public boolean contains(String currency) {
+        String key = normalize(currency);
+        return key.equals(referenceCurrency) || series.containsKey(key);
+    }
+
+    /**
+     * Looks up the rate of a currency on a date.
+     *
+     * @return The rate of the latest date on or before {@code date}, or null if there is none
+     */
+    public Quote quote(String currency, LocalDate date) {
+        String key = normalize(currency);
+        if (key.equals(referenceCurrency)) {
+            return new Quote(date, BigDecimal.ONE);
+        }
+        Series rates = series.get(key);
+        int index = rates != null ? rates.floor(date.toEpochDay()) : -1;
+        return index >= 0 ? new Quote(LocalDate.ofEpochDay(rates.days[index]), rates.rates[index]) : null;
+    }
+
+    /**
+     * Converts an amount between two currencies at their rates on a date, rounded to cents.
+     *
+     * @return The converted amount, or null if either currency has no rate on or before {@code date}
+     */
+    public BigDecimal convert(BigDecimal amount, String from, String to, LocalDate date) {
+        Series fromRates = series(from);
+        Series toRates = series(to);
+        long day = date.toEpochDay();
+        BigDecimal factor = fromRates != null && toRates != null
+                ? factor(fromRates, fromRates.floor(day), toRates, toRates.floor(day))
+                : null;
+        return factor != null ? amount.multiply(factor).setScale(2, RoundingMode.HALF_EVEN) : null;
+    }
+
+    /**
+     * Rates of a currency for allocation-free lookups; {@link Series#REFERENCE} for the
+     * reference currency, null if unknown.
+     */
+    Series series(String currency) {
+        String key = normalize(currency);
+        return key.equals(referenceCurrency) ? Series.REFERENCE : series.get(key);
+    }
+
+    /**
+     * Units of {@code to} per unit of {@code from}, given the index of each one's rate.
+     *
+     * @return The factor, or null if either index is -1 (no rate); 1 between the same currency
+     */
+    static BigDecimal factor(Series from, int fromIndex, Series to, int toIndex) {
+        if (from == to) {
+            return BigDecimal.ONE;
+        }
+        if (fromIndex < 0 || toIndex < 0) {
+            return null;
+        }
+        return to.rates[toIndex].divide(from.rates[fromIndex], PRECISION);
+    }
+
+    private static String normalize(String currency) {
+        return currency.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * A rate and the date it was quoted for.
+     */
+    public record Quote(LocalDate date, BigDecimal rate) {
+    }
+
+    /**
+     * One currency's rates in date order.
+     */
+    static final class Series {
+
+        // The reference currency: rate 1 from the first day on
+        static final Series REFERENCE = new Series(new int[]{Integer.MIN_VALUE}, new BigDecimal[]{BigDecimal.ONE});
+
+        private final int[] days;
+        private final BigDecimal[] rates;
+
+        private Series(int[] days, BigDecimal[] rates) {
+            this.days = days;
+            this.rates = rates;
+        }
+
+        /**
+         * @return Index of the latest rate on or before the day, -1 if the day precedes every rate
+         */
+        int floor(long epochDay) {
+            int index = Arrays.binarySearch(days, (int) epochDay);
+            return index >= 0 ? index : -index - 2;
+        }
+    }
+
+    /**
+     * Collects rates; each currency's rates must be added in ascending date order.
+     * Not thread-safe.
+     */
+    public static final class Builder {
+
+        private final String referenceCurrency;
+        private final Map<String, Growing> series = new HashMap<>();
+
+        private Builder(String referenceCurrency) {
+            this.referenceCurrency = referenceCurrency;
+        }
+
+        /**
+         * @param rate Units of the currency per one unit of the reference currency
+         * @throws IllegalArgumentException if the currency is the reference currency, the rate is
+         *                                  not positive or the date is not after the currency's last one
+         */
+        public Builder add(String currency, LocalDate date, BigDecimal rate) {
+            String key = normalize(currency);
+            if (key.equals(referenceCurrency)) {
+                throw new IllegalArgumentException("The reference currency " + referenceCurrency + " has no rates");
+            }
+            if (rate.signum() <= 0) {
+                throw new IllegalArgumentException("Rate must be positive: " + rate);
+            }
+            series.computeIfAbsent(key, k -> new Growing()).add(key, Math.toIntExact(date.toEpochDay()), rate);
+            return this;
+        }
+
+        public FxRateTable build() {
+            Map<String, Series> built = new HashMap<>(series.size() * 2);
+            series.forEach((currency, rates) -> built.put(currency, rates.toSeries()));
+            return new FxRateTable(referenceCurrency, built);
+        }
+    }
+
+    private static final class Growing {
+
+        private int[] days = new int[256];
+        private BigDecimal[] rates = new BigDecimal[256];
+        private int size;
+
+        void add(String currency, int day, BigDecimal rate) {
+            if (size > 0 && day <= days[size - 1]) {
+                throw new IllegalArgumentException("Rates of " + currency + " must be added in date order, "
+                        + LocalDate.ofEpochDay(day) + " is not after " + LocalDate.ofEpochDay(days[size - 1]));
+            }
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+                rates = Arrays.copyOf(rates, size * 2);
+            }
+            days[size] = day;
+            rates[size] = rate;
+            size++;
+        }
+
+        Series toSeries() {
+            return new Series(Arrays.copyOf(days, size), Arrays.copyOf(rates, size));
+        }
+    }
+}
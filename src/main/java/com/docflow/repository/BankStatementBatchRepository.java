@@ -0,0 +1,186 @@
+package com.docflow.repository;
+
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.PaymentDirection;
+import com.docflow.domain.enums.PaymentMethod;
+import com.docflow.domain.enums.StatementReviewReason;
+import com.docflow.domain.enums.StatementReviewStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC batch statements of a bank statement import.
+ *
+ * Pays matched outgoing invoices with one batched statement per table: documents (status
+ * and version), invoice_out (amount paid), payments, document_index and audit_logs, the
+ * same rows as recording the payment through {@code InvoiceOutService}. Credits left for
+ * review are inserted in one batch. Runs in the caller's transaction.
+ */
+@Repository
+public class BankStatementBatchRepository {
+
+    private static final String LOCK_APPROVED =
+            "SELECT d.id, o.total, o.outstanding FROM documents d JOIN invoice_out o ON o.id = d.id " +
+            "WHERE d.status = 'APPROVED' AND d.id IN (%s) FOR UPDATE";
+
+    private static final String UPDATE_DOCUMENT =
+            "UPDATE documents SET status = ?, version = version + 1, updated_at = ? WHERE id = ? AND status = ?";
+
+    // The credit pays what was outstanding, so nothing is left afterwards
+    private static final String SETTLE_BALANCE =
+            "UPDATE invoice_out SET amount_paid = total - amount_credited WHERE id = ?";
+
+    private static final String INSERT_PAYMENT =
+            "INSERT INTO payments (doc_id, direction, method, amount, paid_at, reference, bank_statement_id, " +
+            "created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_INDEX =
+            "UPDATE document_index SET status = ? WHERE doc_id = ?";
+
+    private static final String INSERT_AUDIT =
+            "INSERT INTO audit_logs (doc_id, user_id, action, from_status, to_status, note, created_at) " +
+            "VALUES (?, ?, 'PAID', ?, ?, ?, ?)";
+
+    private static final String INSERT_REVIEW_ITEM =
+            "INSERT INTO statement_review_items (bank_statement_id, entry_reference, booking_date, amount, currency, " +
+            "debtor_name, remittance_information, reason, suggested_doc_id, status, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BankStatementBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks the given invoices that are still APPROVED.
+     *
+     * @return Balances of the locked invoices by id
+     */
+    public Map<Long, Balance> lockApproved(Collection<Long> ids) {
+        String placeholders = ids.stream().map(id -> "?").collect(Collectors.joining(", "));
+        Map<Long, Balance> balances = new HashMap<>();
+        jdbcTemplate.query(String.format(LOCK_APPROVED, placeholders), rs -> {
+            balances.put(rs.getLong(1), new Balance(rs.getBigDecimal(2), rs.getBigDecimal(3)));
+        }, ids.toArray());
+        return balances;
+    }
+
+    /**
+     * Moves locked APPROVED invoices to PAID and records one inbound bank payment each.
+     *
+     * @return Number of documents updated
+     */
+    public int markPaid(long statementId, List<Credit> credits, long userId, String note, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        String approved = DocumentStatus.APPROVED.name();
+        String paid = DocumentStatus.PAID.name();
+
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_DOCUMENT, credits, credits.size(), (ps, credit) -> {
+            ps.setString(1, paid);
+            ps.setTimestamp(2, timestamp);
+            ps.setLong(3, credit.invoiceId());
+            ps.setString(4, approved);
+        });
+
+        jdbcTemplate.batchUpdate(SETTLE_BALANCE, credits, credits.size(),
+                (ps, credit) -> ps.setLong(1, credit.invoiceId()));
+
+        jdbcTemplate.batchUpdate(INSERT_PAYMENT, credits, credits.size(), (ps, credit) -> {
+            ps.setLong(1, credit.invoiceId());
+            ps.setString(2, PaymentDirection.INBOUND.name());
+            ps.setString(3, PaymentMethod.BANK.name());
+            ps.setBigDecimal(4, credit.amount());
+            ps.setTimestamp(5, Timestamp.valueOf(credit.paidAt()));
+            ps.setString(6, credit.reference());
+            ps.setLong(7, statementId);
+            ps.setTimestamp(8, timestamp);
+        });
+
+        jdbcTemplate.batchUpdate(UPDATE_INDEX, credits, credits.size(), (ps, credit) -> {
+            ps.setString(1, paid);
+            ps.setLong(2, credit.invoiceId());
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_AUDIT, credits, credits.size(), (ps, credit) -> {
+            ps.setLong(1, credit.invoiceId());
+            ps.setLong(2, userId);
+            ps.setString(3, approved);
+            ps.setString(4, paid);
+            ps.setString(5, note);
+            ps.setTimestamp(6, timestamp);
+        });
+
+        int count = 0;
+        for (int[] batch : updated) {
+            for (int rows : batch) {
+                // The driver may report a rewritten batch without per-row counts
+                count += rows == Statement.SUCCESS_NO_INFO ? 1 : rows;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Queues credits for review.
+     */
+    public void insertReviewItems(long statementId, List<ReviewItem> items, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT_REVIEW_ITEM, items, items.size(), (ps, item) -> {
+            ps.setLong(1, statementId);
+            ps.setString(2, truncate(item.entryReference(), 35));
+            if (item.bookingDate() != null) {
+                ps.setDate(3, Date.valueOf(item.bookingDate()));
+            } else {
+                ps.setNull(3, Types.DATE);
+            }
+            ps.setBigDecimal(4, item.amount().setScale(2, RoundingMode.HALF_UP));
+            ps.setString(5, item.currency());
+            ps.setString(6, truncate(item.debtorName(), 140));
+            ps.setString(7, truncate(item.remittanceInformation(), 500));
+            ps.setString(8, item.reason().name());
+            if (item.suggestedDocumentId() != null) {
+                ps.setLong(9, item.suggestedDocumentId());
+            } else {
+                ps.setNull(9, Types.BIGINT);
+            }
+            ps.setString(10, StatementReviewStatus.OPEN.name());
+            ps.setTimestamp(11, timestamp);
+        });
+    }
+
+    private static String truncate(String value, int length) {
+        return value == null || value.length() <= length ? value : value.substring(0, length);
+    }
+
+    /**
+     * An invoice's total and what is still outstanding of it.
+     */
+    public record Balance(BigDecimal total, BigDecimal outstanding) {
+    }
+
+    /**
+     * A credit that pays an invoice's outstanding balance in full.
+     */
+    public record Credit(long invoiceId, BigDecimal amount, LocalDateTime paidAt, String reference) {
+    }
+
+    public record ReviewItem(String entryReference, LocalDate bookingDate, BigDecimal amount, String currency,
+                             String debtorName, String remittanceInformation, StatementReviewReason reason,
+                             Long suggestedDocumentId) {
+    }
+}
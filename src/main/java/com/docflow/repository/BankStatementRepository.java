@@ -0,0 +1,11 @@
+package com.docflow.repository;
+
+import com.docflow.domain.entity.BankStatement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BankStatementRepository extends JpaRepository<BankStatement, Long> {
+
+    boolean existsByMessageId(String messageId);
+}
@@ -0,0 +1,209 @@
+package com.docflow.repository;
+
+import com.docflow.domain.enums.CreditNoteDirection;
+import com.docflow.domain.enums.CreditNoteStatus;
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC batch statements of applying credit notes.
+ *
+ * Applies credit notes against invoices with one batched statement per table: credit_notes
+ * (status and invoice), the invoice table (amount credited, added in place), documents
+ * (version, and status for settled invoices), document_index and audit_logs. Credit notes
+ * are locked before invoices, so two applications take turns. Runs in the caller's
+ * transaction.
+ */
+@Repository
+public class CreditNoteBatchRepository {
+
+    private static final String LOCK_OPEN_CREDIT_NOTES =
+            "SELECT id, direction, vendor_id, client_id, currency, amount FROM credit_notes " +
+            "WHERE status = 'OPEN' AND id IN (%s) FOR UPDATE";
+
+    private static final String LOCK_APPROVED_INVOICES =
+            "SELECT i.id, i.%s, i.currency, i.total, i.outstanding FROM %s i JOIN documents d ON d.id = i.id " +
+            "WHERE d.status = 'APPROVED' AND i.id IN (%s) FOR UPDATE";
+
+    private static final String UPDATE_CREDIT_NOTE =
+            "UPDATE credit_notes SET status = ?, related_doc_id = ?, applied_at = ?, applied_by_user_id = ? " +
+            "WHERE id = ? AND status = ?";
+
+    private static final String ADD_CREDIT =
+            "UPDATE %s SET amount_credited = amount_credited + ? WHERE id = ?";
+
+    private static final String UPDATE_DOCUMENT =
+            "UPDATE documents SET status = ?, version = version + 1, updated_at = ? WHERE id = ? AND status = ?";
+
+    private static final String UPDATE_INDEX =
+            "UPDATE document_index SET status = ? WHERE doc_id = ?";
+
+    private static final String INSERT_AUDIT =
+            "INSERT INTO audit_logs (doc_id, user_id, action, from_status, to_status, note, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CreditNoteBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks the given credit notes that are still OPEN.
+     *
+     * @return The locked credit notes by id
+     */
+    public Map<Long, OpenCreditNote> lockOpenCreditNotes(Collection<Long> ids) {
+        Map<Long, OpenCreditNote> creditNotes = new HashMap<>();
+        jdbcTemplate.query(String.format(LOCK_OPEN_CREDIT_NOTES, placeholders(ids)), rs -> {
+            creditNotes.put(rs.getLong("id"), new OpenCreditNote(rs.getLong("id"),
+                    CreditNoteDirection.valueOf(rs.getString("direction")),
+                    rs.getObject("vendor_id", Long.class), rs.getObject("client_id", Long.class),
+                    rs.getString("currency"), rs.getBigDecimal("amount")));
+        }, ids.toArray());
+        return creditNotes;
+    }
+
+    /**
+     * Locks the given invoices that are still APPROVED.
+     *
+     * @param type INVOICE_IN or INVOICE_OUT
+     * @return The locked invoices by id, with their vendor or client
+     */
+    public Map<Long, OpenInvoice> lockApprovedInvoices(DocumentType type, Collection<Long> ids) {
+        String sql = String.format(LOCK_APPROVED_INVOICES, counterpartyColumn(type), table(type), placeholders(ids));
+        Map<Long, OpenInvoice> invoices = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            invoices.put(rs.getLong(1), new OpenInvoice(rs.getLong(1), rs.getLong(2), rs.getString(3),
+                    rs.getBigDecimal(4), rs.getBigDecimal(5)));
+        }, ids.toArray());
+        return invoices;
+    }
+
+    /**
+     * Marks locked OPEN credit notes as applied to their invoice.
+     *
+     * @return Number of credit notes updated
+     */
+    public int markApplied(List<Application> applications, long userId, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        String open = CreditNoteStatus.OPEN.name();
+        String applied = CreditNoteStatus.APPLIED.name();
+
+        return count(jdbcTemplate.batchUpdate(UPDATE_CREDIT_NOTE, applications, applications.size(),
+                (ps, application) -> {
+                    ps.setString(1, applied);
+                    ps.setLong(2, application.invoiceId());
+                    ps.setTimestamp(3, timestamp);
+                    ps.setLong(4, userId);
+                    ps.setLong(5, application.creditNoteId());
+                    ps.setString(6, open);
+                }));
+    }
+
+    /**
+     * Adds each invoice's credit to its amount credited, bumps its version and audits it.
+     * Invoices whose credit settles them move from APPROVED to PAID.
+     *
+     * @param type INVOICE_IN or INVOICE_OUT
+     * @return Number of documents updated
+     */
+    public int credit(DocumentType type, List<InvoiceCredit> credits, long userId, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        String approved = DocumentStatus.APPROVED.name();
+
+        jdbcTemplate.batchUpdate(String.format(ADD_CREDIT, table(type)), credits, credits.size(), (ps, credit) -> {
+            ps.setBigDecimal(1, credit.amount());
+            ps.setLong(2, credit.invoiceId());
+        });
+
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_DOCUMENT, credits, credits.size(), (ps, credit) -> {
+            ps.setString(1, credit.status().name());
+            ps.setTimestamp(2, timestamp);
+            ps.setLong(3, credit.invoiceId());
+            ps.setString(4, approved);
+        });
+
+        List<InvoiceCredit> settled = credits.stream()
+                .filter(credit -> credit.status() == DocumentStatus.PAID)
+                .toList();
+        jdbcTemplate.batchUpdate(UPDATE_INDEX, settled, settled.size(), (ps, credit) -> {
+            ps.setString(1, DocumentStatus.PAID.name());
+            ps.setLong(2, credit.invoiceId());
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_AUDIT, credits, credits.size(), (ps, credit) -> {
+            ps.setLong(1, credit.invoiceId());
+            ps.setLong(2, userId);
+            ps.setString(3, credit.status() == DocumentStatus.PAID ? "PAID" : "CREDIT");
+            ps.setString(4, approved);
+            ps.setString(5, credit.status().name());
+            ps.setString(6, credit.note());
+            ps.setTimestamp(7, timestamp);
+        });
+
+        return count(updated);
+    }
+
+    private static int count(int[][] updated) {
+        int count = 0;
+        for (int[] batch : updated) {
+            for (int rows : batch) {
+                // The driver may report a rewritten batch without per-row counts
+                count += rows == Statement.SUCCESS_NO_INFO ? 1 : rows;
+            }
+        }
+        return count;
+    }
+
+    private static String placeholders(Collection<Long> ids) {
+        return ids.stream().map(id -> "?").collect(Collectors.joining(", "));
+    }
+
+    private static String table(DocumentType type) {
+        return switch (type) {
+            case INVOICE_IN -> "invoice_in";
+            case INVOICE_OUT -> "invoice_out";
+            default -> throw new IllegalArgumentException("Credit notes do not apply to " + type + " documents");
+        };
+    }
+
+    private static String counterpartyColumn(DocumentType type) {
+        return type == DocumentType.INVOICE_IN ? "vendor_id" : "client_id";
+    }
+
+    /**
+     * An OPEN credit note; {@code vendorId} is set for VENDOR and {@code clientId} for CLIENT credit notes.
+     */
+    public record OpenCreditNote(long id, CreditNoteDirection direction, Long vendorId, Long clientId,
+                                 String currency, BigDecimal amount) {
+    }
+
+    /**
+     * An APPROVED invoice; {@code counterpartyId} is its vendor or client.
+     */
+    public record OpenInvoice(long id, long counterpartyId, String currency, BigDecimal total,
+                              BigDecimal outstanding) {
+    }
+
+    public record Application(long creditNoteId, long invoiceId) {
+    }
+
+    /**
+     * The credit notes applied to one invoice: their sum, and the invoice's status afterwards.
+     */
+    public record InvoiceCredit(long invoiceId, BigDecimal amount, DocumentStatus status, String note) {
+    }
+}
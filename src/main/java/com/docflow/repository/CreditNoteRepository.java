@@ -0,0 +1,34 @@
+package com.docflow.repository;
+
+import com.docflow.domain.entity.CreditNote;
+import com.docflow.domain.enums.CreditNoteDirection;
+import com.docflow.domain.enums.CreditNoteStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CreditNoteRepository extends JpaRepository<CreditNote, Long> {
+
+    @EntityGraph(attributePaths = {"vendor", "client"})
+    @Query("SELECT cn FROM CreditNote cn WHERE cn.id = :id")
+    Optional<CreditNote> findByIdWithDetails(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"vendor", "client"})
+    @Query("SELECT cn FROM CreditNote cn WHERE " +
+           "(:direction IS NULL OR cn.direction = :direction) AND " +
+           "(:vendorId IS NULL OR cn.vendor.id = :vendorId) AND " +
+           "(:clientId IS NULL OR cn.client.id = :clientId) AND " +
+           "(:status IS NULL OR cn.status = :status)")
+    Page<CreditNote> findByFilters(@Param("direction") CreditNoteDirection direction,
+                                   @Param("vendorId") Long vendorId,
+                                   @Param("clientId") Long clientId,
+                                   @Param("status") CreditNoteStatus status,
+                                   Pageable pageable);
+}
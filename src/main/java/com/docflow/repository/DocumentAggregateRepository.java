@@ -0,0 +1,47 @@
+package com.docflow.repository;
+
+import com.docflow.dto.filter.CurrencyTotal;
+import com.docflow.specification.DocumentVisibility;
+import com.docflow.specification.FilterQueryTemplate;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregate queries over document subtypes that carry {@code currency} and {@code total}.
+ * Reuses the filter templates so aggregates always match the listing they summarize.
+ */
+@Repository
+public class DocumentAggregateRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Sums totals and counts matches per currency in a single grouped statement.
+     *
+     * @param template Filter template of the document subtype
+     * @param criteria Filter criteria
+     * @param visibility Documents the caller may read
+     * @return One entry per currency, ordered by currency
+     */
+    public <C> List<CurrencyTotal> sumTotalsByCurrency(FilterQueryTemplate<C> template, C criteria,
+                                                       DocumentVisibility visibility) {
+        FilterQueryTemplate.BoundQuery bound = template.bind(criteria, visibility);
+        TypedQuery<Object[]> query = entityManager.createQuery(bound.shape().totalsJpql(), Object[].class);
+        bound.parameters().forEach(query::setParameter);
+
+        return query.getResultList().stream()
+                .map(row -> CurrencyTotal.builder()
+                        .currency((String) row[0])
+                        .totalAmount((BigDecimal) row[1])
+                        .count((Long) row[2])
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,49 @@
+package com.docflow.repository;
+
+import com.docflow.domain.enums.DocumentType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Payment balances of invoices and reimbursements.
+ *
+ * A payment is applied with one conditional UPDATE that adds to {@code amount_paid} in place.
+ * Concurrent payments of one document queue on its row lock and each re-checks the balance
+ * against the latest committed row, so none is lost and together they cannot pay more than
+ * is outstanding. {@code outstanding} is a generated column and changes in the same row write.
+ * Runs in the caller's transaction.
+ */
+@Repository
+public class DocumentBalanceRepository {
+
+    private static final String APPLY_PAYMENT =
+            "UPDATE %s SET amount_paid = amount_paid + ? WHERE id = ? AND ? <= outstanding + ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DocumentBalanceRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds a payment to a document's amount paid. The caller checks the document's status.
+     *
+     * @param tolerance How much the payments may exceed the total
+     * @return false if the payment exceeds the outstanding balance plus the tolerance
+     */
+    public boolean applyPayment(DocumentType type, long documentId, BigDecimal amount, BigDecimal tolerance) {
+        return jdbcTemplate.update(String.format(APPLY_PAYMENT, table(type)), amount, documentId, amount,
+                tolerance) == 1;
+    }
+
+    private static String table(DocumentType type) {
+        return switch (type) {
+            case INVOICE_IN -> "invoice_in";
+            case INVOICE_OUT -> "invoice_out";
+            case REIMBURSEMENT -> "reimbursements";
+            default -> throw new IllegalArgumentException(type + " documents are not paid");
+        };
+    }
+}
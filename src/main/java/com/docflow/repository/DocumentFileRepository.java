@@ -1,11 +1,16 @@
 package com.docflow.repository;
 
 import com.docflow.domain.entity.DocumentFile;
+import com.docflow.domain.enums.ScanStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +27,22 @@ public interface DocumentFileRepository extends JpaRepository<DocumentFile, Long
     Optional<DocumentFile> findByIdAndDocumentId(@Param("fileId") Long fileId, @Param("docId") Long docId);
 
     long countByDocumentId(Long docId);
+
+    @Query("SELECT f.id FROM DocumentFile f WHERE f.scanStatus = :status AND f.createdAt < :before ORDER BY f.createdAt")
+    List<Long> findIdsByScanStatusCreatedBefore(
+            @Param("status") ScanStatus status,
+            @Param("before") LocalDateTime before,
+            Pageable pageable
+    );
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE DocumentFile f SET f.scanStatus = :status, f.scanDetail = :detail, f.scannedAt = :scannedAt " +
+           "WHERE f.id = :id")
+    int updateScanResult(
+            @Param("id") Long id,
+            @Param("status") ScanStatus status,
+            @Param("detail") String detail,
+            @Param("scannedAt") LocalDateTime scannedAt
+    );
 }
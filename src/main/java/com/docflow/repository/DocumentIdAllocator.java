@@ -0,0 +1,40 @@
+package com.docflow.repository;
+
+import com.docflow.domain.entity.Document;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Draws document ids from the same pooled generator that {@link Document} entities use,
+ * for writers that insert documents with JDBC batches instead of persisting entities.
+ * Ids are handed out from memory; the sequence table is read once per block, in its own
+ * transaction, so ids never collide with concurrent entity inserts.
+ */
+@Repository
+public class DocumentIdAllocator {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Allocates document ids. Must run inside a transaction.
+     *
+     * @param count Number of ids
+     * @return The ids, ascending
+     */
+    public long[] allocate(int count) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Document.class)
+                .getGenerator();
+
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = ((Number) generator.generate(session, null)).longValue();
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,87 @@
+package com.docflow.repository;
+
+import com.docflow.domain.entity.DocumentIndexEntry;
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DocumentIndexRepository extends JpaRepository<DocumentIndexEntry, Long> {
+
+    /**
+     * Inserts or replaces the index row of a document.
+     * Runs in the caller's transaction, so the row commits or rolls back with the document.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO document_index (doc_id, doc_type, status, owner_user_id, counterparty_name, " +
+           "doc_number, doc_date, amount, currency, created_at) " +
+           "VALUES (:id, :docType, :status, :ownerUserId, :counterpartyName, " +
+           ":docNumber, :docDate, :amount, :currency, :createdAt) AS row_new " +
+           "ON DUPLICATE KEY UPDATE " +
+           "status = row_new.status, " +
+           "counterparty_name = row_new.counterparty_name, " +
+           "doc_number = row_new.doc_number, " +
+           "doc_date = row_new.doc_date, " +
+           "amount = row_new.amount, " +
+           "currency = row_new.currency",
+           nativeQuery = true)
+    void upsert(@Param("id") Long id,
+                @Param("docType") String docType,
+                @Param("status") String status,
+                @Param("ownerUserId") Long ownerUserId,
+                @Param("counterpartyName") String counterpartyName,
+                @Param("docNumber") String docNumber,
+                @Param("docDate") LocalDate docDate,
+                @Param("amount") BigDecimal amount,
+                @Param("currency") String currency,
+                @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("UPDATE DocumentIndexEntry e SET e.status = :status WHERE e.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") DocumentStatus status);
+
+    /**
+     * Keyset page, newest first. The cursor is the (createdAt, id) of the last row
+     * already returned; both null for the first page. With an owner or status filter
+     * the walk runs on (owner_user_id | status, created_at, doc_id), otherwise on
+     * (created_at, doc_id), so no page ever sorts or skips rows.
+     *
+     * A non-null viewerId keeps only rows the viewer may read, with the rules of
+     * {@link com.docflow.specification.DocumentVisibility}: owner, owner's manager, approver
+     * of the matched purchase order, and the employee of a claim or reimbursement or that
+     * employee's manager. Rows are filtered inside the walk, so a page is never short.
+     */
+    @Query("SELECT e FROM DocumentIndexEntry e WHERE " +
+           "(:ownerUserId IS NULL OR e.ownerUserId = :ownerUserId) AND " +
+           "(:viewerId IS NULL OR e.ownerUserId = :viewerId " +
+           " OR e.ownerUserId IN (SELECT emp.user.id FROM Employee emp WHERE emp.manager.id = :viewerId) " +
+           " OR e.id IN (SELECT i.id FROM InvoiceIn i WHERE i.purchaseOrder.approver.id = :viewerId) " +
+           " OR e.id IN (SELECT c.id FROM ExpenseClaim c " +
+           "  WHERE c.employee.user.id = :viewerId OR c.employee.manager.id = :viewerId) " +
+           " OR e.id IN (SELECT r.id FROM Reimbursement r " +
+           "  WHERE r.employee.user.id = :viewerId OR r.employee.manager.id = :viewerId)) AND " +
+           "(:status IS NULL OR e.status = :status) AND " +
+           "(:docType IS NULL OR e.docType = :docType) AND " +
+           "(:prefix IS NULL OR e.docNumber LIKE :prefix OR e.counterpartyName LIKE :prefix) AND " +
+           "(:afterCreatedAt IS NULL OR e.createdAt < :afterCreatedAt " +
+           " OR (e.createdAt = :afterCreatedAt AND e.id < :afterId)) " +
+           "ORDER BY e.createdAt DESC, e.id DESC")
+    List<DocumentIndexEntry> findPage(@Param("ownerUserId") Long ownerUserId,
+                                      @Param("viewerId") Long viewerId,
+                                      @Param("status") DocumentStatus status,
+                                      @Param("docType") DocumentType docType,
+                                      @Param("prefix") String prefix,
+                                      @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                      @Param("afterId") Long afterId,
+                                      Limit limit);
+}
@@ -3,6 +3,7 @@ package com.docflow.repository;
 import com.docflow.domain.entity.Document;
 import com.docflow.domain.enums.DocumentStatus;
 import com.docflow.domain.enums.DocumentType;
+import com.docflow.repository.projection.DocumentHeaderRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,10 +12,20 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
 
+    /**
+     * Find the header of a document from the documents table only.
+     * findById on the JOINED root outer-joins every subtype table.
+     */
+    @Query(value = "SELECT id, doc_type AS docType, status, owner_user_id AS ownerUserId, version " +
+           "FROM documents WHERE id = :id",
+           nativeQuery = true)
+    Optional<DocumentHeaderRow> findHeaderById(@Param("id") Long id);
+
     /**
      * Find documents by type.
      */
@@ -0,0 +1,50 @@
+package com.docflow.repository;
+
+import com.docflow.domain.entity.DocumentSummary;
+import com.docflow.repository.projection.DocumentSummaryCountRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface DocumentSummaryRepository extends JpaRepository<DocumentSummary, DocumentSummary.Key> {
+
+    /**
+     * Adds a delta to one summary cell, creating it if missing.
+     * Runs in the caller's transaction, so the counter commits or rolls back with the document.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO document_summary (doc_type, status, currency, doc_count, total_amount) " +
+           "VALUES (:docType, :status, :currency, :countDelta, :amountDelta) AS delta " +
+           "ON DUPLICATE KEY UPDATE " +
+           "doc_count = document_summary.doc_count + delta.doc_count, " +
+           "total_amount = document_summary.total_amount + delta.total_amount",
+           nativeQuery = true)
+    void applyDelta(@Param("docType") String docType,
+                    @Param("status") String status,
+                    @Param("currency") String currency,
+                    @Param("countDelta") long countDelta,
+                    @Param("amountDelta") BigDecimal amountDelta);
+
+    /**
+     * Counts every summary cell from the document tables. A plain SELECT, so it reads a
+     * consistent snapshot without locking the document rows.
+     */
+    @Query(value = "SELECT d.doc_type AS docType, d.status AS status, t.currency AS currency, " +
+           "COUNT(*) AS docCount, SUM(t.total) AS totalAmount " +
+           "FROM documents d " +
+           "JOIN (" +
+           "  SELECT id, currency, total FROM invoice_in" +
+           "  UNION ALL SELECT id, currency, total FROM invoice_out" +
+           "  UNION ALL SELECT id, currency, total FROM expense_claims" +
+           "  UNION ALL SELECT id, currency, total FROM reimbursements" +
+           ") t ON t.id = d.id " +
+           "GROUP BY d.doc_type, d.status, t.currency",
+           nativeQuery = true)
+    List<DocumentSummaryCountRow> countFromDocuments();
+}
@@ -1,8 +1,11 @@
 package com.docflow.repository;
 
 import com.docflow.domain.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,7 +17,12 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     @Query("SELECT e FROM Employee e WHERE e.user.email = :email")
     Optional<Employee> findByUserEmail(@Param("email") String email);
 
+    // Cached in "employee-by-user"; invalidated whenever the employees table is written
     @Query("SELECT e FROM Employee e WHERE e.user.id = :userId")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "employee-by-user")
+    })
     Optional<Employee> findByUserId(@Param("userId") Long userId);
 
     @Query("SELECT COUNT(e) > 0 FROM Employee e WHERE e.user.email = :email")
@@ -2,8 +2,12 @@ package com.docflow.repository;
 
 import com.docflow.domain.entity.ExpenseClaim;
 import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.specification.ExpenseClaimSpecification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,13 +22,59 @@ public interface ExpenseClaimRepository extends JpaRepository<ExpenseClaim, Long
     @Query("SELECT e FROM ExpenseClaim e LEFT JOIN FETCH e.employee LEFT JOIN FETCH e.ownerUser LEFT JOIN FETCH e.items WHERE e.id = :id")
     Optional<ExpenseClaim> findByIdWithDetails(@Param("id") Long id);
 
+    /**
+     * {@link #findByIdWithDetails} restricted to rows the viewer may read; a null viewer reads all.
+     */
+    @Query("SELECT e FROM ExpenseClaim e LEFT JOIN FETCH e.employee LEFT JOIN FETCH e.ownerUser LEFT JOIN FETCH e.items WHERE e.id = :id AND " +
+           "(:viewerId IS NULL OR " + ExpenseClaimSpecification.VISIBLE_TO_VIEWER + ")")
+    Optional<ExpenseClaim> findVisibleByIdWithDetails(@Param("id") Long id, @Param("viewerId") Long viewerId);
+
+    /**
+     * Current version of a document the viewer may read, without loading it.
+     */
+    @Query("SELECT e.version FROM ExpenseClaim e WHERE e.id = :id AND " +
+           "(:viewerId IS NULL OR " + ExpenseClaimSpecification.VISIBLE_TO_VIEWER + ")")
+    Optional<Integer> findVisibleVersion(@Param("id") Long id, @Param("viewerId") Long viewerId);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user", "ownerUser"})
     @Query("SELECT e FROM ExpenseClaim e WHERE " +
            "(:status IS NULL OR e.status = :status) AND " +
-           "(:employeeId IS NULL OR e.employee.id = :employeeId)")
+           "(:employeeId IS NULL OR e.employee.id = :employeeId) AND " +
+           "(:viewerId IS NULL OR " + ExpenseClaimSpecification.VISIBLE_TO_VIEWER + ")")
     Page<ExpenseClaim> findByFilters(@Param("status") DocumentStatus status,
                                       @Param("employeeId") Long employeeId,
+                                      @Param("viewerId") Long viewerId,
                                       Pageable pageable);
 
+    /**
+     * Same filter as {@link #findByFilters}, fetching one extra row to detect a next page
+     * instead of running a COUNT query.
+     */
+    @EntityGraph(attributePaths = {"employee", "employee.user", "ownerUser"})
+    @Query("SELECT e FROM ExpenseClaim e WHERE " +
+           "(:status IS NULL OR e.status = :status) AND " +
+           "(:employeeId IS NULL OR e.employee.id = :employeeId) AND " +
+           "(:viewerId IS NULL OR " + ExpenseClaimSpecification.VISIBLE_TO_VIEWER + ")")
+    Slice<ExpenseClaim> findSliceByFilters(@Param("status") DocumentStatus status,
+                                           @Param("employeeId") Long employeeId,
+                                           @Param("viewerId") Long viewerId,
+                                           Pageable pageable);
+
+    @Query("SELECT COUNT(e) FROM ExpenseClaim e WHERE " +
+           "(:status IS NULL OR e.status = :status) AND " +
+           "(:employeeId IS NULL OR e.employee.id = :employeeId) AND " +
+           "(:viewerId IS NULL OR " + ExpenseClaimSpecification.VISIBLE_TO_VIEWER + ")")
+    long countByFilters(@Param("status") DocumentStatus status,
+                        @Param("employeeId") Long employeeId,
+                        @Param("viewerId") Long viewerId);
+
+    /**
+     * Specification search with the associations the list response reads fetched in the same query.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"employee", "employee.user", "ownerUser"})
+    Page<ExpenseClaim> findAll(Specification<ExpenseClaim> spec, Pageable pageable);
+
     @Query("SELECT e FROM ExpenseClaim e WHERE e.employee.id = :employeeId")
     Page<ExpenseClaim> findByEmployeeId(@Param("employeeId") Long employeeId, Pageable pageable);
 
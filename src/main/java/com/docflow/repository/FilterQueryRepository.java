@@ -0,0 +1,115 @@
+package com.docflow.repository;
+
+import com.docflow.specification.DocumentVisibility;
+import com.docflow.specification.FilterQueryTemplate;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Executes filter listings from precompiled {@link FilterQueryTemplate} shapes.
+ * Page semantics match {@code JpaSpecificationExecutor.findAll(spec, pageable)}: the count
+ * query is skipped when the page itself shows the total.
+ */
+@Repository
+public class FilterQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // ORDER BY clauses are validated against the metamodel once per (entity, sort)
+    private final Map<OrderKey, String> orderClauses = new ConcurrentHashMap<>();
+
+    /**
+     * Loads one page of a filtered listing.
+     *
+     * @param template Filter template of the document subtype
+     * @param criteria Filter criteria
+     * @param visibility Documents the caller may read
+     * @param pageable Page and sort
+     * @return Page of matching entities
+     */
+    @SuppressWarnings("unchecked")
+    public <T, C> Page<T> findPage(FilterQueryTemplate<C> template, C criteria, DocumentVisibility visibility,
+                                   Pageable pageable) {
+        FilterQueryTemplate.BoundQuery bound = template.bind(criteria, visibility);
+        Class<T> type = (Class<T>) template.getEntityType();
+
+        TypedQuery<T> query = entityManager.createQuery(
+                bound.shape().selectJpql() + orderClause(template, pageable.getSort()), type);
+        bound.parameters().forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<T> content = query.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            TypedQuery<Long> count = entityManager.createQuery(bound.shape().countJpql(), Long.class);
+            bound.parameters().forEach(count::setParameter);
+            return count.getSingleResult();
+        });
+    }
+
+    private String orderClause(FilterQueryTemplate<?> template, Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        return orderClauses.computeIfAbsent(new OrderKey(template.getEntityType(), sort),
+                key -> renderOrderClause(template, sort));
+    }
+
+    private String renderOrderClause(FilterQueryTemplate<?> template, Sort sort) {
+        StringBuilder clause = new StringBuilder(" ORDER BY ");
+        boolean first = true;
+        for (Sort.Order order : sort) {
+            validatePath(template.getEntityType(), order.getProperty());
+            if (!first) {
+                clause.append(", ");
+            }
+            clause.append(template.getAlias()).append('.').append(order.getProperty())
+                    .append(order.isAscending() ? " ASC" : " DESC");
+            first = false;
+        }
+        return clause.toString();
+    }
+
+    /**
+     * Rejects sort properties that are not attribute paths of the entity; the path is
+     * concatenated into JPQL, so only metamodel names may pass.
+     */
+    private void validatePath(Class<?> entityType, String path) {
+        ManagedType<?> type = entityManager.getMetamodel().managedType(entityType);
+        String[] segments = path.split("\\.");
+        for (int i = 0; i < segments.length; i++) {
+            Attribute<?, ?> attribute;
+            try {
+                attribute = type.getAttribute(segments[i]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown sort property: " + path);
+            }
+            if (i < segments.length - 1) {
+                if (!(attribute instanceof SingularAttribute<?, ?> singular)
+                        || !(singular.getType() instanceof ManagedType<?> next)) {
+                    throw new IllegalArgumentException("Unknown sort property: " + path);
+                }
+                type = next;
+            }
+        }
+    }
+
+    private record OrderKey(Class<?> entityType, Sort sort) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.docflow.repository;
+
+import com.docflow.reporting.FxRateTable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC access to the fx_rates table: batched upserts of imported rates, and loading every
+ * rate into an {@link FxRateTable}.
+ */
+@Repository
+public class FxRateRepository {
+
+    private static final String UPSERT_RATE =
+            "INSERT INTO fx_rates (currency, rate_date, rate, imported_at) VALUES (?, ?, ?, ?) AS new " +
+            "ON DUPLICATE KEY UPDATE rate = new.rate, imported_at = new.imported_at";
+
+    // Primary key order, as the table builder requires
+    private static final String SELECT_RATES =
+            "SELECT currency, rate_date, rate FROM fx_rates ORDER BY currency, rate_date";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FxRateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts rates, replacing any rate of the same currency and date. Runs in the caller's transaction.
+     */
+    public void upsert(List<Row> rows, LocalDateTime importedAt) {
+        Timestamp timestamp = Timestamp.valueOf(importedAt);
+        jdbcTemplate.batchUpdate(UPSERT_RATE, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.currency());
+            ps.setDate(2, Date.valueOf(row.date()));
+            ps.setBigDecimal(3, row.rate());
+            ps.setTimestamp(4, timestamp);
+        });
+    }
+
+    /**
+     * Loads every rate.
+     *
+     * @param referenceCurrency The currency the rates are quoted against
+     */
+    public FxRateTable loadTable(String referenceCurrency) {
+        FxRateTable.Builder builder = FxRateTable.builder(referenceCurrency);
+        jdbcTemplate.query(SELECT_RATES, rs -> {
+            builder.add(rs.getString(1), rs.getDate(2).toLocalDate(), rs.getBigDecimal(3));
+        });
+        return builder.build();
+    }
+
+    public record Row(String currency, LocalDate date, BigDecimal rate) {
+    }
+}
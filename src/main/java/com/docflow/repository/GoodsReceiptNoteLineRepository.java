@@ -0,0 +1,25 @@
+package com.docflow.repository;
+
+import com.docflow.domain.entity.GoodsReceiptNoteLine;
+import com.docflow.repository.projection.PurchaseOrderAmountRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GoodsReceiptNoteLineRepository extends JpaRepository<GoodsReceiptNoteLine, Long> {
+
+    /**
+     * Received value (received quantity x purchase order unit price) per purchase order of the given vendors.
+     */
+    @Query("SELECT po.id AS purchaseOrderId, po.vendor.id AS vendorId, po.currency AS currency, " +
+           "SUM(g.quantityReceived * l.unitPrice) AS amount " +
+           "FROM GoodsReceiptNoteLine g JOIN g.purchaseOrderLine l JOIN l.purchaseOrder po " +
+           "WHERE po.vendor.id IN :vendorIds " +
+           "GROUP BY po.id, po.vendor.id, po.currency")
+    List<PurchaseOrderAmountRow> sumReceivedByVendorIds(@Param("vendorIds") Collection<Long> vendorIds);
+}
@@ -0,0 +1,72 @@
+package com.docflow.repository;
+
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+
+/**
+ * Streams the status, currency, date and total of every invoice in a date range, for
+ * period totals.
+ *
+ * The date and total come back as primitives (days since 1970-01-01, cents), so reading a
+ * row creates no date or BigDecimal objects. The result is streamed rather than buffered.
+ */
+@Repository
+public class InvoiceAmountRepository {
+
+    private static final String SELECT_AMOUNTS =
+            "SELECT d.status, i.currency, DATEDIFF(i.invoice_date, '1970-01-01'), CAST(i.total * 100 AS SIGNED) " +
+            "FROM %s i JOIN documents d ON d.id = i.id WHERE i.invoice_date BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InvoiceAmountRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Passes every invoice dated within the range to the handler, in no particular order.
+     *
+     * @param type INVOICE_IN or INVOICE_OUT
+     * @param from First invoice date
+     * @param to Last invoice date
+     */
+    public void forEachAmount(DocumentType type, LocalDate from, LocalDate to, AmountHandler handler) {
+        String sql = String.format(SELECT_AMOUNTS, table(type));
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            // Integer.MIN_VALUE: MySQL Connector/J streams the result instead of buffering it
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setDate(1, Date.valueOf(from));
+            ps.setDate(2, Date.valueOf(to));
+            return ps;
+        }, rs -> {
+            handler.accept(DocumentStatus.valueOf(rs.getString(1)), rs.getString(2), rs.getLong(3), rs.getLong(4));
+        });
+    }
+
+    private static String table(DocumentType type) {
+        return switch (type) {
+            case INVOICE_IN -> "invoice_in";
+            case INVOICE_OUT -> "invoice_out";
+            default -> throw new IllegalArgumentException("Period totals are only available for invoices, not " + type);
+        };
+    }
+
+    @FunctionalInterface
+    public interface AmountHandler {
+
+        /**
+         * @param epochDay Invoice date as {@link LocalDate#toEpochDay()}
+         * @param cents Invoice total in cents
+         */
+        void accept(DocumentStatus status, String currency, long epochDay, long cents);
+    }
+}
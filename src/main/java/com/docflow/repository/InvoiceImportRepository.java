@@ -0,0 +1,101 @@
+package com.docflow.repository;
+
+import com.docflow.domain.entity.InvoiceIn;
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch inserts for bulk-imported incoming invoices.
+ *
+ * Writes the same rows as persisting {@code InvoiceIn} entities plus their document_index
+ * rows: one batched statement per table, which the MySQL driver rewrites into multi-row
+ * INSERTs. Ids must come from {@link DocumentIdAllocator}. Runs in the caller's transaction.
+ */
+@Repository
+public class InvoiceImportRepository {
+
+    private static final String INSERT_DOCUMENT =
+            "INSERT INTO documents (id, doc_type, status, owner_user_id, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_INVOICE =
+            "INSERT INTO invoice_in (id, vendor_id, invoice_no, invoice_no_key, invoice_date, due_date, currency, " +
+            "subtotal, tax, total) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_INDEX =
+            "INSERT INTO document_index (doc_id, doc_type, status, owner_user_id, counterparty_name, " +
+            "doc_number, doc_date, amount, currency, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InvoiceImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts DRAFT invoices owned by one user.
+     *
+     * @param rows Invoices with allocated ids
+     * @param ownerUserId Owner of every row
+     * @param createdAt Creation timestamp of every row
+     */
+    public void insertDrafts(List<Row> rows, Long ownerUserId, LocalDateTime createdAt) {
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        String docType = DocumentType.INVOICE_IN.name();
+        String status = DocumentStatus.DRAFT.name();
+
+        jdbcTemplate.batchUpdate(INSERT_DOCUMENT, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.id());
+            ps.setString(2, docType);
+            ps.setString(3, status);
+            ps.setLong(4, ownerUserId);
+            ps.setTimestamp(5, timestamp);
+            ps.setTimestamp(6, timestamp);
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_INVOICE, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.id());
+            ps.setLong(2, row.vendorId());
+            ps.setString(3, row.invoiceNo());
+            ps.setString(4, InvoiceIn.normalizeInvoiceNo(row.invoiceNo()));
+            ps.setDate(5, Date.valueOf(row.invoiceDate()));
+            if (row.dueDate() != null) {
+                ps.setDate(6, Date.valueOf(row.dueDate()));
+            } else {
+                ps.setNull(6, Types.DATE);
+            }
+            ps.setString(7, row.currency());
+            ps.setBigDecimal(8, row.subtotal());
+            ps.setBigDecimal(9, row.tax());
+            ps.setBigDecimal(10, row.total());
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_INDEX, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.id());
+            ps.setString(2, docType);
+            ps.setString(3, status);
+            ps.setLong(4, ownerUserId);
+            ps.setString(5, row.vendorName());
+            ps.setString(6, row.invoiceNo());
+            ps.setDate(7, Date.valueOf(row.invoiceDate()));
+            ps.setBigDecimal(8, row.total());
+            ps.setString(9, row.currency());
+            ps.setTimestamp(10, timestamp);
+        });
+    }
+
+    public record Row(long id, Long vendorId, String vendorName, String invoiceNo, LocalDate invoiceDate,
+                      LocalDate dueDate, String currency, BigDecimal subtotal, BigDecimal tax, BigDecimal total) {
+    }
+}
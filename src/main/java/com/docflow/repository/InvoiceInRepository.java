@@ -2,14 +2,30 @@ package com.docflow.repository;
 
 import com.docflow.domain.entity.InvoiceIn;
 import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.repository.projection.AgingRow;
+import com.docflow.repository.projection.InvoiceFingerprintRow;
+import com.docflow.repository.projection.InvoiceMatchInputRow;
+import com.docflow.repository.projection.InvoiceSearchRow;
+import com.docflow.specification.InvoiceInSpecification;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface InvoiceInRepository extends JpaRepository<InvoiceIn, Long>, 
@@ -18,18 +34,155 @@ public interface InvoiceInRepository extends JpaRepository<InvoiceIn, Long>,
     @Query("SELECT i FROM InvoiceIn i LEFT JOIN FETCH i.vendor LEFT JOIN FETCH i.ownerUser WHERE i.id = :id")
     Optional<InvoiceIn> findByIdWithDetails(@Param("id") Long id);
 
+    /**
+     * {@link #findByIdWithDetails} restricted to rows the viewer may read; a null viewer reads all.
+     */
+    @Query("SELECT i FROM InvoiceIn i LEFT JOIN FETCH i.vendor LEFT JOIN FETCH i.ownerUser WHERE i.id = :id AND " +
+           "(:viewerId IS NULL OR " + InvoiceInSpecification.VISIBLE_TO_VIEWER + ")")
+    Optional<InvoiceIn> findVisibleByIdWithDetails(@Param("id") Long id, @Param("viewerId") Long viewerId);
+
+    /**
+     * Current version of a document the viewer may read, without loading it.
+     */
+    @Query("SELECT i.version FROM InvoiceIn i WHERE i.id = :id AND " +
+           "(:viewerId IS NULL OR " + InvoiceInSpecification.VISIBLE_TO_VIEWER + ")")
+    Optional<Integer> findVisibleVersion(@Param("id") Long id, @Param("viewerId") Long viewerId);
+
+    @EntityGraph(attributePaths = {"vendor", "ownerUser"})
     @Query("SELECT i FROM InvoiceIn i WHERE " +
            "(:status IS NULL OR i.status = :status) AND " +
-           "(:vendorId IS NULL OR i.vendor.id = :vendorId)")
+           "(:vendorId IS NULL OR i.vendor.id = :vendorId) AND " +
+           "(:viewerId IS NULL OR " + InvoiceInSpecification.VISIBLE_TO_VIEWER + ")")
     Page<InvoiceIn> findByFilters(@Param("status") DocumentStatus status,
                                    @Param("vendorId") Long vendorId,
+                                   @Param("viewerId") Long viewerId,
                                    Pageable pageable);
 
+    /**
+     * Same filter as {@link #findByFilters}, fetching one extra row to detect a next page
+     * instead of running a COUNT query.
+     */
+    @EntityGraph(attributePaths = {"vendor", "ownerUser"})
+    @Query("SELECT i FROM InvoiceIn i WHERE " +
+           "(:status IS NULL OR i.status = :status) AND " +
+           "(:vendorId IS NULL OR i.vendor.id = :vendorId) AND " +
+           "(:viewerId IS NULL OR " + InvoiceInSpecification.VISIBLE_TO_VIEWER + ")")
+    Slice<InvoiceIn> findSliceByFilters(@Param("status") DocumentStatus status,
+                                        @Param("vendorId") Long vendorId,
+                                        @Param("viewerId") Long viewerId,
+                                        Pageable pageable);
+
+    @Query("SELECT COUNT(i) FROM InvoiceIn i WHERE " +
+           "(:status IS NULL OR i.status = :status) AND " +
+           "(:vendorId IS NULL OR i.vendor.id = :vendorId) AND " +
+           "(:viewerId IS NULL OR " + InvoiceInSpecification.VISIBLE_TO_VIEWER + ")")
+    long countByFilters(@Param("status") DocumentStatus status,
+                        @Param("vendorId") Long vendorId,
+                        @Param("viewerId") Long viewerId);
+
+    /**
+     * Specification search with the associations the list response reads fetched in the same query.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"vendor", "ownerUser"})
+    Page<InvoiceIn> findAll(Specification<InvoiceIn> spec, Pageable pageable);
+
     @Query("SELECT i FROM InvoiceIn i WHERE i.vendor.id = :vendorId")
     Page<InvoiceIn> findByVendorId(@Param("vendorId") Long vendorId, Pageable pageable);
 
     @Query("SELECT i FROM InvoiceIn i WHERE i.status = :status")
     Page<InvoiceIn> findByStatus(@Param("status") DocumentStatus status, Pageable pageable);
 
-    boolean existsByInvoiceNo(String invoiceNo);
+    /**
+     * Invoices with any of the given numbers, of any vendor, in one indexed lookup.
+     */
+    @Query("SELECT i.vendor.id AS vendorId, i.invoiceNo AS invoiceNo, i.invoiceNoKey AS invoiceNoKey, " +
+           "i.invoiceDate AS invoiceDate, i.currency AS currency, i.total AS total " +
+           "FROM InvoiceIn i WHERE i.invoiceNo IN :invoiceNos")
+    List<InvoiceFingerprintRow> findByInvoiceNoIn(@Param("invoiceNos") Collection<String> invoiceNos);
+
+    /**
+     * Streams the duplicate-detection fields of every invoice, row by row.
+     * Must be consumed inside a transaction and closed.
+     */
+    @Query("SELECT i.vendor.id AS vendorId, i.invoiceNo AS invoiceNo, i.invoiceNoKey AS invoiceNoKey, " +
+           "i.invoiceDate AS invoiceDate, i.currency AS currency, i.total AS total FROM InvoiceIn i")
+    @QueryHints({
+            // Integer.MIN_VALUE: MySQL Connector/J streams the result instead of buffering it
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<InvoiceFingerprintRow> streamFingerprints();
+
+    /**
+     * Streams vendor, currency, due date and outstanding balance of every invoice in a status, unordered:
+     * the aging buckets are summed, so no sort is needed.
+     * Must be consumed inside a transaction and closed.
+     */
+    @Query("SELECT i.vendor.id AS counterpartyId, i.currency AS currency, i.dueDate AS dueDate, " +
+           "i.outstanding AS outstanding FROM InvoiceIn i WHERE i.status = :status")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<AgingRow> streamAgingRows(@Param("status") DocumentStatus status);
+
+    /**
+     * Three-way match inputs of all invoices in a status, oldest first.
+     */
+    @Query("SELECT i.id AS id, i.vendor.id AS vendorId, po.id AS purchaseOrderId, i.currency AS currency, " +
+           "i.subtotal AS subtotal FROM InvoiceIn i LEFT JOIN i.purchaseOrder po " +
+           "WHERE i.status = :status ORDER BY i.invoiceDate, i.id")
+    List<InvoiceMatchInputRow> findMatchInputsByStatus(@Param("status") DocumentStatus status);
+
+    @Query("SELECT i FROM InvoiceIn i WHERE i.vendor.id = :vendorId AND i.invoiceNoKey = :invoiceNoKey")
+    List<InvoiceIn> findByVendorIdAndInvoiceNoKey(@Param("vendorId") Long vendorId,
+                                                  @Param("invoiceNoKey") String invoiceNoKey);
+
+    @Query("SELECT i FROM InvoiceIn i WHERE i.vendor.id = :vendorId AND i.invoiceDate = :invoiceDate " +
+           "AND i.currency = :currency AND i.total = :total")
+    List<InvoiceIn> findByVendorIdAndAmountAndDate(@Param("vendorId") Long vendorId,
+                                                   @Param("invoiceDate") LocalDate invoiceDate,
+                                                   @Param("currency") String currency,
+                                                   @Param("total") BigDecimal total);
+
+    /**
+     * Ranked invoice number search: exact match, then prefix (B-tree index),
+     * then substring via the n-gram FULLTEXT index. Each branch is capped at
+     * {@code limit} rows, so cost is bounded regardless of table size. A non-null
+     * viewerId filters each branch before its limit, so hidden invoices never take the
+     * place of visible ones.
+     */
+    @Query(value = "SELECT i.id AS id, i.invoice_no AS invoiceNo, i.vendor_id AS counterpartyId, " +
+           "c.name AS counterpartyName, d.status AS status, i.currency AS currency, i.total AS total, " +
+           "hits.score AS score " +
+           "FROM (" +
+           "  SELECT u.id, MAX(u.score) AS score FROM (" +
+           "    (SELECT x.id, 3.0 AS score FROM invoice_in x JOIN documents xd ON xd.id = x.id " +
+           "     WHERE x.invoice_no = :term " +
+           "     AND (:viewerId IS NULL OR " + InvoiceInSpecification.VISIBLE_TO_VIEWER_SQL + ") " +
+           "     LIMIT :limit)" +
+           "    UNION ALL" +
+           "    (SELECT x.id, 2.0 AS score FROM invoice_in x JOIN documents xd ON xd.id = x.id " +
+           "     WHERE x.invoice_no LIKE :prefix " +
+           "     AND (:viewerId IS NULL OR " + InvoiceInSpecification.VISIBLE_TO_VIEWER_SQL + ") " +
+           "     ORDER BY x.invoice_no LIMIT :limit)" +
+           "    UNION ALL" +
+           "    (SELECT x.id, 1.0 + LEAST(MATCH(x.invoice_no) AGAINST (:phrase IN BOOLEAN MODE), 999) / 1000 " +
+           "     AS score FROM invoice_in x JOIN documents xd ON xd.id = x.id " +
+           "     WHERE MATCH(x.invoice_no) AGAINST (:phrase IN BOOLEAN MODE) " +
+           "     AND (:viewerId IS NULL OR " + InvoiceInSpecification.VISIBLE_TO_VIEWER_SQL + ") " +
+           "     ORDER BY score DESC LIMIT :limit)" +
+           "  ) u GROUP BY u.id ORDER BY score DESC, u.id DESC LIMIT :limit" +
+           ") hits " +
+           "JOIN invoice_in i ON i.id = hits.id " +
+           "JOIN documents d ON d.id = i.id " +
+           "JOIN vendors c ON c.id = i.vendor_id " +
+           "ORDER BY hits.score DESC, i.id DESC",
+           nativeQuery = true)
+    List<InvoiceSearchRow> searchByInvoiceNo(@Param("term") String term,
+                                             @Param("prefix") String prefix,
+                                             @Param("phrase") String phrase,
+                                             @Param("limit") int limit,
+                                             @Param("viewerId") Long viewerId);
 }
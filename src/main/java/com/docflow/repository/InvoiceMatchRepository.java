@@ -0,0 +1,31 @@
+package com.docflow.repository;
+
+import com.docflow.domain.entity.InvoiceMatch;
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.repository.projection.PurchaseOrderAmountRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InvoiceMatchRepository extends JpaRepository<InvoiceMatch, Long>, InvoiceMatchRepositoryCustom {
+
+    @Query("SELECT m FROM InvoiceMatch m LEFT JOIN FETCH m.purchaseOrder WHERE m.invoiceId = :invoiceId")
+    Optional<InvoiceMatch> findWithPurchaseOrder(@Param("invoiceId") Long invoiceId);
+
+    /**
+     * Value already invoiced per purchase order of the given vendors, counting invoices in the given statuses.
+     */
+    @Query("SELECT po.id AS purchaseOrderId, po.vendor.id AS vendorId, po.currency AS currency, " +
+           "SUM(m.invoicedAmount) AS amount " +
+           "FROM InvoiceMatch m JOIN m.purchaseOrder po, InvoiceIn i " +
+           "WHERE i.id = m.invoiceId AND i.status IN :statuses AND po.vendor.id IN :vendorIds " +
+           "GROUP BY po.id, po.vendor.id, po.currency")
+    List<PurchaseOrderAmountRow> sumInvoicedByVendorIds(@Param("vendorIds") Collection<Long> vendorIds,
+                                                       @Param("statuses") Collection<DocumentStatus> statuses);
+}
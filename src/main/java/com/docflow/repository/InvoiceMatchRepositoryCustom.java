@@ -0,0 +1,13 @@
+package com.docflow.repository;
+
+import com.docflow.domain.entity.InvoiceMatch;
+
+import java.util.List;
+
+public interface InvoiceMatchRepositoryCustom {
+
+    /**
+     * Inserts or replaces match results in one JDBC batch, without loading the existing rows.
+     */
+    void upsertAll(List<InvoiceMatch> matches);
+}
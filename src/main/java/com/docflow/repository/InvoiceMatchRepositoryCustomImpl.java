@@ -0,0 +1,43 @@
+package com.docflow.repository;
+
+import com.docflow.domain.entity.InvoiceMatch;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+class InvoiceMatchRepositoryCustomImpl implements InvoiceMatchRepositoryCustom {
+
+    private static final String UPSERT =
+            "INSERT INTO invoice_matches (invoice_id, po_header_id, status, invoiced_amount, ordered_amount, " +
+            "received_amount, variance_amount, matched_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE po_header_id = VALUES(po_header_id), status = VALUES(status), " +
+            "invoiced_amount = VALUES(invoiced_amount), ordered_amount = VALUES(ordered_amount), " +
+            "received_amount = VALUES(received_amount), variance_amount = VALUES(variance_amount), " +
+            "matched_at = VALUES(matched_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    InvoiceMatchRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void upsertAll(List<InvoiceMatch> matches) {
+        jdbcTemplate.batchUpdate(UPSERT, matches, matches.size(), (ps, match) -> {
+            ps.setLong(1, match.getInvoiceId());
+            if (match.getPurchaseOrder() != null) {
+                ps.setLong(2, match.getPurchaseOrder().getId());
+            } else {
+                ps.setNull(2, Types.BIGINT);
+            }
+            ps.setString(3, match.getStatus().name());
+            ps.setBigDecimal(4, match.getInvoicedAmount());
+            ps.setBigDecimal(5, match.getOrderedAmount());
+            ps.setBigDecimal(6, match.getReceivedAmount());
+            ps.setBigDecimal(7, match.getVarianceAmount());
+            ps.setTimestamp(8, Timestamp.valueOf(match.getMatchedAt()));
+        });
+    }
+}
@@ -2,14 +2,26 @@ package com.docflow.repository;
 
 import com.docflow.domain.entity.InvoiceOut;
 import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.repository.projection.AgingRow;
+import com.docflow.repository.projection.InvoiceSearchRow;
+import com.docflow.repository.projection.OpenReceivableRow;
+import com.docflow.specification.InvoiceOutSpecification;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface InvoiceOutRepository extends JpaRepository<InvoiceOut, Long>,
@@ -18,13 +30,59 @@ public interface InvoiceOutRepository extends JpaRepository<InvoiceOut, Long>,
     @Query("SELECT i FROM InvoiceOut i LEFT JOIN FETCH i.client LEFT JOIN FETCH i.ownerUser WHERE i.id = :id")
     Optional<InvoiceOut> findByIdWithDetails(@Param("id") Long id);
 
+    /**
+     * {@link #findByIdWithDetails} restricted to rows the viewer may read; a null viewer reads all.
+     */
+    @Query("SELECT i FROM InvoiceOut i LEFT JOIN FETCH i.client LEFT JOIN FETCH i.ownerUser WHERE i.id = :id AND " +
+           "(:viewerId IS NULL OR " + InvoiceOutSpecification.VISIBLE_TO_VIEWER + ")")
+    Optional<InvoiceOut> findVisibleByIdWithDetails(@Param("id") Long id, @Param("viewerId") Long viewerId);
+
+    /**
+     * Current version of a document the viewer may read, without loading it.
+     */
+    @Query("SELECT i.version FROM InvoiceOut i WHERE i.id = :id AND " +
+           "(:viewerId IS NULL OR " + InvoiceOutSpecification.VISIBLE_TO_VIEWER + ")")
+    Optional<Integer> findVisibleVersion(@Param("id") Long id, @Param("viewerId") Long viewerId);
+
+    @EntityGraph(attributePaths = {"client", "ownerUser"})
     @Query("SELECT i FROM InvoiceOut i WHERE " +
            "(:status IS NULL OR i.status = :status) AND " +
-           "(:clientId IS NULL OR i.client.id = :clientId)")
+           "(:clientId IS NULL OR i.client.id = :clientId) AND " +
+           "(:viewerId IS NULL OR " + InvoiceOutSpecification.VISIBLE_TO_VIEWER + ")")
     Page<InvoiceOut> findByFilters(@Param("status") DocumentStatus status,
                                     @Param("clientId") Long clientId,
+                                    @Param("viewerId") Long viewerId,
                                     Pageable pageable);
 
+    /**
+     * Same filter as {@link #findByFilters}, fetching one extra row to detect a next page
+     * instead of running a COUNT query.
+     */
+    @EntityGraph(attributePaths = {"client", "ownerUser"})
+    @Query("SELECT i FROM InvoiceOut i WHERE " +
+           "(:status IS NULL OR i.status = :status) AND " +
+           "(:clientId IS NULL OR i.client.id = :clientId) AND " +
+           "(:viewerId IS NULL OR " + InvoiceOutSpecification.VISIBLE_TO_VIEWER + ")")
+    Slice<InvoiceOut> findSliceByFilters(@Param("status") DocumentStatus status,
+                                         @Param("clientId") Long clientId,
+                                         @Param("viewerId") Long viewerId,
+                                         Pageable pageable);
+
+    @Query("SELECT COUNT(i) FROM InvoiceOut i WHERE " +
+           "(:status IS NULL OR i.status = :status) AND " +
+           "(:clientId IS NULL OR i.client.id = :clientId) AND " +
+           "(:viewerId IS NULL OR " + InvoiceOutSpecification.VISIBLE_TO_VIEWER + ")")
+    long countByFilters(@Param("status") DocumentStatus status,
+                        @Param("clientId") Long clientId,
+                        @Param("viewerId") Long viewerId);
+
+    /**
+     * Specification search with the associations the list response reads fetched in the same query.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"client", "ownerUser"})
+    Page<InvoiceOut> findAll(Specification<InvoiceOut> spec, Pageable pageable);
+
     @Query("SELECT i FROM InvoiceOut i WHERE i.client.id = :clientId")
     Page<InvoiceOut> findByClientId(@Param("clientId") Long clientId, Pageable pageable);
 
@@ -32,4 +90,71 @@ public interface InvoiceOutRepository extends JpaRepository<InvoiceOut, Long>,
     Page<InvoiceOut> findByStatus(@Param("status") DocumentStatus status, Pageable pageable);
 
     boolean existsByInvoiceNo(String invoiceNo);
+
+    /**
+     * Streams client, currency, due date and outstanding balance of every invoice in a status, unordered:
+     * the aging buckets are summed, so no sort is needed.
+     * Must be consumed inside a transaction and closed.
+     */
+    @Query("SELECT i.client.id AS counterpartyId, i.currency AS currency, i.dueDate AS dueDate, " +
+           "i.outstanding AS outstanding FROM InvoiceOut i WHERE i.status = :status")
+    @QueryHints({
+            // Integer.MIN_VALUE: MySQL Connector/J streams the result instead of buffering it
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<AgingRow> streamAgingRows(@Param("status") DocumentStatus status);
+
+    /**
+     * Streams the fields bank statement credits are matched on, of every invoice in a status.
+     * A credit is matched against what is still outstanding. Must be consumed inside a
+     * transaction and closed.
+     */
+    @Query("SELECT i.id AS id, c.name AS clientName, i.invoiceNo AS invoiceNo, i.currency AS currency, " +
+           "i.outstanding AS outstanding FROM InvoiceOut i JOIN i.client c WHERE i.status = :status")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<OpenReceivableRow> streamOpenReceivables(@Param("status") DocumentStatus status);
+
+    /**
+     * Ranked invoice number search: exact match, then prefix (B-tree index),
+     * then substring via the n-gram FULLTEXT index. Each branch is capped at
+     * {@code limit} rows, so cost is bounded regardless of table size. A non-null
+     * viewerId filters each branch before its limit, so hidden invoices never take the
+     * place of visible ones.
+     */
+    @Query(value = "SELECT i.id AS id, i.invoice_no AS invoiceNo, i.client_id AS counterpartyId, " +
+           "c.name AS counterpartyName, d.status AS status, i.currency AS currency, i.total AS total, " +
+           "hits.score AS score " +
+           "FROM (" +
+           "  SELECT u.id, MAX(u.score) AS score FROM (" +
+           "    (SELECT x.id, 3.0 AS score FROM invoice_out x JOIN documents xd ON xd.id = x.id " +
+           "     WHERE x.invoice_no = :term " +
+           "     AND (:viewerId IS NULL OR " + InvoiceOutSpecification.VISIBLE_TO_VIEWER_SQL + ") " +
+           "     LIMIT :limit)" +
+           "    UNION ALL" +
+           "    (SELECT x.id, 2.0 AS score FROM invoice_out x JOIN documents xd ON xd.id = x.id " +
+           "     WHERE x.invoice_no LIKE :prefix " +
+           "     AND (:viewerId IS NULL OR " + InvoiceOutSpecification.VISIBLE_TO_VIEWER_SQL + ") " +
+           "     ORDER BY x.invoice_no LIMIT :limit)" +
+           "    UNION ALL" +
+           "    (SELECT x.id, 1.0 + LEAST(MATCH(x.invoice_no) AGAINST (:phrase IN BOOLEAN MODE), 999) / 1000 " +
+           "     AS score FROM invoice_out x JOIN documents xd ON xd.id = x.id " +
+           "     WHERE MATCH(x.invoice_no) AGAINST (:phrase IN BOOLEAN MODE) " +
+           "     AND (:viewerId IS NULL OR " + InvoiceOutSpecification.VISIBLE_TO_VIEWER_SQL + ") " +
+           "     ORDER BY score DESC LIMIT :limit)" +
+           "  ) u GROUP BY u.id ORDER BY score DESC, u.id DESC LIMIT :limit" +
+           ") hits " +
+           "JOIN invoice_out i ON i.id = hits.id " +
+           "JOIN documents d ON d.id = i.id " +
+           "JOIN clients c ON c.id = i.client_id " +
+           "ORDER BY hits.score DESC, i.id DESC",
+           nativeQuery = true)
+    List<InvoiceSearchRow> searchByInvoiceNo(@Param("term") String term,
+                                             @Param("prefix") String prefix,
+                                             @Param("phrase") String phrase,
+                                             @Param("limit") int limit,
+                                             @Param("viewerId") Long viewerId);
 }
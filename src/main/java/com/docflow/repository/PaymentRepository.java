@@ -1,12 +1,19 @@
 package com.docflow.repository;
 
 import com.docflow.domain.entity.Payment;
+import com.docflow.domain.enums.PaymentDirection;
+import com.docflow.repository.projection.CreditTransferRow;
+import com.docflow.repository.projection.CreditTransferSummaryRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -15,6 +22,28 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findByDocumentId(@Param("documentId") Long documentId);
 
     @Query("SELECT p FROM Payment p WHERE p.document.id = :documentId AND p.reference = :reference")
-    List<Payment> findByDocumentIdAndReference(@Param("documentId") Long documentId, 
+    List<Payment> findByDocumentIdAndReference(@Param("documentId") Long documentId,
                                                 @Param("reference") String reference);
+
+    @Query("SELECT COUNT(p) AS transfers, COALESCE(SUM(p.amount), 0) AS total, " +
+           "COALESCE(SUM(CASE WHEN v.iban IS NULL OR v.iban = '' THEN 1 ELSE 0 END), 0) AS withoutAccount " +
+           "FROM Payment p JOIN InvoiceIn i ON i.id = p.document.id JOIN i.vendor v " +
+           "WHERE p.paymentRun.id = :runId AND p.direction = :direction")
+    CreditTransferSummaryRow summarizeCreditTransfers(@Param("runId") Long runId,
+                                                      @Param("direction") PaymentDirection direction);
+
+    /**
+     * Streams a payment run's payments with the vendor accounts they go to, vendor by vendor.
+     * Must be consumed inside a transaction and closed.
+     */
+    @Query("SELECT p.id AS paymentId, p.amount AS amount, i.currency AS currency, i.invoiceNo AS invoiceNo, " +
+           "v.name AS vendorName, v.iban AS iban, v.bic AS bic " +
+           "FROM Payment p JOIN InvoiceIn i ON i.id = p.document.id JOIN i.vendor v " +
+           "WHERE p.paymentRun.id = :runId AND p.direction = :direction ORDER BY v.id, p.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<CreditTransferRow> streamCreditTransfers(@Param("runId") Long runId,
+                                                    @Param("direction") PaymentDirection direction);
 }
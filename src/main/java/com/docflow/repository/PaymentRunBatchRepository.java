@@ -0,0 +1,190 @@
+package com.docflow.repository;
+
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.PaymentDirection;
+import com.docflow.domain.enums.PaymentMethod;
+import com.docflow.dto.filter.CurrencyTotal;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC batch statements of a payment run.
+ *
+ * Pays a chunk of invoices with one batched statement per table: documents (status and
+ * version), invoice_in (amount paid), payments, document_index and audit_logs, the same rows
+ * as paying each invoice through {@code InvoiceInService}. The run row holds the run's
+ * position and counters and is locked first, so two executions of one run take turns. Runs
+ * in the caller's transaction.
+ */
+@Repository
+public class PaymentRunBatchRepository {
+
+    private static final String LOCK_RUN =
+            "SELECT last_vendor_id, last_invoice_id FROM payment_runs WHERE id = ? FOR UPDATE";
+
+    // Keyset over (vendor_id, id); invoices without a due date are never selected
+    private static final String LOCK_INVOICES =
+            "SELECT i.id, i.vendor_id, i.currency, i.total, i.outstanding FROM invoice_in i " +
+            "JOIN documents d ON d.id = i.id " +
+            "WHERE d.status = 'APPROVED' AND i.due_date <= ? %s" +
+            "AND (i.vendor_id > ? OR (i.vendor_id = ? AND i.id > ?)) " +
+            "ORDER BY i.vendor_id, i.id LIMIT ? FOR UPDATE";
+
+    private static final String UPDATE_DOCUMENT =
+            "UPDATE documents SET status = ?, version = version + 1, updated_at = ? WHERE id = ? AND status = ?";
+
+    // Whatever was paid before, nothing is outstanding afterwards
+    private static final String SETTLE_BALANCE =
+            "UPDATE invoice_in SET amount_paid = total - amount_credited WHERE id = ?";
+
+    private static final String INSERT_PAYMENT =
+            "INSERT INTO payments (doc_id, direction, method, amount, paid_at, reference, payment_run_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_INDEX =
+            "UPDATE document_index SET status = ? WHERE doc_id = ?";
+
+    private static final String INSERT_AUDIT =
+            "INSERT INTO audit_logs (doc_id, user_id, action, from_status, to_status, note, created_at) " +
+            "VALUES (?, ?, 'PAID', ?, ?, ?, ?)";
+
+    private static final String UPDATE_PROGRESS =
+            "UPDATE payment_runs SET last_vendor_id = ?, last_invoice_id = ?, invoice_count = invoice_count + ?, " +
+            "vendor_count = vendor_count + ? WHERE id = ?";
+
+    private static final String UPSERT_TOTAL =
+            "INSERT INTO payment_run_totals (payment_run_id, currency, invoice_count, total_amount) " +
+            "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE invoice_count = invoice_count + VALUES(invoice_count), " +
+            "total_amount = total_amount + VALUES(total_amount)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PaymentRunBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks the run row and returns its position.
+     */
+    public Position lockRun(long runId) {
+        return jdbcTemplate.queryForObject(LOCK_RUN, (rs, rowNum) -> new Position(
+                rs.getObject("last_vendor_id", Long.class), rs.getObject("last_invoice_id", Long.class)), runId);
+    }
+
+    /**
+     * Locks the next approved invoices after a position, in (vendor, id) order.
+     *
+     * @param dueBefore Latest due date
+     * @param vendorId Only this vendor, or null for all
+     * @param after Position of the last paid invoice
+     * @param limit Maximum number of invoices
+     */
+    public List<OpenInvoice> lockNextInvoices(LocalDate dueBefore, Long vendorId, Position after, int limit) {
+        long afterVendorId = after.vendorId() != null ? after.vendorId() : 0L;
+        long afterInvoiceId = after.invoiceId() != null ? after.invoiceId() : 0L;
+
+        List<Object> args = new ArrayList<>();
+        args.add(Date.valueOf(dueBefore));
+        if (vendorId != null) {
+            args.add(vendorId);
+        }
+        args.add(afterVendorId);
+        args.add(afterVendorId);
+        args.add(afterInvoiceId);
+        args.add(limit);
+
+        String sql = String.format(LOCK_INVOICES, vendorId != null ? "AND i.vendor_id = ? " : "");
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new OpenInvoice(rs.getLong("id"), rs.getLong("vendor_id"),
+                rs.getString("currency"), rs.getBigDecimal("total"), rs.getBigDecimal("outstanding")), args.toArray());
+    }
+
+    /**
+     * Moves locked APPROVED invoices to PAID and records one outbound payment of the outstanding balance each.
+     *
+     * @return Number of documents updated
+     */
+    public int markPaid(long runId, List<OpenInvoice> invoices, PaymentMethod method, LocalDateTime paidAt,
+                        String reference, long userId, String note, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        String approved = DocumentStatus.APPROVED.name();
+        String paid = DocumentStatus.PAID.name();
+
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_DOCUMENT, invoices, invoices.size(), (ps, invoice) -> {
+            ps.setString(1, paid);
+            ps.setTimestamp(2, timestamp);
+            ps.setLong(3, invoice.id());
+            ps.setString(4, approved);
+        });
+
+        jdbcTemplate.batchUpdate(SETTLE_BALANCE, invoices, invoices.size(),
+                (ps, invoice) -> ps.setLong(1, invoice.id()));
+
+        jdbcTemplate.batchUpdate(INSERT_PAYMENT, invoices, invoices.size(), (ps, invoice) -> {
+            ps.setLong(1, invoice.id());
+            ps.setString(2, PaymentDirection.OUTBOUND.name());
+            ps.setString(3, method.name());
+            ps.setBigDecimal(4, invoice.outstanding());
+            ps.setTimestamp(5, Timestamp.valueOf(paidAt));
+            ps.setString(6, reference);
+            ps.setLong(7, runId);
+            ps.setTimestamp(8, timestamp);
+        });
+
+        jdbcTemplate.batchUpdate(UPDATE_INDEX, invoices, invoices.size(), (ps, invoice) -> {
+            ps.setString(1, paid);
+            ps.setLong(2, invoice.id());
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_AUDIT, invoices, invoices.size(), (ps, invoice) -> {
+            ps.setLong(1, invoice.id());
+            ps.setLong(2, userId);
+            ps.setString(3, approved);
+            ps.setString(4, paid);
+            ps.setString(5, note);
+            ps.setTimestamp(6, timestamp);
+        });
+
+        int count = 0;
+        for (int[] batch : updated) {
+            for (int rows : batch) {
+                // The driver may report a rewritten batch without per-row counts
+                count += rows == Statement.SUCCESS_NO_INFO ? 1 : rows;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Moves the run past a committed chunk and adds the chunk's counts and totals.
+     */
+    public void recordProgress(long runId, Position last, int invoiceCount, int vendorCount, List<CurrencyTotal> totals) {
+        jdbcTemplate.update(UPDATE_PROGRESS, last.vendorId(), last.invoiceId(), invoiceCount, vendorCount, runId);
+        jdbcTemplate.batchUpdate(UPSERT_TOTAL, totals, totals.size(), (ps, total) -> {
+            ps.setLong(1, runId);
+            ps.setString(2, total.getCurrency());
+            ps.setLong(3, total.getCount());
+            ps.setBigDecimal(4, total.getTotalAmount());
+        });
+    }
+
+    /**
+     * Position of the last paid invoice of a run; both null before the first chunk.
+     */
+    public record Position(Long vendorId, Long invoiceId) {
+    }
+
+    /**
+     * An invoice to pay; {@code outstanding} is less than {@code total} after partial payments.
+     */
+    public record OpenInvoice(long id, long vendorId, String currency, BigDecimal total, BigDecimal outstanding) {
+    }
+}
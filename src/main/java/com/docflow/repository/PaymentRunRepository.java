@@ -0,0 +1,27 @@
+package com.docflow.repository;
+
+import com.docflow.domain.entity.PaymentRun;
+import com.docflow.domain.enums.PaymentRunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface PaymentRunRepository extends JpaRepository<PaymentRun, Long> {
+
+    @Query("SELECT r FROM PaymentRun r LEFT JOIN FETCH r.vendor WHERE r.id = :id")
+    Optional<PaymentRun> findByIdWithVendor(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE PaymentRun r SET r.status = :status, r.lastError = :lastError, r.completedAt = :completedAt " +
+           "WHERE r.id = :id")
+    int updateStatus(@Param("id") Long id,
+                     @Param("status") PaymentRunStatus status,
+                     @Param("lastError") String lastError,
+                     @Param("completedAt") LocalDateTime completedAt);
+}
@@ -0,0 +1,13 @@
+package com.docflow.repository;
+
+import com.docflow.domain.entity.PaymentRunTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PaymentRunTotalRepository extends JpaRepository<PaymentRunTotal, PaymentRunTotal.Key> {
+
+    List<PaymentRunTotal> findByPaymentRunIdOrderByCurrency(Long paymentRunId);
+}
@@ -0,0 +1,25 @@
+package com.docflow.repository;
+
+import com.docflow.domain.entity.PurchaseOrderLine;
+import com.docflow.repository.projection.PurchaseOrderAmountRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PurchaseOrderLineRepository extends JpaRepository<PurchaseOrderLine, Long> {
+
+    /**
+     * Ordered value (quantity x unit price) of every purchase order of the given vendors.
+     */
+    @Query("SELECT po.id AS purchaseOrderId, po.vendor.id AS vendorId, po.currency AS currency, " +
+           "SUM(l.quantity * l.unitPrice) AS amount " +
+           "FROM PurchaseOrderLine l JOIN l.purchaseOrder po " +
+           "WHERE po.vendor.id IN :vendorIds " +
+           "GROUP BY po.id, po.vendor.id, po.currency")
+    List<PurchaseOrderAmountRow> sumOrderedByVendorIds(@Param("vendorIds") Collection<Long> vendorIds);
+}
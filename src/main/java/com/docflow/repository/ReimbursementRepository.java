@@ -2,8 +2,12 @@ package com.docflow.repository;
 
 import com.docflow.domain.entity.Reimbursement;
 import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.specification.ReimbursementSpecification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,13 +22,59 @@ public interface ReimbursementRepository extends JpaRepository<Reimbursement, Lo
     @Query("SELECT r FROM Reimbursement r LEFT JOIN FETCH r.employee LEFT JOIN FETCH r.ownerUser WHERE r.id = :id")
     Optional<Reimbursement> findByIdWithDetails(@Param("id") Long id);
 
+    /**
+     * {@link #findByIdWithDetails} restricted to rows the viewer may read; a null viewer reads all.
+     */
+    @Query("SELECT r FROM Reimbursement r LEFT JOIN FETCH r.employee LEFT JOIN FETCH r.ownerUser WHERE r.id = :id AND " +
+           "(:viewerId IS NULL OR " + ReimbursementSpecification.VISIBLE_TO_VIEWER + ")")
+    Optional<Reimbursement> findVisibleByIdWithDetails(@Param("id") Long id, @Param("viewerId") Long viewerId);
+
+    /**
+     * Current version of a document the viewer may read, without loading it.
+     */
+    @Query("SELECT r.version FROM Reimbursement r WHERE r.id = :id AND " +
+           "(:viewerId IS NULL OR " + ReimbursementSpecification.VISIBLE_TO_VIEWER + ")")
+    Optional<Integer> findVisibleVersion(@Param("id") Long id, @Param("viewerId") Long viewerId);
+
+    @EntityGraph(attributePaths = {"employee", "employee.user", "ownerUser"})
     @Query("SELECT r FROM Reimbursement r WHERE " +
            "(:status IS NULL OR r.status = :status) AND " +
-           "(:employeeId IS NULL OR r.employee.id = :employeeId)")
+           "(:employeeId IS NULL OR r.employee.id = :employeeId) AND " +
+           "(:viewerId IS NULL OR " + ReimbursementSpecification.VISIBLE_TO_VIEWER + ")")
     Page<Reimbursement> findByFilters(@Param("status") DocumentStatus status,
                                        @Param("employeeId") Long employeeId,
+                                       @Param("viewerId") Long viewerId,
                                        Pageable pageable);
 
+    /**
+     * Same filter as {@link #findByFilters}, fetching one extra row to detect a next page
+     * instead of running a COUNT query.
+     */
+    @EntityGraph(attributePaths = {"employee", "employee.user", "ownerUser"})
+    @Query("SELECT r FROM Reimbursement r WHERE " +
+           "(:status IS NULL OR r.status = :status) AND " +
+           "(:employeeId IS NULL OR r.employee.id = :employeeId) AND " +
+           "(:viewerId IS NULL OR " + ReimbursementSpecification.VISIBLE_TO_VIEWER + ")")
+    Slice<Reimbursement> findSliceByFilters(@Param("status") DocumentStatus status,
+                                            @Param("employeeId") Long employeeId,
+                                            @Param("viewerId") Long viewerId,
+                                            Pageable pageable);
+
+    @Query("SELECT COUNT(r) FROM Reimbursement r WHERE " +
+           "(:status IS NULL OR r.status = :status) AND " +
+           "(:employeeId IS NULL OR r.employee.id = :employeeId) AND " +
+           "(:viewerId IS NULL OR " + ReimbursementSpecification.VISIBLE_TO_VIEWER + ")")
+    long countByFilters(@Param("status") DocumentStatus status,
+                        @Param("employeeId") Long employeeId,
+                        @Param("viewerId") Long viewerId);
+
+    /**
+     * Specification search with the associations the list response reads fetched in the same query.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"employee", "employee.user", "ownerUser"})
+    Page<Reimbursement> findAll(Specification<Reimbursement> spec, Pageable pageable);
+
     @Query("SELECT r FROM Reimbursement r WHERE r.employee.id = :employeeId")
     Page<Reimbursement> findByEmployeeId(@Param("employeeId") Long employeeId, Pageable pageable);
 
@@ -1,14 +1,9 @@
 package com.docflow.repository;
 
 import com.docflow.domain.entity.Role;
-import com.docflow.domain.enums.RoleName;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 @Repository
-public interface RoleRepository extends JpaRepository<Role, Long> {
-
-    Optional<Role> findByName(RoleName name);
+public interface RoleRepository extends JpaRepository<Role, Long>, RoleRepositoryCustom {
 }
@@ -0,0 +1,15 @@
+package com.docflow.repository;
+
+import com.docflow.domain.entity.Role;
+import com.docflow.domain.enums.RoleName;
+
+import java.util.Optional;
+
+public interface RoleRepositoryCustom {
+
+    /**
+     * Loads a role by its natural id through the "roles-by-name" cache, so warm
+     * lookups issue no select.
+     */
+    Optional<Role> findByName(RoleName name);
+}
@@ -0,0 +1,23 @@
+package com.docflow.repository;
+
+import com.docflow.domain.entity.Role;
+import com.docflow.domain.enums.RoleName;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+class RoleRepositoryCustomImpl implements RoleRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Role> findByName(RoleName name) {
+        // A derived query would bypass the natural-id cache and always hit the database
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Role.class)
+                .loadOptional(name);
+    }
+}
@@ -0,0 +1,14 @@
+package com.docflow.repository;
+
+import com.docflow.domain.entity.StatementReviewItem;
+import com.docflow.domain.enums.StatementReviewStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StatementReviewItemRepository extends JpaRepository<StatementReviewItem, Long> {
+
+    Page<StatementReviewItem> findByStatus(StatementReviewStatus status, Pageable pageable);
+}
@@ -1,9 +1,15 @@
 package com.docflow.repository;
 
 import com.docflow.domain.entity.Vendor;
+import com.docflow.repository.projection.CounterpartyNameRow;
+import com.docflow.repository.projection.CounterpartySearchRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +22,34 @@ public interface VendorRepository extends JpaRepository<Vendor, Long> {
     boolean existsByName(String name);
 
     boolean existsByTaxId(String taxId);
+
+    /**
+     * Ids and names of all vendors, for validating bulk imports in memory.
+     */
+    @Query("SELECT v.id AS id, v.name AS name FROM Vendor v")
+    List<CounterpartyNameRow> findAllNames();
+
+    /**
+     * Ids and names of the given vendors.
+     */
+    @Query("SELECT c.id AS id, c.name AS name FROM Vendor c WHERE c.id IN :ids")
+    List<CounterpartyNameRow> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Ranked name search: exact, prefix (B-tree index), then substring via the n-gram FULLTEXT index.
+     */
+    @Query(value = "SELECT c.id AS id, c.name AS name, MAX(u.score) AS score FROM (" +
+           "  (SELECT id, 3.0 AS score FROM vendors WHERE name = :term LIMIT :limit)" +
+           "  UNION ALL" +
+           "  (SELECT id, 2.0 AS score FROM vendors WHERE name LIKE :prefix ORDER BY name LIMIT :limit)" +
+           "  UNION ALL" +
+           "  (SELECT id, 1.0 + LEAST(MATCH(name) AGAINST (:phrase IN BOOLEAN MODE), 999) / 1000 AS score " +
+           "   FROM vendors WHERE MATCH(name) AGAINST (:phrase IN BOOLEAN MODE) ORDER BY score DESC LIMIT :limit)" +
+           ") u JOIN vendors c ON c.id = u.id " +
+           "GROUP BY c.id, c.name ORDER BY score DESC, c.name LIMIT :limit",
+           nativeQuery = true)
+    List<CounterpartySearchRow> searchByName(@Param("term") String term,
+                                             @Param("prefix") String prefix,
+                                             @Param("phrase") String phrase,
+                                             @Param("limit") int limit);
 }
@@ -0,0 +1,18 @@
+package com.docflow.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The fields of an open invoice that place it in an aging bucket, with what is still outstanding of it.
+ */
+public interface AgingRow {
+
+    Long getCounterpartyId();
+
+    String getCurrency();
+
+    LocalDate getDueDate();
+
+    BigDecimal getOutstanding();
+}
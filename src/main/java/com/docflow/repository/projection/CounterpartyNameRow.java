@@ -0,0 +1,11 @@
+package com.docflow.repository.projection;
+
+/**
+ * Id and name of a vendor or client.
+ */
+public interface CounterpartyNameRow {
+
+    Long getId();
+
+    String getName();
+}
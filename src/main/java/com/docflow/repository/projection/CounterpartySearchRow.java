@@ -0,0 +1,13 @@
+package com.docflow.repository.projection;
+
+/**
+ * Native search projection for vendor/client name hits.
+ */
+public interface CounterpartySearchRow {
+
+    Long getId();
+
+    String getName();
+
+    Double getScore();
+}
@@ -0,0 +1,23 @@
+package com.docflow.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * An outbound payment with the vendor account it goes to, as written to a payment file.
+ */
+public interface CreditTransferRow {
+
+    Long getPaymentId();
+
+    BigDecimal getAmount();
+
+    String getCurrency();
+
+    String getInvoiceNo();
+
+    String getVendorName();
+
+    String getIban();
+
+    String getBic();
+}
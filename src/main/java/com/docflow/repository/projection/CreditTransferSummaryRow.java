@@ -0,0 +1,16 @@
+package com.docflow.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Count and sum of a payment file's transfers, checked before the file is written.
+ */
+public interface CreditTransferSummaryRow {
+
+    Long getTransfers();
+
+    BigDecimal getTotal();
+
+    // Transfers to vendors without an IBAN
+    Long getWithoutAccount();
+}
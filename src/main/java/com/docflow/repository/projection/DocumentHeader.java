@@ -0,0 +1,19 @@
+package com.docflow.repository.projection;
+
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+
+/**
+ * Immutable document header: what file, audit and ownership checks need to know about a
+ * document without loading its subtype.
+ */
+public record DocumentHeader(Long id, DocumentType docType, DocumentStatus status, Long ownerUserId, Integer version) {
+
+    public static DocumentHeader of(DocumentHeaderRow row) {
+        return new DocumentHeader(row.getId(),
+                DocumentType.valueOf(row.getDocType()),
+                DocumentStatus.valueOf(row.getStatus()),
+                row.getOwnerUserId(),
+                row.getVersion());
+    }
+}
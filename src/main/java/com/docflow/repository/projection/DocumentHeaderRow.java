@@ -0,0 +1,17 @@
+package com.docflow.repository.projection;
+
+/**
+ * Native projection of the documents table alone, without any subtype columns.
+ */
+public interface DocumentHeaderRow {
+
+    Long getId();
+
+    String getDocType();
+
+    String getStatus();
+
+    Long getOwnerUserId();
+
+    Integer getVersion();
+}
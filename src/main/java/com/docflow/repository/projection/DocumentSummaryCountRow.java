@@ -0,0 +1,19 @@
+package com.docflow.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Count and sum of one (document type, status, currency) cell, computed from the document tables.
+ */
+public interface DocumentSummaryCountRow {
+
+    String getDocType();
+
+    String getStatus();
+
+    String getCurrency();
+
+    Long getDocCount();
+
+    BigDecimal getTotalAmount();
+}
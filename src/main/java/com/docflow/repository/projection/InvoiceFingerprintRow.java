@@ -0,0 +1,22 @@
+package com.docflow.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The fields of an incoming invoice that identify it for duplicate detection.
+ */
+public interface InvoiceFingerprintRow {
+
+    Long getVendorId();
+
+    String getInvoiceNo();
+
+    String getInvoiceNoKey();
+
+    LocalDate getInvoiceDate();
+
+    String getCurrency();
+
+    BigDecimal getTotal();
+}
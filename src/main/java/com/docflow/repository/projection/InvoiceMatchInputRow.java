@@ -0,0 +1,19 @@
+package com.docflow.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * The fields of an incoming invoice the three-way match reads.
+ */
+public interface InvoiceMatchInputRow {
+
+    Long getId();
+
+    Long getVendorId();
+
+    Long getPurchaseOrderId();
+
+    String getCurrency();
+
+    BigDecimal getSubtotal();
+}
@@ -0,0 +1,25 @@
+package com.docflow.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Native search projection for invoice number hits.
+ */
+public interface InvoiceSearchRow {
+
+    Long getId();
+
+    String getInvoiceNo();
+
+    Long getCounterpartyId();
+
+    String getCounterpartyName();
+
+    String getStatus();
+
+    String getCurrency();
+
+    BigDecimal getTotal();
+
+    Double getScore();
+}
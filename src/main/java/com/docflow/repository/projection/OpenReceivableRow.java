@@ -0,0 +1,19 @@
+package com.docflow.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * The fields of an outgoing invoice that a bank statement credit is matched on.
+ */
+public interface OpenReceivableRow {
+
+    Long getId();
+
+    String getClientName();
+
+    String getInvoiceNo();
+
+    String getCurrency();
+
+    BigDecimal getOutstanding();
+}
@@ -0,0 +1,17 @@
+package com.docflow.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * An amount summed per purchase order (ordered, received or invoiced value).
+ */
+public interface PurchaseOrderAmountRow {
+
+    Long getPurchaseOrderId();
+
+    Long getVendorId();
+
+    String getCurrency();
+
+    BigDecimal getAmount();
+}
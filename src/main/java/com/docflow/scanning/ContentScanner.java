@@ -0,0 +1,22 @@
+package com.docflow.scanning;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Content scanner abstraction.
+ * Implementations can be swapped (local signatures, ClamAV, cloud AV, etc.)
+ */
+public interface ContentScanner {
+
+    /**
+     * Scans file content.
+     *
+     * @param content The file content, consumed by the scanner
+     * @param filename Original filename
+     * @param contentType Declared content type
+     * @return The scan verdict
+     * @throws IOException if the content cannot be read
+     */
+    ScanResult scan(InputStream content, String filename, String contentType) throws IOException;
+}
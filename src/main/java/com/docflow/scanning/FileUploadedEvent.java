@@ -0,0 +1,7 @@
+package com.docflow.scanning;
+
+/**
+ * Published when a file attachment has been stored and its metadata saved.
+ */
+public record FileUploadedEvent(Long fileId) {
+}
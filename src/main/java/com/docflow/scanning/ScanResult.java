@@ -0,0 +1,20 @@
+package com.docflow.scanning;
+
+import com.docflow.domain.enums.ScanStatus;
+
+/**
+ * Verdict returned by a {@link ContentScanner}.
+ *
+ * @param status CLEAN or INFECTED
+ * @param detail Signature name or reason, null when clean
+ */
+public record ScanResult(ScanStatus status, String detail) {
+
+    public static ScanResult clean() {
+        return new ScanResult(ScanStatus.CLEAN, null);
+    }
+
+    public static ScanResult infected(String detail) {
+        return new ScanResult(ScanStatus.INFECTED, detail);
+    }
+}
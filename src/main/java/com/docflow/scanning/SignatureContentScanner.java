@@ -0,0 +1,107 @@
+package com.docflow.scanning;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Default local scanner.
+ * Rejects executables by magic bytes and content carrying known test signatures (EICAR).
+ * Reads the stream in fixed-size chunks, so memory use does not depend on file size.
+ */
+@Component
+@ConditionalOnProperty(name = "file.scan.scanner", havingValue = "signature", matchIfMissing = true)
+public class SignatureContentScanner implements ContentScanner {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final Map<String, byte[]> EXECUTABLE_MAGIC = new LinkedHashMap<>();
+
+    static {
+        EXECUTABLE_MAGIC.put("Windows PE executable", new byte[]{'M', 'Z'});
+        EXECUTABLE_MAGIC.put("ELF executable", new byte[]{0x7F, 'E', 'L', 'F'});
+        EXECUTABLE_MAGIC.put("Mach-O executable (little-endian)", new byte[]{(byte) 0xCF, (byte) 0xFA, (byte) 0xED, (byte) 0xFE});
+        EXECUTABLE_MAGIC.put("Mach-O executable (big-endian)", new byte[]{(byte) 0xFE, (byte) 0xED, (byte) 0xFA, (byte) 0xCF});
+        EXECUTABLE_MAGIC.put("Shell script", new byte[]{'#', '!'});
+    }
+
+    private static final Map<String, byte[]> SIGNATURES = Map.of(
+            "EICAR-Test-File",
+            "X5O!P%@AP[4\\PZX54(P^)7CC)7}$EICAR-STANDARD-ANTIVIRUS-TEST-FILE!$H+H*".getBytes(StandardCharsets.US_ASCII)
+    );
+
+    private static final int MAX_SIGNATURE_LENGTH = SIGNATURES.values().stream()
+            .mapToInt(signature -> signature.length)
+            .max()
+            .orElse(0);
+
+    @Override
+    public ScanResult scan(InputStream content, String filename, String contentType) throws IOException {
+        // Carry the tail of the previous chunk so signatures spanning a chunk boundary are found
+        int carry = Math.max(MAX_SIGNATURE_LENGTH - 1, 0);
+        byte[] buffer = new byte[carry + CHUNK_SIZE];
+        int carried = 0;
+        boolean first = true;
+
+        int read;
+        while ((read = content.readNBytes(buffer, carried, CHUNK_SIZE)) > 0) {
+            int length = carried + read;
+
+            if (first) {
+                String executable = matchMagic(buffer, length);
+                if (executable != null) {
+                    return ScanResult.infected(executable);
+                }
+                first = false;
+            }
+
+            String signature = matchSignature(buffer, length);
+            if (signature != null) {
+                return ScanResult.infected(signature);
+            }
+
+            carried = Math.min(carry, length);
+            System.arraycopy(buffer, length - carried, buffer, 0, carried);
+        }
+
+        return ScanResult.clean();
+    }
+
+    private String matchMagic(byte[] buffer, int length) {
+        for (Map.Entry<String, byte[]> entry : EXECUTABLE_MAGIC.entrySet()) {
+            byte[] magic = entry.getValue();
+            if (length >= magic.length && Arrays.equals(buffer, 0, magic.length, magic, 0, magic.length)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    private String matchSignature(byte[] buffer, int length) {
+        for (Map.Entry<String, byte[]> entry : SIGNATURES.entrySet()) {
+            if (indexOf(buffer, length, entry.getValue()) >= 0) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    private int indexOf(byte[] buffer, int length, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (buffer[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
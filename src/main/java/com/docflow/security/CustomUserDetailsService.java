@@ -28,16 +28,13 @@ public class CustomUserDetailsService implements UserDetailsService {
             throw new UsernameNotFoundException("User account is disabled");
         }
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPasswordHash() != null ? user.getPasswordHash() : "")
-                .authorities(user.getRoles().stream()
+        return new DocflowUserDetails(
+                user.getId(),
+                user.getEmail(),
+                user.getPasswordHash() != null ? user.getPasswordHash() : "",
+                user.getEnabled(),
+                user.getRoles().stream()
                         .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName().name()))
-                        .collect(Collectors.toList()))
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(!user.getEnabled())
-                .build();
+                        .collect(Collectors.toList()));
     }
 }
@@ -0,0 +1,26 @@
+package com.docflow.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Authenticated principal carrying the user ID, so request-scoped checks such as
+ * {@link SecurityUtils#getCurrentVisibility()} need no lookup by email.
+ */
+public class DocflowUserDetails extends User {
+
+    private final Long userId;
+
+    public DocflowUserDetails(Long userId, String username, String password, boolean enabled,
+                              Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, enabled, true, true, true, authorities);
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+}
@@ -36,6 +36,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                path.startsWith("/login/oauth2/") ||
                path.startsWith("/actuator/health") ||
                path.startsWith("/actuator/info") ||
+               path.startsWith("/api/files/signed/") ||
                path.equals("/api/auth/login") ||
                path.equals("/api/auth/signup");
     }
@@ -1,10 +1,13 @@
 package com.docflow.security;
 
 import com.docflow.domain.entity.User;
+import com.docflow.domain.enums.RoleName;
 import com.docflow.exception.UnauthorizedActionException;
 import com.docflow.repository.UserRepository;
+import com.docflow.specification.DocumentVisibility;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -35,6 +38,27 @@ public class SecurityUtils {
                 .orElseThrow(() -> new UnauthorizedActionException("User not found: " + email));
     }
 
+    /**
+     * Documents the current user may read. Resolved from the authenticated principal's ID
+     * and authorities when available, so it costs no query.
+     */
+    public DocumentVisibility getCurrentVisibility() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof DocflowUserDetails principal) {
+            boolean unrestricted = principal.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .anyMatch(authority -> authority.equals("ROLE_" + RoleName.FINANCE.name())
+                            || authority.equals("ROLE_" + RoleName.ADMIN.name()));
+            return unrestricted
+                    ? DocumentVisibility.unrestricted()
+                    : DocumentVisibility.restrictedTo(principal.getUserId());
+        }
+
+        return DocumentVisibility.of(getCurrentUser());
+    }
+
     public String getCurrentUserEmail() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
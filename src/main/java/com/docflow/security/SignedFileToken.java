@@ -0,0 +1,18 @@
+package com.docflow.security;
+
+import java.time.Instant;
+
+/**
+ * Verified contents of a pre-signed attachment download token.
+ * Carries everything needed to stream the file without touching the database.
+ */
+public record SignedFileToken(
+        String token,
+        Long fileId,
+        Long documentId,
+        String storagePath,
+        String contentType,
+        String originalFilename,
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,120 @@
+package com.docflow.security;
+
+import com.docflow.domain.entity.DocumentFile;
+import com.docflow.exception.UnauthorizedActionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Mints and verifies short-lived, HMAC-signed attachment download tokens.
+ *
+ * The token embeds the file metadata needed to serve the download, so the
+ * signed download path needs neither the JWT filter chain nor a database lookup.
+ * Format: base64url(payload) + "." + base64url(HMAC-SHA256(payload)).
+ */
+@Service
+public class SignedUrlService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String FIELD_SEPARATOR = "|";
+    private static final int FIELD_COUNT = 6;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Value("${file.signed-url.secret:${jwt.secret}}")
+    private String secret;
+
+    @Value("${file.signed-url.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    /**
+     * Creates a signed download token for a file.
+     *
+     * @param file The file to sign
+     * @return The signed token with its expiry
+     */
+    public SignedFileToken sign(DocumentFile file) {
+        Instant expiresAt = Instant.now().plusSeconds(ttlSeconds);
+
+        String payload = String.join(FIELD_SEPARATOR,
+                String.valueOf(file.getId()),
+                String.valueOf(file.getDocument().getId()),
+                String.valueOf(expiresAt.getEpochSecond()),
+                encodeField(file.getStoragePath()),
+                encodeField(file.getContentType()),
+                encodeField(file.getOriginalFilename()));
+
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        String token = ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(hmac(payloadBytes));
+
+        return new SignedFileToken(token, file.getId(), file.getDocument().getId(), file.getStoragePath(),
+                file.getContentType(), file.getOriginalFilename(), expiresAt);
+    }
+
+    /**
+     * Verifies a signed download token.
+     *
+     * @param token The token from the download URL
+     * @return The verified token contents
+     * @throws UnauthorizedActionException if the token is malformed, tampered with, or expired
+     */
+    public SignedFileToken verify(String token) {
+        int dot = token == null ? -1 : token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            throw new UnauthorizedActionException("Invalid download link");
+        }
+
+        byte[] payloadBytes;
+        byte[] signature;
+        try {
+            payloadBytes = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new UnauthorizedActionException("Invalid download link");
+        }
+
+        if (!MessageDigest.isEqual(hmac(payloadBytes), signature)) {
+            throw new UnauthorizedActionException("Invalid download link");
+        }
+
+        String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", -1);
+        if (fields.length != FIELD_COUNT) {
+            throw new UnauthorizedActionException("Invalid download link");
+        }
+
+        Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(fields[2]));
+        if (!Instant.now().isBefore(expiresAt)) {
+            throw new UnauthorizedActionException("Download link has expired");
+        }
+
+        return new SignedFileToken(token, Long.valueOf(fields[0]), Long.valueOf(fields[1]),
+                decodeField(fields[3]), decodeField(fields[4]), decodeField(fields[5]), expiresAt);
+    }
+
+    private byte[] hmac(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign download token", e);
+        }
+    }
+
+    private String encodeField(String value) {
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decodeField(String value) {
+        return new String(DECODER.decode(value), StandardCharsets.UTF_8);
+    }
+}
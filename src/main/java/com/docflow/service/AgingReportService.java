@@ -0,0 +1,101 @@
+package com.docflow.service;
+
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import com.docflow.dto.dashboard.AgingReportEntry;
+import com.docflow.dto.dashboard.AgingReportResponse;
+import com.docflow.reporting.AgingAggregator;
+import com.docflow.repository.ClientRepository;
+import com.docflow.repository.InvoiceInRepository;
+import com.docflow.repository.InvoiceOutRepository;
+import com.docflow.repository.VendorRepository;
+import com.docflow.repository.projection.AgingRow;
+import com.docflow.repository.projection.CounterpartyNameRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Accounts payable and receivable aging of APPROVED (approved, not yet paid) invoices.
+ *
+ * The invoices are streamed once, in no particular order, through a forward-only cursor and
+ * folded into an {@link AgingAggregator}; no invoice is held in memory. Counterparty
+ * names are looked up afterwards for the counterparties that have a balance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AgingReportService {
+
+    private final InvoiceInRepository invoiceInRepository;
+    private final InvoiceOutRepository invoiceOutRepository;
+    private final VendorRepository vendorRepository;
+    private final ClientRepository clientRepository;
+
+    /**
+     * Builds the aging report of incoming (payables) or outgoing (receivables) invoices.
+     *
+     * @param docType INVOICE_IN or INVOICE_OUT
+     * @param asOf Date days past due are counted to
+     * @return Bucket totals per counterparty and currency, and per currency
+     */
+    @Transactional(readOnly = true)
+    public AgingReportResponse getAgingReport(DocumentType docType, LocalDate asOf) {
+        long started = System.nanoTime();
+        AgingAggregator aggregator = new AgingAggregator(asOf);
+
+        try (Stream<AgingRow> rows = streamOpenInvoices(docType)) {
+            rows.forEach(row -> aggregator.add(row.getCounterpartyId(), row.getCurrency(), row.getDueDate(),
+                    row.getOutstanding()));
+        }
+
+        List<AgingReportEntry> entries = aggregator.entries();
+        Map<Long, String> names = counterpartyNames(docType, entries.stream()
+                .map(AgingReportEntry::getCounterpartyId)
+                .collect(Collectors.toSet()));
+        entries.forEach(entry -> entry.setCounterpartyName(names.get(entry.getCounterpartyId())));
+        entries.sort(Comparator.comparing(AgingReportEntry::getCounterpartyName,
+                        Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(AgingReportEntry::getCounterpartyId)
+                .thenComparing(AgingReportEntry::getCurrency));
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Aged {} {} invoices into {} balances in {} ms", aggregator.getInvoiceCount(), docType,
+                entries.size(), durationMs);
+        return AgingReportResponse.builder()
+                .docType(docType)
+                .asOf(asOf)
+                .entries(entries)
+                .totals(aggregator.totals())
+                .invoiceCount(aggregator.getInvoiceCount())
+                .durationMs(durationMs)
+                .build();
+    }
+
+    private Stream<AgingRow> streamOpenInvoices(DocumentType docType) {
+        return switch (docType) {
+            case INVOICE_IN -> invoiceInRepository.streamAgingRows(DocumentStatus.APPROVED);
+            case INVOICE_OUT -> invoiceOutRepository.streamAgingRows(DocumentStatus.APPROVED);
+            default -> throw new IllegalArgumentException("Aging is only available for invoices, not " + docType);
+        };
+    }
+
+    private Map<Long, String> counterpartyNames(DocumentType docType, Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        List<CounterpartyNameRow> rows = docType == DocumentType.INVOICE_IN
+                ? vendorRepository.findNamesByIdIn(ids)
+                : clientRepository.findNamesByIdIn(ids);
+        return rows.stream().collect(Collectors.toMap(CounterpartyNameRow::getId, CounterpartyNameRow::getName));
+    }
+}
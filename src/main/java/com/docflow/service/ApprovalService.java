@@ -1,13 +1,18 @@
 package com.docflow.service;
 
 import com.docflow.domain.entity.*;
+import com.docflow.domain.enums.MatchStatus;
 import com.docflow.domain.enums.RoleName;
 import com.docflow.exception.UnauthorizedActionException;
 import com.docflow.repository.EmployeeRepository;
+import com.docflow.repository.InvoiceMatchRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Centralized approval authorization service.
  * Enforces approver assignment rules for different document types.
@@ -17,7 +22,11 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class ApprovalService {
 
+    private static final Set<MatchStatus> MATCH_EXCEPTIONS =
+            EnumSet.of(MatchStatus.PRICE_VARIANCE, MatchStatus.QUANTITY_VARIANCE, MatchStatus.MISSING_GRN);
+
     private final EmployeeRepository employeeRepository;
+    private final InvoiceMatchRepository invoiceMatchRepository;
 
     /**
      * Check if user can approve an expense claim.
@@ -69,6 +78,10 @@ public class ApprovalService {
      * - FINANCE role can approve
      * - MANAGER role can approve
      * - If PO exists and has assigned approver, only that approver (or ADMIN) can approve
+     * - If the three-way match found a variance or no goods receipt, or the invoice amount
+     *   changed since it was matched, the approver must also have the FINANCE role
+     * - So must the approver of an invoice linked to a purchase order that has not been
+     *   matched yet, or was matched against another order
      * 
      * @param invoice The incoming invoice
      * @param approver The user attempting to approve
@@ -81,6 +94,31 @@ public class ApprovalService {
             return;
         }
 
+        // Match exceptions, and invoices whose purchase order match is missing or stale, are resolved by FINANCE
+        InvoiceMatch match = invoiceMatchRepository.findById(invoice.getId()).orElse(null);
+        String financeReason = financeReviewReason(match, invoice);
+        if (financeReason != null && !hasRole(approver, RoleName.FINANCE)) {
+            throw new UnauthorizedActionException(String.format("This invoice %s and requires FINANCE approval",
+                    financeReason));
+        }
+
+        validateInvoiceInRouting(invoice, approver);
+    }
+
+    /**
+     * Check if user can reject an incoming invoice.
+     * Same rules as approval, except that match exceptions do not require FINANCE.
+     */
+    public void validateInvoiceInRejecter(InvoiceIn invoice, User rejecter) {
+        if (hasRole(rejecter, RoleName.ADMIN)) {
+            log.debug("User {} authorized as ADMIN to reject invoice {}", rejecter.getEmail(), invoice.getId());
+            return;
+        }
+        validateInvoiceInRouting(invoice, rejecter);
+    }
+
+    private void validateInvoiceInRouting(InvoiceIn invoice, User approver) {
+
         // If PO exists with assigned approver, only that approver can approve
         if (invoice.getPurchaseOrder() != null && invoice.getPurchaseOrder().getApprover() != null) {
             User poApprover = invoice.getPurchaseOrder().getApprover();
@@ -106,14 +144,6 @@ public class ApprovalService {
         );
     }
 
-    /**
-     * Check if user can reject an incoming invoice.
-     * Same rules as approval.
-     */
-    public void validateInvoiceInRejecter(InvoiceIn invoice, User rejecter) {
-        validateInvoiceInApprover(invoice, rejecter);
-    }
-
     /**
      * Check if user can approve an outgoing invoice.
      * Rules:
@@ -150,6 +180,30 @@ public class ApprovalService {
         validateInvoiceOutApprover(invoice, rejecter);
     }
 
+    /**
+     * Why an invoice needs FINANCE approval, or null if it does not. An invoice linked to a
+     * purchase order counts as unmatched until the match run has compared it with that order.
+     */
+    private static String financeReviewReason(InvoiceMatch match, InvoiceIn invoice) {
+        PurchaseOrderHeader purchaseOrder = invoice.getPurchaseOrder();
+        if (match == null) {
+            return purchaseOrder != null
+                    ? "has not been matched against purchase order " + purchaseOrder.getPoNo()
+                    : null;
+        }
+        if (purchaseOrder != null && (match.getPurchaseOrder() == null
+                || !purchaseOrder.getId().equals(match.getPurchaseOrder().getId()))) {
+            return "was matched against a different purchase order than " + purchaseOrder.getPoNo();
+        }
+        if (MATCH_EXCEPTIONS.contains(match.getStatus())) {
+            return "has a purchase order match exception (" + match.getStatus() + ")";
+        }
+        if (match.getInvoicedAmount().compareTo(invoice.getSubtotal()) != 0) {
+            return "changed since it was matched";
+        }
+        return null;
+    }
+
     /**
      * Check if user has a specific role.
      */
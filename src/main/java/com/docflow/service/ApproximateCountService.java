@@ -0,0 +1,86 @@
+package com.docflow.service;
+
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import com.docflow.repository.ExpenseClaimRepository;
+import com.docflow.repository.InvoiceInRepository;
+import com.docflow.repository.InvoiceOutRepository;
+import com.docflow.repository.ReimbursementRepository;
+import com.docflow.specification.DocumentVisibility;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Approximate row counts for count-free list endpoints.
+ *
+ * Counts are cached per (document type, status, counterparty, viewer). Once an entry is older than
+ * the refresh interval, the stale value is still served while a background reload runs,
+ * so only the first request for a filter ever waits on a COUNT query.
+ */
+@Service
+public class ApproximateCountService {
+
+    private final InvoiceInRepository invoiceInRepository;
+    private final InvoiceOutRepository invoiceOutRepository;
+    private final ExpenseClaimRepository expenseClaimRepository;
+    private final ReimbursementRepository reimbursementRepository;
+    private final LoadingCache<CountKey, Long> cache;
+
+    public ApproximateCountService(
+            InvoiceInRepository invoiceInRepository,
+            InvoiceOutRepository invoiceOutRepository,
+            ExpenseClaimRepository expenseClaimRepository,
+            ReimbursementRepository reimbursementRepository,
+            @Value("${list.count.refresh-seconds:60}") long refreshSeconds,
+            @Value("${list.count.expire-seconds:600}") long expireSeconds,
+            @Value("${list.count.cache-max-entries:1000}") long maxEntries
+    ) {
+        this.invoiceInRepository = invoiceInRepository;
+        this.invoiceOutRepository = invoiceOutRepository;
+        this.expenseClaimRepository = expenseClaimRepository;
+        this.reimbursementRepository = reimbursementRepository;
+        this.cache = Caffeine.newBuilder()
+                .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .expireAfterWrite(Duration.ofSeconds(expireSeconds))
+                .maximumSize(maxEntries)
+                .build(this::count);
+    }
+
+    /**
+     * Gets the cached count for a list filter, loading it on first use.
+     *
+     * @param type Document type
+     * @param status Status filter, or null
+     * @param counterpartyId Vendor, client or employee filter, or null
+     * @param visibility Documents the caller may read
+     * @return Approximate number of matching documents
+     */
+    public long getApproximateCount(DocumentType type, DocumentStatus status, Long counterpartyId,
+                                    DocumentVisibility visibility) {
+        return cache.get(new CountKey(type, status, counterpartyId, visibility.getViewerId()));
+    }
+
+    /**
+     * Stores an exact count computed by a caller that ran the COUNT query anyway.
+     */
+    public void recordExactCount(DocumentType type, DocumentStatus status, Long counterpartyId,
+                                 DocumentVisibility visibility, long count) {
+        cache.put(new CountKey(type, status, counterpartyId, visibility.getViewerId()), count);
+    }
+
+    private long count(CountKey key) {
+        return switch (key.type()) {
+            case INVOICE_IN -> invoiceInRepository.countByFilters(key.status(), key.counterpartyId(), key.viewerId());
+            case INVOICE_OUT -> invoiceOutRepository.countByFilters(key.status(), key.counterpartyId(), key.viewerId());
+            case EXPENSE_CLAIM -> expenseClaimRepository.countByFilters(key.status(), key.counterpartyId(), key.viewerId());
+            case REIMBURSEMENT -> reimbursementRepository.countByFilters(key.status(), key.counterpartyId(), key.viewerId());
+        };
+    }
+
+    private record CountKey(DocumentType type, DocumentStatus status, Long counterpartyId, Long viewerId) {
+    }
+}
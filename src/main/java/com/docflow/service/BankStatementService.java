@@ -0,0 +1,380 @@
+package com.docflow.service;
+
+import com.docflow.banking.Camt053Reader;
+import com.docflow.banking.StatementEntry;
+import com.docflow.domain.entity.BankStatement;
+import com.docflow.domain.entity.InvoiceOut;
+import com.docflow.domain.entity.StatementReviewItem;
+import com.docflow.domain.entity.User;
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import com.docflow.domain.enums.PaymentMethod;
+import com.docflow.domain.enums.StatementReviewReason;
+import com.docflow.domain.enums.StatementReviewStatus;
+import com.docflow.dto.filter.CurrencyTotal;
+import com.docflow.dto.filter.PageResponse;
+import com.docflow.dto.invoice.PaymentRequest;
+import com.docflow.dto.payment.BankStatementImportResponse;
+import com.docflow.dto.payment.StatementReviewItemResponse;
+import com.docflow.dto.payment.StatementReviewResolveRequest;
+import com.docflow.exception.ResourceNotFoundException;
+import com.docflow.matching.StatementMatch;
+import com.docflow.matching.StatementMatcher;
+import com.docflow.repository.BankStatementBatchRepository;
+import com.docflow.repository.BankStatementBatchRepository.Balance;
+import com.docflow.repository.BankStatementBatchRepository.Credit;
+import com.docflow.repository.BankStatementBatchRepository.ReviewItem;
+import com.docflow.repository.BankStatementRepository;
+import com.docflow.repository.InvoiceOutRepository;
+import com.docflow.repository.StatementReviewItemRepository;
+import com.docflow.repository.projection.OpenReceivableRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Bank statement (camt.053) import with automatic reconciliation of outgoing invoices.
+ *
+ * All APPROVED outgoing invoices are loaded once into a {@link StatementMatcher}; the
+ * statement is then read one entry at a time and each booked credit is matched in memory.
+ * Matches and review items are written in chunks with JDBC batches: matched invoices are
+ * locked, moved to PAID with an INBOUND bank payment, and credits whose invoice was paid in
+ * the meantime join the review queue. The whole statement is one transaction, so a failed
+ * import leaves nothing behind and can be repeated; a statement that was imported (same
+ * message id) is rejected. Finance resolves review items against an invoice or dismisses them.
+ */
+@Service
+@Slf4j
+public class BankStatementService {
+
+    private final InvoiceOutRepository invoiceOutRepository;
+    private final BankStatementRepository bankStatementRepository;
+    private final StatementReviewItemRepository statementReviewItemRepository;
+    private final BankStatementBatchRepository bankStatementBatchRepository;
+    private final InvoiceOutService invoiceOutService;
+    private final DocumentSummaryService documentSummaryService;
+    private final DocumentHeaderService documentHeaderService;
+    private final DocumentResponseCache documentResponseCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BankStatementService(
+            InvoiceOutRepository invoiceOutRepository,
+            BankStatementRepository bankStatementRepository,
+            StatementReviewItemRepository statementReviewItemRepository,
+            BankStatementBatchRepository bankStatementBatchRepository,
+            InvoiceOutService invoiceOutService,
+            DocumentSummaryService documentSummaryService,
+            DocumentHeaderService documentHeaderService,
+            DocumentResponseCache documentResponseCache,
+            TransactionTemplate transactionTemplate,
+            @Value("${bank.statement.chunk-size:1000}") int chunkSize
+    ) {
+        this.invoiceOutRepository = invoiceOutRepository;
+        this.bankStatementRepository = bankStatementRepository;
+        this.statementReviewItemRepository = statementReviewItemRepository;
+        this.bankStatementBatchRepository = bankStatementBatchRepository;
+        this.invoiceOutService = invoiceOutService;
+        this.documentSummaryService = documentSummaryService;
+        this.documentHeaderService = documentHeaderService;
+        this.documentResponseCache = documentResponseCache;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports a camt.053 statement and pays the outgoing invoices its credits match.
+     *
+     * @param input camt.053 XML
+     * @param currentUser The user importing
+     * @return Counts and matched totals
+     * @throws IllegalArgumentException if the input is not a valid statement or was imported before
+     */
+    public BankStatementImportResponse importCamt053(InputStream input, User currentUser) {
+        long started = System.nanoTime();
+        ImportRun run;
+        try (Camt053Reader reader = new Camt053Reader(input)) {
+            String messageId = reader.getMessageId();
+            if (messageId == null || messageId.isBlank()) {
+                throw new IllegalArgumentException("Statement has no message id (GrpHdr/MsgId)");
+            }
+            if (bankStatementRepository.existsByMessageId(messageId)) {
+                throw new IllegalArgumentException("Statement " + messageId + " was already imported");
+            }
+            StatementMatcher matcher = loadOpenInvoices();
+
+            run = transactionTemplate.execute(status -> {
+                BankStatement statement = bankStatementRepository.save(BankStatement.builder()
+                        .messageId(messageId)
+                        .statementId(reader.getStatementId())
+                        .accountIban(reader.getAccountIban())
+                        .importedBy(currentUser)
+                        .build());
+                ImportRun importRun = new ImportRun(statement, matcher, currentUser);
+                StatementEntry entry;
+                while ((entry = next(reader)) != null) {
+                    importRun.add(entry);
+                }
+                importRun.flush();
+
+                statement.setEntryCount(importRun.entries);
+                statement.setMatchedCount(importRun.matched);
+                statement.setReviewCount(importRun.review);
+                statement.setSkippedCount(importRun.skipped);
+                return importRun;
+            });
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Malformed statement: " + e.getMessage());
+        }
+
+        for (Long invoiceId : run.paidInvoiceIds) {
+            documentHeaderService.evict(invoiceId);
+            documentResponseCache.evict(DocumentType.INVOICE_OUT, invoiceId);
+        }
+
+        BankStatement statement = run.statement;
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Imported statement {} by user {}: {} entries, {} matched, {} for review, {} skipped in {} ms",
+                statement.getMessageId(), currentUser.getEmail(), run.entries, run.matched, run.review, run.skipped,
+                durationMs);
+        return BankStatementImportResponse.builder()
+                .id(statement.getId())
+                .messageId(statement.getMessageId())
+                .statementId(statement.getStatementId())
+                .accountIban(statement.getAccountIban())
+                .entries(run.entries)
+                .matched(run.matched)
+                .review(run.review)
+                .skipped(run.skipped)
+                .matchedTotals(List.copyOf(run.totals.values()))
+                .durationMs(durationMs)
+                .build();
+    }
+
+    /**
+     * Lists open review items, oldest first.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<StatementReviewItemResponse> getOpenReviewItems(Pageable pageable) {
+        return PageResponse.of(statementReviewItemRepository.findByStatus(StatementReviewStatus.OPEN, pageable)
+                .map(BankStatementService::toResponse));
+    }
+
+    /**
+     * Books an open review item as payment of an approved outgoing invoice.
+     *
+     * @throws IllegalArgumentException if the item is not open or the invoice is in another currency
+     */
+    @Transactional
+    public StatementReviewItemResponse resolve(Long itemId, StatementReviewResolveRequest request, User currentUser) {
+        StatementReviewItem item = findOpenItem(itemId);
+        InvoiceOut invoice = invoiceOutRepository.findById(request.getInvoiceId())
+                .orElseThrow(() -> new ResourceNotFoundException("Invoice", request.getInvoiceId()));
+        if (!invoice.getCurrency().equalsIgnoreCase(item.getCurrency())) {
+            throw new IllegalArgumentException(String.format("Credit in %s cannot pay an invoice in %s",
+                    item.getCurrency(), invoice.getCurrency()));
+        }
+
+        invoiceOutService.recordPayment(invoice.getId(), PaymentRequest.builder()
+                .method(PaymentMethod.BANK)
+                .amount(item.getAmount())
+                .paidAt(item.getBookingDate() != null ? item.getBookingDate().atStartOfDay() : LocalDateTime.now())
+                .reference(item.getEntryReference())
+                .note(Objects.requireNonNullElse(request.getNote(), "Bank statement review item " + itemId))
+                .build(), currentUser);
+
+        item.setStatus(StatementReviewStatus.RESOLVED);
+        item.setResolvedDocumentId(invoice.getId());
+        item.setResolvedBy(currentUser);
+        item.setResolvedAt(LocalDateTime.now());
+        log.info("Review item {} resolved against outgoing invoice {} by user {}", itemId, invoice.getId(),
+                currentUser.getEmail());
+        return toResponse(item);
+    }
+
+    /**
+     * Closes an open review item that is not a payment of an invoice.
+     */
+    @Transactional
+    public StatementReviewItemResponse dismiss(Long itemId, User currentUser) {
+        StatementReviewItem item = findOpenItem(itemId);
+        item.setStatus(StatementReviewStatus.DISMISSED);
+        item.setResolvedBy(currentUser);
+        item.setResolvedAt(LocalDateTime.now());
+        log.info("Review item {} dismissed by user {}", itemId, currentUser.getEmail());
+        return toResponse(item);
+    }
+
+    private StatementReviewItem findOpenItem(Long itemId) {
+        StatementReviewItem item = statementReviewItemRepository.findById(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Review item", itemId));
+        if (item.getStatus() != StatementReviewStatus.OPEN) {
+            throw new IllegalArgumentException("Review item " + itemId + " is already " + item.getStatus());
+        }
+        return item;
+    }
+
+    private StatementMatcher loadOpenInvoices() {
+        StatementMatcher matcher = new StatementMatcher();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<OpenReceivableRow> rows = invoiceOutRepository.streamOpenReceivables(DocumentStatus.APPROVED)) {
+                rows.forEach(row -> matcher.add(row.getId(), row.getClientName(), row.getInvoiceNo(),
+                        row.getCurrency(), row.getOutstanding()));
+            }
+        });
+        return matcher;
+    }
+
+    private static StatementEntry next(Camt053Reader reader) {
+        try {
+            return reader.next();
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Malformed statement: " + e.getMessage());
+        }
+    }
+
+    private static ReviewItem reviewItem(StatementEntry entry, StatementReviewReason reason, Long suggestedId) {
+        return new ReviewItem(entry.reference() != null ? entry.reference() : entry.endToEndId(),
+                entry.bookingDate(), entry.amount(), entry.currency(), entry.debtorName(),
+                entry.structuredReference() != null
+                        ? joinReferences(entry.structuredReference(), entry.remittanceInformation())
+                        : entry.remittanceInformation(),
+                reason, suggestedId);
+    }
+
+    private static String joinReferences(String structured, String unstructured) {
+        return unstructured != null ? structured + " " + unstructured : structured;
+    }
+
+    private static StatementReviewItemResponse toResponse(StatementReviewItem item) {
+        return StatementReviewItemResponse.builder()
+                .id(item.getId())
+                .bankStatementId(item.getBankStatement().getId())
+                .entryReference(item.getEntryReference())
+                .bookingDate(item.getBookingDate())
+                .amount(item.getAmount())
+                .currency(item.getCurrency())
+                .debtorName(item.getDebtorName())
+                .remittanceInformation(item.getRemittanceInformation())
+                .reason(item.getReason())
+                .suggestedInvoiceId(item.getSuggestedDocumentId())
+                .status(item.getStatus())
+                .resolvedInvoiceId(item.getResolvedDocumentId())
+                .resolvedAt(item.getResolvedAt())
+                .createdAt(item.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * State of one import: the pending chunk, counts and matched totals.
+     */
+    private final class ImportRun {
+
+        private final BankStatement statement;
+        private final StatementMatcher matcher;
+        private final User user;
+        private final String note;
+        private final List<Matched> pendingMatches = new ArrayList<>();
+        private final List<ReviewItem> pendingReview = new ArrayList<>();
+        private final List<Long> paidInvoiceIds = new ArrayList<>();
+        private final Map<String, CurrencyTotal> totals = new TreeMap<>();
+        private long entries;
+        private long matched;
+        private long review;
+        private long skipped;
+
+        ImportRun(BankStatement statement, StatementMatcher matcher, User user) {
+            this.statement = statement;
+            this.matcher = matcher;
+            this.user = user;
+            this.note = "Bank statement " + statement.getMessageId();
+        }
+
+        void add(StatementEntry entry) {
+            entries++;
+            if (!entry.credit() || !entry.booked()) {
+                skipped++;
+                return;
+            }
+
+            StatementMatch match = matcher.match(entry);
+            if (match.matched()) {
+                pendingMatches.add(new Matched(match.invoiceId(), entry));
+            } else {
+                pendingReview.add(reviewItem(entry, match.reason(), match.invoiceId()));
+            }
+            if (pendingMatches.size() + pendingReview.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            LocalDateTime now = LocalDateTime.now();
+            if (!pendingMatches.isEmpty()) {
+                Map<Long, Balance> open = bankStatementBatchRepository.lockApproved(
+                        pendingMatches.stream().map(Matched::invoiceId).toList());
+
+                List<Credit> credits = new ArrayList<>(pendingMatches.size());
+                Map<String, CurrencyTotal> chunkTotals = new TreeMap<>();
+                for (Matched match : pendingMatches) {
+                    StatementEntry entry = match.entry();
+                    Balance balance = open.get(match.invoiceId());
+                    if (balance == null) {
+                        pendingReview.add(reviewItem(entry, StatementReviewReason.ALREADY_PAID, match.invoiceId()));
+                        continue;
+                    }
+                    BigDecimal amount = entry.amount().setScale(2, RoundingMode.HALF_UP);
+                    // Paid in part since the open invoices were loaded
+                    if (amount.compareTo(balance.outstanding()) != 0) {
+                        pendingReview.add(reviewItem(entry, StatementReviewReason.AMOUNT_MISMATCH, match.invoiceId()));
+                        continue;
+                    }
+                    credits.add(new Credit(match.invoiceId(), amount,
+                            entry.bookingDate() != null ? entry.bookingDate().atStartOfDay() : now,
+                            entry.reference() != null ? entry.reference() : entry.endToEndId()));
+                    // The summary moves the invoice's total, whatever was paid before
+                    CurrencyTotal.add(chunkTotals, entry.currency(), balance.total());
+                    CurrencyTotal.add(totals, entry.currency(), amount);
+                    paidInvoiceIds.add(match.invoiceId());
+                }
+                pendingMatches.clear();
+
+                if (!credits.isEmpty()) {
+                    int updated = bankStatementBatchRepository.markPaid(statement.getId(), credits, user.getId(), note,
+                            now);
+                    if (updated != credits.size()) {
+                        throw new IllegalStateException(String.format("Expected to pay %d invoices, updated %d",
+                                credits.size(), updated));
+                    }
+                    documentSummaryService.recordTransitions(DocumentType.INVOICE_OUT, DocumentStatus.APPROVED,
+                            DocumentStatus.PAID, List.copyOf(chunkTotals.values()));
+                    matched += credits.size();
+                }
+            }
+
+            if (!pendingReview.isEmpty()) {
+                bankStatementBatchRepository.insertReviewItems(statement.getId(), pendingReview, now);
+                review += pendingReview.size();
+                pendingReview.clear();
+            }
+        }
+    }
+
+    private record Matched(Long invoiceId, StatementEntry entry) {
+    }
+}
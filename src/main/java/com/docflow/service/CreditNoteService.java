@@ -0,0 +1,321 @@
+package com.docflow.service;
+
+import com.docflow.domain.entity.Client;
+import com.docflow.domain.entity.CreditNote;
+import com.docflow.domain.entity.User;
+import com.docflow.domain.entity.Vendor;
+import com.docflow.domain.enums.CreditNoteDirection;
+import com.docflow.domain.enums.CreditNoteStatus;
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import com.docflow.dto.creditnote.CreditNoteApplicationResponse;
+import com.docflow.dto.creditnote.CreditNoteApplyRequest;
+import com.docflow.dto.creditnote.CreditNoteBulkApplyRequest;
+import com.docflow.dto.creditnote.CreditNoteRequest;
+import com.docflow.dto.creditnote.CreditNoteResponse;
+import com.docflow.dto.filter.CurrencyTotal;
+import com.docflow.dto.filter.PageResponse;
+import com.docflow.exception.ResourceNotFoundException;
+import com.docflow.repository.ClientRepository;
+import com.docflow.repository.CreditNoteBatchRepository;
+import com.docflow.repository.CreditNoteBatchRepository.Application;
+import com.docflow.repository.CreditNoteBatchRepository.InvoiceCredit;
+import com.docflow.repository.CreditNoteBatchRepository.OpenCreditNote;
+import com.docflow.repository.CreditNoteBatchRepository.OpenInvoice;
+import com.docflow.repository.CreditNoteRepository;
+import com.docflow.repository.VendorRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Credit notes: issued to a vendor's or client's account, then applied against one of its
+ * APPROVED invoices.
+ *
+ * Applying adds the credit note's amount to the invoice's amount credited in place, so the
+ * invoice's outstanding balance (total - paid - credited, a generated column) is never
+ * recomputed from its payments and credit notes. Any number of credit notes is applied in
+ * one transaction with JDBC batches: the credit notes and then the invoices are locked,
+ * every application is checked before anything is written, and an invoice left with at
+ * most {@code reimbursement.tolerance} outstanding moves to PAID.
+ */
+@Service
+@Slf4j
+public class CreditNoteService {
+
+    private final CreditNoteRepository creditNoteRepository;
+    private final CreditNoteBatchRepository creditNoteBatchRepository;
+    private final VendorRepository vendorRepository;
+    private final ClientRepository clientRepository;
+    private final DocumentSummaryService documentSummaryService;
+    private final DocumentHeaderService documentHeaderService;
+    private final DocumentResponseCache documentResponseCache;
+    private final BigDecimal tolerance;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CreditNoteService(
+            CreditNoteRepository creditNoteRepository,
+            CreditNoteBatchRepository creditNoteBatchRepository,
+            VendorRepository vendorRepository,
+            ClientRepository clientRepository,
+            DocumentSummaryService documentSummaryService,
+            DocumentHeaderService documentHeaderService,
+            DocumentResponseCache documentResponseCache,
+            @Value("${reimbursement.tolerance:0.01}") BigDecimal tolerance
+    ) {
+        this.creditNoteRepository = creditNoteRepository;
+        this.creditNoteBatchRepository = creditNoteBatchRepository;
+        this.vendorRepository = vendorRepository;
+        this.clientRepository = clientRepository;
+        this.documentSummaryService = documentSummaryService;
+        this.documentHeaderService = documentHeaderService;
+        this.documentResponseCache = documentResponseCache;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Records an OPEN credit note of a vendor (VENDOR) or client (CLIENT).
+     *
+     * @throws IllegalArgumentException if the counterparty does not fit the direction
+     */
+    @Transactional
+    public CreditNoteResponse createCreditNote(CreditNoteRequest request, User currentUser) {
+        Vendor vendor = null;
+        Client client = null;
+        if (request.getDirection() == CreditNoteDirection.VENDOR) {
+            if (request.getVendorId() == null || request.getClientId() != null) {
+                throw new IllegalArgumentException("A VENDOR credit note requires a vendor and no client");
+            }
+            vendor = vendorRepository.findById(request.getVendorId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Vendor", request.getVendorId()));
+        } else {
+            if (request.getClientId() == null || request.getVendorId() != null) {
+                throw new IllegalArgumentException("A CLIENT credit note requires a client and no vendor");
+            }
+            client = clientRepository.findById(request.getClientId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Client", request.getClientId()));
+        }
+
+        CreditNote creditNote = creditNoteRepository.save(CreditNote.builder()
+                .direction(request.getDirection())
+                .vendor(vendor)
+                .client(client)
+                .currency(request.getCurrency())
+                .amount(request.getAmount())
+                .reference(request.getReference())
+                .reason(request.getReason())
+                .issuedAt(request.getIssuedAt() != null ? request.getIssuedAt() : LocalDateTime.now())
+                .status(CreditNoteStatus.OPEN)
+                .createdBy(currentUser)
+                .build());
+
+        log.info("Created {} credit note {} by user {}, amount: {} {}", creditNote.getDirection(), creditNote.getId(),
+                currentUser.getEmail(), creditNote.getAmount(), creditNote.getCurrency());
+        return toResponse(creditNote);
+    }
+
+    @Transactional(readOnly = true)
+    public CreditNoteResponse getCreditNote(Long id) {
+        return toResponse(creditNoteRepository.findByIdWithDetails(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Credit note", id)));
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<CreditNoteResponse> getCreditNotes(CreditNoteDirection direction, Long vendorId, Long clientId,
+                                                           CreditNoteStatus status, Pageable pageable) {
+        return PageResponse.of(creditNoteRepository.findByFilters(direction, vendorId, clientId, status, pageable)
+                .map(CreditNoteService::toResponse));
+    }
+
+    /**
+     * Applies an OPEN credit note against an APPROVED invoice of its vendor or client.
+     *
+     * @throws IllegalArgumentException if the credit note or invoice is not open, they belong to
+     *         different counterparties or currencies, or the credit exceeds the outstanding balance
+     */
+    @Transactional
+    public CreditNoteResponse applyCreditNote(Long id, CreditNoteApplyRequest request, User currentUser) {
+        CreditNote creditNote = creditNoteRepository.findByIdWithDetails(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Credit note", id));
+        if (creditNote.getStatus() != CreditNoteStatus.OPEN) {
+            throw new IllegalArgumentException("Credit note " + id + " is already " + creditNote.getStatus());
+        }
+
+        long counterpartyId = creditNote.getDirection() == CreditNoteDirection.VENDOR
+                ? creditNote.getVendor().getId()
+                : creditNote.getClient().getId();
+        apply(creditNote.getDirection(), counterpartyId, List.of(new Application(id, request.getInvoiceId())),
+                currentUser);
+
+        entityManager.refresh(creditNote);
+        return toResponse(creditNote);
+    }
+
+    /**
+     * Applies credit notes of one vendor against its APPROVED incoming invoices, all or none.
+     *
+     * @throws IllegalArgumentException if any application is invalid; nothing is applied then
+     */
+    @Transactional
+    public CreditNoteApplicationResponse applyVendorCreditNotes(CreditNoteBulkApplyRequest request,
+                                                                User currentUser) {
+        if (!vendorRepository.existsById(request.getVendorId())) {
+            throw new ResourceNotFoundException("Vendor", request.getVendorId());
+        }
+        List<Application> applications = request.getApplications().stream()
+                .map(application -> new Application(application.getCreditNoteId(), application.getInvoiceId()))
+                .toList();
+        return apply(CreditNoteDirection.VENDOR, request.getVendorId(), applications, currentUser);
+    }
+
+    private CreditNoteApplicationResponse apply(CreditNoteDirection direction, long counterpartyId,
+                                                List<Application> applications, User currentUser) {
+        long started = System.nanoTime();
+        DocumentType type = direction == CreditNoteDirection.VENDOR
+                ? DocumentType.INVOICE_IN
+                : DocumentType.INVOICE_OUT;
+        String counterparty = direction == CreditNoteDirection.VENDOR ? "vendor" : "client";
+
+        Set<Long> creditNoteIds = new HashSet<>();
+        for (Application application : applications) {
+            if (!creditNoteIds.add(application.creditNoteId())) {
+                throw new IllegalArgumentException("Credit note " + application.creditNoteId() + " is applied twice");
+            }
+        }
+        Map<Long, OpenCreditNote> creditNotes = creditNoteBatchRepository.lockOpenCreditNotes(creditNoteIds);
+        Map<Long, OpenInvoice> invoices = creditNoteBatchRepository.lockApprovedInvoices(type,
+                applications.stream().map(Application::invoiceId).collect(Collectors.toCollection(LinkedHashSet::new)));
+
+        // Credit notes per invoice, in request order
+        Map<Long, List<OpenCreditNote>> byInvoice = new LinkedHashMap<>();
+        for (Application application : applications) {
+            OpenCreditNote creditNote = creditNotes.get(application.creditNoteId());
+            if (creditNote == null) {
+                throw new IllegalArgumentException(String.format("Credit note %d does not exist or is already applied",
+                        application.creditNoteId()));
+            }
+            Long creditNoteCounterpartyId = direction == CreditNoteDirection.VENDOR
+                    ? creditNote.vendorId()
+                    : creditNote.clientId();
+            if (creditNote.direction() != direction || !Objects.equals(creditNoteCounterpartyId, counterpartyId)) {
+                throw new IllegalArgumentException(String.format("Credit note %d is not a credit note of %s %d",
+                        creditNote.id(), counterparty, counterpartyId));
+            }
+            OpenInvoice invoice = invoices.get(application.invoiceId());
+            if (invoice == null) {
+                throw new IllegalArgumentException(String.format("Invoice %d does not exist or is not APPROVED",
+                        application.invoiceId()));
+            }
+            if (invoice.counterpartyId() != counterpartyId) {
+                throw new IllegalArgumentException(String.format("Invoice %d is not an invoice of %s %d",
+                        invoice.id(), counterparty, counterpartyId));
+            }
+            if (!invoice.currency().equalsIgnoreCase(creditNote.currency())) {
+                throw new IllegalArgumentException(String.format(
+                        "Credit note %d in %s cannot be applied to invoice %d in %s",
+                        creditNote.id(), creditNote.currency(), invoice.id(), invoice.currency()));
+            }
+            byInvoice.computeIfAbsent(invoice.id(), id -> new ArrayList<>()).add(creditNote);
+        }
+
+        List<InvoiceCredit> credits = new ArrayList<>(byInvoice.size());
+        Map<String, CurrencyTotal> creditedTotals = new TreeMap<>();
+        Map<String, CurrencyTotal> settledTotals = new TreeMap<>();
+        for (Map.Entry<Long, List<OpenCreditNote>> entry : byInvoice.entrySet()) {
+            OpenInvoice invoice = invoices.get(entry.getKey());
+            BigDecimal amount = entry.getValue().stream()
+                    .map(OpenCreditNote::amount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            BigDecimal outstanding = invoice.outstanding().subtract(amount);
+            if (outstanding.signum() < 0) {
+                throw new IllegalArgumentException(String.format(
+                        "Credit of %s %s exceeds the outstanding balance of %s %s of invoice %d",
+                        amount, invoice.currency(), invoice.outstanding(), invoice.currency(), invoice.id()));
+            }
+
+            DocumentStatus status = outstanding.compareTo(tolerance) <= 0
+                    ? DocumentStatus.PAID
+                    : DocumentStatus.APPROVED;
+            String note = String.format("Credit note%s %s applied: %s, outstanding %s",
+                    entry.getValue().size() > 1 ? "s" : "",
+                    entry.getValue().stream().map(creditNote -> String.valueOf(creditNote.id()))
+                            .collect(Collectors.joining(", ")),
+                    amount, outstanding);
+            credits.add(new InvoiceCredit(invoice.id(), amount, status, note));
+            for (OpenCreditNote creditNote : entry.getValue()) {
+                CurrencyTotal.add(creditedTotals, creditNote.currency(), creditNote.amount());
+            }
+            if (status == DocumentStatus.PAID) {
+                // The summary moves the invoice's total, whatever was paid or credited before
+                CurrencyTotal.add(settledTotals, invoice.currency(), invoice.total());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int applied = creditNoteBatchRepository.markApplied(applications, currentUser.getId(), now);
+        int updated = creditNoteBatchRepository.credit(type, credits, currentUser.getId(), now);
+        if (applied != applications.size() || updated != credits.size()) {
+            throw new IllegalStateException(String.format(
+                    "Expected to apply %d credit notes to %d invoices, updated %d and %d",
+                    applications.size(), credits.size(), applied, updated));
+        }
+        if (!settledTotals.isEmpty()) {
+            documentSummaryService.recordTransitions(type, DocumentStatus.APPROVED, DocumentStatus.PAID,
+                    List.copyOf(settledTotals.values()));
+        }
+        for (InvoiceCredit credit : credits) {
+            documentHeaderService.evict(credit.invoiceId());
+            documentResponseCache.evict(type, credit.invoiceId());
+        }
+
+        long settled = credits.stream().filter(credit -> credit.status() == DocumentStatus.PAID).count();
+        log.info("Applied {} credit notes of {} {} to {} invoices ({} settled) by user {} in {} ms",
+                applications.size(), counterparty, counterpartyId, credits.size(), settled, currentUser.getEmail(),
+                (System.nanoTime() - started) / 1_000_000);
+        return CreditNoteApplicationResponse.builder()
+                .creditNotes(applications.size())
+                .invoices(credits.size())
+                .settled(settled)
+                .totals(List.copyOf(creditedTotals.values()))
+                .build();
+    }
+
+    private static CreditNoteResponse toResponse(CreditNote creditNote) {
+        return CreditNoteResponse.builder()
+                .id(creditNote.getId())
+                .direction(creditNote.getDirection())
+                .vendorId(creditNote.getVendor() != null ? creditNote.getVendor().getId() : null)
+                .vendorName(creditNote.getVendor() != null ? creditNote.getVendor().getName() : null)
+                .clientId(creditNote.getClient() != null ? creditNote.getClient().getId() : null)
+                .clientName(creditNote.getClient() != null ? creditNote.getClient().getName() : null)
+                .currency(creditNote.getCurrency())
+                .amount(creditNote.getAmount())
+                .reference(creditNote.getReference())
+                .reason(creditNote.getReason())
+                .issuedAt(creditNote.getIssuedAt())
+                .status(creditNote.getStatus())
+                .invoiceId(creditNote.getRelatedDocument() != null ? creditNote.getRelatedDocument().getId() : null)
+                .appliedAt(creditNote.getAppliedAt())
+                .createdAt(creditNote.getCreatedAt())
+                .build();
+    }
+}
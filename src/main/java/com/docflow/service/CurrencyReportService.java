@@ -0,0 +1,159 @@
+package com.docflow.service;
+
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import com.docflow.dto.dashboard.ConvertedSummaryEntry;
+import com.docflow.dto.dashboard.ConvertedSummaryResponse;
+import com.docflow.dto.dashboard.ConvertedTotalsEntry;
+import com.docflow.dto.dashboard.ConvertedTotalsResponse;
+import com.docflow.dto.dashboard.DashboardSummaryResponse;
+import com.docflow.dto.dashboard.DocumentSummaryEntry;
+import com.docflow.dto.filter.CurrencyTotal;
+import com.docflow.reporting.ConvertedTotalsAggregator;
+import com.docflow.reporting.FxRateTable;
+import com.docflow.repository.InvoiceAmountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Dashboard totals converted into one base currency with the in-memory {@link FxRateTable}.
+ *
+ * Amounts in a currency without a rate on or before the date they are converted at are not
+ * guessed: they are counted, left out of the converted sums and listed per currency.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CurrencyReportService {
+
+    // Bounds the aggregator's per-day cells; ten years of daily totals
+    static final long MAX_PERIOD_DAYS = 3660;
+
+    private final DocumentSummaryService documentSummaryService;
+    private final FxRateService fxRateService;
+    private final InvoiceAmountRepository invoiceAmountRepository;
+
+    /**
+     * Converts the dashboard summary: the total of each (type, status) at the rates of one date.
+     *
+     * @param baseCurrency The currency to convert into
+     * @param rateDate Date of the rates
+     * @throws IllegalArgumentException if there are no rates of the base currency
+     */
+    public ConvertedSummaryResponse getConvertedSummary(String baseCurrency, LocalDate rateDate) {
+        FxRateTable rates = fxRateService.getTable();
+        String base = baseCurrency(rates, baseCurrency);
+        DashboardSummaryResponse summary = documentSummaryService.getSummary();
+
+        Map<String, ConvertedSummaryEntry> entries = new LinkedHashMap<>();
+        Map<String, CurrencyTotal> unconverted = new TreeMap<>();
+        for (DocumentSummaryEntry cell : summary.getEntries()) {
+            ConvertedSummaryEntry entry = entries.computeIfAbsent(cell.getDocType() + "|" + cell.getStatus(),
+                    key -> ConvertedSummaryEntry.builder()
+                            .docType(cell.getDocType())
+                            .status(cell.getStatus())
+                            .totalAmount(BigDecimal.ZERO.setScale(2))
+                            .build());
+            entry.setCount(entry.getCount() + cell.getCount());
+
+            BigDecimal converted = rates.convert(cell.getTotalAmount(), cell.getCurrency(), base, rateDate);
+            if (converted != null) {
+                entry.setTotalAmount(entry.getTotalAmount().add(converted));
+            } else {
+                CurrencyTotal.add(unconverted, cell.getCurrency().toUpperCase(Locale.ROOT), cell.getTotalAmount(),
+                        cell.getCount());
+            }
+        }
+
+        return ConvertedSummaryResponse.builder()
+                .baseCurrency(base)
+                .rateDate(rateDate)
+                .entries(List.copyOf(entries.values()))
+                .unconverted(List.copyOf(unconverted.values()))
+                .asOf(summary.getAsOf())
+                .build();
+    }
+
+    /**
+     * Totals the invoices dated within a period per status, each converted at the rate of its
+     * invoice date. The invoices are streamed once and summed as they are read.
+     *
+     * @param docType INVOICE_IN or INVOICE_OUT
+     * @param from First invoice date
+     * @param to Last invoice date
+     * @param baseCurrency The currency to convert into
+     * @throws IllegalArgumentException if the period is empty or too long, or there are no
+     *                                  rates of the base currency
+     */
+    public ConvertedTotalsResponse getConvertedTotals(DocumentType docType, LocalDate from, LocalDate to,
+                                                      String baseCurrency) {
+        if (docType != DocumentType.INVOICE_IN && docType != DocumentType.INVOICE_OUT) {
+            throw new IllegalArgumentException("Period totals are only available for invoices, not " + docType);
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Period ends before it starts: " + from + " to " + to);
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_PERIOD_DAYS) {
+            throw new IllegalArgumentException("Period must not be longer than " + MAX_PERIOD_DAYS + " days");
+        }
+        long started = System.nanoTime();
+        FxRateTable rates = fxRateService.getTable();
+        String base = baseCurrency(rates, baseCurrency);
+
+        DocumentStatus[] statuses = DocumentStatus.values();
+        ConvertedTotalsAggregator aggregator = new ConvertedTotalsAggregator(from, to, statuses.length);
+        invoiceAmountRepository.forEachAmount(docType, from, to, (status, currency, epochDay, cents) ->
+                aggregator.add(status.ordinal(), currency, epochDay, cents));
+        ConvertedTotalsAggregator.Result result = aggregator.convert(rates, base);
+
+        List<ConvertedTotalsEntry> entries = new ArrayList<>();
+        BigDecimal totalAmount = BigDecimal.ZERO.setScale(2);
+        for (DocumentStatus status : statuses) {
+            ConvertedTotalsAggregator.GroupTotal total = result.groups().get(status.ordinal());
+            if (total.count() == 0) {
+                continue;
+            }
+            entries.add(ConvertedTotalsEntry.builder()
+                    .status(status)
+                    .count(total.count())
+                    .totalAmount(total.convertedAmount())
+                    .totalsByCurrency(total.totalsByCurrency())
+                    .build());
+            totalAmount = totalAmount.add(total.convertedAmount());
+        }
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Converted {} {} invoices from {} to {} into {} in {} ms", aggregator.getCount(), docType,
+                from, to, base, durationMs);
+        return ConvertedTotalsResponse.builder()
+                .docType(docType)
+                .from(from)
+                .to(to)
+                .baseCurrency(base)
+                .entries(entries)
+                .totalAmount(totalAmount)
+                .unconverted(result.unconverted())
+                .invoiceCount(aggregator.getCount())
+                .durationMs(durationMs)
+                .build();
+    }
+
+    private static String baseCurrency(FxRateTable rates, String baseCurrency) {
+        String base = baseCurrency.toUpperCase(Locale.ROOT);
+        if (!rates.contains(base)) {
+            throw new IllegalArgumentException("No FX rates for base currency: " + base);
+        }
+        return base;
+    }
+}
@@ -0,0 +1,113 @@
+package com.docflow.service;
+
+import com.docflow.domain.enums.DocumentType;
+import com.docflow.dto.VersionedResponse;
+import com.docflow.dto.filter.SliceResponse;
+import com.docflow.repository.ExpenseClaimRepository;
+import com.docflow.repository.InvoiceInRepository;
+import com.docflow.repository.InvoiceOutRepository;
+import com.docflow.repository.ReimbursementRepository;
+import com.docflow.specification.DocumentVisibility;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Weak ETags for document GETs, derived from the @Version column.
+ *
+ * A single document's tag is its (id, version); a list page's tag hashes the (id, version)
+ * of every row plus the page metadata. Any write bumps the version, so a matching tag means
+ * the client's copy is current and the document can be answered with 304 after reading
+ * the version column alone. The version is read with the caller's visibility, so a
+ * document the caller may not read is never confirmed.
+ */
+@Service
+@RequiredArgsConstructor
+public class DocumentETagService {
+
+    private final InvoiceInRepository invoiceInRepository;
+    private final InvoiceOutRepository invoiceOutRepository;
+    private final ExpenseClaimRepository expenseClaimRepository;
+    private final ReimbursementRepository reimbursementRepository;
+
+    /**
+     * Returns the current ETag of a document if it matches If-None-Match.
+     *
+     * @param type The document type served by the endpoint
+     * @param id The document ID
+     * @param ifNoneMatch If-None-Match request header, may be null
+     * @param visibility Documents the caller may read
+     * @return The ETag to send with 304, or empty if the document must be loaded
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> notModified(DocumentType type, Long id, String ifNoneMatch, DocumentVisibility visibility) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return Optional.empty();
+        }
+        // A missing or hidden document falls through to the regular 404
+        return currentVersion(type, id, visibility.getViewerId())
+                .map(version -> forDocument(id, version))
+                .filter(etag -> matches(ifNoneMatch, etag));
+    }
+
+    /**
+     * Lets clients store tagged responses but revalidate them on every use.
+     */
+    public static CacheControl cacheControl() {
+        return CacheControl.noCache().cachePrivate();
+    }
+
+    public static String forDocument(VersionedResponse response) {
+        return forDocument(response.getId(), response.getVersion());
+    }
+
+    public static String forDocument(Long id, Integer version) {
+        return "W/\"" + id + "-" + version + "\"";
+    }
+
+    public static String forPage(SliceResponse<? extends VersionedResponse> page) {
+        StringBuilder key = new StringBuilder()
+                .append(page.getPage()).append('/')
+                .append(page.getSize()).append('/')
+                .append(page.isHasNext()).append('/')
+                .append(page.getTotalElements()).append('/')
+                .append(page.getApproximateTotal());
+        for (VersionedResponse row : page.getContent()) {
+            key.append(';').append(row.getId()).append('-').append(row.getVersion());
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Weak comparison, as If-None-Match requires: W/ prefixes are ignored.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch.trim().equals("*")) {
+            return true;
+        }
+        String opaque = stripWeak(etag);
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(DocumentETagService::stripWeak)
+                .anyMatch(opaque::equals);
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private Optional<Integer> currentVersion(DocumentType type, Long id, Long viewerId) {
+        return switch (type) {
+            case INVOICE_IN -> invoiceInRepository.findVisibleVersion(id, viewerId);
+            case INVOICE_OUT -> invoiceOutRepository.findVisibleVersion(id, viewerId);
+            case EXPENSE_CLAIM -> expenseClaimRepository.findVisibleVersion(id, viewerId);
+            case REIMBURSEMENT -> reimbursementRepository.findVisibleVersion(id, viewerId);
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package com.docflow.service;
+
+import com.docflow.exception.ResourceNotFoundException;
+import com.docflow.repository.DocumentRepository;
+import com.docflow.repository.ExpenseClaimRepository;
+import com.docflow.repository.InvoiceInRepository;
+import com.docflow.repository.InvoiceOutRepository;
+import com.docflow.repository.ReimbursementRepository;
+import com.docflow.repository.projection.DocumentHeader;
+import com.docflow.specification.DocumentVisibility;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cached document headers (id, type, status, owner, version) read from the documents
+ * table alone.
+ *
+ * File and ownership checks only need the header, and loading the full entity through the
+ * JOINED root outer-joins every subtype table. Entries live for a few seconds and are
+ * evicted when a document changes, so the header can lag a concurrent write from another
+ * instance by at most the TTL. Missing documents are not cached.
+ */
+@Service
+public class DocumentHeaderService {
+
+    private final DocumentRepository documentRepository;
+    private final InvoiceInRepository invoiceInRepository;
+    private final InvoiceOutRepository invoiceOutRepository;
+    private final ExpenseClaimRepository expenseClaimRepository;
+    private final ReimbursementRepository reimbursementRepository;
+    private final LoadingCache<Long, DocumentHeader> cache;
+
+    public DocumentHeaderService(
+            DocumentRepository documentRepository,
+            InvoiceInRepository invoiceInRepository,
+            InvoiceOutRepository invoiceOutRepository,
+            ExpenseClaimRepository expenseClaimRepository,
+            ReimbursementRepository reimbursementRepository,
+            @Value("${document.header.cache-ttl-seconds:5}") long ttlSeconds,
+            @Value("${document.header.cache-max-entries:10000}") long maxEntries
+    ) {
+        this.documentRepository = documentRepository;
+        this.invoiceInRepository = invoiceInRepository;
+        this.invoiceOutRepository = invoiceOutRepository;
+        this.expenseClaimRepository = expenseClaimRepository;
+        this.reimbursementRepository = reimbursementRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxEntries)
+                .build(this::load);
+    }
+
+    /**
+     * Gets the header of a document.
+     *
+     * @param docId The document ID
+     * @return The header
+     * @throws ResourceNotFoundException if the document does not exist
+     */
+    public DocumentHeader getHeader(Long docId) {
+        DocumentHeader header = cache.get(docId);
+        if (header == null) {
+            throw new ResourceNotFoundException("Document", docId);
+        }
+        return header;
+    }
+
+    /**
+     * Throws if the document does not exist.
+     */
+    public void requireExists(Long docId) {
+        getHeader(docId);
+    }
+
+    /**
+     * Throws if the document does not exist or the viewer may not read it. The visibility
+     * check reads the subtype's version column with the viewer's predicate, uncached, so a
+     * hidden document is answered exactly like a missing one.
+     *
+     * @param docId The document ID
+     * @param visibility Documents the caller may read
+     * @return The document's header
+     * @throws ResourceNotFoundException if the document is missing or hidden
+     */
+    public DocumentHeader requireReadable(Long docId, DocumentVisibility visibility) {
+        DocumentHeader header = getHeader(docId);
+        if (visibility.isRestricted() && visibleVersion(header, visibility.getViewerId()).isEmpty()) {
+            throw new ResourceNotFoundException("Document", docId);
+        }
+        return header;
+    }
+
+    /**
+     * Drops the cached header of a changed document, now and again once the writing
+     * transaction commits, so a read racing the commit cannot re-cache the old header.
+     */
+    public void evict(Long docId) {
+        cache.invalidate(docId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(docId);
+                }
+            });
+        }
+    }
+
+    private Optional<Integer> visibleVersion(DocumentHeader header, Long viewerId) {
+        return switch (header.docType()) {
+            case INVOICE_IN -> invoiceInRepository.findVisibleVersion(header.id(), viewerId);
+            case INVOICE_OUT -> invoiceOutRepository.findVisibleVersion(header.id(), viewerId);
+            case EXPENSE_CLAIM -> expenseClaimRepository.findVisibleVersion(header.id(), viewerId);
+            case REIMBURSEMENT -> reimbursementRepository.findVisibleVersion(header.id(), viewerId);
+        };
+    }
+
+    private DocumentHeader load(Long docId) {
+        return documentRepository.findHeaderById(docId)
+                .map(DocumentHeader::of)
+                .orElse(null);
+    }
+}
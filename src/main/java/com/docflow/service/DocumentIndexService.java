@@ -0,0 +1,231 @@
+package com.docflow.service;
+
+import com.docflow.domain.entity.Document;
+import com.docflow.domain.entity.DocumentIndexEntry;
+import com.docflow.domain.entity.Employee;
+import com.docflow.domain.entity.ExpenseClaim;
+import com.docflow.domain.entity.InvoiceIn;
+import com.docflow.domain.entity.InvoiceOut;
+import com.docflow.domain.entity.Reimbursement;
+import com.docflow.domain.entity.User;
+import com.docflow.domain.enums.DocumentScope;
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import com.docflow.domain.enums.RoleName;
+import com.docflow.dto.filter.CursorPageResponse;
+import com.docflow.dto.search.DocumentListItem;
+import com.docflow.exception.UnauthorizedActionException;
+import com.docflow.repository.DocumentIndexRepository;
+import com.docflow.specification.DocumentVisibility;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Cross-type document listings served from the denormalized document_index table.
+ *
+ * Document creates, edits and status transitions write the index row inside the same
+ * transaction, so listings never show a document that rolled back or miss one that
+ * committed. Pages are keyset-paginated on (createdAt, id), newest first.
+ */
+@Service
+@RequiredArgsConstructor
+public class DocumentIndexService {
+
+    private static final int DEFAULT_SIZE = 20;
+    private static final int MAX_SIZE = 100;
+
+    private final DocumentIndexRepository documentIndexRepository;
+
+    /**
+     * Writes the index row of a newly created document.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Document document) {
+        upsert(document);
+    }
+
+    /**
+     * Refreshes the index row of an edited document.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdated(Document document) {
+        upsert(document);
+    }
+
+    /**
+     * Moves the index row of a document to its new status.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(Document document) {
+        documentIndexRepository.updateStatus(document.getId(), document.getStatus());
+    }
+
+    /**
+     * Lists documents of every type, newest first. PENDING shows managers only the
+     * documents they may read.
+     *
+     * @param scope MINE, PENDING (approvers only) or ALL (finance and admin only)
+     * @param docType Optional type filter
+     * @param status Optional status filter; ignored for PENDING
+     * @param query Optional prefix of the document number or counterparty name
+     * @param cursor nextCursor of the previous page, null for the first page
+     * @param size Page size
+     * @param currentUser The requesting user
+     * @return One page and the cursor of the next one
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<DocumentListItem> list(DocumentScope scope, DocumentType docType, DocumentStatus status,
+                                                     String query, String cursor, Integer size, User currentUser) {
+        int pageSize = resolveSize(size);
+        Long ownerUserId = null;
+
+        switch (scope) {
+            case MINE -> ownerUserId = currentUser.getId();
+            case PENDING -> {
+                requireAnyRole(currentUser, RoleName.MANAGER, RoleName.FINANCE, RoleName.ADMIN);
+                status = DocumentStatus.PENDING;
+            }
+            case ALL -> requireAnyRole(currentUser, RoleName.FINANCE, RoleName.ADMIN);
+        }
+
+        Cursor after = decodeCursor(cursor);
+        Long viewerId = DocumentVisibility.of(currentUser).getViewerId();
+        List<DocumentIndexEntry> rows = documentIndexRepository.findPage(ownerUserId, viewerId, status, docType,
+                likePrefix(query), after.createdAt(), after.id(), Limit.of(pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<DocumentIndexEntry> page = hasNext ? rows.subList(0, pageSize) : rows;
+        DocumentIndexEntry last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CursorPageResponse.<DocumentListItem>builder()
+                .content(page.stream().map(this::toListItem).collect(Collectors.toList()))
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeCursor(last) : null)
+                .build();
+    }
+
+    private void upsert(Document document) {
+        DocumentIndexEntry entry = toEntry(document);
+        documentIndexRepository.upsert(entry.getId(), entry.getDocType().name(), entry.getStatus().name(),
+                entry.getOwnerUserId(), entry.getCounterpartyName(), entry.getDocNumber(), entry.getDocDate(),
+                entry.getAmount(), entry.getCurrency(), entry.getCreatedAt());
+    }
+
+    private DocumentIndexEntry toEntry(Document document) {
+        DocumentIndexEntry.DocumentIndexEntryBuilder builder = DocumentIndexEntry.builder()
+                .id(document.getId())
+                .docType(document.getDocType())
+                .status(document.getStatus())
+                .ownerUserId(document.getOwnerUser().getId())
+                .createdAt(document.getCreatedAt());
+
+        if (document instanceof InvoiceIn invoice) {
+            builder.counterpartyName(invoice.getVendor().getName())
+                    .docNumber(invoice.getInvoiceNo())
+                    .docDate(invoice.getInvoiceDate())
+                    .amount(invoice.getTotal())
+                    .currency(invoice.getCurrency());
+        } else if (document instanceof InvoiceOut invoice) {
+            builder.counterpartyName(invoice.getClient().getName())
+                    .docNumber(invoice.getInvoiceNo())
+                    .docDate(invoice.getInvoiceDate())
+                    .amount(invoice.getTotal())
+                    .currency(invoice.getCurrency());
+        } else if (document instanceof ExpenseClaim claim) {
+            builder.counterpartyName(employeeName(claim.getEmployee()))
+                    .docDate(claim.getClaimDate())
+                    .amount(claim.getTotal())
+                    .currency(claim.getCurrency());
+        } else if (document instanceof Reimbursement reimbursement) {
+            builder.counterpartyName(employeeName(reimbursement.getEmployee()))
+                    .docDate(reimbursement.getRequestedDate())
+                    .amount(reimbursement.getTotal())
+                    .currency(reimbursement.getCurrency());
+        } else {
+            throw new IllegalArgumentException("Unsupported document type: " + document.getClass().getSimpleName());
+        }
+        return builder.build();
+    }
+
+    private String employeeName(Employee employee) {
+        return employee.getUser().getName();
+    }
+
+    private DocumentListItem toListItem(DocumentIndexEntry entry) {
+        return DocumentListItem.builder()
+                .id(entry.getId())
+                .docType(entry.getDocType())
+                .status(entry.getStatus())
+                .ownerUserId(entry.getOwnerUserId())
+                .counterpartyName(entry.getCounterpartyName())
+                .docNumber(entry.getDocNumber())
+                .docDate(entry.getDocDate())
+                .amount(entry.getAmount())
+                .currency(entry.getCurrency())
+                .createdAt(entry.getCreatedAt())
+                .build();
+    }
+
+    private int resolveSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SIZE);
+        }
+        return size;
+    }
+
+    private void requireAnyRole(User user, RoleName... roleNames) {
+        boolean allowed = user.getRoles().stream()
+                .anyMatch(role -> List.of(roleNames).contains(role.getName()));
+        if (!allowed) {
+            throw new UnauthorizedActionException("Not allowed to list documents in this scope");
+        }
+    }
+
+    /**
+     * Escapes LIKE wildcards so the term is matched literally as a prefix.
+     */
+    private String likePrefix(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        return query.trim().replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+
+    private String encodeCursor(DocumentIndexEntry last) {
+        String raw = last.getCreatedAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Cursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new Cursor(null, null);
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private record Cursor(LocalDateTime createdAt, Long id) {
+    }
+}
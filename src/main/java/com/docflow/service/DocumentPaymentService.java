@@ -0,0 +1,123 @@
+package com.docflow.service;
+
+import com.docflow.domain.entity.Document;
+import com.docflow.domain.entity.PayableDocument;
+import com.docflow.domain.entity.Payment;
+import com.docflow.domain.entity.User;
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.PaymentDirection;
+import com.docflow.dto.invoice.PaymentRequest;
+import com.docflow.exception.InvalidStatusTransitionException;
+import com.docflow.repository.DocumentBalanceRepository;
+import com.docflow.repository.PaymentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Records payments of invoices and reimbursements against their outstanding balance.
+ *
+ * A document may be paid in parts. Each payment is added to its amount paid in place (see
+ * {@link DocumentBalanceRepository}) and may not take the total paid beyond the total plus
+ * {@code reimbursement.tolerance}. The payment that leaves at most the tolerance outstanding
+ * moves the document to PAID; earlier ones leave it APPROVED, are audited as PAYMENT and bump
+ * its version.
+ */
+@Service
+@Slf4j
+public class DocumentPaymentService {
+
+    private final DocumentBalanceRepository documentBalanceRepository;
+    private final PaymentRepository paymentRepository;
+    private final DocumentStatusMachine statusMachine;
+    private final AuditLogService auditLogService;
+    private final DocumentHeaderService documentHeaderService;
+    private final DocumentResponseCache documentResponseCache;
+    private final BigDecimal tolerance;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public DocumentPaymentService(
+            DocumentBalanceRepository documentBalanceRepository,
+            PaymentRepository paymentRepository,
+            DocumentStatusMachine statusMachine,
+            AuditLogService auditLogService,
+            DocumentHeaderService documentHeaderService,
+            DocumentResponseCache documentResponseCache,
+            @Value("${reimbursement.tolerance:0.01}") BigDecimal tolerance) {
+        this.documentBalanceRepository = documentBalanceRepository;
+        this.paymentRepository = paymentRepository;
+        this.statusMachine = statusMachine;
+        this.auditLogService = auditLogService;
+        this.documentHeaderService = documentHeaderService;
+        this.documentResponseCache = documentResponseCache;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Records a payment of an APPROVED document and refreshes the document's balance.
+     *
+     * @param document The document paid, loaded in the current transaction
+     * @param direction OUTBOUND when we pay, INBOUND when we are paid
+     * @return The document, PAID if nothing beyond the tolerance is outstanding
+     * @throws InvalidStatusTransitionException if the document is not APPROVED
+     * @throws IllegalArgumentException if the payment exceeds the outstanding balance
+     */
+    @Transactional
+    public <T extends Document & PayableDocument> T recordPayment(T document, PaymentDirection direction,
+                                                                  PaymentRequest request, User currentUser) {
+        requireApproved(document);
+        BigDecimal amount = request.getAmount();
+        if (!documentBalanceRepository.applyPayment(document.getDocType(), document.getId(), amount, tolerance)) {
+            entityManager.refresh(document);
+            requireApproved(document);
+            throw new IllegalArgumentException(String.format("Payment of %s %s exceeds the outstanding balance of %s %s",
+                    amount, document.getCurrency(), document.getOutstanding(), document.getCurrency()));
+        }
+
+        // A locking read: the latest status and version, and the balance just written. The share
+        // lock still lets the audit log, written in its own transaction, reference the document.
+        entityManager.refresh(document, LockModeType.PESSIMISTIC_READ);
+        requireApproved(document);
+
+        paymentRepository.save(Payment.builder()
+                .document(document)
+                .direction(direction)
+                .method(request.getMethod())
+                .amount(amount)
+                .paidAt(request.getPaidAt())
+                .reference(request.getReference())
+                .build());
+
+        if (document.getOutstanding().compareTo(tolerance) <= 0) {
+            statusMachine.markAsPaid(document, currentUser, request.getNote());
+        } else {
+            auditLogService.logTransition(document, currentUser, "PAYMENT", DocumentStatus.APPROVED.name(),
+                    DocumentStatus.APPROVED.name(), String.format("Paid %s, outstanding %s", amount,
+                            document.getOutstanding()));
+            // The balance is part of the document's state: a new version invalidates cached responses and ETags
+            entityManager.lock(document, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+            documentHeaderService.evict(document.getId());
+            documentResponseCache.evict(document.getDocType(), document.getId());
+            log.info("Partial payment of {} {} for document {} by user {}, outstanding {}", amount,
+                    document.getCurrency(), document.getId(), currentUser.getEmail(), document.getOutstanding());
+        }
+        return document;
+    }
+
+    private static void requireApproved(Document document) {
+        if (document.getStatus() != DocumentStatus.APPROVED) {
+            throw new InvalidStatusTransitionException(String.format(
+                    "Cannot record a payment for document %d in status %s. Only APPROVED documents can be paid.",
+                    document.getId(), document.getStatus()));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.docflow.service;
+
+import com.docflow.domain.enums.DocumentType;
+import com.docflow.dto.VersionedResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of mapped single-document responses, keyed by (type, id) and stamped
+ * with the document version they were built from.
+ *
+ * Every lookup first reads the current version of the document as visible to the caller
+ * (a primary-key read) and only serves the cached response when it was built from that
+ * version, so a write committed by another instance is never hidden and a viewer who may
+ * not read the document never gets it from the cache. Local writes
+ * also evict eagerly to free the entry. Bounded by the approximate serialized size of
+ * the responses, with Caffeine's TinyLFU eviction.
+ *
+ * Vendor, client and user names are those of the cached version; renaming them does not
+ * bump document versions. Cached responses are shared between requests and must not be
+ * modified by callers.
+ */
+@Service
+public class DocumentResponseCache {
+
+    private static final String METRIC_PREFIX = "docflow.document.response.cache";
+
+    private final ObjectMapper objectMapper;
+    private final Cache<DocumentKey, Versioned> cache;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter staleCounter;
+
+    public DocumentResponseCache(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${document.response.cache-max-bytes:67108864}") long maxBytes
+    ) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((DocumentKey key, Versioned value) -> value.bytes())
+                .recordStats()
+                .build();
+
+        hitCounter = requests(meterRegistry, "hit", "Served from the cache");
+        missCounter = requests(meterRegistry, "miss", "Not cached; loaded and mapped");
+        staleCounter = requests(meterRegistry, "stale", "Cached for an older version; reloaded and mapped");
+        Gauge.builder(METRIC_PREFIX + ".size", cache, Cache::estimatedSize)
+                .description("Cached responses")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".weight", cache, DocumentResponseCache::weightedSize)
+                .description("Approximate memory held by cached responses (serialized size)")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", cache, c -> c.stats().evictionCount())
+                .description("Responses evicted to stay within the size bound")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached response of a document if it matches the current version,
+     * otherwise loads, caches and returns a fresh one.
+     *
+     * @param type The document type served by the caller
+     * @param id The document ID
+     * @param currentVersion Reads the document's current version, empty if the caller may not read it
+     * @param loader Loads and maps the document; throws if it does not exist or is not visible
+     * @return The response
+     */
+    public <T extends VersionedResponse> T get(DocumentType type, Long id,
+                                               Supplier<Optional<Integer>> currentVersion, Supplier<T> loader) {
+        DocumentKey key = new DocumentKey(type, id);
+        Versioned cached = cache.getIfPresent(key);
+
+        if (cached != null) {
+            Optional<Integer> current = currentVersion.get();
+            if (current.isPresent() && current.get().equals(cached.version())) {
+                hitCounter.increment();
+                @SuppressWarnings("unchecked")
+                T response = (T) cached.response();
+                return response;
+            }
+            staleCounter.increment();
+        } else {
+            missCounter.increment();
+        }
+
+        T response = loader.get();
+        cache.put(key, new Versioned(response.getVersion(), response, sizeOf(response)));
+        return response;
+    }
+
+    /**
+     * Drops the cached response of a changed document.
+     */
+    public void evict(DocumentType type, Long id) {
+        cache.invalidate(new DocumentKey(type, id));
+    }
+
+    private int sizeOf(Object response) {
+        try {
+            return objectMapper.writeValueAsBytes(response).length;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + response.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result, String description) {
+        return Counter.builder(METRIC_PREFIX + ".requests")
+                .tag("result", result)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    private static double weightedSize(Cache<DocumentKey, Versioned> cache) {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    private record DocumentKey(DocumentType type, Long id) {
+    }
+
+    private record Versioned(Integer version, VersionedResponse response, int bytes) {
+    }
+}
@@ -25,6 +25,10 @@ import java.util.Set;
 public class DocumentStatusMachine {
 
     private final AuditLogService auditLogService;
+    private final DocumentSummaryService documentSummaryService;
+    private final DocumentIndexService documentIndexService;
+    private final DocumentHeaderService documentHeaderService;
+    private final DocumentResponseCache documentResponseCache;
 
     // Define legal state transitions
     private static final Map<DocumentStatus, Set<DocumentStatus>> LEGAL_TRANSITIONS = new EnumMap<>(DocumentStatus.class);
@@ -111,6 +115,10 @@ public class DocumentStatusMachine {
 
         // Update status (optimistic locking via @Version will prevent concurrent modifications)
         document.setStatus(newStatus);
+        documentSummaryService.recordTransition(document, currentStatus, newStatus);
+        documentIndexService.recordTransition(document);
+        documentHeaderService.evict(document.getId());
+        documentResponseCache.evict(document.getDocType(), document.getId());
 
         // Log the transition
         auditLogService.logTransition(document, user, action, currentStatus.name(), newStatus.name(), note);
@@ -0,0 +1,308 @@
+package com.docflow.service;
+
+import com.docflow.domain.entity.Document;
+import com.docflow.domain.entity.DocumentSummary;
+import com.docflow.domain.entity.MonetaryDocument;
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import com.docflow.dto.dashboard.DashboardSummaryResponse;
+import com.docflow.dto.dashboard.DocumentSummaryEntry;
+import com.docflow.dto.filter.CurrencyTotal;
+import com.docflow.repository.DocumentSummaryRepository;
+import com.docflow.repository.projection.DocumentSummaryCountRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Dashboard counters per (document type, status, currency).
+ *
+ * Every document create, amount change and status transition applies a delta to the
+ * document_summary table inside the writing transaction. After commit the same delta is
+ * applied to an in-memory copy, from which a prebuilt response is served. A periodic
+ * refresh picks up writes made by other instances, and a reconciliation job compares the
+ * table with the document tables and applies corrective deltas to repair any drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentSummaryService {
+
+    private static final Comparator<DocumentSummary.Key> KEY_ORDER = Comparator
+            .comparing(DocumentSummary.Key::getDocType)
+            .thenComparing(DocumentSummary.Key::getStatus)
+            .thenComparing(DocumentSummary.Key::getCurrency);
+
+    private final DocumentSummaryRepository summaryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Guarded by this; the response built from it is published through the volatile field
+    private final Map<DocumentSummary.Key, Cell> cells = new HashMap<>();
+    private volatile DashboardSummaryResponse snapshot = buildResponse(Map.of());
+
+    /**
+     * Gets the current dashboard summary. Served from memory, no database access.
+     */
+    public DashboardSummaryResponse getSummary() {
+        return snapshot;
+    }
+
+    /**
+     * Counts a newly created document.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Document document) {
+        MonetaryDocument amount = (MonetaryDocument) document;
+        apply(List.of(new Delta(key(document.getDocType(), document.getStatus(), amount.getCurrency()),
+                1, amount.getTotal())));
+    }
+
+    /**
+     * Counts documents created in bulk without loading them, one delta per currency.
+     *
+     * @param type Type of the created documents
+     * @param status Status of the created documents
+     * @param totals Count and amount per currency
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(DocumentType type, DocumentStatus status, List<CurrencyTotal> totals) {
+        apply(totals.stream()
+                .map(total -> new Delta(key(type, status, total.getCurrency()), total.getCount(), total.getTotalAmount()))
+                .toList());
+    }
+
+    /**
+     * Moves a document's count and amount from its old status to its new one.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(Document document, DocumentStatus from, DocumentStatus to) {
+        if (from == to) {
+            return;
+        }
+        MonetaryDocument amount = (MonetaryDocument) document;
+        apply(List.of(
+                new Delta(key(document.getDocType(), from, amount.getCurrency()), -1, amount.getTotal().negate()),
+                new Delta(key(document.getDocType(), to, amount.getCurrency()), 1, amount.getTotal())));
+    }
+
+    /**
+     * Moves documents transitioned in bulk without loading them, one pair of deltas per currency.
+     *
+     * @param type Type of the transitioned documents
+     * @param from Status before the transition
+     * @param to Status after the transition
+     * @param totals Count and amount per currency
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransitions(DocumentType type, DocumentStatus from, DocumentStatus to, List<CurrencyTotal> totals) {
+        if (from == to) {
+            return;
+        }
+        List<Delta> deltas = new ArrayList<>(totals.size() * 2);
+        for (CurrencyTotal total : totals) {
+            deltas.add(new Delta(key(type, from, total.getCurrency()), -total.getCount(), total.getTotalAmount().negate()));
+            deltas.add(new Delta(key(type, to, total.getCurrency()), total.getCount(), total.getTotalAmount()));
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Re-books a document whose currency or total was edited.
+     *
+     * @param document The document after the edit
+     * @param oldCurrency Currency before the edit
+     * @param oldTotal Total before the edit
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAmountChange(Document document, String oldCurrency, BigDecimal oldTotal) {
+        MonetaryDocument amount = (MonetaryDocument) document;
+        if (Objects.equals(oldCurrency, amount.getCurrency()) && oldTotal.compareTo(amount.getTotal()) == 0) {
+            return;
+        }
+        apply(List.of(
+                new Delta(key(document.getDocType(), document.getStatus(), oldCurrency), -1, oldTotal.negate()),
+                new Delta(key(document.getDocType(), document.getStatus(), amount.getCurrency()), 1, amount.getTotal())));
+    }
+
+    /**
+     * Reloads the in-memory copy from the summary table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${dashboard.summary.refresh-interval-ms:10000}",
+               initialDelayString = "${dashboard.summary.refresh-interval-ms:10000}")
+    public void reload() {
+        List<DocumentSummary> rows = summaryRepository.findAll();
+        synchronized (this) {
+            cells.clear();
+            for (DocumentSummary row : rows) {
+                cells.put(key(row.getDocType(), row.getStatus(), row.getCurrency()),
+                        new Cell(row.getDocCount(), row.getTotalAmount()));
+            }
+            publish();
+        }
+    }
+
+    /**
+     * Compares the summary table with counts from the document tables and adds the
+     * difference of each drifted cell as a corrective delta.
+     *
+     * Both are read in one read-only snapshot, so the drift is exact at that point without
+     * locking any document row. The corrections are then applied like any other delta, in a
+     * short transaction of their own; deltas commute, so documents written in between stay
+     * counted.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.summary.reconcile-interval-ms:900000}",
+               initialDelayString = "${dashboard.summary.reconcile-initial-delay-ms:60000}")
+    public void reconcile() {
+        TransactionTemplate snapshotRead = new TransactionTemplate(
+                Objects.requireNonNull(transactionTemplate.getTransactionManager()));
+        snapshotRead.setReadOnly(true);
+        snapshotRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        List<Delta> corrections = snapshotRead.execute(status -> {
+            Map<DocumentSummary.Key, Cell> expected = new HashMap<>();
+            for (DocumentSummaryCountRow row : summaryRepository.countFromDocuments()) {
+                expected.put(key(DocumentType.valueOf(row.getDocType()), DocumentStatus.valueOf(row.getStatus()),
+                        row.getCurrency()), new Cell(row.getDocCount(), row.getTotalAmount()));
+            }
+            return corrections(toCells(summaryRepository.findAll()), expected);
+        });
+
+        if (corrections != null && !corrections.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> apply(corrections));
+            log.warn("Dashboard summary reconciliation repaired {} drifted cells", corrections.size());
+        }
+        reload();
+    }
+
+    private void apply(List<Delta> deltas) {
+        // Fixed lock order across transactions avoids deadlocks between opposite transitions
+        List<Delta> ordered = new ArrayList<>(deltas);
+        ordered.sort(Comparator.comparing(Delta::key, KEY_ORDER));
+
+        for (Delta delta : ordered) {
+            summaryRepository.applyDelta(delta.key().getDocType().name(), delta.key().getStatus().name(),
+                    delta.key().getCurrency(), delta.count(), delta.amount());
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyInMemory(ordered);
+            }
+        });
+    }
+
+    private synchronized void applyInMemory(List<Delta> deltas) {
+        for (Delta delta : deltas) {
+            cells.merge(delta.key(), new Cell(delta.count(), delta.amount()), Cell::plus);
+        }
+        publish();
+    }
+
+    // Caller holds the lock
+    private void publish() {
+        snapshot = buildResponse(cells);
+    }
+
+    private static DashboardSummaryResponse buildResponse(Map<DocumentSummary.Key, Cell> cells) {
+        List<DocumentSummaryEntry> entries = new ArrayList<>();
+        Map<DocumentType, Long> countsByType = new EnumMap<>(DocumentType.class);
+        Map<DocumentStatus, Long> countsByStatus = new EnumMap<>(DocumentStatus.class);
+        long totalCount = 0;
+
+        List<DocumentSummary.Key> keys = new ArrayList<>(cells.keySet());
+        keys.sort(KEY_ORDER);
+        for (DocumentSummary.Key key : keys) {
+            Cell cell = cells.get(key);
+            if (cell.count() == 0) {
+                continue;
+            }
+            entries.add(DocumentSummaryEntry.builder()
+                    .docType(key.getDocType())
+                    .status(key.getStatus())
+                    .currency(key.getCurrency())
+                    .count(cell.count())
+                    .totalAmount(cell.amount())
+                    .build());
+            countsByType.merge(key.getDocType(), cell.count(), Long::sum);
+            countsByStatus.merge(key.getStatus(), cell.count(), Long::sum);
+            totalCount += cell.count();
+        }
+
+        return DashboardSummaryResponse.builder()
+                .entries(List.copyOf(entries))
+                .countsByType(countsByType)
+                .countsByStatus(countsByStatus)
+                .totalCount(totalCount)
+                .asOf(LocalDateTime.now())
+                .build();
+    }
+
+    private static Map<DocumentSummary.Key, Cell> toCells(List<DocumentSummary> rows) {
+        Map<DocumentSummary.Key, Cell> result = new HashMap<>();
+        for (DocumentSummary row : rows) {
+            result.put(key(row.getDocType(), row.getStatus(), row.getCurrency()),
+                    new Cell(row.getDocCount(), row.getTotalAmount()));
+        }
+        return result;
+    }
+
+    private static List<Delta> corrections(Map<DocumentSummary.Key, Cell> actual,
+                                           Map<DocumentSummary.Key, Cell> expected) {
+        List<Delta> corrections = new ArrayList<>();
+        for (Map.Entry<DocumentSummary.Key, Cell> entry : expected.entrySet()) {
+            Cell current = actual.getOrDefault(entry.getKey(), Cell.EMPTY);
+            if (!entry.getValue().sameAs(current)) {
+                corrections.add(new Delta(entry.getKey(), entry.getValue().count() - current.count(),
+                        entry.getValue().amount().subtract(current.amount())));
+            }
+        }
+        for (Map.Entry<DocumentSummary.Key, Cell> entry : actual.entrySet()) {
+            if (!expected.containsKey(entry.getKey()) && !Cell.EMPTY.sameAs(entry.getValue())) {
+                corrections.add(new Delta(entry.getKey(), -entry.getValue().count(),
+                        entry.getValue().amount().negate()));
+            }
+        }
+        return corrections;
+    }
+
+    private static DocumentSummary.Key key(DocumentType type, DocumentStatus status, String currency) {
+        return new DocumentSummary.Key(type, status, currency);
+    }
+
+    private record Delta(DocumentSummary.Key key, long count, BigDecimal amount) {
+    }
+
+    private record Cell(long count, BigDecimal amount) {
+
+        static final Cell EMPTY = new Cell(0, BigDecimal.ZERO);
+
+        Cell plus(Cell other) {
+            return new Cell(count + other.count, amount.add(other.amount));
+        }
+
+        boolean sameAs(Cell other) {
+            return other != null && count == other.count && amount.compareTo(other.amount) == 0;
+        }
+    }
+}
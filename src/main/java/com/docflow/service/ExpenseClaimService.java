@@ -5,18 +5,26 @@ import com.docflow.domain.entity.ExpenseClaim;
 import com.docflow.domain.entity.ExpenseItem;
 import com.docflow.domain.entity.User;
 import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
 import com.docflow.domain.enums.RoleName;
 import com.docflow.dto.claim.ExpenseClaimRequest;
 import com.docflow.dto.claim.ExpenseClaimResponse;
+import com.docflow.dto.filter.ExpenseClaimFilterCriteria;
+import com.docflow.dto.filter.PageResponse;
+import com.docflow.dto.filter.SliceResponse;
 import com.docflow.exception.ResourceNotFoundException;
 import com.docflow.exception.UnauthorizedActionException;
 import com.docflow.mapper.ExpenseClaimMapper;
 import com.docflow.repository.EmployeeRepository;
 import com.docflow.repository.ExpenseClaimRepository;
+import com.docflow.repository.FilterQueryRepository;
+import com.docflow.specification.DocumentVisibility;
+import com.docflow.specification.ExpenseClaimSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,6 +41,12 @@ public class ExpenseClaimService {
     private final ExpenseClaimRepository expenseClaimRepository;
     private final EmployeeRepository employeeRepository;
     private final ExpenseClaimMapper expenseClaimMapper;
+    private final ApproximateCountService approximateCountService;
+    private final DocumentSummaryService documentSummaryService;
+    private final DocumentIndexService documentIndexService;
+    private final DocumentResponseCache documentResponseCache;
+    private final FilterTotalsService filterTotalsService;
+    private final FilterQueryRepository filterQueryRepository;
     private final DocumentStatusMachine statusMachine;
     private final ApprovalService approvalService;
 
@@ -60,6 +74,8 @@ public class ExpenseClaimService {
         claim.setTotal(total);
 
         claim = expenseClaimRepository.save(claim);
+        documentSummaryService.recordCreated(claim);
+        documentIndexService.recordCreated(claim);
 
         log.info("Created expense claim {} by user {} with {} items, total: {}", 
                 claim.getId(), currentUser.getEmail(), items.size(), total);
@@ -68,17 +84,45 @@ public class ExpenseClaimService {
     }
 
     @Transactional(readOnly = true)
-    public ExpenseClaimResponse getClaimById(Long id) {
-        ExpenseClaim claim = expenseClaimRepository.findByIdWithDetails(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Expense claim", id));
+    public ExpenseClaimResponse getClaimById(Long id, DocumentVisibility visibility) {
+        return documentResponseCache.get(DocumentType.EXPENSE_CLAIM, id,
+                () -> expenseClaimRepository.findVisibleVersion(id, visibility.getViewerId()),
+                () -> {
+                    ExpenseClaim claim = expenseClaimRepository.findVisibleByIdWithDetails(id, visibility.getViewerId())
+                            .orElseThrow(() -> new ResourceNotFoundException("Expense claim", id));
+
+                    return toResponseWithItems(claim);
+                });
+    }
 
-        return toResponseWithItems(claim);
+    /**
+     * Lists claims without a COUNT query unless the caller asks for an exact count.
+     */
+    @Transactional(readOnly = true)
+    public SliceResponse<ExpenseClaimResponse> getClaims(DocumentStatus status, Long employeeId, DocumentVisibility visibility,
+                                                         Pageable pageable, boolean exactCount) {
+        if (exactCount) {
+            Page<ExpenseClaim> page = expenseClaimRepository.findByFilters(status, employeeId, visibility.getViewerId(), pageable);
+            approximateCountService.recordExactCount(DocumentType.EXPENSE_CLAIM, status, employeeId, visibility,
+                    page.getTotalElements());
+            return SliceResponse.of(page.map(this::toResponseWithItems));
+        }
+
+        Slice<ExpenseClaim> slice = expenseClaimRepository.findSliceByFilters(status, employeeId, visibility.getViewerId(), pageable);
+        long approximateTotal = approximateCountService.getApproximateCount(DocumentType.EXPENSE_CLAIM, status, employeeId,
+                visibility);
+        return SliceResponse.of(slice.map(this::toResponseWithItems), approximateTotal);
     }
 
     @Transactional(readOnly = true)
-    public Page<ExpenseClaimResponse> getClaims(DocumentStatus status, Long employeeId, Pageable pageable) {
-        Page<ExpenseClaim> claims = expenseClaimRepository.findByFilters(status, employeeId, pageable);
-        return claims.map(this::toResponseWithItems);
+    public PageResponse<ExpenseClaimResponse> filterClaims(ExpenseClaimFilterCriteria criteria, DocumentVisibility visibility,
+                                                           Pageable pageable) {
+        Page<ExpenseClaim> page = filterQueryRepository.findPage(ExpenseClaimSpecification.TEMPLATE, criteria, visibility, pageable);
+
+        Page<ExpenseClaimResponse> responsePage = page.map(this::toResponseWithItems);
+
+        // Totals over the full filter, grouped by currency
+        return PageResponse.of(responsePage, filterTotalsService.getTotals(ExpenseClaimSpecification.TEMPLATE, criteria, visibility));
     }
 
     @Transactional
@@ -0,0 +1,194 @@
+package com.docflow.service;
+
+import com.docflow.domain.entity.DocumentFile;
+import com.docflow.domain.enums.ScanStatus;
+import com.docflow.repository.DocumentFileRepository;
+import com.docflow.scanning.ContentScanner;
+import com.docflow.scanning.FileUploadedEvent;
+import com.docflow.scanning.ScanResult;
+import com.docflow.storage.FileStorage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous content scanning stage for uploaded files.
+ *
+ * Uploads commit with scan status PENDING and are handed to a bounded worker pool
+ * after the transaction commits. When the queue is full the file simply stays PENDING
+ * and the periodic sweep picks it up, so a burst of uploads never blocks requests.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FileScanService {
+
+    private static final String METRIC_PREFIX = "docflow.file.scan";
+
+    private final DocumentFileRepository documentFileRepository;
+    private final FileStorage fileStorage;
+    private final ContentScanner contentScanner;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${file.scan.workers:2}")
+    private int workers;
+
+    @Value("${file.scan.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${file.scan.sweep-batch-size:100}")
+    private int sweepBatchSize;
+
+    @Value("${file.scan.sweep-grace-seconds:60}")
+    private long sweepGraceSeconds;
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor executor;
+    private Timer scanTimer;
+    private Timer queueLagTimer;
+    private Counter failureCounter;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                workers, workers,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "file-scan-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        scanTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                .description("Time spent scanning a file")
+                .register(meterRegistry);
+        queueLagTimer = Timer.builder(METRIC_PREFIX + ".queue.lag")
+                .description("Time between a file being queued and a worker picking it up")
+                .register(meterRegistry);
+        failureCounter = Counter.builder(METRIC_PREFIX + ".failures")
+                .description("Scans that could not complete and will be retried")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Files left for the sweep because the scan queue was full")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue.size", executor, pool -> pool.getQueue().size())
+                .description("Files waiting for a scan worker")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Scans currently running")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues a freshly uploaded file once its metadata is committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFileUploaded(FileUploadedEvent event) {
+        submit(event.fileId());
+    }
+
+    /**
+     * Re-queues files that are still PENDING, e.g. after a full queue, a failed scan or a restart.
+     */
+    @Scheduled(fixedDelayString = "${file.scan.sweep-interval-ms:60000}",
+               initialDelayString = "${file.scan.sweep-initial-delay-ms:30000}")
+    public void sweepPending() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(sweepGraceSeconds);
+        List<Long> pending = documentFileRepository.findIdsByScanStatusCreatedBefore(
+                ScanStatus.PENDING, before, PageRequest.of(0, sweepBatchSize));
+
+        if (!pending.isEmpty()) {
+            log.info("Re-queueing {} files pending scan", pending.size());
+            pending.forEach(this::submit);
+        }
+    }
+
+    /**
+     * Submits a file to the scan pool. Returns false when the file is already queued
+     * or the queue is full; in both cases the file stays PENDING.
+     *
+     * @param fileId The file ID
+     * @return true if the file was queued
+     */
+    public boolean submit(Long fileId) {
+        if (!inFlight.add(fileId)) {
+            return false;
+        }
+
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                queueLagTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    scan(fileId);
+                } finally {
+                    inFlight.remove(fileId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(fileId);
+            rejectedCounter.increment();
+            log.warn("Scan queue full, file {} left for the next sweep", fileId);
+            return false;
+        }
+    }
+
+    private void scan(Long fileId) {
+        DocumentFile file = documentFileRepository.findById(fileId).orElse(null);
+        if (file == null || file.getScanStatus() != ScanStatus.PENDING) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (InputStream content = fileStorage.load(file.getStoragePath())) {
+            ScanResult result = contentScanner.scan(content, file.getOriginalFilename(), file.getContentType());
+            documentFileRepository.updateScanResult(fileId, result.status(), result.detail(), LocalDateTime.now());
+
+            meterRegistry.counter(METRIC_PREFIX + ".completed", "result", result.status().name()).increment();
+            if (result.status() == ScanStatus.INFECTED) {
+                log.warn("File {} ({}) quarantined: {}", fileId, file.getOriginalFilename(), result.detail());
+            } else {
+                log.debug("File {} scanned clean", fileId);
+            }
+        } catch (Exception e) {
+            failureCounter.increment();
+            log.error("Scan failed for file {}, will retry on next sweep", fileId, e);
+        } finally {
+            sample.stop(scanTimer);
+        }
+    }
+}
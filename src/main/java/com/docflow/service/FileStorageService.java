@@ -3,17 +3,25 @@ package com.docflow.service;
 import com.docflow.domain.entity.Document;
 import com.docflow.domain.entity.DocumentFile;
 import com.docflow.domain.entity.User;
+import com.docflow.domain.enums.ScanStatus;
 import com.docflow.dto.file.DocumentFileResponse;
 import com.docflow.dto.file.FileUploadResponse;
+import com.docflow.exception.FileQuarantinedException;
 import com.docflow.exception.FileStorageException;
 import com.docflow.exception.ResourceNotFoundException;
 import com.docflow.exception.UnauthorizedActionException;
 import com.docflow.repository.DocumentFileRepository;
 import com.docflow.repository.DocumentRepository;
+import com.docflow.repository.projection.DocumentHeader;
+import com.docflow.scanning.FileUploadedEvent;
+import com.docflow.security.SignedFileToken;
+import com.docflow.security.SignedUrlService;
+import com.docflow.specification.DocumentVisibility;
 import com.docflow.storage.FileStorage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -36,6 +44,9 @@ public class FileStorageService {
     private final FileStorage fileStorage;
     private final DocumentFileRepository documentFileRepository;
     private final DocumentRepository documentRepository;
+    private final DocumentHeaderService documentHeaderService;
+    private final SignedUrlService signedUrlService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${file.upload.max-size:10485760}") // 10MB default
     private long maxFileSize;
@@ -44,10 +55,12 @@ public class FileStorageService {
     private String allowedContentTypes;
 
     @Transactional
-    public FileUploadResponse uploadFile(Long docId, MultipartFile file, User currentUser) {
-        // Validate document exists
-        Document document = documentRepository.findById(docId)
-                .orElseThrow(() -> new ResourceNotFoundException("Document", docId));
+    public FileUploadResponse uploadFile(Long docId, MultipartFile file, User currentUser,
+                                         DocumentVisibility visibility) {
+        // A missing or hidden document is answered with 404; only the header is needed, the
+        // file row just references it
+        DocumentHeader header = documentHeaderService.requireReadable(docId, visibility);
+        Document document = documentRepository.getReferenceById(docId);
 
         // Validate file
         validateFile(file);
@@ -58,7 +71,7 @@ public class FileStorageService {
                     file.getInputStream(),
                     file.getOriginalFilename(),
                     file.getContentType(),
-                    document.getDocType().name(),
+                    header.docType().name(),
                     docId
             );
 
@@ -75,6 +88,9 @@ public class FileStorageService {
 
             documentFile = documentFileRepository.save(documentFile);
 
+            // Scanned asynchronously once this transaction commits
+            eventPublisher.publishEvent(new FileUploadedEvent(documentFile.getId()));
+
             log.info("File uploaded: {} for document {} by user {}",
                     file.getOriginalFilename(), docId, currentUser.getEmail());
 
@@ -85,6 +101,7 @@ public class FileStorageService {
                     .contentType(documentFile.getContentType())
                     .size(documentFile.getSize())
                     .path(storagePath)
+                    .scanStatus(documentFile.getScanStatus())
                     .build();
 
         } catch (IOException e) {
@@ -93,11 +110,9 @@ public class FileStorageService {
     }
 
     @Transactional(readOnly = true)
-    public List<DocumentFileResponse> getDocumentFiles(Long docId) {
-        // Validate document exists
-        if (!documentRepository.existsById(docId)) {
-            throw new ResourceNotFoundException("Document", docId);
-        }
+    public List<DocumentFileResponse> getDocumentFiles(Long docId, DocumentVisibility visibility) {
+        // A missing or hidden document is answered with 404
+        documentHeaderService.requireReadable(docId, visibility);
 
         List<DocumentFile> files = documentFileRepository.findByDocumentId(docId);
         return files.stream()
@@ -106,9 +121,11 @@ public class FileStorageService {
     }
 
     @Transactional(readOnly = true)
-    public Resource downloadFile(Long docId, Long fileId) {
+    public Resource downloadFile(Long docId, Long fileId, DocumentVisibility visibility) {
+        documentHeaderService.requireReadable(docId, visibility);
         DocumentFile file = documentFileRepository.findByIdAndDocumentId(fileId, docId)
                 .orElseThrow(() -> new ResourceNotFoundException("File not found"));
+        requireClean(file);
 
         try {
             InputStream inputStream = fileStorage.load(file.getStoragePath());
@@ -118,6 +135,57 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * Mints a pre-signed download token for a single file.
+     *
+     * @param docId The document ID
+     * @param fileId The file ID
+     * @param visibility Documents the caller may read
+     * @return The signed token
+     */
+    @Transactional(readOnly = true)
+    public SignedFileToken createSignedDownload(Long docId, Long fileId, DocumentVisibility visibility) {
+        documentHeaderService.requireReadable(docId, visibility);
+        DocumentFile file = documentFileRepository.findByIdAndDocumentId(fileId, docId)
+                .orElseThrow(() -> new ResourceNotFoundException("File not found"));
+        requireClean(file);
+        return signedUrlService.sign(file);
+    }
+
+    /**
+     * Mints pre-signed download tokens for every file of a document in one call,
+     * so list views can render download links without a request per attachment.
+     * Files that have not been cleared by the content scanner are skipped.
+     *
+     * @param docId The document ID
+     * @param visibility Documents the caller may read
+     * @return Signed tokens, one per clean file
+     */
+    @Transactional(readOnly = true)
+    public List<SignedFileToken> createSignedDownloads(Long docId, DocumentVisibility visibility) {
+        documentHeaderService.requireReadable(docId, visibility);
+
+        return documentFileRepository.findByDocumentId(docId).stream()
+                .filter(file -> file.getScanStatus() == ScanStatus.CLEAN)
+                .map(signedUrlService::sign)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Opens a file for a verified signed download. Reads straight from storage
+     * using the metadata carried in the token; no database access.
+     *
+     * @param signed The verified token
+     * @return The file content
+     */
+    public Resource openSignedDownload(SignedFileToken signed) {
+        try {
+            return new InputStreamResource(fileStorage.load(signed.storagePath()));
+        } catch (IOException e) {
+            throw new FileStorageException("Failed to load file", e);
+        }
+    }
+
     @Transactional
     @PreAuthorize("hasAnyRole('ADMIN', 'FINANCE') or #currentUser.id == #ownerId")
     public void deleteFile(Long docId, Long fileId, User currentUser, Long ownerId) {
@@ -139,6 +207,12 @@ public class FileStorageService {
         }
     }
 
+    private void requireClean(DocumentFile file) {
+        if (file.getScanStatus() != ScanStatus.CLEAN) {
+            throw new FileQuarantinedException(file.getId(), file.getScanStatus());
+        }
+    }
+
     private void validateFile(MultipartFile file) {
         if (file.isEmpty()) {
             throw new IllegalArgumentException("File is empty");
@@ -187,6 +261,7 @@ public class FileStorageService {
                 .originalFilename(file.getOriginalFilename())
                 .contentType(file.getContentType())
                 .size(file.getSize())
+                .scanStatus(file.getScanStatus())
                 .uploadedBy(file.getUploadedBy().getId())
                 .uploadedByName(file.getUploadedBy().getName())
                 .uploadedByEmail(file.getUploadedBy().getEmail())
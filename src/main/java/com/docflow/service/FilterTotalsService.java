@@ -0,0 +1,55 @@
+package com.docflow.service;
+
+import com.docflow.dto.filter.CurrencyTotal;
+import com.docflow.repository.DocumentAggregateRepository;
+import com.docflow.specification.DocumentVisibility;
+import com.docflow.specification.FilterQueryTemplate;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-currency totals for filtered listings.
+ *
+ * Totals are computed in the database over the full filter and cached briefly per
+ * (document type, criteria, viewer), so repeated dashboard refreshes reuse one scan.
+ * Criteria DTOs are value objects (equals/hashCode over all fields) and act as the key.
+ */
+@Service
+public class FilterTotalsService {
+
+    private final DocumentAggregateRepository aggregateRepository;
+    private final Cache<TotalsKey, List<CurrencyTotal>> cache;
+
+    public FilterTotalsService(
+            DocumentAggregateRepository aggregateRepository,
+            @Value("${filter.totals.cache-ttl-seconds:30}") long ttlSeconds,
+            @Value("${filter.totals.cache-max-entries:1000}") long maxEntries
+    ) {
+        this.aggregateRepository = aggregateRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    /**
+     * Gets per-currency totals for a filter.
+     *
+     * @param template Filter template of the document subtype
+     * @param criteria Filter criteria, used as the cache key
+     * @param visibility Documents the caller may read
+     * @return Totals per currency
+     */
+    public <C> List<CurrencyTotal> getTotals(FilterQueryTemplate<C> template, C criteria, DocumentVisibility visibility) {
+        return cache.get(new TotalsKey(template.getEntityType(), criteria, visibility),
+                key -> List.copyOf(aggregateRepository.sumTotalsByCurrency(template, criteria, visibility)));
+    }
+
+    private record TotalsKey(Class<?> type, Object criteria, DocumentVisibility visibility) {
+    }
+}
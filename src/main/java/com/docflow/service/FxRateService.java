@@ -0,0 +1,298 @@
+package com.docflow.service;
+
+import com.docflow.dto.fx.FxRateImportError;
+import com.docflow.dto.fx.FxRateImportResponse;
+import com.docflow.dto.fx.FxRateResponse;
+import com.docflow.exception.ResourceNotFoundException;
+import com.docflow.importing.CsvReader;
+import com.docflow.reporting.FxRateTable;
+import com.docflow.repository.FxRateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Daily exchange rates: CSV import into the fx_rates table, and the in-memory
+ * {@link FxRateTable} every conversion reads.
+ *
+ * Rates are quoted as units of a currency per one unit of the reference currency
+ * ({@code fx.reference-currency}). The table is loaded at startup, replaced after each
+ * import and reloaded periodically to pick up imports on other instances; readers always
+ * see one complete table. Until the first load it is empty.
+ */
+@Service
+@Slf4j
+public class FxRateService {
+
+    static final List<String> REQUIRED_COLUMNS = List.of("currency", "date", "rate");
+
+    private static final Pattern CURRENCY = Pattern.compile("[A-Z]{3}");
+    // fx_rates.rate is DECIMAL(19, 8)
+    private static final int RATE_SCALE = 8;
+    private static final int RATE_INTEGER_DIGITS = 11;
+
+    private final FxRateRepository fxRateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String referenceCurrency;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    private volatile FxRateTable table;
+
+    public FxRateService(
+            FxRateRepository fxRateRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${fx.reference-currency:EUR}") String referenceCurrency,
+            @Value("${fx.import.chunk-size:1000}") int chunkSize,
+            @Value("${fx.import.max-errors:1000}") int maxErrors
+    ) {
+        this.fxRateRepository = fxRateRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.referenceCurrency = referenceCurrency.toUpperCase(Locale.ROOT);
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.table = FxRateTable.empty(this.referenceCurrency);
+    }
+
+    /**
+     * @return The current rate table; immutable, so it can be used for a whole report
+     */
+    public FxRateTable getTable() {
+        return table;
+    }
+
+    /**
+     * Looks up the rate of a currency on a date.
+     *
+     * @throws ResourceNotFoundException if the currency has no rate on or before the date
+     */
+    public FxRateResponse getRate(String currency, LocalDate date) {
+        FxRateTable current = table;
+        FxRateTable.Quote quote = current.quote(currency, date);
+        if (quote == null) {
+            throw new ResourceNotFoundException(String.format("No %s rate on or before %s",
+                    currency.toUpperCase(Locale.ROOT), date));
+        }
+        return FxRateResponse.builder()
+                .currency(currency.toUpperCase(Locale.ROOT))
+                .referenceCurrency(current.getReferenceCurrency())
+                .date(date)
+                .rateDate(quote.date())
+                .rate(quote.rate())
+                .build();
+    }
+
+    /**
+     * Reloads the rate table from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${fx.rates.reload-interval-ms:3600000}",
+               initialDelayString = "${fx.rates.reload-interval-ms:3600000}")
+    public synchronized void reload() {
+        long started = System.nanoTime();
+        FxRateTable next = fxRateRepository.loadTable(referenceCurrency);
+        table = next;
+        log.info("Loaded {} FX rates of {} currencies against {} in {} ms", next.getRateCount(),
+                next.getCurrencyCount(), referenceCurrency, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Imports rates from CSV with a header row naming the columns currency, date and rate
+     * (any order). A rate replaces any earlier one of the same currency and date.
+     *
+     * @param input CSV input, UTF-8
+     * @return Counts, rejected rows and the size of the reloaded table
+     * @throws IllegalArgumentException if the header is missing required columns
+     */
+    public FxRateImportResponse importCsv(InputStream input) throws IOException {
+        long started = System.nanoTime();
+        ImportRun run = new ImportRun();
+
+        try (CsvReader reader = new CsvReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = readHeader(reader);
+            while (true) {
+                List<String> fields;
+                try {
+                    fields = reader.next();
+                } catch (IllegalArgumentException e) {
+                    // Unterminated quote: the rest of the input is one broken field
+                    run.reject(reader.getRecordLine(), null, e.getMessage());
+                    break;
+                }
+                if (fields == null) {
+                    break;
+                }
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                run.add(reader.getRecordLine(), fields, columns);
+            }
+        }
+        run.flush();
+        if (run.imported > 0) {
+            reload();
+        }
+
+        FxRateImportResponse response = run.toResponse(table);
+        log.info("Imported {} FX rates ({} rejected) in {} ms", response.getImported(), response.getFailed(),
+                (System.nanoTime() - started) / 1_000_000);
+        return response;
+    }
+
+    private static Map<String, Integer> readHeader(CsvReader reader) throws IOException {
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private static <T> T value(List<String> fields, Map<String, Integer> columns, String column,
+                               Function<String, T> parser) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String raw = fields.get(index).trim();
+        if (raw.isEmpty()) {
+            return null;
+        }
+        try {
+            return parser.apply(raw);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + raw);
+        }
+    }
+
+    /**
+     * State of one import: the pending chunk and the report.
+     */
+    private final class ImportRun {
+
+        private final List<PendingRow> pending = new ArrayList<>();
+        private final List<FxRateImportError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        void add(long line, List<String> fields, Map<String, Integer> columns) {
+            FxRateRepository.Row row;
+            try {
+                row = new FxRateRepository.Row(
+                        value(fields, columns, "currency", raw -> raw.toUpperCase(Locale.ROOT)),
+                        value(fields, columns, "date", LocalDate::parse),
+                        value(fields, columns, "rate", BigDecimal::new));
+            } catch (IllegalArgumentException e) {
+                reject(line, null, e.getMessage());
+                return;
+            }
+
+            String problem = validate(row);
+            if (problem != null) {
+                reject(line, row.currency(), problem);
+                return;
+            }
+            pending.add(new PendingRow(line, row));
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        private String validate(FxRateRepository.Row row) {
+            if (row.currency() == null || row.date() == null || row.rate() == null) {
+                return "Currency, date and rate are required";
+            }
+            if (!CURRENCY.matcher(row.currency()).matches()) {
+                return "Currency must be a 3-letter code: " + row.currency();
+            }
+            if (row.currency().equals(referenceCurrency)) {
+                return "The reference currency " + referenceCurrency + " has no rate";
+            }
+            if (row.rate().signum() <= 0) {
+                return "Rate must be positive: " + row.rate();
+            }
+            if (row.rate().stripTrailingZeros().scale() > RATE_SCALE
+                    || row.rate().precision() - row.rate().scale() > RATE_INTEGER_DIGITS) {
+                return "Rate must have at most " + RATE_INTEGER_DIGITS + " integer digits and "
+                        + RATE_SCALE + " decimals: " + row.rate();
+            }
+            return null;
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<FxRateRepository.Row> rows = pending.stream().map(PendingRow::row).toList();
+            try {
+                transactionTemplate.executeWithoutResult(status -> fxRateRepository.upsert(rows, LocalDateTime.now()));
+                imported += rows.size();
+            } catch (DataAccessException e) {
+                log.warn("FX rate import chunk of {} rows rolled back", rows.size(), e);
+                String message = "Not imported: " + e.getMostSpecificCause().getMessage();
+                for (PendingRow row : pending) {
+                    reject(row.line(), row.row().currency(), message);
+                }
+            }
+            pending.clear();
+        }
+
+        void reject(long line, String currency, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(FxRateImportError.builder()
+                        .line(line)
+                        .currency(currency)
+                        .message(message)
+                        .build());
+            }
+        }
+
+        FxRateImportResponse toResponse(FxRateTable loaded) {
+            List<FxRateImportError> sorted = new ArrayList<>(errors);
+            sorted.sort(Comparator.comparingLong(FxRateImportError::getLine));
+            return FxRateImportResponse.builder()
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(sorted)
+                    .errorsTruncated(failed > errors.size())
+                    .referenceCurrency(loaded.getReferenceCurrency())
+                    .currencyCount(loaded.getCurrencyCount())
+                    .rateCount(loaded.getRateCount())
+                    .build();
+        }
+    }
+
+    private record PendingRow(long line, FxRateRepository.Row row) {
+    }
+}
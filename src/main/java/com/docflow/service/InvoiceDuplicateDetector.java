@@ -0,0 +1,217 @@
+package com.docflow.service;
+
+import com.docflow.domain.entity.InvoiceIn;
+import com.docflow.domain.enums.DuplicateReason;
+import com.docflow.dto.invoice.DuplicateInvoiceResponse;
+import com.docflow.repository.InvoiceInRepository;
+import com.docflow.repository.projection.InvoiceFingerprintRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Finds incoming invoices that duplicate a new or edited one.
+ *
+ * Two fingerprints identify an invoice: (vendor, invoice number reduced to letters and
+ * digits) and (vendor, date, currency, total). All fingerprints are kept in an in-memory
+ * Bloom filter, so the common case, a fingerprint never seen, is answered without a
+ * query; only possible hits are confirmed against the database. Fingerprints of invoices
+ * written here are added as they are saved, and a periodic rebuild picks up writes by
+ * other instances and drops edited values. Until the first build completes every check
+ * goes to the database.
+ *
+ * The same number from the same vendor is rejected; the uk_invoice_in_vendor_invoice_no
+ * constraint backs that up against concurrent writers. Similar numbers and matching
+ * amounts are only reported, as they are often legitimate.
+ */
+@Service
+@Slf4j
+public class InvoiceDuplicateDetector {
+
+    private static final String METRIC = "docflow.invoice.duplicates.lookups";
+
+    private final InvoiceInRepository invoiceInRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedInvoices;
+    private final double falsePositiveRate;
+
+    private final Counter skippedCounter;
+    private final Counter confirmedCounter;
+    private final Counter falsePositiveCounter;
+
+    // Null until the first build; writes during a rebuild also go to the filter being built
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+
+    public InvoiceDuplicateDetector(
+            InvoiceInRepository invoiceInRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${invoice.duplicates.expected-invoices:1000000}") long expectedInvoices,
+            @Value("${invoice.duplicates.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.invoiceInRepository = invoiceInRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.expectedInvoices = expectedInvoices;
+        this.falsePositiveRate = falsePositiveRate;
+
+        skippedCounter = lookups(meterRegistry, "skipped", "Fingerprint not in the filter; no query");
+        confirmedCounter = lookups(meterRegistry, "confirmed", "Filter hit confirmed by the database");
+        falsePositiveCounter = lookups(meterRegistry, "false_positive", "Filter hit not found in the database");
+    }
+
+    /**
+     * Checks an invoice against the vendor's existing invoices.
+     *
+     * @param vendorId The vendor
+     * @param invoiceNo The invoice number
+     * @param invoiceDate The invoice date
+     * @param currency The currency
+     * @param total The total
+     * @param excludeId The invoice being edited, or null on create
+     * @return Suspected duplicates, empty if none
+     * @throws IllegalArgumentException if the vendor already has an invoice with this number
+     */
+    public List<DuplicateInvoiceResponse> check(Long vendorId, String invoiceNo, LocalDate invoiceDate,
+                                                String currency, BigDecimal total, Long excludeId) {
+        Map<Long, DuplicateInvoiceResponse> suspected = new LinkedHashMap<>();
+
+        String invoiceNoKey = InvoiceIn.normalizeInvoiceNo(invoiceNo);
+        if (mightContain(numberFingerprint(vendorId, invoiceNoKey))) {
+            List<InvoiceIn> matches = exclude(invoiceInRepository.findByVendorIdAndInvoiceNoKey(vendorId, invoiceNoKey),
+                    excludeId);
+            for (InvoiceIn match : matches) {
+                // The unique key compares case-insensitively, like the column collation
+                if (match.getInvoiceNo().equalsIgnoreCase(invoiceNo)) {
+                    throw new IllegalArgumentException("Invoice number already exists: " + invoiceNo);
+                }
+                suspected.put(match.getId(), toResponse(match, DuplicateReason.SIMILAR_INVOICE_NO));
+            }
+            count(matches);
+        }
+
+        if (mightContain(amountFingerprint(vendorId, invoiceDate, currency, total))) {
+            List<InvoiceIn> matches = exclude(invoiceInRepository.findByVendorIdAndAmountAndDate(
+                    vendorId, invoiceDate, currency, total), excludeId);
+            for (InvoiceIn match : matches) {
+                suspected.putIfAbsent(match.getId(), toResponse(match, DuplicateReason.SAME_AMOUNT_AND_DATE));
+            }
+            count(matches);
+        }
+
+        return List.copyOf(suspected.values());
+    }
+
+    /**
+     * Adds a saved invoice's fingerprints.
+     */
+    public void record(Long vendorId, String invoiceNo, LocalDate invoiceDate, String currency, BigDecimal total) {
+        String number = numberFingerprint(vendorId, InvoiceIn.normalizeInvoiceNo(invoiceNo));
+        String amount = amountFingerprint(vendorId, invoiceDate, currency, total);
+        // building before filter: rebuild() publishes filter before clearing building, so a
+        // record that misses the filter being built still sees it as the current filter
+        BloomFilter next = building;
+        BloomFilter current = filter;
+        for (BloomFilter target : new BloomFilter[]{current, next}) {
+            if (target != null) {
+                target.put(number);
+                target.put(amount);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the filter from the invoice table, sized for twice the current row count.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${invoice.duplicates.rebuild-interval-ms:3600000}",
+               initialDelayString = "${invoice.duplicates.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        long invoices = Math.max(expectedInvoices, invoiceInRepository.count() * 2);
+        // Two fingerprints per invoice
+        BloomFilter next = new BloomFilter(invoices * 2, falsePositiveRate);
+        building = next;
+        try {
+            LongAdder rows = new LongAdder();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<InvoiceFingerprintRow> stream = invoiceInRepository.streamFingerprints()) {
+                    stream.forEach(row -> {
+                        next.put(numberFingerprint(row.getVendorId(), row.getInvoiceNoKey()));
+                        next.put(amountFingerprint(row.getVendorId(), row.getInvoiceDate(), row.getCurrency(),
+                                row.getTotal()));
+                        rows.increment();
+                    });
+                }
+            });
+            filter = next;
+            log.info("Rebuilt invoice duplicate filter from {} invoices ({} KiB) in {} ms",
+                    rows.sum(), next.getBitCount() / 8 / 1024, (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            building = null;
+        }
+    }
+
+    private boolean mightContain(String fingerprint) {
+        BloomFilter current = filter;
+        if (current == null || current.mightContain(fingerprint)) {
+            return true;
+        }
+        skippedCounter.increment();
+        return false;
+    }
+
+    private void count(List<InvoiceIn> matches) {
+        (matches.isEmpty() ? falsePositiveCounter : confirmedCounter).increment();
+    }
+
+    private static List<InvoiceIn> exclude(List<InvoiceIn> invoices, Long excludeId) {
+        return invoices.stream()
+                .filter(invoice -> !invoice.getId().equals(excludeId))
+                .toList();
+    }
+
+    private static String numberFingerprint(Long vendorId, String invoiceNoKey) {
+        return "N|" + vendorId + "|" + invoiceNoKey;
+    }
+
+    // Compared like the database compares them: currency case-insensitively, 100.00 equal to 100
+    private static String amountFingerprint(Long vendorId, LocalDate invoiceDate, String currency, BigDecimal total) {
+        return "A|" + vendorId + "|" + invoiceDate + "|" + currency.toUpperCase(Locale.ROOT) + "|"
+                + total.stripTrailingZeros().toPlainString();
+    }
+
+    private static DuplicateInvoiceResponse toResponse(InvoiceIn invoice, DuplicateReason reason) {
+        return DuplicateInvoiceResponse.builder()
+                .id(invoice.getId())
+                .invoiceNo(invoice.getInvoiceNo())
+                .invoiceDate(invoice.getInvoiceDate())
+                .currency(invoice.getCurrency())
+                .total(invoice.getTotal())
+                .status(invoice.getStatus())
+                .reason(reason)
+                .build();
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result, String description) {
+        return Counter.builder(METRIC)
+                .tag("result", result)
+                .description(description)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,332 @@
+package com.docflow.service;
+
+import com.docflow.domain.entity.User;
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import com.docflow.dto.filter.CurrencyTotal;
+import com.docflow.dto.invoice.InvoiceImportError;
+import com.docflow.dto.invoice.InvoiceImportResponse;
+import com.docflow.dto.invoice.InvoiceInRequest;
+import com.docflow.importing.CsvReader;
+import com.docflow.repository.DocumentIdAllocator;
+import com.docflow.repository.InvoiceImportRepository;
+import com.docflow.repository.InvoiceInRepository;
+import com.docflow.repository.VendorRepository;
+import com.docflow.repository.projection.CounterpartyNameRow;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of incoming invoices from CSV.
+ *
+ * The input is read one record at a time. Rows are validated with the same constraints as
+ * {@code POST /api/invoices/in}, vendors are checked against an in-memory id set loaded once,
+ * and each vendor's invoice numbers are checked for duplicates within the file and, per chunk,
+ * against the database in one query. Valid rows are written as DRAFT invoices with JDBC batches, one
+ * transaction per chunk, so a failure rolls back only its chunk. Rejected rows are reported
+ * with their line number.
+ */
+@Service
+@Slf4j
+public class InvoiceImportService {
+
+    static final List<String> REQUIRED_COLUMNS =
+            List.of("vendorId", "invoiceNo", "invoiceDate", "currency", "subtotal", "total");
+
+    private final VendorRepository vendorRepository;
+    private final InvoiceInRepository invoiceInRepository;
+    private final InvoiceImportRepository invoiceImportRepository;
+    private final DocumentIdAllocator documentIdAllocator;
+    private final DocumentSummaryService documentSummaryService;
+    private final InvoiceDuplicateDetector duplicateDetector;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public InvoiceImportService(
+            VendorRepository vendorRepository,
+            InvoiceInRepository invoiceInRepository,
+            InvoiceImportRepository invoiceImportRepository,
+            DocumentIdAllocator documentIdAllocator,
+            DocumentSummaryService documentSummaryService,
+            InvoiceDuplicateDetector duplicateDetector,
+            TransactionTemplate transactionTemplate,
+            Validator validator,
+            @Value("${invoice.import.chunk-size:1000}") int chunkSize,
+            @Value("${invoice.import.max-errors:1000}") int maxErrors
+    ) {
+        this.vendorRepository = vendorRepository;
+        this.invoiceInRepository = invoiceInRepository;
+        this.invoiceImportRepository = invoiceImportRepository;
+        this.documentIdAllocator = documentIdAllocator;
+        this.documentSummaryService = documentSummaryService;
+        this.duplicateDetector = duplicateDetector;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Imports invoices from CSV with a header row naming the columns: vendorId, invoiceNo,
+     * invoiceDate, dueDate, currency, subtotal, tax, total (dueDate and tax optional, any order).
+     *
+     * @param input CSV input, UTF-8
+     * @param owner Owner of the imported invoices
+     * @return Counts and rejected rows
+     * @throws IllegalArgumentException if the header is missing required columns
+     */
+    public InvoiceImportResponse importCsv(InputStream input, User owner) throws IOException {
+        long started = System.nanoTime();
+        Map<Long, String> vendors = vendorRepository.findAllNames().stream()
+                .collect(Collectors.toMap(CounterpartyNameRow::getId, CounterpartyNameRow::getName));
+        ImportRun run = new ImportRun(owner.getId(), vendors);
+
+        try (CsvReader reader = new CsvReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = readHeader(reader);
+            while (true) {
+                List<String> fields;
+                try {
+                    fields = reader.next();
+                } catch (IllegalArgumentException e) {
+                    // Unterminated quote: the rest of the input is one broken field
+                    run.reject(reader.getRecordLine(), null, e.getMessage());
+                    break;
+                }
+                if (fields == null) {
+                    break;
+                }
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                run.add(reader.getRecordLine(), fields, columns);
+            }
+        }
+        run.flush();
+
+        InvoiceImportResponse response = run.toResponse();
+        log.info("Imported {} incoming invoices for user {} ({} rejected) in {} ms",
+                response.getImported(), owner.getEmail(), response.getFailed(),
+                (System.nanoTime() - started) / 1_000_000);
+        return response;
+    }
+
+    private static Map<String, Integer> readHeader(CsvReader reader) throws IOException {
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private static InvoiceInRequest toRequest(List<String> fields, Map<String, Integer> columns) {
+        return InvoiceInRequest.builder()
+                .vendorId(value(fields, columns, "vendorId", Long::valueOf))
+                .invoiceNo(value(fields, columns, "invoiceNo", Function.identity()))
+                .invoiceDate(value(fields, columns, "invoiceDate", LocalDate::parse))
+                .dueDate(value(fields, columns, "dueDate", LocalDate::parse))
+                .currency(value(fields, columns, "currency", Function.identity()))
+                .subtotal(value(fields, columns, "subtotal", BigDecimal::new))
+                .tax(value(fields, columns, "tax", BigDecimal::new))
+                .total(value(fields, columns, "total", BigDecimal::new))
+                .build();
+    }
+
+    private static <T> T value(List<String> fields, Map<String, Integer> columns, String column,
+                               Function<String, T> parser) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String raw = fields.get(index).trim();
+        if (raw.isEmpty()) {
+            return null;
+        }
+        try {
+            return parser.apply(raw);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + raw);
+        }
+    }
+
+    /**
+     * State of one import: the pending chunk, invoice numbers seen so far and the report.
+     */
+    private final class ImportRun {
+
+        private final Long ownerUserId;
+        private final Map<Long, String> vendors;
+        private final Set<String> seenInvoiceNos = new HashSet<>();
+        private final List<PendingRow> pending = new ArrayList<>();
+        private final List<InvoiceImportError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        ImportRun(Long ownerUserId, Map<Long, String> vendors) {
+            this.ownerUserId = ownerUserId;
+            this.vendors = vendors;
+        }
+
+        void add(long line, List<String> fields, Map<String, Integer> columns) {
+            InvoiceInRequest request;
+            try {
+                request = toRequest(fields, columns);
+            } catch (IllegalArgumentException e) {
+                reject(line, null, e.getMessage());
+                return;
+            }
+
+            String problem = validate(request);
+            if (problem != null) {
+                reject(line, request.getInvoiceNo(), problem);
+                return;
+            }
+            pending.add(new PendingRow(line, request));
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        private String validate(InvoiceInRequest request) {
+            Set<ConstraintViolation<InvoiceInRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                return violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+            }
+            if (!vendors.containsKey(request.getVendorId())) {
+                return String.format("Vendor not found with id: %d", request.getVendorId());
+            }
+            if (!seenInvoiceNos.add(invoiceNoKey(request.getVendorId(), request.getInvoiceNo()))) {
+                return "Duplicate invoice number in file: " + request.getInvoiceNo();
+            }
+            return null;
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Set<String> existing = invoiceInRepository.findByInvoiceNoIn(
+                            pending.stream().map(row -> row.request().getInvoiceNo()).toList()).stream()
+                    .map(row -> invoiceNoKey(row.getVendorId(), row.getInvoiceNo()))
+                    .collect(Collectors.toSet());
+
+            List<PendingRow> accepted = new ArrayList<>(pending.size());
+            for (PendingRow row : pending) {
+                String invoiceNo = row.request().getInvoiceNo();
+                if (existing.contains(invoiceNoKey(row.request().getVendorId(), invoiceNo))) {
+                    reject(row.line(), invoiceNo, "Invoice number already exists: " + invoiceNo);
+                } else {
+                    accepted.add(row);
+                }
+            }
+            pending.clear();
+            if (accepted.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(accepted));
+                imported += accepted.size();
+                for (PendingRow row : accepted) {
+                    InvoiceInRequest request = row.request();
+                    duplicateDetector.record(request.getVendorId(), request.getInvoiceNo(), request.getInvoiceDate(),
+                            request.getCurrency(), request.getTotal());
+                }
+            } catch (DataAccessException e) {
+                log.warn("Invoice import chunk of {} rows rolled back", accepted.size(), e);
+                String message = "Not imported: " + e.getMostSpecificCause().getMessage();
+                for (PendingRow row : accepted) {
+                    reject(row.line(), row.request().getInvoiceNo(), message);
+                }
+            }
+        }
+
+        private void write(List<PendingRow> accepted) {
+            long[] ids = documentIdAllocator.allocate(accepted.size());
+            List<InvoiceImportRepository.Row> rows = new ArrayList<>(accepted.size());
+            Map<String, CurrencyTotal> totals = new TreeMap<>();
+
+            for (int i = 0; i < accepted.size(); i++) {
+                InvoiceInRequest request = accepted.get(i).request();
+                BigDecimal tax = request.getTax() != null ? request.getTax() : BigDecimal.ZERO;
+                rows.add(new InvoiceImportRepository.Row(ids[i], request.getVendorId(),
+                        vendors.get(request.getVendorId()), request.getInvoiceNo(), request.getInvoiceDate(),
+                        request.getDueDate(), request.getCurrency(), request.getSubtotal(), tax, request.getTotal()));
+
+                CurrencyTotal.add(totals, request.getCurrency(), request.getTotal());
+            }
+
+            invoiceImportRepository.insertDrafts(rows, ownerUserId, LocalDateTime.now());
+            documentSummaryService.recordCreated(DocumentType.INVOICE_IN, DocumentStatus.DRAFT,
+                    List.copyOf(totals.values()));
+        }
+
+        void reject(long line, String invoiceNo, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(InvoiceImportError.builder()
+                        .line(line)
+                        .invoiceNo(invoiceNo)
+                        .message(message)
+                        .build());
+            }
+        }
+
+        InvoiceImportResponse toResponse() {
+            List<InvoiceImportError> sorted = new ArrayList<>(errors);
+            sorted.sort(Comparator.comparingLong(InvoiceImportError::getLine));
+            return InvoiceImportResponse.builder()
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(sorted)
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+    }
+
+    // Invoice numbers are unique per vendor, case-insensitively like the column collation
+    private static String invoiceNoKey(Long vendorId, String invoiceNo) {
+        return vendorId + "|" + invoiceNo.toUpperCase(Locale.ROOT);
+    }
+
+    private record PendingRow(long line, InvoiceInRequest request) {
+    }
+}
@@ -1,46 +1,61 @@
 package com.docflow.service;
 
 import com.docflow.domain.entity.InvoiceIn;
-import com.docflow.domain.entity.Payment;
 import com.docflow.domain.entity.User;
 import com.docflow.domain.entity.Vendor;
 import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
 import com.docflow.domain.enums.PaymentDirection;
 import com.docflow.domain.enums.RoleName;
 import com.docflow.dto.filter.InvoiceFilterCriteria;
 import com.docflow.dto.filter.PageResponse;
+import com.docflow.dto.filter.SliceResponse;
+import com.docflow.dto.invoice.DuplicateInvoiceResponse;
 import com.docflow.dto.invoice.InvoiceInRequest;
 import com.docflow.dto.invoice.InvoiceInResponse;
 import com.docflow.dto.invoice.PaymentRequest;
 import com.docflow.exception.ResourceNotFoundException;
 import com.docflow.exception.UnauthorizedActionException;
 import com.docflow.mapper.InvoiceInMapper;
+import com.docflow.repository.FilterQueryRepository;
 import com.docflow.repository.InvoiceInRepository;
-import com.docflow.repository.PaymentRepository;
 import com.docflow.repository.VendorRepository;
+import com.docflow.specification.DocumentVisibility;
 import com.docflow.specification.InvoiceInSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class InvoiceInService {
 
+    private static final String VENDOR_INVOICE_NO_CONSTRAINT = "uk_invoice_in_vendor_invoice_no";
+
     private final InvoiceInRepository invoiceInRepository;
     private final VendorRepository vendorRepository;
-    private final PaymentRepository paymentRepository;
+    private final DocumentPaymentService documentPaymentService;
     private final InvoiceInMapper invoiceInMapper;
+    private final ApproximateCountService approximateCountService;
+    private final DocumentSummaryService documentSummaryService;
+    private final DocumentIndexService documentIndexService;
+    private final DocumentResponseCache documentResponseCache;
+    private final DocumentHeaderService documentHeaderService;
+    private final FilterTotalsService filterTotalsService;
+    private final FilterQueryRepository filterQueryRepository;
     private final DocumentStatusMachine statusMachine;
     private final ApprovalService approvalService;
+    private final InvoiceDuplicateDetector duplicateDetector;
 
     @Transactional
     public InvoiceInResponse createInvoice(InvoiceInRequest request, User currentUser) {
@@ -48,10 +63,9 @@ public class InvoiceInService {
         Vendor vendor = vendorRepository.findById(request.getVendorId())
                 .orElseThrow(() -> new ResourceNotFoundException("Vendor", request.getVendorId()));
 
-        // Check for duplicate invoice number
-        if (invoiceInRepository.existsByInvoiceNo(request.getInvoiceNo())) {
-            throw new IllegalArgumentException("Invoice number already exists: " + request.getInvoiceNo());
-        }
+        // Reject the vendor's invoice number if taken, report near-duplicates
+        List<DuplicateInvoiceResponse> duplicates = duplicateDetector.check(vendor.getId(), request.getInvoiceNo(),
+                request.getInvoiceDate(), request.getCurrency(), request.getTotal(), null);
 
         // Create invoice in DRAFT status
         InvoiceIn invoice = invoiceInMapper.toEntity(request, vendor, currentUser);
@@ -61,25 +75,47 @@ public class InvoiceInService {
             invoice.setTax(java.math.BigDecimal.ZERO);
         }
 
-        invoice = invoiceInRepository.save(invoice);
+        invoice = saveUniqueInvoiceNo(invoice);
+        documentSummaryService.recordCreated(invoice);
+        documentIndexService.recordCreated(invoice);
+        recordFingerprints(invoice);
 
         log.info("Created incoming invoice {} by user {}", invoice.getId(), currentUser.getEmail());
 
-        return invoiceInMapper.toResponse(invoice);
+        InvoiceInResponse response = invoiceInMapper.toResponse(invoice);
+        response.setPossibleDuplicates(duplicates);
+        return response;
     }
 
     @Transactional(readOnly = true)
-    public InvoiceInResponse getInvoiceById(Long id) {
-        InvoiceIn invoice = invoiceInRepository.findByIdWithDetails(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Invoice", id));
-
-        return invoiceInMapper.toResponse(invoice);
+    public InvoiceInResponse getInvoiceById(Long id, DocumentVisibility visibility) {
+        return documentResponseCache.get(DocumentType.INVOICE_IN, id,
+                () -> invoiceInRepository.findVisibleVersion(id, visibility.getViewerId()),
+                () -> {
+                    InvoiceIn invoice = invoiceInRepository.findVisibleByIdWithDetails(id, visibility.getViewerId())
+                            .orElseThrow(() -> new ResourceNotFoundException("Invoice", id));
+
+                    return invoiceInMapper.toResponse(invoice);
+                });
     }
 
+    /**
+     * Lists invoices without a COUNT query unless the caller asks for an exact count.
+     */
     @Transactional(readOnly = true)
-    public Page<InvoiceInResponse> getInvoices(DocumentStatus status, Long vendorId, Pageable pageable) {
-        Page<InvoiceIn> invoices = invoiceInRepository.findByFilters(status, vendorId, pageable);
-        return invoices.map(invoiceInMapper::toResponse);
+    public SliceResponse<InvoiceInResponse> getInvoices(DocumentStatus status, Long vendorId, DocumentVisibility visibility,
+                                                        Pageable pageable, boolean exactCount) {
+        if (exactCount) {
+            Page<InvoiceIn> page = invoiceInRepository.findByFilters(status, vendorId, visibility.getViewerId(), pageable);
+            approximateCountService.recordExactCount(DocumentType.INVOICE_IN, status, vendorId, visibility,
+                    page.getTotalElements());
+            return SliceResponse.of(page.map(invoiceInMapper::toResponse));
+        }
+
+        Slice<InvoiceIn> slice = invoiceInRepository.findSliceByFilters(status, vendorId, visibility.getViewerId(), pageable);
+        long approximateTotal = approximateCountService.getApproximateCount(DocumentType.INVOICE_IN, status, vendorId,
+                visibility);
+        return SliceResponse.of(slice.map(invoiceInMapper::toResponse), approximateTotal);
     }
 
     @Transactional
@@ -102,6 +138,12 @@ public class InvoiceInService {
         Vendor vendor = vendorRepository.findById(request.getVendorId())
                 .orElseThrow(() -> new ResourceNotFoundException("Vendor", request.getVendorId()));
 
+        List<DuplicateInvoiceResponse> duplicates = duplicateDetector.check(vendor.getId(), request.getInvoiceNo(),
+                request.getInvoiceDate(), request.getCurrency(), request.getTotal(), id);
+
+        String oldCurrency = invoice.getCurrency();
+        BigDecimal oldTotal = invoice.getTotal();
+
         // Update invoice
         invoiceInMapper.updateEntityFromRequest(request, vendor, invoice);
         
@@ -109,11 +151,18 @@ public class InvoiceInService {
             invoice.setTax(java.math.BigDecimal.ZERO);
         }
 
-        invoice = invoiceInRepository.save(invoice);
+        invoice = saveUniqueInvoiceNo(invoice);
+        documentSummaryService.recordAmountChange(invoice, oldCurrency, oldTotal);
+        documentIndexService.recordUpdated(invoice);
+        documentHeaderService.evict(invoice.getId());
+        documentResponseCache.evict(DocumentType.INVOICE_IN, invoice.getId());
+        recordFingerprints(invoice);
 
         log.info("Updated incoming invoice {} by user {}", id, currentUser.getEmail());
 
-        return invoiceInMapper.toResponse(invoice);
+        InvoiceInResponse response = invoiceInMapper.toResponse(invoice);
+        response.setPossibleDuplicates(duplicates);
+        return response;
     }
 
     @Transactional
@@ -178,21 +227,8 @@ public class InvoiceInService {
         InvoiceIn invoice = invoiceInRepository.findByIdWithDetails(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Invoice", id));
 
-        // Create payment record (OUTBOUND - we pay vendor)
-        Payment payment = Payment.builder()
-                .document(invoice)
-                .direction(PaymentDirection.OUTBOUND)
-                .method(paymentRequest.getMethod())
-                .amount(paymentRequest.getAmount())
-                .paidAt(paymentRequest.getPaidAt())
-                .reference(paymentRequest.getReference())
-                .build();
-
-        paymentRepository.save(payment);
-
-        // Transition APPROVED -> PAID
-        statusMachine.markAsPaid(invoice, currentUser, paymentRequest.getNote());
-        invoice = invoiceInRepository.save(invoice);
+        // Adds to the amount paid; PAID once nothing beyond the tolerance is outstanding
+        invoice = documentPaymentService.recordPayment(invoice, PaymentDirection.OUTBOUND, paymentRequest, currentUser);
 
         log.info("Paid incoming invoice {} by user {} - amount: {}", 
                 id, currentUser.getEmail(), paymentRequest.getAmount());
@@ -201,18 +237,35 @@ public class InvoiceInService {
     }
 
     @Transactional(readOnly = true)
-    public PageResponse<InvoiceInResponse> filterInvoices(InvoiceFilterCriteria criteria, Pageable pageable) {
-        Specification<InvoiceIn> spec = InvoiceInSpecification.withFilters(criteria);
-        Page<InvoiceIn> page = invoiceInRepository.findAll(spec, pageable);
-        
+    public PageResponse<InvoiceInResponse> filterInvoices(InvoiceFilterCriteria criteria, DocumentVisibility visibility,
+                                                          Pageable pageable) {
+        Page<InvoiceIn> page = filterQueryRepository.findPage(InvoiceInSpecification.TEMPLATE, criteria, visibility, pageable);
+
         Page<InvoiceInResponse> responsePage = page.map(invoiceInMapper::toResponse);
-        
-        // Calculate totals
-        BigDecimal totalAmount = page.getContent().stream()
-                .map(InvoiceIn::getTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        return PageResponse.of(responsePage, totalAmount, page.getTotalElements());
+
+        // Totals over the full filter, grouped by currency
+        return PageResponse.of(responsePage, filterTotalsService.getTotals(InvoiceInSpecification.TEMPLATE, criteria, visibility));
+    }
+
+    /**
+     * Saves and flushes, so that a number taken concurrently by another transaction is
+     * reported here as a duplicate rather than failing the commit.
+     */
+    private InvoiceIn saveUniqueInvoiceNo(InvoiceIn invoice) {
+        try {
+            return invoiceInRepository.saveAndFlush(invoice);
+        } catch (DataIntegrityViolationException e) {
+            String cause = e.getMostSpecificCause().getMessage();
+            if (cause != null && cause.contains(VENDOR_INVOICE_NO_CONSTRAINT)) {
+                throw new IllegalArgumentException("Invoice number already exists: " + invoice.getInvoiceNo());
+            }
+            throw e;
+        }
+    }
+
+    private void recordFingerprints(InvoiceIn invoice) {
+        duplicateDetector.record(invoice.getVendor().getId(), invoice.getInvoiceNo(), invoice.getInvoiceDate(),
+                invoice.getCurrency(), invoice.getTotal());
     }
 
     /**
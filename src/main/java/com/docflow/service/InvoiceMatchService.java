@@ -0,0 +1,181 @@
+package com.docflow.service;
+
+import com.docflow.domain.entity.InvoiceMatch;
+import com.docflow.domain.entity.PurchaseOrderHeader;
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.MatchStatus;
+import com.docflow.dto.invoice.InvoiceMatchResponse;
+import com.docflow.dto.invoice.InvoiceMatchRunResponse;
+import com.docflow.exception.ResourceNotFoundException;
+import com.docflow.matching.MatchOutcome;
+import com.docflow.matching.MatchTolerance;
+import com.docflow.matching.ThreeWayMatcher;
+import com.docflow.repository.GoodsReceiptNoteLineRepository;
+import com.docflow.repository.InvoiceInRepository;
+import com.docflow.repository.InvoiceMatchRepository;
+import com.docflow.repository.PurchaseOrderLineRepository;
+import com.docflow.repository.projection.InvoiceMatchInputRow;
+import com.docflow.repository.projection.PurchaseOrderAmountRow;
+import com.docflow.specification.DocumentVisibility;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Three-way match of PENDING incoming invoices against purchase order and goods receipt lines.
+ *
+ * A run loads the PENDING invoices once and processes their vendors in batches. For each
+ * batch, ordered, received and already-invoiced values of all the vendors' purchase orders
+ * are read in three grouped queries into a {@link ThreeWayMatcher}, the invoices are
+ * matched in memory oldest first, and the results are written in one JDBC batch, replacing
+ * the previous result of each invoice. Results feed approval routing (see
+ * {@link ApprovalService#validateInvoiceInApprover}).
+ */
+@Service
+@Slf4j
+public class InvoiceMatchService {
+
+    // Invoices whose amount is booked against their purchase order for good
+    private static final List<DocumentStatus> INVOICED_STATUSES = List.of(DocumentStatus.APPROVED, DocumentStatus.PAID);
+
+    private final InvoiceInRepository invoiceInRepository;
+    private final PurchaseOrderLineRepository purchaseOrderLineRepository;
+    private final GoodsReceiptNoteLineRepository goodsReceiptNoteLineRepository;
+    private final InvoiceMatchRepository invoiceMatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MatchTolerance tolerance;
+    private final int vendorBatchSize;
+
+    public InvoiceMatchService(
+            InvoiceInRepository invoiceInRepository,
+            PurchaseOrderLineRepository purchaseOrderLineRepository,
+            GoodsReceiptNoteLineRepository goodsReceiptNoteLineRepository,
+            InvoiceMatchRepository invoiceMatchRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${invoice.match.tolerance-percent:2}") BigDecimal tolerancePercent,
+            @Value("${invoice.match.tolerance-amount:1.00}") BigDecimal toleranceAmount,
+            @Value("${invoice.match.vendor-batch-size:500}") int vendorBatchSize
+    ) {
+        this.invoiceInRepository = invoiceInRepository;
+        this.purchaseOrderLineRepository = purchaseOrderLineRepository;
+        this.goodsReceiptNoteLineRepository = goodsReceiptNoteLineRepository;
+        this.invoiceMatchRepository = invoiceMatchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.tolerance = new MatchTolerance(tolerancePercent, toleranceAmount);
+        this.vendorBatchSize = vendorBatchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${invoice.match.interval-ms:300000}",
+               initialDelayString = "${invoice.match.initial-delay-ms:60000}")
+    public void scheduledRun() {
+        matchPendingInvoices();
+    }
+
+    /**
+     * Matches every PENDING incoming invoice.
+     *
+     * @return Number of invoices per match status
+     */
+    public synchronized InvoiceMatchRunResponse matchPendingInvoices() {
+        long started = System.nanoTime();
+        Map<Long, List<InvoiceMatchInputRow>> invoicesByVendor = invoiceInRepository
+                .findMatchInputsByStatus(DocumentStatus.PENDING).stream()
+                .collect(Collectors.groupingBy(InvoiceMatchInputRow::getVendorId, LinkedHashMap::new,
+                        Collectors.toList()));
+
+        List<Long> vendorIds = new ArrayList<>(invoicesByVendor.keySet());
+        Map<MatchStatus, Long> counts = new EnumMap<>(MatchStatus.class);
+        for (int from = 0; from < vendorIds.size(); from += vendorBatchSize) {
+            List<Long> batch = vendorIds.subList(from, Math.min(from + vendorBatchSize, vendorIds.size()));
+            transactionTemplate.executeWithoutResult(status -> matchVendors(batch, invoicesByVendor, counts));
+        }
+
+        long invoices = counts.values().stream().mapToLong(Long::longValue).sum();
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Matched {} pending invoices of {} vendors in {} ms: {}", invoices, vendorIds.size(), durationMs, counts);
+        return InvoiceMatchRunResponse.builder()
+                .invoices(invoices)
+                .statusCounts(counts)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    /**
+     * Gets the latest match result of an invoice the viewer may read.
+     */
+    @Transactional(readOnly = true)
+    public InvoiceMatchResponse getMatch(Long invoiceId, DocumentVisibility visibility) {
+        if (invoiceInRepository.findVisibleVersion(invoiceId, visibility.getViewerId()).isEmpty()) {
+            throw new ResourceNotFoundException("Invoice", invoiceId);
+        }
+        InvoiceMatch match = invoiceMatchRepository.findWithPurchaseOrder(invoiceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Invoice match", invoiceId));
+
+        PurchaseOrderHeader purchaseOrder = match.getPurchaseOrder();
+        return InvoiceMatchResponse.builder()
+                .invoiceId(match.getInvoiceId())
+                .purchaseOrderId(purchaseOrder != null ? purchaseOrder.getId() : null)
+                .poNo(purchaseOrder != null ? purchaseOrder.getPoNo() : null)
+                .status(match.getStatus())
+                .invoicedAmount(match.getInvoicedAmount())
+                .orderedAmount(match.getOrderedAmount())
+                .receivedAmount(match.getReceivedAmount())
+                .varianceAmount(match.getVarianceAmount())
+                .matchedAt(match.getMatchedAt())
+                .build();
+    }
+
+    private void matchVendors(List<Long> vendorIds, Map<Long, List<InvoiceMatchInputRow>> invoicesByVendor,
+                              Map<MatchStatus, Long> counts) {
+        Map<Long, BigDecimal> received = amounts(goodsReceiptNoteLineRepository.sumReceivedByVendorIds(vendorIds));
+        Map<Long, BigDecimal> invoiced = amounts(invoiceMatchRepository.sumInvoicedByVendorIds(vendorIds,
+                INVOICED_STATUSES));
+
+        ThreeWayMatcher matcher = new ThreeWayMatcher(tolerance);
+        for (PurchaseOrderAmountRow ordered : purchaseOrderLineRepository.sumOrderedByVendorIds(vendorIds)) {
+            Long id = ordered.getPurchaseOrderId();
+            matcher.addPurchaseOrder(id, ordered.getVendorId(), ordered.getCurrency(), ordered.getAmount(),
+                    received.getOrDefault(id, BigDecimal.ZERO), invoiced.getOrDefault(id, BigDecimal.ZERO));
+        }
+
+        LocalDateTime matchedAt = LocalDateTime.now();
+        List<InvoiceMatch> results = new ArrayList<>();
+        for (Long vendorId : vendorIds) {
+            for (InvoiceMatchInputRow invoice : invoicesByVendor.get(vendorId)) {
+                MatchOutcome outcome = matcher.match(vendorId, invoice.getPurchaseOrderId(), invoice.getCurrency(),
+                        invoice.getSubtotal());
+                results.add(InvoiceMatch.builder()
+                        .invoiceId(invoice.getId())
+                        .purchaseOrder(outcome.purchaseOrderId() != null
+                                ? PurchaseOrderHeader.builder().id(outcome.purchaseOrderId()).build()
+                                : null)
+                        .status(outcome.status())
+                        .invoicedAmount(invoice.getSubtotal())
+                        .orderedAmount(outcome.orderedAmount())
+                        .receivedAmount(outcome.receivedAmount())
+                        .varianceAmount(outcome.varianceAmount())
+                        .matchedAt(matchedAt)
+                        .build());
+                counts.merge(outcome.status(), 1L, Long::sum);
+            }
+        }
+        invoiceMatchRepository.upsertAll(results);
+    }
+
+    private static Map<Long, BigDecimal> amounts(List<PurchaseOrderAmountRow> rows) {
+        return rows.stream().collect(Collectors.toMap(PurchaseOrderAmountRow::getPurchaseOrderId,
+                PurchaseOrderAmountRow::getAmount));
+    }
+}
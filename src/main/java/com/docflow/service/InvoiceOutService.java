@@ -2,11 +2,14 @@ package com.docflow.service;
 
 import com.docflow.domain.entity.Client;
 import com.docflow.domain.entity.InvoiceOut;
-import com.docflow.domain.entity.Payment;
 import com.docflow.domain.entity.User;
 import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
 import com.docflow.domain.enums.PaymentDirection;
 import com.docflow.domain.enums.RoleName;
+import com.docflow.dto.filter.InvoiceFilterCriteria;
+import com.docflow.dto.filter.PageResponse;
+import com.docflow.dto.filter.SliceResponse;
 import com.docflow.dto.invoice.InvoiceOutRequest;
 import com.docflow.dto.invoice.InvoiceOutResponse;
 import com.docflow.dto.invoice.PaymentRequest;
@@ -14,16 +17,21 @@ import com.docflow.exception.ResourceNotFoundException;
 import com.docflow.exception.UnauthorizedActionException;
 import com.docflow.mapper.InvoiceOutMapper;
 import com.docflow.repository.ClientRepository;
+import com.docflow.repository.FilterQueryRepository;
 import com.docflow.repository.InvoiceOutRepository;
-import com.docflow.repository.PaymentRepository;
+import com.docflow.specification.DocumentVisibility;
+import com.docflow.specification.InvoiceOutSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -31,8 +39,15 @@ public class InvoiceOutService {
 
     private final InvoiceOutRepository invoiceOutRepository;
     private final ClientRepository clientRepository;
-    private final PaymentRepository paymentRepository;
+    private final DocumentPaymentService documentPaymentService;
     private final InvoiceOutMapper invoiceOutMapper;
+    private final ApproximateCountService approximateCountService;
+    private final DocumentSummaryService documentSummaryService;
+    private final DocumentIndexService documentIndexService;
+    private final DocumentResponseCache documentResponseCache;
+    private final DocumentHeaderService documentHeaderService;
+    private final FilterTotalsService filterTotalsService;
+    private final FilterQueryRepository filterQueryRepository;
     private final DocumentStatusMachine statusMachine;
     private final ApprovalService approvalService;
 
@@ -56,6 +71,8 @@ public class InvoiceOutService {
         }
 
         invoice = invoiceOutRepository.save(invoice);
+        documentSummaryService.recordCreated(invoice);
+        documentIndexService.recordCreated(invoice);
 
         log.info("Created outgoing invoice {} by user {}", invoice.getId(), currentUser.getEmail());
 
@@ -63,17 +80,34 @@ public class InvoiceOutService {
     }
 
     @Transactional(readOnly = true)
-    public InvoiceOutResponse getInvoiceById(Long id) {
-        InvoiceOut invoice = invoiceOutRepository.findByIdWithDetails(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Invoice", id));
-
-        return invoiceOutMapper.toResponse(invoice);
+    public InvoiceOutResponse getInvoiceById(Long id, DocumentVisibility visibility) {
+        return documentResponseCache.get(DocumentType.INVOICE_OUT, id,
+                () -> invoiceOutRepository.findVisibleVersion(id, visibility.getViewerId()),
+                () -> {
+                    InvoiceOut invoice = invoiceOutRepository.findVisibleByIdWithDetails(id, visibility.getViewerId())
+                            .orElseThrow(() -> new ResourceNotFoundException("Invoice", id));
+
+                    return invoiceOutMapper.toResponse(invoice);
+                });
     }
 
+    /**
+     * Lists invoices without a COUNT query unless the caller asks for an exact count.
+     */
     @Transactional(readOnly = true)
-    public Page<InvoiceOutResponse> getInvoices(DocumentStatus status, Long clientId, Pageable pageable) {
-        Page<InvoiceOut> invoices = invoiceOutRepository.findByFilters(status, clientId, pageable);
-        return invoices.map(invoiceOutMapper::toResponse);
+    public SliceResponse<InvoiceOutResponse> getInvoices(DocumentStatus status, Long clientId, DocumentVisibility visibility,
+                                                         Pageable pageable, boolean exactCount) {
+        if (exactCount) {
+            Page<InvoiceOut> page = invoiceOutRepository.findByFilters(status, clientId, visibility.getViewerId(), pageable);
+            approximateCountService.recordExactCount(DocumentType.INVOICE_OUT, status, clientId, visibility,
+                    page.getTotalElements());
+            return SliceResponse.of(page.map(invoiceOutMapper::toResponse));
+        }
+
+        Slice<InvoiceOut> slice = invoiceOutRepository.findSliceByFilters(status, clientId, visibility.getViewerId(), pageable);
+        long approximateTotal = approximateCountService.getApproximateCount(DocumentType.INVOICE_OUT, status, clientId,
+                visibility);
+        return SliceResponse.of(slice.map(invoiceOutMapper::toResponse), approximateTotal);
     }
 
     @Transactional
@@ -96,6 +130,9 @@ public class InvoiceOutService {
         Client client = clientRepository.findById(request.getClientId())
                 .orElseThrow(() -> new ResourceNotFoundException("Client", request.getClientId()));
 
+        String oldCurrency = invoice.getCurrency();
+        BigDecimal oldTotal = invoice.getTotal();
+
         // Update invoice
         invoiceOutMapper.updateEntityFromRequest(request, client, invoice);
         
@@ -104,6 +141,10 @@ public class InvoiceOutService {
         }
 
         invoice = invoiceOutRepository.save(invoice);
+        documentSummaryService.recordAmountChange(invoice, oldCurrency, oldTotal);
+        documentIndexService.recordUpdated(invoice);
+        documentHeaderService.evict(invoice.getId());
+        documentResponseCache.evict(DocumentType.INVOICE_OUT, invoice.getId());
 
         log.info("Updated outgoing invoice {} by user {}", id, currentUser.getEmail());
 
@@ -172,21 +213,8 @@ public class InvoiceOutService {
         InvoiceOut invoice = invoiceOutRepository.findByIdWithDetails(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Invoice", id));
 
-        // Create payment record (INBOUND - client pays us)
-        Payment payment = Payment.builder()
-                .document(invoice)
-                .direction(PaymentDirection.INBOUND)
-                .method(paymentRequest.getMethod())
-                .amount(paymentRequest.getAmount())
-                .paidAt(paymentRequest.getPaidAt())
-                .reference(paymentRequest.getReference())
-                .build();
-
-        paymentRepository.save(payment);
-
-        // Transition APPROVED -> PAID
-        statusMachine.markAsPaid(invoice, currentUser, paymentRequest.getNote());
-        invoice = invoiceOutRepository.save(invoice);
+        // Adds to the amount paid; PAID once nothing beyond the tolerance is outstanding
+        invoice = documentPaymentService.recordPayment(invoice, PaymentDirection.INBOUND, paymentRequest, currentUser);
 
         log.info("Recorded payment for outgoing invoice {} by user {} - amount: {}", 
                 id, currentUser.getEmail(), paymentRequest.getAmount());
@@ -194,6 +222,17 @@ public class InvoiceOutService {
         return invoiceOutMapper.toResponse(invoice);
     }
 
+    @Transactional(readOnly = true)
+    public PageResponse<InvoiceOutResponse> filterInvoices(InvoiceFilterCriteria criteria, DocumentVisibility visibility,
+                                                           Pageable pageable) {
+        Page<InvoiceOut> page = filterQueryRepository.findPage(InvoiceOutSpecification.TEMPLATE, criteria, visibility, pageable);
+
+        Page<InvoiceOutResponse> responsePage = page.map(invoiceOutMapper::toResponse);
+
+        // Totals over the full filter, grouped by currency
+        return PageResponse.of(responsePage, filterTotalsService.getTotals(InvoiceOutSpecification.TEMPLATE, criteria, visibility));
+    }
+
     /**
      * Check if user has a specific role.
      */
@@ -0,0 +1,149 @@
+package com.docflow.service;
+
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.dto.search.CounterpartySearchHit;
+import com.docflow.dto.search.InvoiceSearchHit;
+import com.docflow.dto.search.InvoiceSearchResponse;
+import com.docflow.repository.ClientRepository;
+import com.docflow.repository.InvoiceInRepository;
+import com.docflow.repository.InvoiceOutRepository;
+import com.docflow.repository.VendorRepository;
+import com.docflow.repository.projection.CounterpartySearchRow;
+import com.docflow.repository.projection.InvoiceSearchRow;
+import com.docflow.specification.DocumentVisibility;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Index-backed search over invoice numbers and counterparty names.
+ *
+ * Ranking: exact match (3) over prefix match (2) over substring match (1 + relevance).
+ * Exact and prefix matches use the B-tree indexes; substrings use the n-gram FULLTEXT
+ * indexes, so no branch scans the invoice tables. Invoice hits are limited to the invoices
+ * the caller may read; counterparty names are not restricted.
+ */
+@Service
+@RequiredArgsConstructor
+public class InvoiceSearchService {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 50;
+    // Matches innodb ngram_token_size default; shorter terms cannot hit the n-gram index
+    private static final int MIN_SUBSTRING_LENGTH = 2;
+
+    private final InvoiceInRepository invoiceInRepository;
+    private final InvoiceOutRepository invoiceOutRepository;
+    private final VendorRepository vendorRepository;
+    private final ClientRepository clientRepository;
+
+    /**
+     * Searches incoming invoices by number and vendors by name.
+     *
+     * @param query Search text
+     * @param limit Maximum hits per list
+     * @param visibility Invoices the caller may read
+     * @return Ranked invoice and vendor hits
+     */
+    @Transactional(readOnly = true)
+    public InvoiceSearchResponse searchPayables(String query, Integer limit, DocumentVisibility visibility) {
+        String term = normalize(query);
+        int max = resolveLimit(limit);
+
+        return InvoiceSearchResponse.builder()
+                .query(term)
+                .invoices(toInvoiceHits(invoiceInRepository.searchByInvoiceNo(
+                        term, likePrefix(term), booleanPhrase(term), max, visibility.getViewerId())))
+                .counterparties(toCounterpartyHits(vendorRepository.searchByName(
+                        term, likePrefix(term), booleanPhrase(term), max)))
+                .build();
+    }
+
+    /**
+     * Searches outgoing invoices by number and clients by name.
+     *
+     * @param query Search text
+     * @param limit Maximum hits per list
+     * @param visibility Invoices the caller may read
+     * @return Ranked invoice and client hits
+     */
+    @Transactional(readOnly = true)
+    public InvoiceSearchResponse searchReceivables(String query, Integer limit, DocumentVisibility visibility) {
+        String term = normalize(query);
+        int max = resolveLimit(limit);
+
+        return InvoiceSearchResponse.builder()
+                .query(term)
+                .invoices(toInvoiceHits(invoiceOutRepository.searchByInvoiceNo(
+                        term, likePrefix(term), booleanPhrase(term), max, visibility.getViewerId())))
+                .counterparties(toCounterpartyHits(clientRepository.searchByName(
+                        term, likePrefix(term), booleanPhrase(term), max)))
+                .build();
+    }
+
+    private String normalize(String query) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        return query.trim();
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    /**
+     * Escapes LIKE wildcards so the term is matched literally as a prefix.
+     */
+    private String likePrefix(String term) {
+        return term.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+
+    /**
+     * Quotes the term as a BOOLEAN MODE phrase, which the n-gram parser turns into
+     * an adjacent n-gram (substring) match. Too-short terms yield an empty phrase.
+     */
+    private String booleanPhrase(String term) {
+        String phrase = term.replace("\"", " ").trim();
+        if (phrase.length() < MIN_SUBSTRING_LENGTH) {
+            return "";
+        }
+        return "\"" + phrase + "\"";
+    }
+
+    private List<InvoiceSearchHit> toInvoiceHits(List<InvoiceSearchRow> rows) {
+        return rows.stream()
+                .map(row -> InvoiceSearchHit.builder()
+                        .id(row.getId())
+                        .invoiceNo(row.getInvoiceNo())
+                        .counterpartyId(row.getCounterpartyId())
+                        .counterpartyName(row.getCounterpartyName())
+                        .status(DocumentStatus.valueOf(row.getStatus()))
+                        .currency(row.getCurrency())
+                        .total(row.getTotal())
+                        .score(row.getScore())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private List<CounterpartySearchHit> toCounterpartyHits(List<CounterpartySearchRow> rows) {
+        return rows.stream()
+                .map(row -> CounterpartySearchHit.builder()
+                        .id(row.getId())
+                        .name(row.getName())
+                        .score(row.getScore())
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,115 @@
+package com.docflow.service;
+
+import com.docflow.banking.Pain001Writer;
+import com.docflow.banking.Pain001Writer.CreditTransfer;
+import com.docflow.banking.Pain001Writer.Debtor;
+import com.docflow.banking.Pain001Writer.Header;
+import com.docflow.domain.entity.PaymentRun;
+import com.docflow.domain.enums.PaymentDirection;
+import com.docflow.domain.enums.PaymentRunStatus;
+import com.docflow.exception.ResourceNotFoundException;
+import com.docflow.repository.PaymentRepository;
+import com.docflow.repository.PaymentRunRepository;
+import com.docflow.repository.projection.CreditTransferRow;
+import com.docflow.repository.projection.CreditTransferSummaryRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Bank payment files (pain.001 credit transfers) for completed payment runs.
+ *
+ * A file is prepared, which checks the run and computes the header's count and control
+ * sum with one aggregate query, then written by streaming the run's OUTBOUND payments
+ * straight into a {@link Pain001Writer}, so no payment is held longer than it takes to
+ * write it. Every vendor paid must have an IBAN; the debtor account is configured under
+ * {@code payment.file.*}.
+ */
+@Service
+@Slf4j
+public class PaymentFileService {
+
+    private final PaymentRunRepository paymentRunRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Debtor debtor;
+
+    public PaymentFileService(
+            PaymentRunRepository paymentRunRepository,
+            PaymentRepository paymentRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${payment.file.debtor-name:DocFlow}") String debtorName,
+            @Value("${payment.file.debtor-iban:}") String debtorIban,
+            @Value("${payment.file.debtor-bic:}") String debtorBic
+    ) {
+        this.paymentRunRepository = paymentRunRepository;
+        this.paymentRepository = paymentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.debtor = new Debtor(debtorName, debtorIban, debtorBic);
+    }
+
+    /**
+     * Checks that a run's pain.001 file can be written and builds its header.
+     *
+     * @throws IllegalArgumentException if the run is not completed, has no outbound payments,
+     *         pays a vendor without an IBAN, or no debtor account is configured
+     */
+    @Transactional(readOnly = true)
+    public Header preparePain001(Long runId) {
+        PaymentRun run = paymentRunRepository.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment run", runId));
+        if (run.getStatus() != PaymentRunStatus.COMPLETED) {
+            throw new IllegalArgumentException("Payment run " + runId + " is not completed");
+        }
+        if (debtor.iban().isBlank()) {
+            throw new IllegalArgumentException("No debtor account configured (payment.file.debtor-iban)");
+        }
+
+        CreditTransferSummaryRow summary = paymentRepository.summarizeCreditTransfers(runId, PaymentDirection.OUTBOUND);
+        if (summary.getTransfers() == 0) {
+            throw new IllegalArgumentException("Payment run " + runId + " has no outbound payments");
+        }
+        if (summary.getWithoutAccount() > 0) {
+            throw new IllegalArgumentException(String.format("%d payments of run %d go to vendors without an IBAN",
+                    summary.getWithoutAccount(), runId));
+        }
+
+        return new Header("PAYRUN-" + runId, LocalDateTime.now(), summary.getTransfers(), summary.getTotal(),
+                run.getPaidAt().toLocalDate(), debtor);
+    }
+
+    /**
+     * Writes a run's pain.001 file. The stream is flushed but not closed.
+     *
+     * @param header Header from {@link #preparePain001(Long)}
+     * @throws IllegalStateException if the file cannot be written, or the payments changed since it was prepared
+     */
+    public void writePain001(Long runId, Header header, OutputStream out) {
+        long started = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<CreditTransferRow> rows = paymentRepository.streamCreditTransfers(runId,
+                         PaymentDirection.OUTBOUND);
+                 Pain001Writer writer = new Pain001Writer(out, header)) {
+                Iterator<CreditTransferRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    CreditTransferRow row = iterator.next();
+                    writer.write(new CreditTransfer("PAY-" + row.getPaymentId(), row.getAmount(), row.getCurrency(),
+                            row.getVendorName(), row.getIban(), row.getBic(), row.getInvoiceNo()));
+                }
+                writer.finish();
+            } catch (XMLStreamException e) {
+                throw new IllegalStateException("Failed to write the payment file of run " + runId, e);
+            }
+        });
+        log.info("Wrote pain.001 file of payment run {}: {} transfers in {} ms", runId,
+                header.numberOfTransactions(), (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -0,0 +1,234 @@
+package com.docflow.service;
+
+import com.docflow.domain.entity.PaymentRun;
+import com.docflow.domain.entity.User;
+import com.docflow.domain.entity.Vendor;
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
+import com.docflow.domain.enums.PaymentRunStatus;
+import com.docflow.dto.filter.CurrencyTotal;
+import com.docflow.dto.payment.PaymentRunRequest;
+import com.docflow.dto.payment.PaymentRunResponse;
+import com.docflow.exception.ResourceNotFoundException;
+import com.docflow.repository.PaymentRunBatchRepository;
+import com.docflow.repository.PaymentRunBatchRepository.OpenInvoice;
+import com.docflow.repository.PaymentRunBatchRepository.Position;
+import com.docflow.repository.PaymentRunRepository;
+import com.docflow.repository.PaymentRunTotalRepository;
+import com.docflow.repository.VendorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Payment runs: batch settlement of approved incoming invoices.
+ *
+ * A run selects APPROVED invoices due on or before a date, optionally of one vendor, in
+ * (vendor, invoice id) order, so each vendor's invoices are paid together. Each chunk is
+ * one transaction that locks the run row and the next invoices, pays them with JDBC
+ * batches (status, payment, index row and audit entry per invoice), and moves the run's
+ * position and per-currency totals forward. A failed chunk rolls back alone; the run is
+ * marked FAILED and a resume continues after the last committed chunk.
+ */
+@Service
+@Slf4j
+public class PaymentRunService {
+
+    private final PaymentRunRepository paymentRunRepository;
+    private final PaymentRunTotalRepository paymentRunTotalRepository;
+    private final PaymentRunBatchRepository paymentRunBatchRepository;
+    private final VendorRepository vendorRepository;
+    private final DocumentSummaryService documentSummaryService;
+    private final DocumentHeaderService documentHeaderService;
+    private final DocumentResponseCache documentResponseCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public PaymentRunService(
+            PaymentRunRepository paymentRunRepository,
+            PaymentRunTotalRepository paymentRunTotalRepository,
+            PaymentRunBatchRepository paymentRunBatchRepository,
+            VendorRepository vendorRepository,
+            DocumentSummaryService documentSummaryService,
+            DocumentHeaderService documentHeaderService,
+            DocumentResponseCache documentResponseCache,
+            TransactionTemplate transactionTemplate,
+            @Value("${payment.run.chunk-size:500}") int chunkSize
+    ) {
+        this.paymentRunRepository = paymentRunRepository;
+        this.paymentRunTotalRepository = paymentRunTotalRepository;
+        this.paymentRunBatchRepository = paymentRunBatchRepository;
+        this.vendorRepository = vendorRepository;
+        this.documentSummaryService = documentSummaryService;
+        this.documentHeaderService = documentHeaderService;
+        this.documentResponseCache = documentResponseCache;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates a payment run and executes it.
+     *
+     * @param request Selection and payment details
+     * @param currentUser The user starting the run
+     * @return The run summary; FAILED if a chunk failed
+     */
+    public PaymentRunResponse startRun(PaymentRunRequest request, User currentUser) {
+        Vendor vendor = null;
+        if (request.getVendorId() != null) {
+            vendor = vendorRepository.findById(request.getVendorId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Vendor", request.getVendorId()));
+        }
+
+        PaymentRun run = paymentRunRepository.save(PaymentRun.builder()
+                .status(PaymentRunStatus.RUNNING)
+                .dueBefore(request.getDueBefore())
+                .vendor(vendor)
+                .method(request.getMethod())
+                .paidAt(request.getPaidAt() != null ? request.getPaidAt() : LocalDateTime.now())
+                .note(request.getNote())
+                .createdBy(currentUser)
+                .build());
+
+        log.info("Payment run {} started by user {}: due before {}, vendor {}", run.getId(), currentUser.getEmail(),
+                run.getDueBefore(), request.getVendorId());
+        return execute(run, currentUser);
+    }
+
+    /**
+     * Continues a failed or interrupted run after its last committed chunk.
+     *
+     * @throws IllegalArgumentException if the run is already completed
+     */
+    public PaymentRunResponse resumeRun(Long id, User currentUser) {
+        PaymentRun run = paymentRunRepository.findByIdWithVendor(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment run", id));
+        if (run.getStatus() == PaymentRunStatus.COMPLETED) {
+            throw new IllegalArgumentException("Payment run " + id + " is already completed");
+        }
+
+        transactionTemplate.executeWithoutResult(status ->
+                paymentRunRepository.updateStatus(id, PaymentRunStatus.RUNNING, null, null));
+        log.info("Payment run {} resumed by user {}", id, currentUser.getEmail());
+        return execute(run, currentUser);
+    }
+
+    @Transactional(readOnly = true)
+    public PaymentRunResponse getRun(Long id) {
+        PaymentRun run = paymentRunRepository.findByIdWithVendor(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment run", id));
+        return toResponse(run);
+    }
+
+    private PaymentRunResponse execute(PaymentRun run, User currentUser) {
+        long started = System.nanoTime();
+        Long vendorId = run.getVendor() != null ? run.getVendor().getId() : null;
+        String reference = "PAYRUN-" + run.getId();
+        long paid = 0;
+
+        try {
+            while (true) {
+                Integer chunk = transactionTemplate.execute(status ->
+                        payChunk(run, vendorId, reference, currentUser));
+                paid += chunk;
+                if (chunk < chunkSize) {
+                    break;
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> paymentRunRepository.updateStatus(run.getId(),
+                    PaymentRunStatus.COMPLETED, null, LocalDateTime.now()));
+            log.info("Payment run {} completed: {} invoices paid in {} ms", run.getId(), paid,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Payment run {} failed after {} invoices paid", run.getId(), paid, e);
+            String error = Objects.requireNonNullElse(e.getMessage(), e.getClass().getSimpleName());
+            transactionTemplate.executeWithoutResult(status ->
+                    paymentRunRepository.updateStatus(run.getId(), PaymentRunStatus.FAILED, error, null));
+        }
+
+        return transactionTemplate.execute(status -> toResponse(paymentRunRepository.findByIdWithVendor(run.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Payment run", run.getId()))));
+    }
+
+    /**
+     * Pays the next chunk of a run. Runs in its own transaction.
+     *
+     * @return Number of invoices paid; less than the chunk size when the run is done
+     */
+    private int payChunk(PaymentRun run, Long vendorId, String reference, User currentUser) {
+        Position position = paymentRunBatchRepository.lockRun(run.getId());
+        List<OpenInvoice> invoices = paymentRunBatchRepository.lockNextInvoices(run.getDueBefore(), vendorId,
+                position, chunkSize);
+        if (invoices.isEmpty()) {
+            return 0;
+        }
+
+        int updated = paymentRunBatchRepository.markPaid(run.getId(), invoices, run.getMethod(), run.getPaidAt(),
+                reference, currentUser.getId(), run.getNote(), LocalDateTime.now());
+        if (updated != invoices.size()) {
+            throw new IllegalStateException(String.format("Expected to pay %d invoices, updated %d",
+                    invoices.size(), updated));
+        }
+
+        // The dashboard summary moves invoice totals; the run adds up what it paid
+        Map<String, CurrencyTotal> invoiceTotals = new TreeMap<>();
+        Map<String, CurrencyTotal> paidTotals = new TreeMap<>();
+        // Rows arrive grouped by vendor; a vendor continued from the previous chunk is not counted again
+        int vendors = 0;
+        Long previousVendorId = position.vendorId();
+        for (OpenInvoice invoice : invoices) {
+            if (previousVendorId == null || invoice.vendorId() != previousVendorId) {
+                vendors++;
+                previousVendorId = invoice.vendorId();
+            }
+            CurrencyTotal.add(invoiceTotals, invoice.currency(), invoice.total());
+            CurrencyTotal.add(paidTotals, invoice.currency(), invoice.outstanding());
+
+            documentHeaderService.evict(invoice.id());
+            documentResponseCache.evict(DocumentType.INVOICE_IN, invoice.id());
+        }
+
+        documentSummaryService.recordTransitions(DocumentType.INVOICE_IN, DocumentStatus.APPROVED,
+                DocumentStatus.PAID, List.copyOf(invoiceTotals.values()));
+
+        OpenInvoice last = invoices.get(invoices.size() - 1);
+        paymentRunBatchRepository.recordProgress(run.getId(), new Position(last.vendorId(), last.id()),
+                invoices.size(), vendors, List.copyOf(paidTotals.values()));
+        return invoices.size();
+    }
+
+    private PaymentRunResponse toResponse(PaymentRun run) {
+        List<CurrencyTotal> totals = paymentRunTotalRepository.findByPaymentRunIdOrderByCurrency(run.getId()).stream()
+                .map(total -> CurrencyTotal.builder()
+                        .currency(total.getCurrency())
+                        .count(total.getInvoiceCount())
+                        .totalAmount(total.getTotalAmount())
+                        .build())
+                .toList();
+
+        return PaymentRunResponse.builder()
+                .id(run.getId())
+                .status(run.getStatus())
+                .dueBefore(run.getDueBefore())
+                .vendorId(run.getVendor() != null ? run.getVendor().getId() : null)
+                .vendorName(run.getVendor() != null ? run.getVendor().getName() : null)
+                .method(run.getMethod())
+                .paidAt(run.getPaidAt())
+                .invoiceCount(run.getInvoiceCount())
+                .vendorCount(run.getVendorCount())
+                .totals(totals)
+                .lastError(run.getLastError())
+                .createdBy(run.getCreatedBy().getEmail())
+                .createdAt(run.getCreatedAt())
+                .completedAt(run.getCompletedAt())
+                .build();
+    }
+}
@@ -1,24 +1,26 @@
 package com.docflow.service;
 
 import com.docflow.domain.entity.ExpenseClaim;
-import com.docflow.domain.entity.Payment;
 import com.docflow.domain.entity.Reimbursement;
 import com.docflow.domain.entity.User;
 import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.domain.enums.DocumentType;
 import com.docflow.domain.enums.PaymentDirection;
+import com.docflow.dto.filter.SliceResponse;
 import com.docflow.dto.invoice.PaymentRequest;
 import com.docflow.dto.reimbursement.ReimbursementRequest;
 import com.docflow.dto.reimbursement.ReimbursementResponse;
 import com.docflow.exception.ResourceNotFoundException;
 import com.docflow.mapper.ReimbursementMapper;
 import com.docflow.repository.ExpenseClaimRepository;
-import com.docflow.repository.PaymentRepository;
 import com.docflow.repository.ReimbursementRepository;
+import com.docflow.specification.DocumentVisibility;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,8 +35,12 @@ public class ReimbursementService {
 
     private final ReimbursementRepository reimbursementRepository;
     private final ExpenseClaimRepository expenseClaimRepository;
-    private final PaymentRepository paymentRepository;
+    private final DocumentPaymentService documentPaymentService;
     private final ReimbursementMapper reimbursementMapper;
+    private final ApproximateCountService approximateCountService;
+    private final DocumentSummaryService documentSummaryService;
+    private final DocumentIndexService documentIndexService;
+    private final DocumentResponseCache documentResponseCache;
     private final DocumentStatusMachine statusMachine;
 
     @Value("${reimbursement.tolerance:0.01}")
@@ -80,6 +86,8 @@ public class ReimbursementService {
         Reimbursement reimbursement = reimbursementMapper.toEntity(request, claim.getEmployee(), currentUser);
 
         reimbursement = reimbursementRepository.save(reimbursement);
+        documentSummaryService.recordCreated(reimbursement);
+        documentIndexService.recordCreated(reimbursement);
 
         log.info("Created reimbursement {} for claim {} by user {}, total: {}",
                 reimbursement.getId(), claim.getId(), currentUser.getEmail(), requestTotal);
@@ -90,17 +98,34 @@ public class ReimbursementService {
     }
 
     @Transactional(readOnly = true)
-    public ReimbursementResponse getReimbursementById(Long id) {
-        Reimbursement reimbursement = reimbursementRepository.findByIdWithDetails(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Reimbursement", id));
-
-        return reimbursementMapper.toResponse(reimbursement);
+    public ReimbursementResponse getReimbursementById(Long id, DocumentVisibility visibility) {
+        return documentResponseCache.get(DocumentType.REIMBURSEMENT, id,
+                () -> reimbursementRepository.findVisibleVersion(id, visibility.getViewerId()),
+                () -> {
+                    Reimbursement reimbursement = reimbursementRepository.findVisibleByIdWithDetails(id, visibility.getViewerId())
+                            .orElseThrow(() -> new ResourceNotFoundException("Reimbursement", id));
+
+                    return reimbursementMapper.toResponse(reimbursement);
+                });
     }
 
+    /**
+     * Lists reimbursements without a COUNT query unless the caller asks for an exact count.
+     */
     @Transactional(readOnly = true)
-    public Page<ReimbursementResponse> getReimbursements(DocumentStatus status, Long employeeId, Pageable pageable) {
-        Page<Reimbursement> reimbursements = reimbursementRepository.findByFilters(status, employeeId, pageable);
-        return reimbursements.map(reimbursementMapper::toResponse);
+    public SliceResponse<ReimbursementResponse> getReimbursements(DocumentStatus status, Long employeeId, DocumentVisibility visibility,
+                                                                  Pageable pageable, boolean exactCount) {
+        if (exactCount) {
+            Page<Reimbursement> page = reimbursementRepository.findByFilters(status, employeeId, visibility.getViewerId(), pageable);
+            approximateCountService.recordExactCount(DocumentType.REIMBURSEMENT, status, employeeId, visibility,
+                    page.getTotalElements());
+            return SliceResponse.of(page.map(reimbursementMapper::toResponse));
+        }
+
+        Slice<Reimbursement> slice = reimbursementRepository.findSliceByFilters(status, employeeId, visibility.getViewerId(), pageable);
+        long approximateTotal = approximateCountService.getApproximateCount(DocumentType.REIMBURSEMENT, status, employeeId,
+                visibility);
+        return SliceResponse.of(slice.map(reimbursementMapper::toResponse), approximateTotal);
     }
 
     @Transactional
@@ -124,21 +149,9 @@ public class ReimbursementService {
         Reimbursement reimbursement = reimbursementRepository.findByIdWithDetails(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reimbursement", id));
 
-        // Create payment record (OUTBOUND - we pay employee)
-        Payment payment = Payment.builder()
-                .document(reimbursement)
-                .direction(PaymentDirection.OUTBOUND)
-                .method(paymentRequest.getMethod())
-                .amount(paymentRequest.getAmount())
-                .paidAt(paymentRequest.getPaidAt())
-                .reference(paymentRequest.getReference())
-                .build();
-
-        paymentRepository.save(payment);
-
-        // Transition APPROVED -> PAID
-        statusMachine.markAsPaid(reimbursement, currentUser, paymentRequest.getNote());
-        reimbursement = reimbursementRepository.save(reimbursement);
+        // Adds to the amount paid; PAID once nothing beyond the tolerance is outstanding
+        reimbursement = documentPaymentService.recordPayment(reimbursement, PaymentDirection.OUTBOUND, paymentRequest,
+                currentUser);
 
         log.info("Paid reimbursement {} by user {} - amount: {}",
                 id, currentUser.getEmail(), paymentRequest.getAmount());
@@ -0,0 +1,105 @@
+package com.docflow.specification;
+
+import com.docflow.domain.entity.Employee;
+import com.docflow.domain.entity.PurchaseOrderHeader;
+import com.docflow.domain.entity.User;
+import com.docflow.domain.enums.RoleName;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.util.Objects;
+
+/**
+ * Which documents a viewer may read.
+ *
+ * FINANCE and ADMIN read everything. Anyone else reads a document when they own it, manage
+ * its owner (Employee.manager), approve the purchase order it is matched to, or, for claims
+ * and reimbursements, are the employee it is for or that employee's manager. Each
+ * {@code *Specification} renders these rules as a JPQL predicate on {@code :viewerId} for
+ * repository queries and filter templates, and as a Criteria predicate via the helpers below,
+ * so visibility is applied inside the listing SQL rather than by filtering pages.
+ */
+public final class DocumentVisibility {
+
+    public static final String VIEWER_PARAMETER = "viewerId";
+
+    private static final DocumentVisibility UNRESTRICTED = new DocumentVisibility(null);
+
+    private final Long viewerId;
+
+    private DocumentVisibility(Long viewerId) {
+        this.viewerId = viewerId;
+    }
+
+    public static DocumentVisibility unrestricted() {
+        return UNRESTRICTED;
+    }
+
+    public static DocumentVisibility restrictedTo(Long viewerId) {
+        return new DocumentVisibility(Objects.requireNonNull(viewerId, "viewerId"));
+    }
+
+    public static DocumentVisibility of(User user) {
+        boolean unrestricted = user.getRoles().stream()
+                .anyMatch(role -> role.getName() == RoleName.FINANCE || role.getName() == RoleName.ADMIN);
+        return unrestricted ? UNRESTRICTED : restrictedTo(user.getId());
+    }
+
+    public boolean isRestricted() {
+        return viewerId != null;
+    }
+
+    /**
+     * Value to bind to {@code :viewerId}; null when unrestricted, which the
+     * {@code (:viewerId IS NULL OR ...)} repository predicates read as "everything".
+     */
+    public Long getViewerId() {
+        return viewerId;
+    }
+
+    Predicate ownedBy(Root<?> root, CriteriaBuilder cb) {
+        return cb.equal(root.get("ownerUser").get("id"), viewerId);
+    }
+
+    Predicate ownerManagedBy(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Subquery<Long> reports = query.subquery(Long.class);
+        Root<Employee> employee = reports.from(Employee.class);
+        reports.select(employee.get("user").get("id"))
+                .where(cb.equal(employee.get("manager").get("id"), viewerId));
+        return root.get("ownerUser").get("id").in(reports);
+    }
+
+    Predicate purchaseOrderApprovedBy(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Subquery<Long> orders = query.subquery(Long.class);
+        Root<PurchaseOrderHeader> order = orders.from(PurchaseOrderHeader.class);
+        orders.select(order.get("id"))
+                .where(cb.equal(order.get("approver").get("id"), viewerId));
+        return root.get("purchaseOrder").get("id").in(orders);
+    }
+
+    Predicate employeeIs(Root<?> root, CriteriaBuilder cb) {
+        return cb.equal(root.get("employee").get("user").get("id"), viewerId);
+    }
+
+    Predicate employeeManagedBy(Root<?> root, CriteriaBuilder cb) {
+        return cb.equal(root.get("employee").get("manager").get("id"), viewerId);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof DocumentVisibility other && Objects.equals(viewerId, other.viewerId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(viewerId);
+    }
+
+    @Override
+    public String toString() {
+        return isRestricted() ? "DocumentVisibility[viewer=" + viewerId + "]" : "DocumentVisibility[unrestricted]";
+    }
+}
@@ -10,6 +10,40 @@ import java.util.List;
 
 public class ExpenseClaimSpecification {
 
+    /**
+     * Listing sorts served by an index, per filter (see V3 and V12).
+     */
+    public static final SortWhitelist SORT = SortWhitelist.of("createdAt", "claimDate")
+            .filteredBy("employeeId", "claimDate")
+            .filteredBy("status", "createdAt");
+
+    /**
+     * Rows a restricted viewer may read, on {@code :viewerId} (see {@link DocumentVisibility}).
+     * Claims: owner, the employee the claim is for, or that employee's manager.
+     */
+    public static final String VISIBLE_TO_VIEWER = "(e.ownerUser.id = :viewerId"
+            + " OR e.employee.user.id = :viewerId"
+            + " OR e.employee.manager.id = :viewerId)";
+
+    /**
+     * Precompiled equivalent of {@link #withFilters}: same predicates and bound values,
+     * rendered once per combination of present criteria.
+     */
+    public static final FilterQueryTemplate<ExpenseClaimFilterCriteria> TEMPLATE =
+            FilterQueryTemplate.<ExpenseClaimFilterCriteria>builder(ExpenseClaim.class, "e")
+                    .fetch("employee")
+                    .fetch("employee.user")
+                    .fetch("ownerUser")
+                    .equal("status", ExpenseClaimFilterCriteria::getStatus)
+                    .equal("employee.id", ExpenseClaimFilterCriteria::getEmployeeId)
+                    .greaterThanOrEqual("claimDate", ExpenseClaimFilterCriteria::getClaimDateFrom)
+                    .lessThanOrEqual("claimDate", ExpenseClaimFilterCriteria::getClaimDateTo)
+                    .greaterThanOrEqual("total", ExpenseClaimFilterCriteria::getAmountMin)
+                    .lessThanOrEqual("total", ExpenseClaimFilterCriteria::getAmountMax)
+                    .equal("currency", ExpenseClaimFilterCriteria::getCurrency)
+                    .visibility(VISIBLE_TO_VIEWER)
+                    .build();
+
     public static Specification<ExpenseClaim> withFilters(ExpenseClaimFilterCriteria criteria) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -49,4 +83,19 @@ public class ExpenseClaimSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Criteria form of {@link #VISIBLE_TO_VIEWER}; matches everything when unrestricted.
+     */
+    public static Specification<ExpenseClaim> visibleTo(DocumentVisibility visibility) {
+        return (root, query, criteriaBuilder) -> {
+            if (!visibility.isRestricted()) {
+                return null;
+            }
+            return criteriaBuilder.or(
+                    visibility.ownedBy(root, criteriaBuilder),
+                    visibility.employeeIs(root, criteriaBuilder),
+                    visibility.employeeManagedBy(root, criteriaBuilder));
+        };
+    }
 }
@@ -0,0 +1,248 @@
+package com.docflow.specification;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Precompiled JPQL for a filter criteria DTO.
+ *
+ * Each optional criterion is one bit; the bitmask of criteria present in a request selects
+ * a {@link Shape} whose select, count and totals JPQL are rendered once and reused, so the
+ * same string always reaches Hibernate's query plan cache. Predicates and bound values
+ * mirror the corresponding {@code *Specification.withFilters}. A restricted
+ * {@link DocumentVisibility} sets one more bit, adding the template's visibility predicate.
+ *
+ * @param <C> Criteria type
+ */
+public final class FilterQueryTemplate<C> {
+
+    private static final int MAX_CLAUSES = 30;
+
+    private final Class<?> entityType;
+    private final String alias;
+    private final String selectFrom;
+    private final String countFrom;
+    private final String totalsFrom;
+    private final List<Clause<C>> clauses;
+    private final String visibilityPredicate;
+    private final int visibilityBit;
+    private final AtomicReferenceArray<Shape> shapes;
+
+    private FilterQueryTemplate(Builder<C> builder) {
+        this.entityType = builder.entityType;
+        this.alias = builder.alias;
+        this.clauses = List.copyOf(builder.clauses);
+        this.visibilityPredicate = builder.visibilityPredicate;
+        this.visibilityBit = visibilityPredicate == null ? 0 : 1 << clauses.size();
+
+        String from = " FROM " + entityType.getSimpleName() + " " + alias;
+        this.selectFrom = "SELECT " + alias + from + builder.renderFetches();
+        this.countFrom = "SELECT COUNT(" + alias + ")" + from;
+        this.totalsFrom = "SELECT " + alias + ".currency, SUM(" + alias + ".total), COUNT(" + alias + ")" + from;
+        this.shapes = new AtomicReferenceArray<>(1 << (clauses.size() + (visibilityPredicate == null ? 0 : 1)));
+    }
+
+    public static <C> Builder<C> builder(Class<?> entityType, String alias) {
+        return new Builder<>(entityType, alias);
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    public String getAlias() {
+        return alias;
+    }
+
+    /**
+     * Computes the bitmask of criteria present (non-null) in a request.
+     */
+    public int maskOf(C criteria) {
+        int mask = 0;
+        for (int i = 0; i < clauses.size(); i++) {
+            if (clauses.get(i).extractor().apply(criteria) != null) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Gets the compiled shape for a mask, rendering it on first use.
+     */
+    public Shape shape(int mask) {
+        Shape shape = shapes.get(mask);
+        if (shape == null) {
+            // Rendering is idempotent, so a lost race only costs one extra render
+            shape = render(mask);
+            shapes.compareAndSet(mask, null, shape);
+        }
+        return shape;
+    }
+
+    /**
+     * Resolves the shape for an unrestricted request and the values to bind to its parameters.
+     */
+    public BoundQuery bind(C criteria) {
+        return bind(criteria, DocumentVisibility.unrestricted());
+    }
+
+    /**
+     * Resolves the shape for a request seen by the given viewer and the values to bind.
+     */
+    public BoundQuery bind(C criteria, DocumentVisibility visibility) {
+        int mask = maskOf(criteria);
+        if (visibility.isRestricted()) {
+            if (visibilityPredicate == null) {
+                throw new IllegalStateException(entityType.getSimpleName() + " filter has no visibility predicate");
+            }
+            mask |= visibilityBit;
+        }
+        Shape shape = shape(mask);
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        for (int i = 0; i < clauses.size(); i++) {
+            Clause<C> clause = clauses.get(i);
+            Object value = clause.extractor().apply(criteria);
+            if (value != null) {
+                parameters.put(clause.parameter(), clause.binder().apply(value));
+            }
+        }
+        if (visibility.isRestricted()) {
+            parameters.put(DocumentVisibility.VIEWER_PARAMETER, visibility.getViewerId());
+        }
+        return new BoundQuery(shape, parameters);
+    }
+
+    private Shape render(int mask) {
+        List<String> predicates = new ArrayList<>();
+        for (int i = 0; i < clauses.size(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                predicates.add(clauses.get(i).predicate());
+            }
+        }
+        if ((mask & visibilityBit) != 0) {
+            predicates.add(visibilityPredicate);
+        }
+        String where = predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+
+        return new Shape(mask,
+                selectFrom + where,
+                countFrom + where,
+                totalsFrom + where + " GROUP BY " + alias + ".currency ORDER BY " + alias + ".currency");
+    }
+
+    /**
+     * Rendered JPQL for one combination of present criteria.
+     * selectJpql has no ORDER BY; callers append the requested sort.
+     */
+    public record Shape(int mask, String selectJpql, String countJpql, String totalsJpql) {
+    }
+
+    /**
+     * A shape plus the named parameter values for one request.
+     */
+    public record BoundQuery(Shape shape, Map<String, Object> parameters) {
+    }
+
+    private record Clause<C>(String parameter, String predicate,
+                             Function<C, ?> extractor, Function<Object, Object> binder) {
+    }
+
+    public static final class Builder<C> {
+
+        private final Class<?> entityType;
+        private final String alias;
+        private final List<String> fetchPaths = new ArrayList<>();
+        private final List<Clause<C>> clauses = new ArrayList<>();
+        private String visibilityPredicate;
+
+        private Builder(Class<?> entityType, String alias) {
+            this.entityType = entityType;
+            this.alias = alias;
+        }
+
+        /**
+         * Fetches a to-one association path (e.g. "employee.user") with the results.
+         * Parent paths must be fetched first.
+         */
+        public Builder<C> fetch(String path) {
+            fetchPaths.add(path);
+            return this;
+        }
+
+        public Builder<C> equal(String attribute, Function<C, ?> extractor) {
+            return clause(attribute, "=", extractor, Function.identity());
+        }
+
+        public Builder<C> greaterThanOrEqual(String attribute, Function<C, ?> extractor) {
+            return clause(attribute, ">=", extractor, Function.identity());
+        }
+
+        public Builder<C> lessThanOrEqual(String attribute, Function<C, ?> extractor) {
+            return clause(attribute, "<=", extractor, Function.identity());
+        }
+
+        /**
+         * Case-insensitive substring match, bound as {@code %value%} in lower case.
+         */
+        public Builder<C> containsIgnoreCase(String attribute, Function<C, String> extractor) {
+            String parameter = "p" + clauses.size();
+            clauses.add(new Clause<>(parameter,
+                    "LOWER(" + alias + "." + attribute + ") LIKE :" + parameter,
+                    extractor,
+                    value -> "%" + value.toString().toLowerCase() + "%"));
+            return this;
+        }
+
+        /**
+         * JPQL predicate on {@code :viewerId} applied when the viewer is restricted
+         * (see {@link DocumentVisibility}).
+         */
+        public Builder<C> visibility(String predicate) {
+            this.visibilityPredicate = predicate;
+            return this;
+        }
+
+        public FilterQueryTemplate<C> build() {
+            int bits = clauses.size() + (visibilityPredicate == null ? 0 : 1);
+            if (bits > MAX_CLAUSES) {
+                throw new IllegalStateException("At most " + MAX_CLAUSES + " filter clauses are supported");
+            }
+            return new FilterQueryTemplate<>(this);
+        }
+
+        private Builder<C> clause(String attribute, String operator, Function<C, ?> extractor,
+                                  Function<Object, Object> binder) {
+            String parameter = "p" + clauses.size();
+            clauses.add(new Clause<>(parameter,
+                    alias + "." + attribute + " " + operator + " :" + parameter,
+                    extractor,
+                    binder));
+            return this;
+        }
+
+        private String renderFetches() {
+            StringBuilder joins = new StringBuilder();
+            Map<String, String> aliases = new LinkedHashMap<>();
+            aliases.put("", alias);
+
+            for (String path : fetchPaths) {
+                int dot = path.lastIndexOf('.');
+                String parent = dot < 0 ? "" : path.substring(0, dot);
+                String parentAlias = aliases.get(parent);
+                if (parentAlias == null) {
+                    throw new IllegalStateException("Fetch parent '" + parent + "' must be declared before '" + path + "'");
+                }
+                String joinAlias = alias + "_f" + aliases.size();
+                joins.append(" LEFT JOIN FETCH ").append(parentAlias).append('.')
+                        .append(path.substring(dot + 1)).append(' ').append(joinAlias);
+                aliases.put(path, joinAlias);
+            }
+            return joins.toString();
+        }
+    }
+}
@@ -10,6 +10,50 @@ import java.util.List;
 
 public class InvoiceInSpecification {
 
+    /**
+     * Listing sorts served by an index, per filter (see V3, V12 and V16): vendor_id composites
+     * for a vendor, documents (status, created_at, id) for a status, single-column indexes
+     * otherwise.
+     */
+    public static final SortWhitelist SORT = SortWhitelist.of("createdAt", "invoiceDate", "dueDate", "invoiceNo", "total")
+            .filteredBy("vendorId", "invoiceDate", "dueDate", "invoiceNo")
+            .filteredBy("status", "createdAt");
+
+    /**
+     * Rows a restricted viewer may read, on {@code :viewerId} (see {@link DocumentVisibility}).
+     * Incoming invoices: owner, owner's manager or approver of the matched purchase order.
+     */
+    public static final String VISIBLE_TO_VIEWER = "(i.ownerUser.id = :viewerId"
+            + " OR i.ownerUser.id IN (SELECT emp.user.id FROM Employee emp WHERE emp.manager.id = :viewerId)"
+            + " OR i.purchaseOrder.id IN (SELECT po.id FROM PurchaseOrderHeader po WHERE po.approver.id = :viewerId))";
+
+    /**
+     * {@link #VISIBLE_TO_VIEWER} in SQL, for native queries that alias the invoice table
+     * {@code x} and its documents row {@code xd}.
+     */
+    public static final String VISIBLE_TO_VIEWER_SQL = "(xd.owner_user_id = :viewerId"
+            + " OR xd.owner_user_id IN (SELECT emp.user_id FROM employees emp WHERE emp.manager_user_id = :viewerId)"
+            + " OR x.po_header_id IN (SELECT po.id FROM po_headers po WHERE po.approver_user_id = :viewerId))";
+
+    /**
+     * Precompiled equivalent of {@link #withFilters}: same predicates and bound values,
+     * rendered once per combination of present criteria.
+     */
+    public static final FilterQueryTemplate<InvoiceFilterCriteria> TEMPLATE =
+            FilterQueryTemplate.<InvoiceFilterCriteria>builder(InvoiceIn.class, "i")
+                    .fetch("vendor")
+                    .fetch("ownerUser")
+                    .equal("status", InvoiceFilterCriteria::getStatus)
+                    .equal("vendor.id", InvoiceFilterCriteria::getVendorId)
+                    .greaterThanOrEqual("invoiceDate", InvoiceFilterCriteria::getDateFrom)
+                    .lessThanOrEqual("invoiceDate", InvoiceFilterCriteria::getDateTo)
+                    .greaterThanOrEqual("total", InvoiceFilterCriteria::getAmountMin)
+                    .lessThanOrEqual("total", InvoiceFilterCriteria::getAmountMax)
+                    .equal("currency", InvoiceFilterCriteria::getCurrency)
+                    .containsIgnoreCase("invoiceNo", InvoiceFilterCriteria::getInvoiceNo)
+                    .visibility(VISIBLE_TO_VIEWER)
+                    .build();
+
     public static Specification<InvoiceIn> withFilters(InvoiceFilterCriteria criteria) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -55,4 +99,19 @@ public class InvoiceInSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Criteria form of {@link #VISIBLE_TO_VIEWER}; matches everything when unrestricted.
+     */
+    public static Specification<InvoiceIn> visibleTo(DocumentVisibility visibility) {
+        return (root, query, criteriaBuilder) -> {
+            if (!visibility.isRestricted()) {
+                return null;
+            }
+            return criteriaBuilder.or(
+                    visibility.ownedBy(root, criteriaBuilder),
+                    visibility.ownerManagedBy(root, query, criteriaBuilder),
+                    visibility.purchaseOrderApprovedBy(root, query, criteriaBuilder));
+        };
+    }
 }
@@ -10,6 +10,48 @@ import java.util.List;
 
 public class InvoiceOutSpecification {
 
+    /**
+     * Listing sorts served by an index, per filter (see V3 and V12): client_id composites for
+     * a client, documents (status, created_at, id) for a status, single-column indexes
+     * otherwise.
+     */
+    public static final SortWhitelist SORT = SortWhitelist.of("createdAt", "invoiceDate", "dueDate", "invoiceNo", "total")
+            .filteredBy("clientId", "invoiceDate", "dueDate")
+            .filteredBy("status", "createdAt");
+
+    /**
+     * Rows a restricted viewer may read, on {@code :viewerId} (see {@link DocumentVisibility}).
+     * Outgoing invoices: owner or owner's manager.
+     */
+    public static final String VISIBLE_TO_VIEWER = "(i.ownerUser.id = :viewerId"
+            + " OR i.ownerUser.id IN (SELECT emp.user.id FROM Employee emp WHERE emp.manager.id = :viewerId))";
+
+    /**
+     * {@link #VISIBLE_TO_VIEWER} in SQL, for native queries that alias the documents row
+     * of the invoice {@code xd}.
+     */
+    public static final String VISIBLE_TO_VIEWER_SQL = "(xd.owner_user_id = :viewerId"
+            + " OR xd.owner_user_id IN (SELECT emp.user_id FROM employees emp WHERE emp.manager_user_id = :viewerId))";
+
+    /**
+     * Precompiled equivalent of {@link #withFilters}: same predicates and bound values,
+     * rendered once per combination of present criteria.
+     */
+    public static final FilterQueryTemplate<InvoiceFilterCriteria> TEMPLATE =
+            FilterQueryTemplate.<InvoiceFilterCriteria>builder(InvoiceOut.class, "i")
+                    .fetch("client")
+                    .fetch("ownerUser")
+                    .equal("status", InvoiceFilterCriteria::getStatus)
+                    .equal("client.id", InvoiceFilterCriteria::getClientId)
+                    .greaterThanOrEqual("invoiceDate", InvoiceFilterCriteria::getDateFrom)
+                    .lessThanOrEqual("invoiceDate", InvoiceFilterCriteria::getDateTo)
+                    .greaterThanOrEqual("total", InvoiceFilterCriteria::getAmountMin)
+                    .lessThanOrEqual("total", InvoiceFilterCriteria::getAmountMax)
+                    .equal("currency", InvoiceFilterCriteria::getCurrency)
+                    .containsIgnoreCase("invoiceNo", InvoiceFilterCriteria::getInvoiceNo)
+                    .visibility(VISIBLE_TO_VIEWER)
+                    .build();
+
     public static Specification<InvoiceOut> withFilters(InvoiceFilterCriteria criteria) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -55,4 +97,18 @@ public class InvoiceOutSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Criteria form of {@link #VISIBLE_TO_VIEWER}; matches everything when unrestricted.
+     */
+    public static Specification<InvoiceOut> visibleTo(DocumentVisibility visibility) {
+        return (root, query, criteriaBuilder) -> {
+            if (!visibility.isRestricted()) {
+                return null;
+            }
+            return criteriaBuilder.or(
+                    visibility.ownedBy(root, criteriaBuilder),
+                    visibility.ownerManagedBy(root, query, criteriaBuilder));
+        };
+    }
 }
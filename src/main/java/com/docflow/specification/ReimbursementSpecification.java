@@ -10,6 +10,40 @@ import java.util.List;
 
 public class ReimbursementSpecification {
 
+    /**
+     * Listing sorts served by an index, per filter (see V3 and V12).
+     */
+    public static final SortWhitelist SORT = SortWhitelist.of("createdAt", "requestedDate")
+            .filteredBy("employeeId", "requestedDate")
+            .filteredBy("status", "createdAt");
+
+    /**
+     * Rows a restricted viewer may read, on {@code :viewerId} (see {@link DocumentVisibility}).
+     * Reimbursements: owner, the reimbursed employee or that employee's manager.
+     */
+    public static final String VISIBLE_TO_VIEWER = "(r.ownerUser.id = :viewerId"
+            + " OR r.employee.user.id = :viewerId"
+            + " OR r.employee.manager.id = :viewerId)";
+
+    /**
+     * Precompiled equivalent of {@link #withFilters}: same predicates and bound values,
+     * rendered once per combination of present criteria.
+     */
+    public static final FilterQueryTemplate<ReimbursementFilterCriteria> TEMPLATE =
+            FilterQueryTemplate.<ReimbursementFilterCriteria>builder(Reimbursement.class, "r")
+                    .fetch("employee")
+                    .fetch("employee.user")
+                    .fetch("ownerUser")
+                    .equal("status", ReimbursementFilterCriteria::getStatus)
+                    .equal("employee.id", ReimbursementFilterCriteria::getEmployeeId)
+                    .greaterThanOrEqual("requestedDate", ReimbursementFilterCriteria::getRequestedDateFrom)
+                    .lessThanOrEqual("requestedDate", ReimbursementFilterCriteria::getRequestedDateTo)
+                    .greaterThanOrEqual("total", ReimbursementFilterCriteria::getAmountMin)
+                    .lessThanOrEqual("total", ReimbursementFilterCriteria::getAmountMax)
+                    .equal("currency", ReimbursementFilterCriteria::getCurrency)
+                    .visibility(VISIBLE_TO_VIEWER)
+                    .build();
+
     public static Specification<Reimbursement> withFilters(ReimbursementFilterCriteria criteria) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -49,4 +83,19 @@ public class ReimbursementSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Criteria form of {@link #VISIBLE_TO_VIEWER}; matches everything when unrestricted.
+     */
+    public static Specification<Reimbursement> visibleTo(DocumentVisibility visibility) {
+        return (root, query, criteriaBuilder) -> {
+            if (!visibility.isRestricted()) {
+                return null;
+            }
+            return criteriaBuilder.or(
+                    visibility.ownedBy(root, criteriaBuilder),
+                    visibility.employeeIs(root, criteriaBuilder),
+                    visibility.employeeManagedBy(root, criteriaBuilder));
+        };
+    }
 }
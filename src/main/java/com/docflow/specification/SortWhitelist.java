@@ -0,0 +1,93 @@
+package com.docflow.specification;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Sortable fields of a document listing, per filter.
+ *
+ * Only (filter, sort) combinations backed by one index are accepted, so a user-supplied
+ * sort can never turn a paged listing into a filesort over the whole filtered set. An
+ * indexed filter narrows the sorts to those its composite index serves (vendorId with
+ * invoiceDate reads (vendor_id, invoice_date, id)); filters registered first take
+ * precedence, and other predicates are applied to the rows read in index order. Without
+ * an explicit sort, the first sort of the applicable filter is used.
+ *
+ * Every sort gets {@code id} as a tie-breaker in the same direction: the composite
+ * indexes end in id, so the index order matches the ORDER BY exactly and pages are stable
+ * when sort values repeat.
+ */
+public final class SortWhitelist {
+
+    private static final String TIE_BREAKER = "id";
+
+    private final List<String> fields;
+    private final Map<String, List<String>> filteredFields;
+
+    private SortWhitelist(List<String> fields, Map<String, List<String>> filteredFields) {
+        this.fields = fields;
+        this.filteredFields = filteredFields;
+    }
+
+    /**
+     * @param fields Sorts served without an indexed filter; the first is the default
+     */
+    public static SortWhitelist of(String... fields) {
+        return new SortWhitelist(List.of(fields), Map.of());
+    }
+
+    /**
+     * Returns a copy that allows only the given sorts while {@code filter} is set.
+     *
+     * @param filter Name of the filter, as passed to {@link #toSort}
+     * @param fields Sorts served by the filter's composite indexes; the first is the default
+     */
+    public SortWhitelist filteredBy(String filter, String... fields) {
+        Map<String, List<String>> next = new LinkedHashMap<>(filteredFields);
+        next.put(filter, List.of(fields));
+        return new SortWhitelist(this.fields, next);
+    }
+
+    /**
+     * @param activeFilters Names of the filters set on the request; null entries are ignored
+     * @return Sorts allowed with these filters, the default first
+     */
+    public List<String> getFields(String... activeFilters) {
+        List<String> active = Arrays.stream(activeFilters).filter(Objects::nonNull).toList();
+        return filteredFields.entrySet().stream()
+                .filter(entry -> active.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(fields);
+    }
+
+    /**
+     * Builds the sort for a listing request.
+     *
+     * @param sortBy Requested field, null for the default of the filters; must be allowed with them
+     * @param sortDir ASC or DESC (anything else sorts descending)
+     * @param activeFilters Names of the filters set on the request; null entries are ignored
+     * @return Sort on the field followed by the id tie-breaker
+     * @throws IllegalArgumentException if the field is not sortable with these filters
+     */
+    public Sort toSort(String sortBy, String sortDir, String... activeFilters) {
+        List<String> allowed = getFields(activeFilters);
+        String field = sortBy != null ? sortBy : allowed.get(0);
+        if (!allowed.contains(field)) {
+            List<String> active = Arrays.stream(activeFilters).filter(Objects::nonNull).toList();
+            throw new IllegalArgumentException("Cannot sort by '" + field + "'"
+                    + (active.isEmpty() ? "" : " when filtering by " + String.join(", ", active))
+                    + ". Sortable fields: " + allowed);
+        }
+        Sort.Direction direction = "ASC".equalsIgnoreCase(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        if (TIE_BREAKER.equals(field)) {
+            return Sort.by(direction, TIE_BREAKER);
+        }
+        return Sort.by(direction, field, TIE_BREAKER);
+    }
+}
@@ -0,0 +1,14 @@
+-- ============================================
+-- DOCFLOW SEARCH INDEXES
+-- n-gram FULLTEXT indexes for substring search on invoice numbers
+-- and counterparty names. Exact and prefix matches keep using the
+-- existing B-tree indexes (case-insensitive collation).
+-- ============================================
+
+ALTER TABLE invoice_in ADD FULLTEXT INDEX ft_invoice_in_invoice_no (invoice_no) WITH PARSER ngram;
+
+ALTER TABLE invoice_out ADD FULLTEXT INDEX ft_invoice_out_invoice_no (invoice_no) WITH PARSER ngram;
+
+ALTER TABLE vendors ADD FULLTEXT INDEX ft_vendors_name (name) WITH PARSER ngram;
+
+ALTER TABLE clients ADD FULLTEXT INDEX ft_clients_name (name) WITH PARSER ngram;
@@ -0,0 +1,30 @@
+-- ============================================
+-- DOCFLOW DASHBOARD SUMMARY
+-- Counts and totals per document type, status and currency,
+-- maintained in the same transaction as document writes
+-- ============================================
+
+CREATE TABLE document_summary (
+    doc_type VARCHAR(50) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    doc_count BIGINT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (doc_type, status, currency)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Backfill from existing documents
+INSERT INTO document_summary (doc_type, status, currency, doc_count, total_amount)
+SELECT d.doc_type, d.status, t.currency, COUNT(*), SUM(t.total)
+FROM documents d
+JOIN (
+    SELECT id, currency, total FROM invoice_in
+    UNION ALL
+    SELECT id, currency, total FROM invoice_out
+    UNION ALL
+    SELECT id, currency, total FROM expense_claims
+    UNION ALL
+    SELECT id, currency, total FROM reimbursements
+) t ON t.id = d.id
+GROUP BY d.doc_type, d.status, t.currency;
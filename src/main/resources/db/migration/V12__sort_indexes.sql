@@ -0,0 +1,37 @@
+-- ============================================
+-- DOCFLOW LISTING SORT INDEXES
+-- Composite indexes matching the listing filters and the
+-- whitelisted sort fields, each ending in id (the tie-breaker),
+-- so a filtered page is read in index order without a filesort.
+-- Single-column indexes that are now a prefix of a composite
+-- are dropped; the composite also serves their foreign keys.
+-- ============================================
+
+-- status filter, createdAt sort
+ALTER TABLE documents
+    ADD INDEX idx_documents_status_created (status, created_at, id),
+    DROP INDEX idx_documents_status;
+
+-- vendorId filter, invoiceDate / dueDate sort; unfiltered total sort
+ALTER TABLE invoice_in
+    ADD INDEX idx_invoice_in_vendor_date (vendor_id, invoice_date, id),
+    ADD INDEX idx_invoice_in_vendor_due (vendor_id, due_date, id),
+    ADD INDEX idx_invoice_in_total (total, id),
+    DROP INDEX idx_invoice_in_vendor;
+
+-- clientId filter, invoiceDate / dueDate sort; unfiltered total sort
+ALTER TABLE invoice_out
+    ADD INDEX idx_invoice_out_client_date (client_id, invoice_date, id),
+    ADD INDEX idx_invoice_out_client_due (client_id, due_date, id),
+    ADD INDEX idx_invoice_out_total (total, id),
+    DROP INDEX idx_invoice_out_client;
+
+-- employeeId filter, claimDate sort
+ALTER TABLE expense_claims
+    ADD INDEX idx_expense_claim_employee_date (employee_id, claim_date, id),
+    DROP INDEX idx_expense_claim_employee;
+
+-- employeeId filter, requestedDate sort
+ALTER TABLE reimbursements
+    ADD INDEX idx_reimbursement_employee_date (employee_id, requested_date, id),
+    DROP INDEX idx_reimbursement_employee;
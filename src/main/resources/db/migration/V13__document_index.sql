@@ -0,0 +1,51 @@
+-- ============================================
+-- DOCFLOW DOCUMENT INDEX
+-- One row per document across all types, so cross-type
+-- inbox listings ("my documents", "pending") are single-table
+-- index scans instead of outer joins over every subtype table.
+-- Maintained in the same transaction as document writes.
+-- ============================================
+
+CREATE TABLE document_index (
+    doc_id BIGINT PRIMARY KEY,
+    doc_type VARCHAR(50) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    owner_user_id BIGINT NOT NULL,
+    counterparty_name VARCHAR(255) NULL COMMENT 'Vendor, client or employee name',
+    doc_number VARCHAR(100) NULL COMMENT 'Invoice number; NULL for claims and reimbursements',
+    doc_date DATE NOT NULL,
+    amount DECIMAL(15, 2) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_document_index_document FOREIGN KEY (doc_id) REFERENCES documents(id) ON DELETE CASCADE,
+    INDEX idx_document_index_owner (owner_user_id, created_at, doc_id),
+    INDEX idx_document_index_status (status, created_at, doc_id),
+    INDEX idx_document_index_created (created_at, doc_id),
+    INDEX idx_document_index_number (doc_number),
+    INDEX idx_document_index_counterparty (counterparty_name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Backfill existing documents
+INSERT INTO document_index (doc_id, doc_type, status, owner_user_id, counterparty_name, doc_number,
+                            doc_date, amount, currency, created_at)
+SELECT d.id, d.doc_type, d.status, d.owner_user_id, v.name, i.invoice_no, i.invoice_date, i.total, i.currency, d.created_at
+FROM documents d
+JOIN invoice_in i ON i.id = d.id
+JOIN vendors v ON v.id = i.vendor_id
+UNION ALL
+SELECT d.id, d.doc_type, d.status, d.owner_user_id, c.name, o.invoice_no, o.invoice_date, o.total, o.currency, d.created_at
+FROM documents d
+JOIN invoice_out o ON o.id = d.id
+JOIN clients c ON c.id = o.client_id
+UNION ALL
+SELECT d.id, d.doc_type, d.status, d.owner_user_id, u.name, NULL, e.claim_date, e.total, e.currency, d.created_at
+FROM documents d
+JOIN expense_claims e ON e.id = d.id
+JOIN employees emp ON emp.id = e.employee_id
+JOIN users u ON u.id = emp.user_id
+UNION ALL
+SELECT d.id, d.doc_type, d.status, d.owner_user_id, u.name, NULL, r.requested_date, r.total, r.currency, d.created_at
+FROM documents d
+JOIN reimbursements r ON r.id = d.id
+JOIN employees emp ON emp.id = r.employee_id
+JOIN users u ON u.id = emp.user_id;
@@ -0,0 +1,19 @@
+-- ============================================
+-- DOCFLOW DOCUMENT VISIBILITY INDEXES
+-- Support the row-level visibility predicates folded into
+-- listing and lookup queries (see DocumentVisibility):
+-- owner listings read documents in index order, and the
+-- "reports of this manager" subquery is answered from the
+-- index alone. PO approver and invoice PO lookups are already
+-- indexed (V7).
+-- ============================================
+
+-- ownerUser filter, createdAt sort
+ALTER TABLE documents
+    ADD INDEX idx_documents_owner_created (owner_user_id, created_at, id),
+    DROP INDEX idx_documents_owner;
+
+-- manager -> reports' user ids, covering
+ALTER TABLE employees
+    ADD INDEX idx_employees_manager_user (manager_user_id, user_id),
+    DROP INDEX idx_employees_manager;
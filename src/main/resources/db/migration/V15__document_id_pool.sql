@@ -0,0 +1,14 @@
+-- ============================================
+-- DOCFLOW DOCUMENT ID POOL
+-- Document ids come from a pooled sequence instead of
+-- AUTO_INCREMENT, so inserts can be batched. MySQL has no
+-- sequences; Hibernate keeps the next value in this table and
+-- hands out blocks of 100 ids per read. Starts past existing ids.
+-- ============================================
+
+CREATE TABLE document_id_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO document_id_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 100 FROM documents;
@@ -0,0 +1,22 @@
+-- ============================================
+-- DOCFLOW INVOICE DUPLICATE KEYS
+-- Invoice numbers are unique per vendor, enforced by the
+-- database rather than a check-then-insert in the service.
+-- invoice_no_key holds the number reduced to upper-case letters
+-- and digits (INV-001 / inv 001 -> INV001), indexed per vendor
+-- for the suspected-duplicate lookup. The application keeps it
+-- in sync on insert and update.
+-- ============================================
+
+ALTER TABLE invoice_in
+    ADD COLUMN invoice_no_key VARCHAR(100) NULL AFTER invoice_no;
+
+UPDATE invoice_in
+SET invoice_no_key = UPPER(REGEXP_REPLACE(invoice_no, '[^[:alnum:]]', ''));
+
+-- Fails if a vendor already has two invoices with the same number;
+-- those must be renumbered or removed before upgrading.
+ALTER TABLE invoice_in
+    MODIFY COLUMN invoice_no_key VARCHAR(100) NOT NULL,
+    ADD CONSTRAINT uk_invoice_in_vendor_invoice_no UNIQUE (vendor_id, invoice_no),
+    ADD INDEX idx_invoice_in_vendor_no_key (vendor_id, invoice_no_key);
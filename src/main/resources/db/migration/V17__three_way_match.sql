@@ -0,0 +1,60 @@
+-- ============================================
+-- DOCFLOW THREE-WAY MATCH
+-- Purchase order and goods receipt lines, and the latest
+-- match result of each incoming invoice against them.
+-- ============================================
+
+-- Ordered quantities and net unit prices
+CREATE TABLE po_lines (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    po_header_id BIGINT NOT NULL,
+    line_no INT NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    quantity DECIMAL(15, 3) NOT NULL,
+    unit_price DECIMAL(15, 4) NOT NULL,
+    CONSTRAINT fk_po_lines_header FOREIGN KEY (po_header_id) REFERENCES po_headers(id) ON DELETE CASCADE,
+    CONSTRAINT uk_po_lines_header_line UNIQUE (po_header_id, line_no)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Received quantities, each against the purchase order line it fulfils
+CREATE TABLE grn_lines (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    grn_header_id BIGINT NOT NULL,
+    po_line_id BIGINT NOT NULL,
+    quantity_received DECIMAL(15, 3) NOT NULL,
+    CONSTRAINT fk_grn_lines_header FOREIGN KEY (grn_header_id) REFERENCES grn_headers(id) ON DELETE CASCADE,
+    CONSTRAINT fk_grn_lines_po_line FOREIGN KEY (po_line_id) REFERENCES po_lines(id),
+    INDEX idx_grn_lines_header (grn_header_id),
+    INDEX idx_grn_lines_po_line (po_line_id, quantity_received)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- One row per matched invoice, replaced on every match run
+CREATE TABLE invoice_matches (
+    invoice_id BIGINT PRIMARY KEY,
+    po_header_id BIGINT NULL,
+    status VARCHAR(30) NOT NULL,
+    invoiced_amount DECIMAL(15, 2) NOT NULL,
+    ordered_amount DECIMAL(15, 2) NULL,
+    received_amount DECIMAL(15, 2) NULL,
+    variance_amount DECIMAL(15, 2) NULL,
+    matched_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_invoice_matches_invoice FOREIGN KEY (invoice_id) REFERENCES invoice_in(id) ON DELETE CASCADE,
+    CONSTRAINT fk_invoice_matches_po FOREIGN KEY (po_header_id) REFERENCES po_headers(id),
+    INDEX idx_invoice_matches_po (po_header_id, invoiced_amount),
+    INDEX idx_invoice_matches_status (status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Development data: lines for the seeded purchase orders; PO-2024-001 fully received
+INSERT INTO po_lines (po_header_id, line_no, description, quantity, unit_price)
+SELECT id, 1, 'Office chairs', 20, 150.0000 FROM po_headers WHERE po_no = 'PO-2024-001'
+UNION ALL
+SELECT id, 2, 'Standing desks', 10, 150.0000 FROM po_headers WHERE po_no = 'PO-2024-001'
+UNION ALL
+SELECT id, 1, 'Laptops', 8, 1500.0000 FROM po_headers WHERE po_no = 'PO-2024-002';
+
+INSERT INTO grn_lines (grn_header_id, po_line_id, quantity_received)
+SELECT g.id, l.id, l.quantity
+FROM grn_headers g
+JOIN po_headers p ON p.po_no = 'PO-2024-001'
+JOIN po_lines l ON l.po_header_id = p.id
+WHERE g.grn_no = 'GRN-2024-001';
@@ -0,0 +1,42 @@
+-- ============================================
+-- DOCFLOW PAYMENT RUNS
+-- Batch settlement of approved incoming invoices,
+-- resumable from the last committed chunk.
+-- ============================================
+
+CREATE TABLE payment_runs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    status VARCHAR(20) NOT NULL COMMENT 'RUNNING, COMPLETED, FAILED',
+    due_before DATE NOT NULL COMMENT 'Pays invoices due on or before this date',
+    vendor_id BIGINT NULL COMMENT 'Only this vendor when set',
+    method VARCHAR(20) NOT NULL,
+    paid_at TIMESTAMP NOT NULL,
+    note TEXT NULL,
+    created_by_user_id BIGINT NOT NULL,
+    -- Position of the last committed invoice in (vendor_id, invoice id) order
+    last_vendor_id BIGINT NULL,
+    last_invoice_id BIGINT NULL,
+    invoice_count BIGINT NOT NULL DEFAULT 0,
+    vendor_count BIGINT NOT NULL DEFAULT 0,
+    last_error TEXT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP NULL,
+    CONSTRAINT fk_payment_runs_vendor FOREIGN KEY (vendor_id) REFERENCES vendors(id),
+    CONSTRAINT fk_payment_runs_user FOREIGN KEY (created_by_user_id) REFERENCES users(id),
+    INDEX idx_payment_runs_created (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Paid count and amount per currency, added to as chunks commit
+CREATE TABLE payment_run_totals (
+    payment_run_id BIGINT NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    invoice_count BIGINT NOT NULL,
+    total_amount DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (payment_run_id, currency),
+    CONSTRAINT fk_payment_run_totals_run FOREIGN KEY (payment_run_id) REFERENCES payment_runs(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+ALTER TABLE payments
+    ADD COLUMN payment_run_id BIGINT NULL,
+    ADD CONSTRAINT fk_payment_run FOREIGN KEY (payment_run_id) REFERENCES payment_runs(id),
+    ADD INDEX idx_payment_run (payment_run_id);
@@ -0,0 +1,9 @@
+-- ============================================
+-- DOCFLOW VENDOR BANK ACCOUNTS
+-- Creditor account of outgoing credit transfers
+-- (pain.001 payment files).
+-- ============================================
+
+ALTER TABLE vendors
+    ADD COLUMN iban VARCHAR(34) NULL COMMENT 'Account for credit transfers, upper case without spaces',
+    ADD COLUMN bic VARCHAR(11) NULL COMMENT 'Bank of the account, optional';
@@ -0,0 +1,49 @@
+-- ============================================
+-- DOCFLOW BANK STATEMENTS
+-- camt.053 statement imports: credits matched to approved
+-- outgoing invoices, the rest queued for review.
+-- ============================================
+
+CREATE TABLE bank_statements (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    message_id VARCHAR(35) NOT NULL COMMENT 'GrpHdr/MsgId; a statement is imported once',
+    statement_id VARCHAR(35) NULL COMMENT 'Id of the first Stmt',
+    account_iban VARCHAR(34) NULL,
+    entry_count BIGINT NOT NULL DEFAULT 0,
+    matched_count BIGINT NOT NULL DEFAULT 0,
+    review_count BIGINT NOT NULL DEFAULT 0,
+    skipped_count BIGINT NOT NULL DEFAULT 0 COMMENT 'Debits and entries not booked',
+    imported_by_user_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_bank_statements_message UNIQUE (message_id),
+    CONSTRAINT fk_bank_statements_user FOREIGN KEY (imported_by_user_id) REFERENCES users(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Credits that could not be matched to exactly one open invoice
+CREATE TABLE statement_review_items (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    bank_statement_id BIGINT NOT NULL,
+    entry_reference VARCHAR(35) NULL,
+    booking_date DATE NULL,
+    amount DECIMAL(15, 2) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    debtor_name VARCHAR(140) NULL,
+    remittance_information VARCHAR(500) NULL,
+    reason VARCHAR(20) NOT NULL COMMENT 'NO_MATCH, AMBIGUOUS, AMOUNT_MISMATCH, ALREADY_PAID',
+    suggested_doc_id BIGINT NULL COMMENT 'Invoice the entry refers to, when there is one',
+    status VARCHAR(20) NOT NULL DEFAULT 'OPEN' COMMENT 'OPEN, RESOLVED, DISMISSED',
+    resolved_doc_id BIGINT NULL,
+    resolved_by_user_id BIGINT NULL,
+    resolved_at TIMESTAMP NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_review_items_statement FOREIGN KEY (bank_statement_id) REFERENCES bank_statements(id),
+    CONSTRAINT fk_review_items_suggested FOREIGN KEY (suggested_doc_id) REFERENCES documents(id),
+    CONSTRAINT fk_review_items_resolved FOREIGN KEY (resolved_doc_id) REFERENCES documents(id),
+    CONSTRAINT fk_review_items_user FOREIGN KEY (resolved_by_user_id) REFERENCES users(id),
+    INDEX idx_review_items_status (status, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+ALTER TABLE payments
+    ADD COLUMN bank_statement_id BIGINT NULL,
+    ADD CONSTRAINT fk_payment_bank_statement FOREIGN KEY (bank_statement_id) REFERENCES bank_statements(id),
+    ADD INDEX idx_payment_bank_statement (bank_statement_id);
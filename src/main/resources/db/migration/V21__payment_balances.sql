@@ -0,0 +1,25 @@
+-- ============================================
+-- DOCFLOW PAYMENT BALANCES
+-- Amount paid and outstanding balance on payable
+-- documents, for partial payments.
+-- ============================================
+
+-- amount_paid is only ever incremented in place (amount_paid = amount_paid + ?), so
+-- concurrent payments cannot overwrite each other; outstanding follows total and
+-- amount_paid in the same row write
+ALTER TABLE invoice_in
+    ADD COLUMN amount_paid DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    ADD COLUMN outstanding DECIMAL(15, 2) AS (total - amount_paid) STORED;
+
+ALTER TABLE invoice_out
+    ADD COLUMN amount_paid DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    ADD COLUMN outstanding DECIMAL(15, 2) AS (total - amount_paid) STORED;
+
+ALTER TABLE reimbursements
+    ADD COLUMN amount_paid DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    ADD COLUMN outstanding DECIMAL(15, 2) AS (total - amount_paid) STORED;
+
+-- Documents paid before partial payments were settled in full
+UPDATE invoice_in i JOIN documents d ON d.id = i.id SET i.amount_paid = i.total WHERE d.status = 'PAID';
+UPDATE invoice_out o JOIN documents d ON d.id = o.id SET o.amount_paid = o.total WHERE d.status = 'PAID';
+UPDATE reimbursements r JOIN documents d ON d.id = r.id SET r.amount_paid = r.total WHERE d.status = 'PAID';
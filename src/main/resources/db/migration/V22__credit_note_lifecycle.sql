@@ -0,0 +1,62 @@
+-- ============================================
+-- DOCFLOW CREDIT NOTE LIFECYCLE
+-- Credit notes issued to a vendor or client and
+-- applied later against one of its invoices;
+-- credited amount on invoices.
+-- ============================================
+
+-- A credit note is OPEN until applied against an invoice (related_doc_id)
+ALTER TABLE credit_notes
+    MODIFY COLUMN related_doc_id BIGINT NULL,
+    ADD COLUMN vendor_id BIGINT NULL AFTER related_doc_id,
+    ADD COLUMN client_id BIGINT NULL AFTER vendor_id,
+    ADD COLUMN currency VARCHAR(3) NULL AFTER direction,
+    ADD COLUMN reference VARCHAR(100) NULL AFTER amount,
+    ADD COLUMN status VARCHAR(20) NOT NULL DEFAULT 'OPEN' COMMENT 'OPEN, APPLIED' AFTER issued_at,
+    ADD COLUMN applied_at TIMESTAMP NULL AFTER status,
+    ADD COLUMN applied_by_user_id BIGINT NULL AFTER applied_at,
+    ADD COLUMN created_by_user_id BIGINT NULL AFTER applied_by_user_id,
+    ADD CONSTRAINT fk_credit_note_vendor FOREIGN KEY (vendor_id) REFERENCES vendors(id),
+    ADD CONSTRAINT fk_credit_note_client FOREIGN KEY (client_id) REFERENCES clients(id),
+    ADD CONSTRAINT fk_credit_note_applied_by FOREIGN KEY (applied_by_user_id) REFERENCES users(id),
+    ADD CONSTRAINT fk_credit_note_created_by FOREIGN KEY (created_by_user_id) REFERENCES users(id),
+    -- Open credit notes of a counterparty, for listing and bulk application
+    ADD INDEX idx_credit_note_vendor_status (vendor_id, status, id),
+    ADD INDEX idx_credit_note_client_status (client_id, status, id);
+
+-- Existing credit notes were recorded against their invoice
+UPDATE credit_notes cn
+    LEFT JOIN invoice_in i ON i.id = cn.related_doc_id
+    LEFT JOIN invoice_out o ON o.id = cn.related_doc_id
+SET cn.vendor_id = i.vendor_id,
+    cn.client_id = o.client_id,
+    cn.currency = COALESCE(i.currency, o.currency),
+    cn.status = 'APPLIED',
+    cn.applied_at = cn.issued_at;
+
+ALTER TABLE credit_notes
+    MODIFY COLUMN currency VARCHAR(3) NOT NULL;
+
+-- Like amount_paid, amount_credited is only ever incremented in place
+ALTER TABLE invoice_in
+    ADD COLUMN amount_credited DECIMAL(15, 2) NOT NULL DEFAULT 0 AFTER amount_paid;
+
+ALTER TABLE invoice_in
+    MODIFY COLUMN outstanding DECIMAL(15, 2) AS (total - amount_paid - amount_credited) STORED;
+
+ALTER TABLE invoice_out
+    ADD COLUMN amount_credited DECIMAL(15, 2) NOT NULL DEFAULT 0 AFTER amount_paid;
+
+ALTER TABLE invoice_out
+    MODIFY COLUMN outstanding DECIMAL(15, 2) AS (total - amount_paid - amount_credited) STORED;
+
+-- Existing credit notes count against what was still outstanding
+UPDATE invoice_in i
+    JOIN (SELECT related_doc_id, SUM(amount) AS amount FROM credit_notes GROUP BY related_doc_id) cn
+        ON cn.related_doc_id = i.id
+SET i.amount_credited = LEAST(cn.amount, i.total - i.amount_paid);
+
+UPDATE invoice_out o
+    JOIN (SELECT related_doc_id, SUM(amount) AS amount FROM credit_notes GROUP BY related_doc_id) cn
+        ON cn.related_doc_id = o.id
+SET o.amount_credited = LEAST(cn.amount, o.total - o.amount_paid);
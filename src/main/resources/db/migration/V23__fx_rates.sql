@@ -0,0 +1,16 @@
+-- ============================================
+-- DOCFLOW FX RATES
+-- Daily exchange rates against the reference
+-- currency (fx.reference-currency), imported
+-- from CSV, for reporting in a base currency.
+-- ============================================
+
+-- rate: units of the currency per one unit of the reference currency
+CREATE TABLE fx_rates (
+    currency VARCHAR(3) NOT NULL,
+    rate_date DATE NOT NULL,
+    rate DECIMAL(19, 8) NOT NULL,
+    imported_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- Loaded in (currency, rate_date) order into the in-memory rate table
+    PRIMARY KEY (currency, rate_date)
+);
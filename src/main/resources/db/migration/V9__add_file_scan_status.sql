@@ -0,0 +1,10 @@
+-- ============================================
+-- DOCFLOW FILE SCANNING
+-- Quarantine status for uploaded attachments
+-- ============================================
+
+ALTER TABLE doc_files
+    ADD COLUMN scan_status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    ADD COLUMN scanned_at TIMESTAMP NULL,
+    ADD COLUMN scan_detail VARCHAR(255) NULL,
+    ADD INDEX idx_doc_files_scan_status (scan_status, created_at);
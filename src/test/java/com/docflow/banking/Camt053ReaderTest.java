@@ -0,0 +1,186 @@
+package com.docflow.banking;
+
+import org.junit.jupiter.api.Test;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Camt053ReaderTest {
+
+    private static final String STATEMENT_02 = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <Document xmlns="urn:iso:std:iso:20022:tech:xsd:camt.053.001.02">
+              <BkToCstmrStmt>
+                <GrpHdr><MsgId>STMT-2024-12-01</MsgId><CreDtTm>2024-12-01T18:00:00</CreDtTm></GrpHdr>
+                <Stmt>
+                  <Id>STMT-1</Id>
+                  <Acct><Id><IBAN>DE89370400440532013000</IBAN></Id></Acct>
+                  <Bal><Amt Ccy="EUR">1000.00</Amt><CdtDbtInd>CRDT</CdtDbtInd></Bal>
+                  <Ntry>
+                    <NtryRef>N-1</NtryRef>
+                    <Amt Ccy="EUR">250.00</Amt>
+                    <CdtDbtInd>CRDT</CdtDbtInd>
+                    <Sts>BOOK</Sts>
+                    <BookgDt><Dt>2024-12-01</Dt></BookgDt>
+                    <AcctSvcrRef>BANK-REF-1</AcctSvcrRef>
+                    <NtryDtls><TxDtls>
+                      <Refs><EndToEndId>E2E-1</EndToEndId></Refs>
+                      <RltdPties>
+                        <Dbtr><Nm>Acme Corporation</Nm></Dbtr>
+                        <UltmtDbtr><Nm>Acme Holding</Nm></UltmtDbtr>
+                        <Cdtr><Nm>DocFlow Ltd</Nm></Cdtr>
+                      </RltdPties>
+                      <RmtInf>
+                        <Ustrd>Invoice INV-2024-001</Ustrd>
+                        <Ustrd>thank you</Ustrd>
+                      </RmtInf>
+                    </TxDtls></NtryDtls>
+                  </Ntry>
+                  <Ntry>
+                    <Amt Ccy="EUR">40.00</Amt>
+                    <CdtDbtInd>DBIT</CdtDbtInd>
+                    <Sts>PDNG</Sts>
+                    <BookgDt><DtTm>2024-12-02T10:15:00</DtTm></BookgDt>
+                  </Ntry>
+                </Stmt>
+              </BkToCstmrStmt>
+            </Document>
+            """;
+
+    @Test
+    void testEntries_ReadWithHeader() throws Exception {
+        List<StatementEntry> entries = new ArrayList<>();
+        try (Camt053Reader reader = reader(STATEMENT_02)) {
+            assertEquals("STMT-2024-12-01", reader.getMessageId());
+            assertEquals("STMT-1", reader.getStatementId());
+            assertEquals("DE89370400440532013000", reader.getAccountIban());
+            readAll(reader, entries);
+        }
+
+        assertEquals(2, entries.size());
+        StatementEntry credit = entries.get(0);
+        assertEquals("BANK-REF-1", credit.reference());
+        assertEquals(new BigDecimal("250.00"), credit.amount());
+        assertEquals("EUR", credit.currency());
+        assertTrue(credit.credit());
+        assertTrue(credit.booked());
+        assertEquals(LocalDate.of(2024, 12, 1), credit.bookingDate());
+        assertEquals("Acme Corporation", credit.debtorName());
+        assertEquals("Invoice INV-2024-001 thank you", credit.remittanceInformation());
+        assertEquals("E2E-1", credit.endToEndId());
+
+        StatementEntry debit = entries.get(1);
+        assertFalse(debit.credit());
+        assertFalse(debit.booked());
+        assertEquals(LocalDate.of(2024, 12, 2), debit.bookingDate());
+        assertNull(debit.remittanceInformation());
+    }
+
+    @Test
+    void testLaterVersion_StatusCodeAndPartyName() throws Exception {
+        StatementEntry entry = single("""
+                <Document xmlns="urn:iso:std:iso:20022:tech:xsd:camt.053.001.08">
+                  <BkToCstmrStmt>
+                    <GrpHdr><MsgId>M-8</MsgId></GrpHdr>
+                    <Stmt><Id>S-8</Id>
+                      <Ntry>
+                        <Amt Ccy="USD">99.5</Amt><CdtDbtInd>CRDT</CdtDbtInd>
+                        <Sts><Cd>BOOK</Cd></Sts>
+                        <NtryDtls><TxDtls>
+                          <RltdPties><Dbtr><Pty><Nm>Globex</Nm></Pty></Dbtr></RltdPties>
+                          <RmtInf><Strd><CdtrRefInf><Ref>RF18INV77</Ref></CdtrRefInf></Strd></RmtInf>
+                        </TxDtls></NtryDtls>
+                      </Ntry>
+                    </Stmt>
+                  </BkToCstmrStmt>
+                </Document>
+                """);
+
+        assertTrue(entry.booked());
+        assertEquals("Globex", entry.debtorName());
+        assertEquals("RF18INV77", entry.structuredReference());
+        assertEquals(new BigDecimal("99.5"), entry.amount());
+    }
+
+    @Test
+    void testBatchBooking_OneEntryPerTransaction() throws Exception {
+        String xml = """
+                <Document><BkToCstmrStmt><GrpHdr><MsgId>M-B</MsgId></GrpHdr><Stmt><Id>S</Id>
+                  <Ntry>
+                    <NtryRef>BATCH-1</NtryRef>
+                    <Amt Ccy="EUR">300.00</Amt><CdtDbtInd>CRDT</CdtDbtInd><Sts>BOOK</Sts>
+                    <NtryDtls>
+                      <TxDtls><AmtDtls><TxAmt><Amt Ccy="EUR">100.00</Amt></TxAmt></AmtDtls>
+                        <RmtInf><Ustrd>INV-1</Ustrd></RmtInf></TxDtls>
+                      <TxDtls><AmtDtls><TxAmt><Amt Ccy="EUR">200.00</Amt></TxAmt></AmtDtls>
+                        <RmtInf><Ustrd>INV-2</Ustrd></RmtInf></TxDtls>
+                    </NtryDtls>
+                  </Ntry>
+                </Stmt></BkToCstmrStmt></Document>
+                """;
+        List<StatementEntry> entries = new ArrayList<>();
+        try (Camt053Reader reader = reader(xml)) {
+            readAll(reader, entries);
+        }
+
+        assertEquals(2, entries.size());
+        assertEquals(new BigDecimal("100.00"), entries.get(0).amount());
+        assertEquals("INV-1", entries.get(0).remittanceInformation());
+        assertEquals(new BigDecimal("200.00"), entries.get(1).amount());
+        assertEquals("BATCH-1", entries.get(1).reference());
+    }
+
+    @Test
+    void testOtherDocument_Rejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> reader("<Document><CstmrCdtTrfInitn/></Document>"));
+    }
+
+    @Test
+    void testInvalidAmount_Rejected() {
+        // The first entry is read when the statement is opened
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> reader("""
+                <Document><BkToCstmrStmt><GrpHdr><MsgId>M</MsgId></GrpHdr><Stmt>
+                  <Ntry><Amt Ccy="EUR">12,50</Amt></Ntry>
+                </Stmt></BkToCstmrStmt></Document>
+                """));
+        assertTrue(e.getMessage().contains("12,50"));
+    }
+
+    @Test
+    void testExternalEntity_NotResolved() {
+        String xml = """
+                <?xml version="1.0"?>
+                <!DOCTYPE Document [<!ENTITY secret SYSTEM "file:///etc/passwd">]>
+                <Document><BkToCstmrStmt><GrpHdr><MsgId>&secret;</MsgId></GrpHdr></BkToCstmrStmt></Document>
+                """;
+
+        assertThrows(XMLStreamException.class, () -> reader(xml));
+    }
+
+    private static StatementEntry single(String xml) throws Exception {
+        try (Camt053Reader reader = reader(xml)) {
+            StatementEntry entry = reader.next();
+            assertNull(reader.next());
+            return entry;
+        }
+    }
+
+    private static void readAll(Camt053Reader reader, List<StatementEntry> entries) throws Exception {
+        StatementEntry entry;
+        while ((entry = reader.next()) != null) {
+            entries.add(entry);
+        }
+    }
+
+    private static Camt053Reader reader(String xml) throws Exception {
+        return new Camt053Reader(new ByteArrayInputStream(xml.strip().getBytes(StandardCharsets.UTF_8)));
+    }
+}
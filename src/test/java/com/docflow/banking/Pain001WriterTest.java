@@ -0,0 +1,154 @@
+package com.docflow.banking;
+
+import com.docflow.banking.Pain001Writer.CreditTransfer;
+import com.docflow.banking.Pain001Writer.Debtor;
+import com.docflow.banking.Pain001Writer.Header;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks written files against a subset of the pain.001.001.03 schema (src/test/resources/xsd).
+ */
+class Pain001WriterTest {
+
+    private static final Debtor DEBTOR = new Debtor("DocFlow Ltd", "DE89 3704 0044 0532 0130 00", "COBADEFFXXX");
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 12, 1, 9, 30, 15, 123_000_000);
+
+    private static Schema schema;
+
+    @BeforeAll
+    static void loadSchema() throws SAXException {
+        schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+                .newSchema(Pain001WriterTest.class.getResource("/xsd/pain.001.001.03-subset.xsd"));
+    }
+
+    @Test
+    void testWrittenFile_ValidAgainstSchema() throws Exception {
+        byte[] file = write(header(3, "180.50", DEBTOR), List.of(
+                transfer("PAY-1", "100.00", "usd", "GB29NWBK60161331926819", "NWBKGB2L"),
+                transfer("PAY-2", "50.5", "USD", "GB29NWBK60161331926819", null),
+                transfer("PAY-3", "30", "EUR", "FR1420041010050500013M02606", "")));
+
+        validate(file);
+        Document document = parse(file);
+        assertEquals("PAYRUN-7", text(document, "MsgId"));
+        assertEquals("2024-12-01T09:30:15", text(document, "CreDtTm"));
+        assertEquals("180.50", text(document, "CtrlSum"));
+        assertEquals("2024-12-02", text(document, "ReqdExctnDt"));
+        assertEquals("DE89370400440532013000", text(document, "IBAN"));
+
+        NodeList transfers = elements(document, "CdtTrfTxInf");
+        assertEquals(3, transfers.getLength());
+        Element amount = (Element) elements(document, "InstdAmt").item(0);
+        assertEquals("USD", amount.getAttribute("Ccy"));
+        assertEquals("100.00", amount.getTextContent());
+        assertEquals("50.50", elements(document, "InstdAmt").item(1).getTextContent());
+        // Only the first transfer names the creditor's bank
+        assertEquals(1, elements(document, "CdtrAgt").getLength());
+    }
+
+    @Test
+    void testNoDebtorBic_NotProvided() throws Exception {
+        byte[] file = write(header(1, "10.00", new Debtor("DocFlow Ltd", "DE89370400440532013000", null)),
+                List.of(transfer("PAY-1", "10.00", "EUR", "FR1420041010050500013M02606", null)));
+
+        validate(file);
+        Element agent = (Element) elements(parse(file), "DbtrAgt").item(0);
+        assertEquals("NOTPROVIDED", agent.getElementsByTagNameNS(Pain001Writer.NAMESPACE, "Id").item(0).getTextContent());
+    }
+
+    @Test
+    void testLongTexts_Truncated() throws Exception {
+        String name = "Vendor & Sons <International> ".repeat(10);
+        CreditTransfer transfer = new CreditTransfer("PAY-" + "9".repeat(40), new BigDecimal("10.00"), "EUR", name,
+                "FR1420041010050500013M02606", null, "INV-" + "X".repeat(200));
+
+        byte[] file = write(header(1, "10.00", DEBTOR), List.of(transfer));
+
+        validate(file);
+        Document document = parse(file);
+        assertEquals(name.substring(0, 140), ((Element) elements(document, "Cdtr").item(0)).getTextContent());
+        assertEquals(35, text(document, "EndToEndId").length());
+        assertEquals(140, text(document, "Ustrd").length());
+    }
+
+    @Test
+    void testCountMismatch_FinishFails() throws Exception {
+        Pain001Writer writer = new Pain001Writer(new ByteArrayOutputStream(), header(2, "20.00", DEBTOR));
+        writer.write(transfer("PAY-1", "10.00", "EUR", "FR1420041010050500013M02606", null));
+
+        assertThrows(IllegalStateException.class, writer::finish);
+    }
+
+    @Test
+    void testSumMismatch_FinishFails() throws Exception {
+        Pain001Writer writer = new Pain001Writer(new ByteArrayOutputStream(), header(1, "20.00", DEBTOR));
+        writer.write(transfer("PAY-1", "10.00", "EUR", "FR1420041010050500013M02606", null));
+
+        assertThrows(IllegalStateException.class, writer::finish);
+    }
+
+    @Test
+    void testMissingCreditorIban_Rejected() throws Exception {
+        Pain001Writer writer = new Pain001Writer(new ByteArrayOutputStream(), header(1, "10.00", DEBTOR));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> writer.write(transfer("PAY-1", "10.00", "EUR", " ", null)));
+    }
+
+    private static Header header(long transfers, String total, Debtor debtor) {
+        return new Header("PAYRUN-7", CREATED_AT, transfers, new BigDecimal(total), LocalDate.of(2024, 12, 2), debtor);
+    }
+
+    private static CreditTransfer transfer(String id, String amount, String currency, String iban, String bic) {
+        return new CreditTransfer(id, new BigDecimal(amount), currency, "Acme Corporation", iban, bic, "INV-2024-001");
+    }
+
+    private static byte[] write(Header header, List<CreditTransfer> transfers) throws XMLStreamException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Pain001Writer writer = new Pain001Writer(out, header)) {
+            for (CreditTransfer transfer : transfers) {
+                writer.write(transfer);
+            }
+            writer.finish();
+        }
+        return out.toByteArray();
+    }
+
+    private static void validate(byte[] file) throws Exception {
+        schema.newValidator().validate(new StreamSource(new ByteArrayInputStream(file)));
+    }
+
+    private static Document parse(byte[] file) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(file));
+    }
+
+    private static NodeList elements(Document document, String name) {
+        return document.getElementsByTagNameNS(Pain001Writer.NAMESPACE, name);
+    }
+
+    private static String text(Document document, String name) {
+        return elements(document, name).item(0).getTextContent();
+    }
+}
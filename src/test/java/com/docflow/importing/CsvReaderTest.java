@@ -0,0 +1,68 @@
+package com.docflow.importing;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void testPlainFields() throws IOException {
+        try (CsvReader reader = reader("a,b,c\n1,,3\n")) {
+            assertEquals(List.of("a", "b", "c"), reader.next());
+            assertEquals(List.of("1", "", "3"), reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testQuotedFieldsWithCommasAndEscapedQuotes() throws IOException {
+        try (CsvReader reader = reader("\"INV, batch A\",\"say \"\"hi\"\"\",\"\"\n")) {
+            assertEquals(List.of("INV, batch A", "say \"hi\"", ""), reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testCrLfAndMissingFinalNewline() throws IOException {
+        try (CsvReader reader = reader("a,b\r\nc,d")) {
+            assertEquals(List.of("a", "b"), reader.next());
+            assertEquals(List.of("c", "d"), reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testRecordLineCountsEmbeddedLineBreaks() throws IOException {
+        try (CsvReader reader = reader("h1,h2\n\"multi\nline\",x\n\nlast,y\n")) {
+            reader.next();
+            assertEquals(1, reader.getRecordLine());
+
+            assertEquals(List.of("multi\nline", "x"), reader.next());
+            assertEquals(2, reader.getRecordLine());
+
+            assertEquals(List.of(""), reader.next());
+            assertEquals(4, reader.getRecordLine());
+
+            assertEquals(List.of("last", "y"), reader.next());
+            assertEquals(5, reader.getRecordLine());
+        }
+    }
+
+    @Test
+    void testUnterminatedQuote_Throws() throws IOException {
+        try (CsvReader reader = reader("ok,1\n\"broken,2\n")) {
+            reader.next();
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, reader::next);
+            assertEquals("Unterminated quoted field on line 2", e.getMessage());
+        }
+    }
+
+    private static CsvReader reader(String csv) {
+        return new CsvReader(new StringReader(csv));
+    }
+}
@@ -0,0 +1,140 @@
+package com.docflow.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Integration tests for the payables/receivables aging report.
+ */
+@DisplayName("Aging Report Integration Tests")
+public class AgingReportIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String financeToken;
+    private String employeeToken;
+    private String suffix;
+
+    @BeforeEach
+    @Override
+    void setUp() throws Exception {
+        financeToken = loginAs("finance1@docflow.com", "Password@123");
+        employeeToken = loginAs("employee1@docflow.com", "Password@123");
+        suffix = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Test
+    @DisplayName("Should age approved payables by days past due")
+    void testApprovedInvoicesAged() throws Exception {
+        String vendorName = "Aging Vendor " + suffix;
+        jdbcTemplate.update("INSERT INTO vendors (name) VALUES (?)", vendorName);
+        long vendorId = jdbcTemplate.queryForObject("SELECT id FROM vendors WHERE name = ?", Long.class, vendorName);
+
+        approve(createInvoice(vendorId, "AGE-" + suffix + "-1", "2024-12-20", "100.00"));
+        approve(createInvoice(vendorId, "AGE-" + suffix + "-2", "2024-11-15", "40.00"));
+        // Not approved: not aged
+        createInvoice(vendorId, "AGE-" + suffix + "-3", "2024-11-15", "999.00");
+
+        JsonNode entry = entryOf(report("INVOICE_IN", "2024-12-31"), vendorId);
+        assertNotNull(entry, "No aging entry for vendor " + vendorId);
+        assertEquals(vendorName, entry.get("counterpartyName").asText());
+        assertEquals(100.00, entry.get("days1To30").asDouble());
+        assertEquals(40.00, entry.get("days31To60").asDouble());
+        assertEquals(140.00, entry.get("total").asDouble());
+        assertEquals(2, entry.get("count").asLong());
+    }
+
+    @Test
+    @DisplayName("Should return 403 for EMPLOYEE")
+    void testEmployeeCannotReadAging() throws Exception {
+        mockMvc.perform(get("/api/dashboard/aging")
+                        .param("docType", "INVOICE_OUT")
+                        .header("Authorization", "Bearer " + employeeToken))
+                .andExpect(status().isForbidden());
+    }
+
+    private JsonNode report(String docType, String asOf) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/dashboard/aging")
+                        .param("docType", docType)
+                        .param("asOf", asOf)
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private JsonNode entryOf(JsonNode report, long counterpartyId) {
+        for (JsonNode entry : report.get("entries")) {
+            if (entry.get("counterpartyId").asLong() == counterpartyId) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private Long createInvoice(long vendorId, String invoiceNo, String dueDate, String total) throws Exception {
+        String request = String.format("""
+                {
+                    "vendorId": %d,
+                    "invoiceNo": "%s",
+                    "invoiceDate": "2024-10-01",
+                    "dueDate": "%s",
+                    "currency": "USD",
+                    "subtotal": %s,
+                    "total": %s
+                }
+                """, vendorId, invoiceNo, dueDate, total, total);
+
+        MvcResult result = mockMvc.perform(post("/api/invoices/in")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private void approve(Long id) throws Exception {
+        mockMvc.perform(post("/api/invoices/in/" + id + "/submit")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/invoices/in/" + id + "/approve")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+    }
+
+    private String loginAs(String email, String password) throws Exception {
+        String loginRequest = String.format("""
+                {
+                    "email": "%s",
+                    "password": "%s"
+                }
+                """, email, password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+        return response.get("token").asText();
+    }
+}
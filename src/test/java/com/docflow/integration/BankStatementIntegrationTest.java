@@ -0,0 +1,248 @@
+package com.docflow.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Integration tests for camt.053 statement imports. Each test invoices its own client and
+ * uses its own message id and entry references, matched in chunks of 2 (see
+ * application-test.properties).
+ */
+@DisplayName("Bank Statement Integration Tests")
+public class BankStatementIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String financeToken;
+    private String employeeToken;
+    private String suffix;
+    private String clientName;
+    private long clientId;
+
+    @BeforeEach
+    @Override
+    void setUp() throws Exception {
+        financeToken = loginAs("finance1@docflow.com", "Password@123");
+        employeeToken = loginAs("employee1@docflow.com", "Password@123");
+        suffix = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+
+        clientName = "Statement Client " + suffix;
+        jdbcTemplate.update("INSERT INTO clients (name) VALUES (?)", clientName);
+        clientId = jdbcTemplate.queryForObject("SELECT id FROM clients WHERE name = ?", Long.class, clientName);
+    }
+
+    @Test
+    @DisplayName("Should pay matched invoices and queue the other credits for review")
+    void testImportMatchesAndQueues() throws Exception {
+        Long byNumber = approvedInvoice("1", "1234.56");
+        Long byClient = approvedInvoice("2", "777.70");
+        Long wrongAmount = approvedInvoice("3", "500.00");
+
+        String statement = statement(
+                entry("1", "1234.56", "CRDT", "BOOK", "Someone", "Invoice ST-" + suffix + "-1"),
+                entry("2", "777.7", "CRDT", "BOOK", clientName, "December"),
+                entry("3", "450.00", "CRDT", "BOOK", clientName, "ST-" + suffix + "-3"),
+                entry("4", "0.07", "CRDT", "BOOK", "Unknown Payer", "Refund"),
+                entry("5", "99.00", "DBIT", "BOOK", null, "Bank fee"));
+
+        mockMvc.perform(post("/api/bank-statements/camt053")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content(statement))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.messageId").value("MSG-" + suffix))
+                .andExpect(jsonPath("$.accountIban").value("DE89370400440532013000"))
+                .andExpect(jsonPath("$.entries").value(5))
+                .andExpect(jsonPath("$.matched").value(2))
+                .andExpect(jsonPath("$.review").value(2))
+                .andExpect(jsonPath("$.skipped").value(1))
+                .andExpect(jsonPath("$.matchedTotals[0].currency").value("EUR"))
+                .andExpect(jsonPath("$.matchedTotals[0].totalAmount").value(2012.26));
+
+        expectStatus(byNumber, "PAID");
+        expectStatus(byClient, "PAID");
+        expectStatus(wrongAmount, "APPROVED");
+        Long payments = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payments WHERE doc_id = ? AND direction = 'INBOUND' AND bank_statement_id IS NOT NULL",
+                Long.class, byNumber);
+        assertEquals(1L, payments);
+
+        long mismatch = reviewItemId("3");
+        mockMvc.perform(get("/api/bank-statements/review")
+                        .param("size", "1000")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[?(@.id == " + mismatch + ")].reason").value("AMOUNT_MISMATCH"))
+                .andExpect(jsonPath("$.content[?(@.id == " + mismatch + ")].suggestedInvoiceId")
+                        .value(wrongAmount.intValue()));
+
+        // The same statement again is rejected
+        mockMvc.perform(post("/api/bank-statements/camt053")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content(statement))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should resolve a review item as payment and dismiss another")
+    void testResolveAndDismiss() throws Exception {
+        Long invoice = approvedInvoice("1", "500.00");
+        mockMvc.perform(post("/api/bank-statements/camt053")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content(statement(
+                                entry("1", "500.01", "CRDT", "BOOK", "Unknown Payer", "ST-" + suffix + "-1"),
+                                entry("2", "0.07", "CRDT", "BOOK", "Unknown Payer", "Refund"))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.review").value(2));
+
+        long resolved = reviewItemId("1");
+        mockMvc.perform(post("/api/bank-statements/review/" + resolved + "/resolve")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{ \"invoiceId\": %d }", invoice)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RESOLVED"))
+                .andExpect(jsonPath("$.resolvedInvoiceId").value(invoice.intValue()));
+        expectStatus(invoice, "PAID");
+
+        mockMvc.perform(post("/api/bank-statements/review/" + resolved + "/dismiss")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/bank-statements/review/" + reviewItemId("2") + "/dismiss")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DISMISSED"));
+    }
+
+    @Test
+    @DisplayName("Should reject a document that is not a camt.053 statement")
+    void testRejectsOtherDocument() throws Exception {
+        mockMvc.perform(post("/api/bank-statements/camt053")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<Document><CstmrCdtTrfInitn/></Document>"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return 403 for EMPLOYEE")
+    void testEmployeeCannotImport() throws Exception {
+        mockMvc.perform(post("/api/bank-statements/camt053")
+                        .header("Authorization", "Bearer " + employeeToken)
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content(statement()))
+                .andExpect(status().isForbidden());
+    }
+
+    private long reviewItemId(String entry) {
+        return jdbcTemplate.queryForObject("SELECT id FROM statement_review_items WHERE entry_reference = ?",
+                Long.class, "REF-" + suffix + "-" + entry);
+    }
+
+    private String statement(String... entries) {
+        return """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <Document xmlns="urn:iso:std:iso:20022:tech:xsd:camt.053.001.02">
+                  <BkToCstmrStmt>
+                    <GrpHdr><MsgId>MSG-%s</MsgId><CreDtTm>2024-12-01T18:00:00</CreDtTm></GrpHdr>
+                    <Stmt>
+                      <Id>STMT-%s</Id>
+                      <Acct><Id><IBAN>DE89370400440532013000</IBAN></Id></Acct>
+                      %s
+                    </Stmt>
+                  </BkToCstmrStmt>
+                </Document>
+                """.formatted(suffix, suffix, String.join("\n", entries));
+    }
+
+    private String entry(String number, String amount, String direction, String status, String debtor,
+                         String remittance) {
+        return """
+                <Ntry>
+                  <Amt Ccy="EUR">%s</Amt>
+                  <CdtDbtInd>%s</CdtDbtInd>
+                  <Sts>%s</Sts>
+                  <BookgDt><Dt>2024-12-01</Dt></BookgDt>
+                  <AcctSvcrRef>REF-%s-%s</AcctSvcrRef>
+                  <NtryDtls><TxDtls>
+                    <RltdPties><Dbtr><Nm>%s</Nm></Dbtr></RltdPties>
+                    <RmtInf><Ustrd>%s</Ustrd></RmtInf>
+                  </TxDtls></NtryDtls>
+                </Ntry>
+                """.formatted(amount, direction, status, suffix, number, debtor != null ? debtor : "", remittance);
+    }
+
+    private void expectStatus(Long id, String expected) throws Exception {
+        mockMvc.perform(get("/api/invoices/out/" + id)
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(expected));
+    }
+
+    private Long approvedInvoice(String number, String total) throws Exception {
+        String request = String.format("""
+                {
+                    "clientId": %d,
+                    "invoiceNo": "ST-%s-%s",
+                    "invoiceDate": "2024-11-01",
+                    "dueDate": "2024-12-01",
+                    "currency": "EUR",
+                    "subtotal": %s,
+                    "total": %s
+                }
+                """, clientId, suffix, number, total, total);
+
+        MvcResult result = mockMvc.perform(post("/api/invoices/out")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long id = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+
+        mockMvc.perform(post("/api/invoices/out/" + id + "/submit")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/invoices/out/" + id + "/approve")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+        return id;
+    }
+
+    private String loginAs(String email, String password) throws Exception {
+        String loginRequest = String.format("""
+                {
+                    "email": "%s",
+                    "password": "%s"
+                }
+                """, email, password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+        return response.get("token").asText();
+    }
+}
@@ -0,0 +1,45 @@
+package com.docflow.integration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records the SQL Hibernate prepares while capturing is on, so tests can EXPLAIN the
+ * statements the repositories actually generate. Registered for the test profile in
+ * application-test.properties; passes every statement through unchanged.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final List<String> CAPTURED = new ArrayList<>();
+    private static volatile boolean capturing;
+
+    /**
+     * Clears earlier statements and starts recording.
+     */
+    public static synchronized void start() {
+        CAPTURED.clear();
+        capturing = true;
+    }
+
+    /**
+     * Stops recording.
+     *
+     * @return The statements prepared since {@link #start()}, in order
+     */
+    public static synchronized List<String> stop() {
+        capturing = false;
+        return List.copyOf(CAPTURED);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (capturing) {
+            synchronized (CapturingStatementInspector.class) {
+                CAPTURED.add(sql);
+            }
+        }
+        return sql;
+    }
+}
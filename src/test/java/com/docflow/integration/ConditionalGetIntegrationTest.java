@@ -0,0 +1,154 @@
+package com.docflow.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Integration tests for ETag / If-None-Match on document GETs.
+ */
+@DisplayName("Conditional GET Integration Tests")
+public class ConditionalGetIntegrationTest extends BaseIntegrationTest {
+
+    private String financeToken;
+
+    @BeforeEach
+    @Override
+    void setUp() throws Exception {
+        financeToken = loginAs("finance1@docflow.com", "Password@123");
+    }
+
+    @Test
+    @DisplayName("Should answer 304 for an unchanged document and 200 once it changes")
+    void testDocumentETagFollowsVersion() throws Exception {
+        Long id = createInvoiceIn();
+
+        String etag = mockMvc.perform(get("/api/invoices/in/" + id)
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"" + id + "-0\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/invoices/in/" + id)
+                        .header("Authorization", "Bearer " + financeToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post("/api/invoices/in/" + id + "/submit")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/invoices/in/" + id)
+                        .header("Authorization", "Bearer " + financeToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"" + id + "-1\""));
+    }
+
+    @Test
+    @DisplayName("Should not answer 304 for a document of another type with the same id")
+    void testDocumentETagChecksType() throws Exception {
+        Long id = createInvoiceIn();
+
+        mockMvc.perform(get("/api/claims/" + id)
+                        .header("Authorization", "Bearer " + financeToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"" + id + "-0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 for an unchanged list page and 200 once a row changes")
+    void testListETagFollowsRows() throws Exception {
+        Long id = createInvoiceIn();
+
+        String etag = listETag(null);
+        assertEquals(etag, listETag(etag), "Unchanged page must keep its ETag");
+
+        mockMvc.perform(post("/api/invoices/in/" + id + "/submit")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+
+        assertNotEquals(etag, listETag(etag));
+    }
+
+    /**
+     * Fetches the first page, asserting 304 when the given ETag is still current.
+     */
+    private String listETag(String ifNoneMatch) throws Exception {
+        var request = get("/api/invoices/in")
+                .param("size", "5")
+                .header("Authorization", "Bearer " + financeToken);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+
+        MvcResult result = mockMvc.perform(request).andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        if (etag != null && etag.equals(ifNoneMatch)) {
+            assertEquals(304, result.getResponse().getStatus());
+            assertEquals("", result.getResponse().getContentAsString());
+        } else {
+            assertEquals(200, result.getResponse().getStatus());
+        }
+        return etag;
+    }
+
+    private Long createInvoiceIn() throws Exception {
+        String request = String.format("""
+                {
+                    "vendorId": 1,
+                    "invoiceNo": "INV-ETAG-%s",
+                    "invoiceDate": "2024-11-15",
+                    "dueDate": "2024-12-15",
+                    "currency": "USD",
+                    "subtotal": 100.00,
+                    "tax": 10.00,
+                    "total": 110.00
+                }
+                """, UUID.randomUUID());
+
+        MvcResult result = mockMvc.perform(post("/api/invoices/in")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private String loginAs(String email, String password) throws Exception {
+        String loginRequest = String.format("""
+                {
+                    "email": "%s",
+                    "password": "%s"
+                }
+                """, email, password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+        return response.get("token").asText();
+    }
+}
@@ -0,0 +1,298 @@
+package com.docflow.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Integration tests for credit notes. Each test issues credit notes to its own vendor.
+ */
+@DisplayName("Credit Note Integration Tests")
+public class CreditNoteIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String financeToken;
+    private String employeeToken;
+    private String suffix;
+    private long vendorId;
+
+    @BeforeEach
+    @Override
+    void setUp() throws Exception {
+        financeToken = loginAs("finance1@docflow.com", "Password@123");
+        employeeToken = loginAs("employee1@docflow.com", "Password@123");
+        suffix = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        vendorId = createVendor("Credit Note Vendor " + suffix);
+    }
+
+    @Test
+    @DisplayName("Should reduce the outstanding balance by an applied credit note")
+    void testApplyCreditNote() throws Exception {
+        Long invoiceId = approvedInvoice("1", "100.00");
+        Long creditNoteId = createCreditNote(vendorId, "USD", "30.00");
+
+        mockMvc.perform(post("/api/credit-notes/" + creditNoteId + "/apply")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{ \"invoiceId\": %d }", invoiceId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPLIED"))
+                .andExpect(jsonPath("$.invoiceId").value(invoiceId))
+                .andExpect(jsonPath("$.appliedAt").exists());
+
+        mockMvc.perform(get("/api/invoices/in/" + invoiceId)
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPROVED"))
+                .andExpect(jsonPath("$.amountCredited").value(30.00))
+                .andExpect(jsonPath("$.outstanding").value(70.00))
+                .andExpect(jsonPath("$.version").value(3));
+
+        // The rest is paid
+        mockMvc.perform(post("/api/invoices/in/" + invoiceId + "/pay")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "method": "BANK", "amount": 70.00, "paidAt": "2024-11-20T10:00:00" }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PAID"))
+                .andExpect(jsonPath("$.outstanding").value(0.00));
+
+        assertEquals("CREDIT", jdbcTemplate.queryForObject(
+                "SELECT action FROM audit_logs WHERE doc_id = ? AND from_status = 'APPROVED' ORDER BY id LIMIT 1",
+                String.class, invoiceId));
+    }
+
+    @Test
+    @DisplayName("Should settle an invoice credited in full and refuse to apply a credit note twice")
+    void testCreditNoteSettlesInvoice() throws Exception {
+        Long invoiceId = approvedInvoice("1", "100.00");
+        Long otherInvoiceId = approvedInvoice("2", "100.00");
+        Long creditNoteId = createCreditNote(vendorId, "USD", "100.00");
+
+        apply(creditNoteId, invoiceId).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/invoices/in/" + invoiceId)
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PAID"))
+                .andExpect(jsonPath("$.amountPaid").value(0.00))
+                .andExpect(jsonPath("$.outstanding").value(0.00));
+
+        apply(creditNoteId, otherInvoiceId).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should reject credit notes of another vendor, currency or beyond the outstanding balance")
+    void testInvalidApplicationsRejected() throws Exception {
+        Long invoiceId = approvedInvoice("1", "100.00");
+        long otherVendorId = createVendor("Other Credit Note Vendor " + suffix);
+
+        apply(createCreditNote(otherVendorId, "USD", "10.00"), invoiceId).andExpect(status().isBadRequest());
+        apply(createCreditNote(vendorId, "EUR", "10.00"), invoiceId).andExpect(status().isBadRequest());
+        apply(createCreditNote(vendorId, "USD", "100.50"), invoiceId).andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/credit-notes")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                { "direction": "CLIENT", "vendorId": %d, "currency": "USD", "amount": 10.00 }
+                                """, vendorId)))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT amount_credited FROM invoice_in WHERE id = ?", Integer.class, invoiceId));
+    }
+
+    @Test
+    @DisplayName("Should apply a vendor's credit notes to many invoices in one transaction")
+    void testBulkApply() throws Exception {
+        Long first = approvedInvoice("1", "100.00");
+        Long second = approvedInvoice("2", "50.00");
+        Long third = approvedInvoice("3", "80.00");
+        Long firstNote = createCreditNote(vendorId, "USD", "40.00");
+        Long secondNote = createCreditNote(vendorId, "USD", "60.00");
+        Long thirdNote = createCreditNote(vendorId, "USD", "20.00");
+
+        mockMvc.perform(post("/api/credit-notes/apply")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                {
+                                    "vendorId": %d,
+                                    "applications": [
+                                        { "creditNoteId": %d, "invoiceId": %d },
+                                        { "creditNoteId": %d, "invoiceId": %d },
+                                        { "creditNoteId": %d, "invoiceId": %d }
+                                    ]
+                                }
+                                """, vendorId, firstNote, first, secondNote, first, thirdNote, third)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creditNotes").value(3))
+                .andExpect(jsonPath("$.invoices").value(2))
+                .andExpect(jsonPath("$.settled").value(1))
+                .andExpect(jsonPath("$.totals[0].currency").value("USD"))
+                .andExpect(jsonPath("$.totals[0].count").value(3))
+                .andExpect(jsonPath("$.totals[0].totalAmount").value(120.00));
+
+        expectBalance(first, "PAID", "0.00");
+        expectBalance(second, "APPROVED", "50.00");
+        expectBalance(third, "APPROVED", "60.00");
+
+        mockMvc.perform(get("/api/credit-notes")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .param("vendorId", String.valueOf(vendorId))
+                        .param("status", "APPLIED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.content[0].id").value(thirdNote));
+    }
+
+    @Test
+    @DisplayName("Should apply nothing when one application of a bulk request is invalid")
+    void testBulkApplyAllOrNothing() throws Exception {
+        Long first = approvedInvoice("1", "100.00");
+        Long second = approvedInvoice("2", "50.00");
+        Long firstNote = createCreditNote(vendorId, "USD", "40.00");
+        Long secondNote = createCreditNote(vendorId, "USD", "60.00");
+
+        mockMvc.perform(post("/api/credit-notes/apply")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                {
+                                    "vendorId": %d,
+                                    "applications": [
+                                        { "creditNoteId": %d, "invoiceId": %d },
+                                        { "creditNoteId": %d, "invoiceId": %d }
+                                    ]
+                                }
+                                """, vendorId, firstNote, first, secondNote, second)))
+                .andExpect(status().isBadRequest());
+
+        expectBalance(first, "APPROVED", "100.00");
+        mockMvc.perform(get("/api/credit-notes/" + firstNote)
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("OPEN"));
+    }
+
+    @Test
+    @DisplayName("Should return 403 for EMPLOYEE")
+    void testEmployeeCannotCreateCreditNote() throws Exception {
+        mockMvc.perform(post("/api/credit-notes")
+                        .header("Authorization", "Bearer " + employeeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                { "direction": "VENDOR", "vendorId": %d, "currency": "USD", "amount": 10.00 }
+                                """, vendorId)))
+                .andExpect(status().isForbidden());
+    }
+
+    private ResultActions apply(Long creditNoteId, Long invoiceId) throws Exception {
+        return mockMvc.perform(post("/api/credit-notes/" + creditNoteId + "/apply")
+                .header("Authorization", "Bearer " + financeToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("{ \"invoiceId\": %d }", invoiceId)));
+    }
+
+    private void expectBalance(Long invoiceId, String status, String outstanding) throws Exception {
+        mockMvc.perform(get("/api/invoices/in/" + invoiceId)
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(status))
+                .andExpect(jsonPath("$.outstanding").value(Double.parseDouble(outstanding)));
+    }
+
+    private long createVendor(String name) {
+        jdbcTemplate.update("INSERT INTO vendors (name) VALUES (?)", name);
+        return jdbcTemplate.queryForObject("SELECT id FROM vendors WHERE name = ?", Long.class, name);
+    }
+
+    private Long createCreditNote(long vendor, String currency, String amount) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/credit-notes")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                {
+                                    "direction": "VENDOR",
+                                    "vendorId": %d,
+                                    "currency": "%s",
+                                    "amount": %s,
+                                    "reference": "CN-%s",
+                                    "reason": "Damaged goods"
+                                }
+                                """, vendor, currency, amount, suffix)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("OPEN"))
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private Long approvedInvoice(String number, String total) throws Exception {
+        String request = String.format("""
+                {
+                    "vendorId": %d,
+                    "invoiceNo": "CN-%s-%s",
+                    "invoiceDate": "2024-10-01",
+                    "dueDate": "2024-11-01",
+                    "currency": "USD",
+                    "subtotal": %s,
+                    "total": %s
+                }
+                """, vendorId, suffix, number, total, total);
+
+        MvcResult result = mockMvc.perform(post("/api/invoices/in")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long id = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+
+        mockMvc.perform(post("/api/invoices/in/" + id + "/submit")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/invoices/in/" + id + "/approve")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+        return id;
+    }
+
+    private String loginAs(String email, String password) throws Exception {
+        String loginRequest = String.format("""
+                {
+                    "email": "%s",
+                    "password": "%s"
+                }
+                """, email, password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+        return response.get("token").asText();
+    }
+}
@@ -0,0 +1,117 @@
+package com.docflow.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Integration tests for the dashboard summary counters.
+ */
+@DisplayName("Dashboard Summary Integration Tests")
+public class DashboardSummaryIntegrationTest extends BaseIntegrationTest {
+
+    private String financeToken;
+    private String employeeToken;
+
+    @BeforeEach
+    @Override
+    void setUp() throws Exception {
+        financeToken = loginAs("finance1@docflow.com", "Password@123");
+        employeeToken = loginAs("employee1@docflow.com", "Password@123");
+    }
+
+    @Test
+    @DisplayName("Should count created invoices and move them on submit")
+    void testCountersFollowCreateAndSubmit() throws Exception {
+        long draftBefore = count("INVOICE_IN", "DRAFT", "EUR");
+        long pendingBefore = count("INVOICE_IN", "PENDING", "EUR");
+
+        Long id = createInvoiceIn();
+        assertEquals(draftBefore + 1, count("INVOICE_IN", "DRAFT", "EUR"));
+
+        mockMvc.perform(post("/api/invoices/in/" + id + "/submit")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+
+        assertEquals(draftBefore, count("INVOICE_IN", "DRAFT", "EUR"));
+        assertEquals(pendingBefore + 1, count("INVOICE_IN", "PENDING", "EUR"));
+    }
+
+    @Test
+    @DisplayName("Should return 403 for EMPLOYEE")
+    void testEmployeeCannotReadSummary() throws Exception {
+        mockMvc.perform(get("/api/dashboard/summary")
+                        .header("Authorization", "Bearer " + employeeToken))
+                .andExpect(status().isForbidden());
+    }
+
+    private long count(String docType, String docStatus, String currency) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/dashboard/summary")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode entries = objectMapper.readTree(result.getResponse().getContentAsString()).get("entries");
+        for (JsonNode entry : entries) {
+            if (docType.equals(entry.get("docType").asText())
+                    && docStatus.equals(entry.get("status").asText())
+                    && currency.equals(entry.get("currency").asText())) {
+                return entry.get("count").asLong();
+            }
+        }
+        return 0;
+    }
+
+    private Long createInvoiceIn() throws Exception {
+        String request = String.format("""
+                {
+                    "vendorId": 1,
+                    "invoiceNo": "INV-DASH-%s",
+                    "invoiceDate": "2024-11-15",
+                    "dueDate": "2024-12-15",
+                    "currency": "EUR",
+                    "subtotal": 200.00,
+                    "tax": 20.00,
+                    "total": 220.00
+                }
+                """, UUID.randomUUID());
+
+        MvcResult result = mockMvc.perform(post("/api/invoices/in")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private String loginAs(String email, String password) throws Exception {
+        String loginRequest = String.format("""
+                {
+                    "email": "%s",
+                    "password": "%s"
+                }
+                """, email, password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+        return response.get("token").asText();
+    }
+}
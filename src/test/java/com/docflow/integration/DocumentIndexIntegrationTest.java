@@ -0,0 +1,153 @@
+package com.docflow.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Integration tests for the cross-type document listing.
+ */
+@DisplayName("Document Index Integration Tests")
+public class DocumentIndexIntegrationTest extends BaseIntegrationTest {
+
+    private String financeToken;
+    private String employeeToken;
+
+    @BeforeEach
+    @Override
+    void setUp() throws Exception {
+        financeToken = loginAs("finance1@docflow.com", "Password@123");
+        employeeToken = loginAs("employee1@docflow.com", "Password@123");
+    }
+
+    @Test
+    @DisplayName("Should walk my documents newest first across cursor pages")
+    void testMineKeysetPagination() throws Exception {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            created.add(createInvoiceIn());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/documents")
+                    .param("scope", "MINE")
+                    .param("size", "2")
+                    .header("Authorization", "Bearer " + financeToken);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = read(mockMvc.perform(request).andExpect(status().isOk()).andReturn());
+            for (JsonNode item : page.get("content")) {
+                seen.add(item.get("id").asLong());
+            }
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        // Newest first: the three invoices just created lead, in reverse creation order
+        assertEquals(List.of(created.get(2), created.get(1), created.get(0)), seen.subList(0, 3));
+        assertEquals(seen.size(), seen.stream().distinct().count(), "No row may repeat across pages");
+    }
+
+    @Test
+    @DisplayName("Should move a document into the pending scope on submit")
+    void testPendingScopeFollowsTransition() throws Exception {
+        Long id = createInvoiceIn();
+        assertFalse(pendingIds().contains(id));
+
+        mockMvc.perform(post("/api/invoices/in/" + id + "/submit")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+
+        assertTrue(pendingIds().contains(id));
+    }
+
+    @Test
+    @DisplayName("Should return 403 when an EMPLOYEE lists all documents")
+    void testEmployeeCannotListAll() throws Exception {
+        mockMvc.perform(get("/api/documents")
+                        .param("scope", "ALL")
+                        .header("Authorization", "Bearer " + employeeToken))
+                .andExpect(status().isForbidden());
+    }
+
+    private List<Long> pendingIds() throws Exception {
+        JsonNode page = read(mockMvc.perform(get("/api/documents")
+                        .param("scope", "PENDING")
+                        .param("type", "INVOICE_IN")
+                        .param("size", "100")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode item : page.get("content")) {
+            assertEquals("PENDING", item.get("status").asText());
+            ids.add(item.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private Long createInvoiceIn() throws Exception {
+        String request = String.format("""
+                {
+                    "vendorId": 1,
+                    "invoiceNo": "INV-IDX-%s",
+                    "invoiceDate": "2024-11-15",
+                    "dueDate": "2024-12-15",
+                    "currency": "USD",
+                    "subtotal": 100.00,
+                    "tax": 10.00,
+                    "total": 110.00
+                }
+                """, UUID.randomUUID());
+
+        MvcResult result = mockMvc.perform(post("/api/invoices/in")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+
+        return read(result).get("id").asLong();
+    }
+
+    private JsonNode read(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private String loginAs(String email, String password) throws Exception {
+        String loginRequest = String.format("""
+                {
+                    "email": "%s",
+                    "password": "%s"
+                }
+                """, email, password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+        return response.get("token").asText();
+    }
+}
@@ -0,0 +1,280 @@
+package com.docflow.integration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Integration tests for row-level document visibility: owners, their managers and
+ * FINANCE/ADMIN read a document; anyone else gets 404 and does not see it in listings,
+ * search results, the document index or its files.
+ */
+@DisplayName("Document Visibility Integration Tests")
+public class DocumentVisibilityIntegrationTest extends BaseIntegrationTest {
+
+    private String financeToken;
+    private String managerToken;
+    private String employeeToken;
+
+    @BeforeEach
+    @Override
+    void setUp() throws Exception {
+        financeToken = loginAs("finance1@docflow.com", "Password@123");
+        managerToken = loginAs("manager1@docflow.com", "Password@123");
+        employeeToken = loginAs("employee1@docflow.com", "Password@123");
+    }
+
+    @Test
+    @DisplayName("Should hide another user's invoice from an employee (404)")
+    void testEmployeeCannotReadFinanceInvoice() throws Exception {
+        Long id = createInvoiceIn();
+
+        mockMvc.perform(get("/api/invoices/in/" + id)
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/invoices/in/" + id)
+                        .header("Authorization", "Bearer " + employeeToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should let the owner's manager read a claim")
+    void testManagerReadsReportsClaim() throws Exception {
+        Long id = createClaim(employeeToken);
+
+        mockMvc.perform(get("/api/claims/" + id)
+                        .header("Authorization", "Bearer " + employeeToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/claims/" + id)
+                        .header("Authorization", "Bearer " + managerToken))
+                .andExpect(status().isOk());
+
+        assertTrue(listIds("/api/claims", managerToken).contains(id));
+    }
+
+    @Test
+    @DisplayName("Should keep a claim out of an unrelated user's detail and listing")
+    void testUnrelatedUserCannotSeeClaim() throws Exception {
+        Long id = createClaim(employeeToken);
+        String strangerToken = signupAndLogin();
+
+        mockMvc.perform(get("/api/claims/" + id)
+                        .header("Authorization", "Bearer " + strangerToken))
+                .andExpect(status().isNotFound());
+
+        assertFalse(listIds("/api/claims", strangerToken).contains(id));
+        assertFalse(filterIds("/api/claims/filter", strangerToken).contains(id));
+        assertTrue(filterIds("/api/claims/filter", financeToken).contains(id));
+    }
+
+    @Test
+    @DisplayName("Should not confirm a hidden document with 304")
+    void testConditionalGetRespectsVisibility() throws Exception {
+        Long id = createInvoiceIn();
+
+        mockMvc.perform(get("/api/invoices/in/" + id)
+                        .header("Authorization", "Bearer " + employeeToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"" + id + "-0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should leave hidden invoices out of invoice number search")
+    void testSearchRespectsVisibility() throws Exception {
+        String invoiceNo = "INV-VIS-" + UUID.randomUUID();
+        Long id = createInvoiceIn(invoiceNo);
+
+        assertTrue(searchIds(invoiceNo, financeToken).contains(id));
+        assertFalse(searchIds(invoiceNo, employeeToken).contains(id));
+    }
+
+    @Test
+    @DisplayName("Should leave hidden documents out of the PENDING document index")
+    void testPendingIndexRespectsVisibility() throws Exception {
+        String invoiceNo = "INV-VIS-" + UUID.randomUUID();
+        Long id = createInvoiceIn(invoiceNo);
+        mockMvc.perform(post("/api/invoices/in/" + id + "/submit")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+
+        assertTrue(indexIds("ALL", invoiceNo, financeToken).contains(id));
+        assertFalse(indexIds("PENDING", invoiceNo, managerToken).contains(id));
+    }
+
+    @Test
+    @DisplayName("Should not list, upload or sign files of a hidden document (404)")
+    void testFilesRespectVisibility() throws Exception {
+        Long id = createInvoiceIn();
+
+        mockMvc.perform(get("/api/docs/" + id + "/files")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/docs/" + id + "/files")
+                        .header("Authorization", "Bearer " + employeeToken))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(multipart("/api/docs/" + id + "/files")
+                        .file(new MockMultipartFile("file", "invoice.pdf", "application/pdf",
+                                "Test PDF content".getBytes()))
+                        .header("Authorization", "Bearer " + employeeToken))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/api/docs/" + id + "/files/signed-urls")
+                        .header("Authorization", "Bearer " + employeeToken))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<Long> searchIds(String query, String token) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/invoices/in/search")
+                        .param("q", query)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<Long> ids = new ArrayList<>();
+        objectMapper.readTree(result.getResponse().getContentAsString()).get("invoices")
+                .forEach(hit -> ids.add(hit.get("id").asLong()));
+        return ids;
+    }
+
+    private List<Long> indexIds(String scope, String query, String token) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/documents")
+                        .param("scope", scope)
+                        .param("q", query)
+                        .param("size", "100")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        return ids(objectMapper.readTree(result.getResponse().getContentAsString()));
+    }
+
+    private List<Long> listIds(String path, String token) throws Exception {
+        MvcResult result = mockMvc.perform(get(path)
+                        .param("size", "100")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        return ids(objectMapper.readTree(result.getResponse().getContentAsString()));
+    }
+
+    private List<Long> filterIds(String path, String token) throws Exception {
+        MvcResult result = mockMvc.perform(post(path)
+                        .param("size", "100")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return ids(objectMapper.readTree(result.getResponse().getContentAsString()));
+    }
+
+    private List<Long> ids(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        page.get("content").forEach(row -> ids.add(row.get("id").asLong()));
+        return ids;
+    }
+
+    private Long createInvoiceIn() throws Exception {
+        return createInvoiceIn("INV-VIS-" + UUID.randomUUID());
+    }
+
+    private Long createInvoiceIn(String invoiceNo) throws Exception {
+        String request = String.format("""
+                {
+                    "vendorId": 1,
+                    "invoiceNo": "%s",
+                    "invoiceDate": "2024-11-15",
+                    "dueDate": "2024-12-15",
+                    "currency": "USD",
+                    "subtotal": 100.00,
+                    "tax": 10.00,
+                    "total": 110.00
+                }
+                """, invoiceNo);
+
+        MvcResult result = mockMvc.perform(post("/api/invoices/in")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private Long createClaim(String token) throws Exception {
+        String request = """
+                {
+                    "claimDate": "2024-11-15",
+                    "currency": "USD",
+                    "items": [
+                        {"description": "Taxi", "date": "2024-11-14", "category": "TRAVEL", "amount": 25.00}
+                    ]
+                }
+                """;
+
+        MvcResult result = mockMvc.perform(post("/api/claims")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private String signupAndLogin() throws Exception {
+        String email = "visibility-" + UUID.randomUUID() + "@example.com";
+        String request = String.format("""
+                {
+                    "name": "Visibility User",
+                    "email": "%s",
+                    "password": "Test@123"
+                }
+                """, email);
+
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated());
+
+        return loginAs(email, "Test@123");
+    }
+
+    private String loginAs(String email, String password) throws Exception {
+        String loginRequest = String.format("""
+                {
+                    "email": "%s",
+                    "password": "%s"
+                }
+                """, email, password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+        return response.get("token").asText();
+    }
+}
@@ -224,6 +224,9 @@ public class FileUploadIntegrationTest extends BaseIntegrationTest {
         JsonNode uploadResponse = objectMapper.readTree(uploadResult.getResponse().getContentAsString());
         Long fileId = uploadResponse.get("id").asLong();
 
+        // Downloads are blocked until the async scan clears the file
+        awaitScanStatus(fileId, "CLEAN");
+
         // Download file
         mockMvc.perform(get("/api/docs/" + testInvoiceId + "/files/" + fileId)
                         .header("Authorization", "Bearer " + financeToken))
@@ -233,6 +236,50 @@ public class FileUploadIntegrationTest extends BaseIntegrationTest {
                 .andExpect(content().bytes(fileContent.getBytes()));
     }
 
+    @Test
+    @DisplayName("Should block download of quarantined file")
+    void testDownloadQuarantinedFile() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "infected-test.pdf",
+                "application/pdf",
+                "Flagged by the stub scanner".getBytes()
+        );
+
+        MvcResult uploadResult = mockMvc.perform(multipart("/api/docs/" + testInvoiceId + "/files")
+                        .file(file)
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        JsonNode uploadResponse = objectMapper.readTree(uploadResult.getResponse().getContentAsString());
+        Long fileId = uploadResponse.get("fileId").asLong();
+
+        awaitScanStatus(fileId, "INFECTED");
+
+        mockMvc.perform(get("/api/docs/" + testInvoiceId + "/files/" + fileId)
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isConflict());
+    }
+
+    private void awaitScanStatus(Long fileId, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            MvcResult listResult = mockMvc.perform(get("/api/docs/" + testInvoiceId + "/files")
+                            .header("Authorization", "Bearer " + financeToken))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            for (JsonNode node : objectMapper.readTree(listResult.getResponse().getContentAsString())) {
+                if (node.get("id").asLong() == fileId && expected.equals(node.get("scanStatus").asText())) {
+                    return;
+                }
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("File " + fileId + " did not reach scan status " + expected);
+    }
+
     @Test
     @DisplayName("Should delete uploaded file")
     void testDeleteFile() throws Exception {
@@ -0,0 +1,94 @@
+package com.docflow.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.docflow.domain.entity.Document;
+import com.docflow.domain.entity.InvoiceIn;
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.dto.filter.InvoiceFilterCriteria;
+import com.docflow.repository.FilterQueryRepository;
+import com.docflow.repository.InvoiceInRepository;
+import com.docflow.repository.UserRepository;
+import com.docflow.specification.DocumentVisibility;
+import com.docflow.specification.InvoiceInSpecification;
+
+/**
+ * Checks that precompiled filter templates return exactly what the Specifications return,
+ * with and without a visibility restriction.
+ */
+@DisplayName("Filter Template Equivalence Integration Tests")
+public class FilterTemplateEquivalenceIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private InvoiceInRepository invoiceInRepository;
+
+    @Autowired
+    private FilterQueryRepository filterQueryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Should match Specification results for every criteria combination used")
+    void testTemplateMatchesSpecification() {
+        List<InvoiceFilterCriteria> criteriaList = List.of(
+                new InvoiceFilterCriteria(),
+                InvoiceFilterCriteria.builder().status(DocumentStatus.PENDING).build(),
+                InvoiceFilterCriteria.builder().vendorId(1L).currency("USD").build(),
+                InvoiceFilterCriteria.builder()
+                        .dateFrom(LocalDate.of(2024, 1, 1))
+                        .dateTo(LocalDate.of(2024, 12, 31))
+                        .amountMin(new BigDecimal("100.00"))
+                        .amountMax(new BigDecimal("100000.00"))
+                        .build(),
+                InvoiceFilterCriteria.builder().invoiceNo("inv").build());
+
+        // id tie-breaker keeps both queries deterministic when seed rows share a timestamp
+        List<Sort> sorts = List.of(
+                Sort.by("createdAt").descending().and(Sort.by("id")),
+                Sort.by("total").ascending().and(Sort.by("id")));
+
+        List<DocumentVisibility> visibilities = List.of(
+                DocumentVisibility.unrestricted(),
+                DocumentVisibility.restrictedTo(userId("employee1@docflow.com")),
+                DocumentVisibility.restrictedTo(userId("manager1@docflow.com")));
+
+        for (DocumentVisibility visibility : visibilities) {
+            for (Sort sort : sorts) {
+                for (InvoiceFilterCriteria criteria : criteriaList) {
+                    PageRequest pageable = PageRequest.of(0, 5, sort);
+
+                    Page<InvoiceIn> expected = invoiceInRepository.findAll(
+                            InvoiceInSpecification.withFilters(criteria)
+                                    .and(InvoiceInSpecification.visibleTo(visibility)), pageable);
+                    Page<InvoiceIn> actual = filterQueryRepository.findPage(
+                            InvoiceInSpecification.TEMPLATE, criteria, visibility, pageable);
+
+                    assertEquals(ids(expected), ids(actual),
+                            "Content differs for " + criteria + " sorted by " + sort + " as " + visibility);
+                    assertEquals(expected.getTotalElements(), actual.getTotalElements(),
+                            "Total differs for " + criteria + " as " + visibility);
+                }
+            }
+        }
+    }
+
+    private Long userId(String email) {
+        return userRepository.findByEmail(email).orElseThrow().getId();
+    }
+
+    private List<Long> ids(Page<InvoiceIn> page) {
+        return page.getContent().stream().map(Document::getId).toList();
+    }
+}
@@ -0,0 +1,244 @@
+package com.docflow.integration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Integration tests for FX rates: CSV import into the cached rate table, rate lookups and
+ * dashboard totals converted into a base currency. Rates are quoted against EUR. The
+ * invoices are dated in March 2019, a period no other test uses.
+ */
+@DisplayName("FX Rate Integration Tests")
+public class FxRateIntegrationTest extends BaseIntegrationTest {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private static final String RATES = String.join("\n",
+            "currency,date,rate",
+            "USD,2019-03-01,1.10",
+            "usd,2019-03-07,1.20",
+            "GBP,2019-03-05,0.85",
+            "");
+
+    private String financeToken;
+    private String employeeToken;
+    private String suffix;
+
+    @BeforeEach
+    @Override
+    void setUp() throws Exception {
+        financeToken = loginAs("finance1@docflow.com", "Password@123");
+        employeeToken = loginAs("employee1@docflow.com", "Password@123");
+        suffix = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Test
+    @DisplayName("Should import valid rates and report rejected ones by line")
+    void testImportReportsRejectedRows() throws Exception {
+        String csv = String.join("\n",
+                "rate,currency,date",
+                "1.09,USD,2019-02-28",
+                "1.5,US,2019-02-28",
+                "1.5,CHF,2019-02-30",
+                "-1,CHF,2019-02-28",
+                "1,EUR,2019-02-28",
+                "1.123456789,CHF,2019-02-28",
+                "0.97,CHF,2019-02-28",
+                "");
+
+        importRates(csv)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(5))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].currency").value("US"))
+                .andExpect(jsonPath("$.errors[1].line").value(4))
+                .andExpect(jsonPath("$.errors[1].message").value("Invalid date: 2019-02-30"))
+                .andExpect(jsonPath("$.errors[2].line").value(5))
+                .andExpect(jsonPath("$.errors[3].line").value(6))
+                .andExpect(jsonPath("$.errors[4].line").value(7))
+                .andExpect(jsonPath("$.referenceCurrency").value("EUR"));
+
+        mockMvc.perform(get("/api/fx-rates")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .param("currency", "chf")
+                        .param("date", "2019-03-03"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currency").value("CHF"))
+                .andExpect(jsonPath("$.referenceCurrency").value("EUR"))
+                .andExpect(jsonPath("$.date").value("2019-03-03"))
+                .andExpect(jsonPath("$.rateDate").value("2019-02-28"))
+                .andExpect(jsonPath("$.rate").value(0.97));
+    }
+
+    @Test
+    @DisplayName("Should return the latest rate on or before a date, replaced by a later import")
+    void testRateLookup() throws Exception {
+        importRates(RATES).andExpect(status().isOk());
+
+        getRate("USD", "2019-03-06")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rateDate").value("2019-03-01"))
+                .andExpect(jsonPath("$.rate").value(1.10));
+        getRate("USD", "2019-03-07")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rate").value(1.20));
+        getRate("GBP", "2019-03-04").andExpect(status().isNotFound());
+
+        importRates("currency,date,rate\nUSD,2019-03-01,1.11\n").andExpect(status().isOk());
+        getRate("USD", "2019-03-06")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rate").value(1.11));
+        importRates(RATES).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should total invoices per status converted at the rate of each invoice date")
+    void testConvertedTotals() throws Exception {
+        importRates(RATES).andExpect(status().isOk());
+
+        Long submittedId = createInvoice("1", "2019-03-04", "EUR", "100.00");
+        createInvoice("2", "2019-03-04", "USD", "110.00");
+        createInvoice("3", "2019-03-08", "USD", "120.00");
+        // Before the first GBP rate
+        createInvoice("4", "2019-03-04", "GBP", "50.00");
+        mockMvc.perform(post("/api/invoices/in/" + submittedId + "/submit")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/dashboard/totals")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .param("docType", "INVOICE_IN")
+                        .param("from", "2019-03-01")
+                        .param("to", "2019-03-31")
+                        .param("baseCurrency", "eur"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.baseCurrency").value("EUR"))
+                .andExpect(jsonPath("$.invoiceCount").value(4))
+                .andExpect(jsonPath("$.entries.length()").value(2))
+                .andExpect(jsonPath("$.entries[0].status").value("DRAFT"))
+                .andExpect(jsonPath("$.entries[0].count").value(3))
+                .andExpect(jsonPath("$.entries[0].totalAmount").value(200.00))
+                .andExpect(jsonPath("$.entries[0].totalsByCurrency.length()").value(2))
+                .andExpect(jsonPath("$.entries[1].status").value("PENDING"))
+                .andExpect(jsonPath("$.entries[1].totalAmount").value(100.00))
+                .andExpect(jsonPath("$.totalAmount").value(300.00))
+                .andExpect(jsonPath("$.unconverted[0].currency").value("GBP"))
+                .andExpect(jsonPath("$.unconverted[0].totalAmount").value(50.00))
+                .andExpect(jsonPath("$.unconverted[0].count").value(1));
+
+        mockMvc.perform(get("/api/dashboard/totals")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .param("docType", "INVOICE_IN")
+                        .param("from", "2019-03-01")
+                        .param("to", "2019-03-31")
+                        .param("baseCurrency", "USD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalAmount").value(340.00));
+    }
+
+    @Test
+    @DisplayName("Should convert the dashboard summary and reject unknown base currencies (400)")
+    void testConvertedSummary() throws Exception {
+        importRates(RATES).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/dashboard/summary/converted")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .param("baseCurrency", "USD")
+                        .param("rateDate", "2019-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.baseCurrency").value("USD"))
+                .andExpect(jsonPath("$.rateDate").value("2019-03-31"))
+                .andExpect(jsonPath("$.entries").isArray());
+
+        mockMvc.perform(get("/api/dashboard/summary/converted")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .param("baseCurrency", "XYZ"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/dashboard/totals")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .param("docType", "INVOICE_IN")
+                        .param("from", "2019-03-31")
+                        .param("to", "2019-03-01")
+                        .param("baseCurrency", "EUR"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should forbid rate imports by employees (403)")
+    void testImportForbiddenForEmployee() throws Exception {
+        mockMvc.perform(post("/api/fx-rates/import")
+                        .header("Authorization", "Bearer " + employeeToken)
+                        .contentType(TEXT_CSV)
+                        .content(RATES))
+                .andExpect(status().isForbidden());
+    }
+
+    private ResultActions importRates(String csv) throws Exception {
+        return mockMvc.perform(post("/api/fx-rates/import")
+                .header("Authorization", "Bearer " + financeToken)
+                .contentType(TEXT_CSV)
+                .content(csv));
+    }
+
+    private ResultActions getRate(String currency, String date) throws Exception {
+        return mockMvc.perform(get("/api/fx-rates")
+                .header("Authorization", "Bearer " + financeToken)
+                .param("currency", currency)
+                .param("date", date));
+    }
+
+    private Long createInvoice(String number, String invoiceDate, String currency, String total) throws Exception {
+        String request = String.format("""
+                {
+                    "vendorId": 1,
+                    "invoiceNo": "FX-%s-%s",
+                    "invoiceDate": "%s",
+                    "currency": "%s",
+                    "subtotal": %s,
+                    "total": %s
+                }
+                """, suffix, number, invoiceDate, currency, total, total);
+
+        MvcResult result = mockMvc.perform(post("/api/invoices/in")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private String loginAs(String email, String password) throws Exception {
+        String loginRequest = String.format("""
+                {
+                    "email": "%s",
+                    "password": "%s"
+                }
+                """, email, password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+        return response.get("token").asText();
+    }
+}
@@ -0,0 +1,142 @@
+package com.docflow.integration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Integration tests for incoming invoice duplicate detection: a vendor's invoice number is
+ * unique, similar numbers and matching amounts are accepted and reported.
+ */
+@DisplayName("Invoice Duplicate Integration Tests")
+public class InvoiceDuplicateIntegrationTest extends BaseIntegrationTest {
+
+    private String financeToken;
+    private String suffix;
+
+    @BeforeEach
+    @Override
+    void setUp() throws Exception {
+        financeToken = loginAs("finance1@docflow.com", "Password@123");
+        suffix = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Test
+    @DisplayName("Should reject the same invoice number from the same vendor, ignoring case")
+    void testSameVendorSameNumberRejected() throws Exception {
+        createInvoice(1, "DUP-" + suffix, "2024-11-15", "110.00")
+                .andExpect(status().isCreated());
+
+        createInvoice(1, "dup-" + suffix, "2024-11-20", "250.00")
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should accept the same invoice number from another vendor")
+    void testOtherVendorSameNumberAccepted() throws Exception {
+        createInvoice(1, "DUP-" + suffix, "2024-11-15", "110.00")
+                .andExpect(status().isCreated());
+
+        createInvoice(2, "DUP-" + suffix, "2024-11-15", "110.00")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.possibleDuplicates").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should flag a similar invoice number from the same vendor")
+    void testSimilarNumberFlagged() throws Exception {
+        Long original = id(createInvoice(1, "DUP-" + suffix + "-01", "2024-11-15", "110.00")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.possibleDuplicates").doesNotExist()));
+
+        createInvoice(1, "DUP " + suffix + " 01", "2024-10-01", "75.00")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.possibleDuplicates.length()").value(1))
+                .andExpect(jsonPath("$.possibleDuplicates[0].id").value(original))
+                .andExpect(jsonPath("$.possibleDuplicates[0].reason").value("SIMILAR_INVOICE_NO"));
+    }
+
+    @Test
+    @DisplayName("Should flag an invoice with the same vendor, amount and date")
+    void testSameAmountAndDateFlagged() throws Exception {
+        String amount = "1" + (Math.abs(suffix.hashCode()) % 100000) + ".37";
+        Long original = id(createInvoice(3, "AMT-" + suffix + "-A", "2024-09-03", amount)
+                .andExpect(status().isCreated()));
+
+        createInvoice(3, "AMT-" + suffix + "-B", "2024-09-03", amount)
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.possibleDuplicates.length()").value(1))
+                .andExpect(jsonPath("$.possibleDuplicates[0].id").value(original))
+                .andExpect(jsonPath("$.possibleDuplicates[0].reason").value("SAME_AMOUNT_AND_DATE"));
+    }
+
+    @Test
+    @DisplayName("Should not report an edited invoice as its own duplicate")
+    void testUpdateExcludesItself() throws Exception {
+        Long id = id(createInvoice(1, "UPD-" + suffix, "2024-11-15", "110.00")
+                .andExpect(status().isCreated()));
+
+        mockMvc.perform(put("/api/invoices/in/" + id)
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request(1, "UPD-" + suffix, "2024-11-16", "120.00")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.possibleDuplicates").doesNotExist());
+    }
+
+    private ResultActions createInvoice(long vendorId, String invoiceNo, String invoiceDate, String total)
+            throws Exception {
+        return mockMvc.perform(post("/api/invoices/in")
+                .header("Authorization", "Bearer " + financeToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(request(vendorId, invoiceNo, invoiceDate, total)));
+    }
+
+    private String request(long vendorId, String invoiceNo, String invoiceDate, String total) {
+        return String.format("""
+                {
+                    "vendorId": %d,
+                    "invoiceNo": "%s",
+                    "invoiceDate": "%s",
+                    "currency": "USD",
+                    "subtotal": %s,
+                    "total": %s
+                }
+                """, vendorId, invoiceNo, invoiceDate, total, total);
+    }
+
+    private Long id(ResultActions result) throws Exception {
+        MvcResult mvcResult = result.andReturn();
+        return objectMapper.readTree(mvcResult.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private String loginAs(String email, String password) throws Exception {
+        String loginRequest = String.format("""
+                {
+                    "email": "%s",
+                    "password": "%s"
+                }
+                """, email, password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+        return response.get("token").asText();
+    }
+}
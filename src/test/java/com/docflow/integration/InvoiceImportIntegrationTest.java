@@ -0,0 +1,167 @@
+package com.docflow.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Integration tests for the CSV bulk import of incoming invoices: valid rows become DRAFT
+ * invoices, rejected rows are reported by line without stopping the import.
+ */
+@DisplayName("Invoice Import Integration Tests")
+public class InvoiceImportIntegrationTest extends BaseIntegrationTest {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private String financeToken;
+    private String employeeToken;
+
+    @BeforeEach
+    @Override
+    void setUp() throws Exception {
+        financeToken = loginAs("finance1@docflow.com", "Password@123");
+        employeeToken = loginAs("employee1@docflow.com", "Password@123");
+    }
+
+    @Test
+    @DisplayName("Should import valid rows and report rejected ones by line")
+    void testImportReportsRejectedRows() throws Exception {
+        String prefix = "INV-IMP-" + UUID.randomUUID();
+        String existing = prefix + "-EXISTING";
+        createInvoiceIn(existing);
+
+        String csv = String.join("\n",
+                "vendorId,invoiceNo,invoiceDate,dueDate,currency,subtotal,tax,total",
+                "1," + prefix + "-1,2024-11-06,2024-12-06,USD,1000.00,100.00,1100.00",
+                "1,\"" + prefix + "-2, batch A\",2024-11-07,,EUR,250.00,,250.00",
+                "999999," + prefix + "-3,2024-11-07,,USD,10.00,,10.00",
+                "1," + prefix + "-1,2024-11-08,,USD,10.00,,10.00",
+                "1," + existing + ",2024-11-08,,USD,10.00,,10.00",
+                "1," + prefix + "-4,2024-13-01,,USD,10.00,,10.00",
+                "");
+
+        MvcResult result = mockMvc.perform(post("/api/invoices/in/import")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(TEXT_CSV)
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(4))
+                .andExpect(jsonPath("$.errorsTruncated").value(false))
+                .andReturn();
+
+        JsonNode errors = objectMapper.readTree(result.getResponse().getContentAsString()).get("errors");
+        assertEquals(4, errors.size());
+        assertError(errors.get(0), 4, "Vendor not found with id: 999999");
+        assertError(errors.get(1), 5, "Duplicate invoice number in file: " + prefix + "-1");
+        assertError(errors.get(2), 6, "Invoice number already exists: " + existing);
+        assertError(errors.get(3), 7, "Invalid invoiceDate: 2024-13-01");
+    }
+
+    @Test
+    @DisplayName("Should make imported invoices readable as DRAFT documents")
+    void testImportedInvoiceIsReadable() throws Exception {
+        String invoiceNo = "INV-IMP-" + UUID.randomUUID();
+        String csv = "invoiceNo,vendorId,invoiceDate,currency,subtotal,total\n"
+                + invoiceNo + ",1,2024-11-06,USD,500.00,500.00\n";
+
+        mockMvc.perform(post("/api/invoices/in/import")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(TEXT_CSV)
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+
+        MvcResult listing = mockMvc.perform(post("/api/invoices/in/filter")
+                        .param("size", "100")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"invoiceNo\": \"" + invoiceNo + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode content = objectMapper.readTree(listing.getResponse().getContentAsString()).get("content");
+        assertEquals(1, content.size());
+        long id = content.get(0).get("id").asLong();
+
+        mockMvc.perform(get("/api/invoices/in/" + id)
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.invoiceNo").value(invoiceNo))
+                .andExpect(jsonPath("$.status").value("DRAFT"))
+                .andExpect(jsonPath("$.vendorId").value(1));
+    }
+
+    @Test
+    @DisplayName("Should reject a header without required columns (400)")
+    void testMissingColumns() throws Exception {
+        mockMvc.perform(post("/api/invoices/in/import")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(TEXT_CSV)
+                        .content("vendorId,invoiceNo\n1,X\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should forbid imports by employees (403)")
+    void testEmployeeCannotImport() throws Exception {
+        mockMvc.perform(post("/api/invoices/in/import")
+                        .header("Authorization", "Bearer " + employeeToken)
+                        .contentType(TEXT_CSV)
+                        .content("vendorId,invoiceNo,invoiceDate,currency,subtotal,total\n"))
+                .andExpect(status().isForbidden());
+    }
+
+    private void assertError(JsonNode error, long line, String message) {
+        assertEquals(line, error.get("line").asLong());
+        assertEquals(message, error.get("message").asText());
+    }
+
+    private void createInvoiceIn(String invoiceNo) throws Exception {
+        String request = String.format("""
+                {
+                    "vendorId": 1,
+                    "invoiceNo": "%s",
+                    "invoiceDate": "2024-11-15",
+                    "currency": "USD",
+                    "subtotal": 100.00,
+                    "total": 100.00
+                }
+                """, invoiceNo);
+
+        mockMvc.perform(post("/api/invoices/in")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    private String loginAs(String email, String password) throws Exception {
+        String loginRequest = String.format("""
+                {
+                    "email": "%s",
+                    "password": "%s"
+                }
+                """, email, password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+        return response.get("token").asText();
+    }
+}
@@ -0,0 +1,214 @@
+package com.docflow.integration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Integration tests for the three-way match: each test gets its own vendor with one
+ * purchase order of 10 x 100.00, of which 6 were received.
+ */
+@DisplayName("Invoice Match Integration Tests")
+public class InvoiceMatchIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String financeToken;
+    private String managerToken;
+    private String suffix;
+    private long vendorId;
+
+    @BeforeEach
+    @Override
+    void setUp() throws Exception {
+        financeToken = loginAs("finance1@docflow.com", "Password@123");
+        managerToken = loginAs("manager1@docflow.com", "Password@123");
+        suffix = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        vendorId = seedPartiallyReceivedOrder();
+    }
+
+    @Test
+    @DisplayName("Should match an invoice covered by received goods")
+    void testReceivedAmountMatched() throws Exception {
+        Long id = createAndSubmit("600.00");
+
+        runMatch();
+
+        mockMvc.perform(get("/api/invoices/in/" + id + "/match")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("MATCHED"))
+                .andExpect(jsonPath("$.poNo").value("PO-MATCH-" + suffix))
+                .andExpect(jsonPath("$.orderedAmount").value(1000.00))
+                .andExpect(jsonPath("$.receivedAmount").value(600.00));
+
+        mockMvc.perform(post("/api/invoices/in/" + id + "/approve")
+                        .header("Authorization", "Bearer " + managerToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should route an invoice above the received value to FINANCE")
+    void testQuantityVarianceNeedsFinance() throws Exception {
+        Long id = createAndSubmit("900.00");
+
+        runMatch();
+
+        mockMvc.perform(get("/api/invoices/in/" + id + "/match")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("QUANTITY_VARIANCE"))
+                .andExpect(jsonPath("$.varianceAmount").value(300.00));
+
+        mockMvc.perform(post("/api/invoices/in/" + id + "/approve")
+                        .header("Authorization", "Bearer " + managerToken))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/invoices/in/" + id + "/approve")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should route an invoice linked to a purchase order to FINANCE until it is matched")
+    void testUnmatchedLinkedInvoiceNeedsFinance() throws Exception {
+        Long id = createInvoice("600.00");
+        jdbcTemplate.update("UPDATE invoice_in SET po_header_id = (SELECT id FROM po_headers WHERE po_no = ?) "
+                + "WHERE id = ?", "PO-MATCH-" + suffix, id);
+        mockMvc.perform(post("/api/invoices/in/" + id + "/submit")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/invoices/in/" + id + "/approve")
+                        .header("Authorization", "Bearer " + managerToken))
+                .andExpect(status().isForbidden());
+
+        runMatch();
+
+        mockMvc.perform(post("/api/invoices/in/" + id + "/approve")
+                        .header("Authorization", "Bearer " + managerToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should not assign an invoice above every open order to a purchase order")
+    void testAboveOrderedUnassigned() throws Exception {
+        Long id = createAndSubmit("1500.00");
+
+        runMatch();
+
+        mockMvc.perform(get("/api/invoices/in/" + id + "/match")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("NO_PURCHASE_ORDER"));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an invoice that was never matched")
+    void testUnmatchedInvoiceNotFound() throws Exception {
+        Long id = createInvoice("600.00");
+
+        mockMvc.perform(get("/api/invoices/in/" + id + "/match")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should deny a match run to a MANAGER (403)")
+    void testManagerCannotRunMatch() throws Exception {
+        mockMvc.perform(post("/api/invoices/in/match")
+                        .header("Authorization", "Bearer " + managerToken))
+                .andExpect(status().isForbidden());
+    }
+
+    private long seedPartiallyReceivedOrder() {
+        String vendorName = "Match Vendor " + suffix;
+        jdbcTemplate.update("INSERT INTO vendors (name) VALUES (?)", vendorName);
+        long vendor = jdbcTemplate.queryForObject("SELECT id FROM vendors WHERE name = ?", Long.class, vendorName);
+
+        jdbcTemplate.update("INSERT INTO po_headers (po_no, vendor_id, currency, total) VALUES (?, ?, 'USD', 1000.00)",
+                "PO-MATCH-" + suffix, vendor);
+        long po = jdbcTemplate.queryForObject("SELECT id FROM po_headers WHERE po_no = ?", Long.class,
+                "PO-MATCH-" + suffix);
+        jdbcTemplate.update("INSERT INTO po_lines (po_header_id, line_no, description, quantity, unit_price) "
+                + "VALUES (?, 1, 'Monitors', 10, 100.0000)", po);
+        long poLine = jdbcTemplate.queryForObject("SELECT id FROM po_lines WHERE po_header_id = ?", Long.class, po);
+
+        jdbcTemplate.update("INSERT INTO grn_headers (grn_no, vendor_id, received_date) VALUES (?, ?, '2024-11-10')",
+                "GRN-MATCH-" + suffix, vendor);
+        long grn = jdbcTemplate.queryForObject("SELECT id FROM grn_headers WHERE grn_no = ?", Long.class,
+                "GRN-MATCH-" + suffix);
+        jdbcTemplate.update("INSERT INTO grn_lines (grn_header_id, po_line_id, quantity_received) VALUES (?, ?, 6)",
+                grn, poLine);
+        return vendor;
+    }
+
+    private void runMatch() throws Exception {
+        mockMvc.perform(post("/api/invoices/in/match")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.invoices").isNumber());
+    }
+
+    private Long createAndSubmit(String subtotal) throws Exception {
+        Long id = createInvoice(subtotal);
+        mockMvc.perform(post("/api/invoices/in/" + id + "/submit")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+        return id;
+    }
+
+    private Long createInvoice(String subtotal) throws Exception {
+        String request = String.format("""
+                {
+                    "vendorId": %d,
+                    "invoiceNo": "INV-MATCH-%s",
+                    "invoiceDate": "2024-11-15",
+                    "currency": "USD",
+                    "subtotal": %s,
+                    "total": %s
+                }
+                """, vendorId, suffix, subtotal, subtotal);
+
+        MvcResult result = mockMvc.perform(post("/api/invoices/in")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private String loginAs(String email, String password) throws Exception {
+        String loginRequest = String.format("""
+                {
+                    "email": "%s",
+                    "password": "%s"
+                }
+                """, email, password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+        return response.get("token").asText();
+    }
+}
@@ -0,0 +1,227 @@
+package com.docflow.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Runs EXPLAIN on the SQL the listing endpoints actually generate for each whitelisted
+ * filter + sort combination, and fails when the page is no longer read through the
+ * expected index, or needs a filesort or temporary table.
+ *
+ * The page query is captured with {@link CapturingStatementInspector} while the endpoint
+ * runs; its parameters are bound from the filter values by column name, with the limit
+ * of a first page and null for the visibility predicate of a FINANCE caller. Filter values
+ * are selective, as a single counterparty or status is in production data.
+ */
+@DisplayName("Listing Index Usage Integration Tests")
+public class ListingIndexUsageIntegrationTest extends BaseIntegrationTest {
+
+    private static final long NO_ROWS_ID = 999999;
+    private static final int PAGE_SIZE = 20;
+
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+    private static final Pattern COMPARED_COLUMN = Pattern.compile("(\\w+)\\s*(?:=|<>|<=|>=|<|>|like)\\s*\\(?$");
+    private static final Pattern LIMIT = Pattern.compile("(?:limit|offset)\\s*(?:\\?\\s*,\\s*)?$");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String financeToken;
+
+    private record Case(String name, MockHttpServletRequestBuilder request, String table, String expectedIndex,
+                        Map<String, Object> values) {
+    }
+
+    @BeforeEach
+    @Override
+    void setUp() throws Exception {
+        financeToken = loginAs("finance1@docflow.com", "Password@123");
+        jdbcTemplate.execute("ANALYZE TABLE documents, invoice_in, invoice_out, expense_claims, reimbursements");
+    }
+
+    @Test
+    @DisplayName("Should read every whitelisted filter + sort combination in index order")
+    void testWhitelistedCombinationsUseIndex() throws Exception {
+        Map<String, Object> vendor = Map.of("vendor_id", NO_ROWS_ID);
+        Map<String, Object> client = Map.of("client_id", NO_ROWS_ID);
+        Map<String, Object> employee = Map.of("employee_id", NO_ROWS_ID);
+        Map<String, Object> cancelled = Map.of("status", "CANCELLED");
+
+        List<Case> cases = List.of(
+                // The default sort of a vendor listing is its invoice date
+                new Case("invoice_in vendorId + default sort", list("/api/invoices/in", "vendorId", NO_ROWS_ID),
+                        "invoice_in", "idx_invoice_in_vendor_date", vendor),
+                new Case("invoice_in vendorId + dueDate",
+                        list("/api/invoices/in", "vendorId", NO_ROWS_ID).param("sortBy", "dueDate"),
+                        "invoice_in", "idx_invoice_in_vendor_due", vendor),
+                new Case("invoice_in vendorId + invoiceNo",
+                        list("/api/invoices/in", "vendorId", NO_ROWS_ID).param("sortBy", "invoiceNo"),
+                        "invoice_in", "uk_invoice_in_vendor_invoice_no", vendor),
+                new Case("invoice_in status + default sort", list("/api/invoices/in", "status", "CANCELLED"),
+                        "invoice_in", "idx_documents_status_created", cancelled),
+                new Case("invoice_in default sort", list("/api/invoices/in"),
+                        "invoice_in", "idx_documents_created", Map.of()),
+                new Case("invoice_in invoiceNo", list("/api/invoices/in").param("sortBy", "invoiceNo"),
+                        "invoice_in", "idx_invoice_in_invoice_no", Map.of()),
+                new Case("invoice_in total", list("/api/invoices/in").param("sortBy", "total"),
+                        "invoice_in", "idx_invoice_in_total", Map.of()),
+                new Case("invoice_in filter vendorId + default sort",
+                        filter("/api/invoices/in/filter", "{\"vendorId\": " + NO_ROWS_ID + "}"),
+                        "invoice_in", "idx_invoice_in_vendor_date", vendor),
+                new Case("invoice_out clientId + default sort", list("/api/invoices/out", "clientId", NO_ROWS_ID),
+                        "invoice_out", "idx_invoice_out_client_date", client),
+                new Case("invoice_out clientId + dueDate",
+                        list("/api/invoices/out", "clientId", NO_ROWS_ID).param("sortBy", "dueDate"),
+                        "invoice_out", "idx_invoice_out_client_due", client),
+                new Case("invoice_out total", list("/api/invoices/out").param("sortBy", "total"),
+                        "invoice_out", "idx_invoice_out_total", Map.of()),
+                new Case("expense_claims employeeId + default sort",
+                        list("/api/claims", "employeeId", NO_ROWS_ID),
+                        "expense_claims", "idx_expense_claim_employee_date", employee),
+                new Case("reimbursements employeeId + default sort",
+                        list("/api/reimbursements", "employeeId", NO_ROWS_ID),
+                        "reimbursements", "idx_reimbursement_employee_date", employee));
+
+        for (Case c : cases) {
+            String sql = capturePageQuery(c);
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + bind(sql, c.values()));
+
+            assertEquals(c.expectedIndex(), plan.get(0).get("key"), c.name() + " plan: " + plan + "\n" + sql);
+            for (Map<String, Object> row : plan) {
+                String extra = String.valueOf(row.get("Extra"));
+                assertFalse(extra.contains("Using filesort"), c.name() + " needs a filesort: " + plan);
+                assertFalse(extra.contains("Using temporary"), c.name() + " needs a temporary table: " + plan);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject sorts the active filter's indexes do not serve (400)")
+    void testUnservedCombinationsRejected() throws Exception {
+        mockMvc.perform(list("/api/invoices/in", "vendorId", NO_ROWS_ID).param("sortBy", "createdAt"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(list("/api/invoices/in", "status", "PENDING").param("sortBy", "total"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(list("/api/invoices/out", "clientId", NO_ROWS_ID).param("sortBy", "invoiceNo"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(filter("/api/claims/filter", "{\"employeeId\": " + NO_ROWS_ID + "}")
+                        .param("sortBy", "createdAt"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder list(String path, Object... filters) {
+        MockHttpServletRequestBuilder request = get(path)
+                .param("size", String.valueOf(PAGE_SIZE))
+                .header("Authorization", "Bearer " + financeToken);
+        for (int i = 0; i < filters.length; i += 2) {
+            request.param((String) filters[i], String.valueOf(filters[i + 1]));
+        }
+        return request;
+    }
+
+    private MockHttpServletRequestBuilder filter(String path, String criteria) {
+        return post(path)
+                .param("size", String.valueOf(PAGE_SIZE))
+                .header("Authorization", "Bearer " + financeToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(criteria);
+    }
+
+    /**
+     * Runs the request and returns the page query: the first statement on the listed
+     * table with an ORDER BY.
+     */
+    private String capturePageQuery(Case c) throws Exception {
+        CapturingStatementInspector.start();
+        List<String> statements;
+        try {
+            mockMvc.perform(c.request()).andExpect(status().isOk());
+        } finally {
+            statements = CapturingStatementInspector.stop();
+        }
+        Pattern listedTable = Pattern.compile("\\bfrom " + c.table() + "\\b.*\\border by\\b", Pattern.DOTALL);
+        return statements.stream()
+                .filter(sql -> listedTable.matcher(sql.toLowerCase(Locale.ROOT)).find())
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No page query for " + c.name() + ": " + statements));
+    }
+
+    /**
+     * Inlines the JDBC parameters of a captured statement. A parameter compared with a
+     * column takes that column's value (null if the case has none, as for the visibility
+     * columns); {@code ? is null} takes the value of the comparison it guards; limit and
+     * offset take a first page of size + 1.
+     */
+    private static String bind(String sql, Map<String, Object> values) {
+        List<Integer> positions = PARAMETER.matcher(sql).results().map(Matcher::start).toList();
+        Object[] bound = new Object[positions.size()];
+        for (int i = positions.size() - 1; i >= 0; i--) {
+            String before = sql.substring(0, positions.get(i)).toLowerCase(Locale.ROOT);
+            String after = sql.substring(positions.get(i) + 1).toLowerCase(Locale.ROOT);
+            Matcher column = COMPARED_COLUMN.matcher(before);
+            if (LIMIT.matcher(before).find()) {
+                bound[i] = before.trim().endsWith("offset") || after.trim().startsWith(",") ? 0 : PAGE_SIZE + 1;
+            } else if (after.trim().startsWith("is null") && i + 1 < bound.length) {
+                bound[i] = bound[i + 1];
+            } else if (column.find()) {
+                bound[i] = values.get(column.group(1));
+            }
+        }
+
+        StringBuilder inlined = new StringBuilder();
+        int from = 0;
+        for (int i = 0; i < positions.size(); i++) {
+            inlined.append(sql, from, positions.get(i)).append(literal(bound[i]));
+            from = positions.get(i) + 1;
+        }
+        return inlined.append(sql.substring(from)).toString();
+    }
+
+    private static String literal(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+
+    private String loginAs(String email, String password) throws Exception {
+        String loginRequest = String.format("""
+                {
+                    "email": "%s",
+                    "password": "%s"
+                }
+                """, email, password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+        return response.get("token").asText();
+    }
+}
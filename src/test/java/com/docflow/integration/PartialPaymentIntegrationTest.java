@@ -0,0 +1,234 @@
+package com.docflow.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Integration tests for paying incoming invoices in parts. Each test pays its own vendor's
+ * invoices.
+ */
+@DisplayName("Partial Payment Integration Tests")
+public class PartialPaymentIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String financeToken;
+    private String suffix;
+    private long vendorId;
+
+    @BeforeEach
+    @Override
+    void setUp() throws Exception {
+        financeToken = loginAs("finance1@docflow.com", "Password@123");
+        suffix = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+
+        String vendorName = "Partial Payment Vendor " + suffix;
+        jdbcTemplate.update("INSERT INTO vendors (name) VALUES (?)", vendorName);
+        vendorId = jdbcTemplate.queryForObject("SELECT id FROM vendors WHERE name = ?", Long.class, vendorName);
+    }
+
+    @Test
+    @DisplayName("Should keep a partially paid invoice APPROVED and mark it PAID with the last payment")
+    void testPayInParts() throws Exception {
+        Long invoiceId = approvedInvoice("1", "1100.00");
+
+        pay(invoiceId, "400.00")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPROVED"))
+                .andExpect(jsonPath("$.amountPaid").value(400.00))
+                .andExpect(jsonPath("$.outstanding").value(700.00))
+                .andExpect(jsonPath("$.version").value(3));
+
+        mockMvc.perform(get("/api/invoices/in/" + invoiceId)
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.outstanding").value(700.00))
+                .andExpect(jsonPath("$.version").value(3));
+
+        pay(invoiceId, "700.00")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PAID"))
+                .andExpect(jsonPath("$.amountPaid").value(1100.00))
+                .andExpect(jsonPath("$.outstanding").value(0.00))
+                .andExpect(jsonPath("$.version").value(4));
+
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payments WHERE doc_id = ?", Integer.class, invoiceId));
+    }
+
+    @Test
+    @DisplayName("Should reject a payment beyond the outstanding balance and leave the balance as it was")
+    void testOverpaymentRejected() throws Exception {
+        Long invoiceId = approvedInvoice("1", "100.00");
+        pay(invoiceId, "60.00").andExpect(status().isOk());
+
+        pay(invoiceId, "40.50").andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/invoices/in/" + invoiceId)
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPROVED"))
+                .andExpect(jsonPath("$.amountPaid").value(60.00))
+                .andExpect(jsonPath("$.outstanding").value(40.00));
+    }
+
+    @Test
+    @DisplayName("Should reject payments of invoices that are not APPROVED")
+    void testPayNotApprovedRejected() throws Exception {
+        Long draftId = createInvoice("1", "100.00");
+        pay(draftId, "50.00").andExpect(status().isBadRequest());
+
+        Long paidId = approvedInvoice("2", "100.00");
+        pay(paidId, "100.00").andExpect(status().isOk());
+        pay(paidId, "10.00").andExpect(status().isBadRequest());
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payments WHERE doc_id = ?", Integer.class, draftId));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payments WHERE doc_id = ?", Integer.class, paidId));
+    }
+
+    @Test
+    @DisplayName("Should apply every one of concurrent payments of one invoice")
+    void testConcurrentPaymentsNoneLost() throws Exception {
+        Long invoiceId = approvedInvoice("1", "1000.00");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> pay(invoiceId, "125.00").andReturn().getResponse().getStatus()));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        for (Future<Integer> result : results) {
+            assertEquals(200, result.get());
+        }
+
+        assertEquals(0, new BigDecimal("1000.00").compareTo(jdbcTemplate.queryForObject(
+                "SELECT amount_paid FROM invoice_in WHERE id = ?", BigDecimal.class, invoiceId)));
+        assertEquals(8, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payments WHERE doc_id = ?", Integer.class, invoiceId));
+        assertEquals("PAID", jdbcTemplate.queryForObject(
+                "SELECT status FROM documents WHERE id = ?", String.class, invoiceId));
+    }
+
+    @Test
+    @DisplayName("Should pay only the outstanding balance of a partially paid invoice in a payment run")
+    void testPaymentRunPaysOutstanding() throws Exception {
+        Long invoiceId = approvedInvoice("1", "100.00");
+        pay(invoiceId, "30.00").andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/payment-runs")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                {
+                                    "dueBefore": "2024-11-30",
+                                    "vendorId": %d,
+                                    "method": "BANK",
+                                    "paidAt": "2024-12-01T09:00:00"
+                                }
+                                """, vendorId)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.invoiceCount").value(1))
+                .andExpect(jsonPath("$.totals[0].totalAmount").value(70.00));
+
+        mockMvc.perform(get("/api/invoices/in/" + invoiceId)
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PAID"))
+                .andExpect(jsonPath("$.amountPaid").value(100.00))
+                .andExpect(jsonPath("$.outstanding").value(0.00));
+    }
+
+    private ResultActions pay(Long invoiceId, String amount) throws Exception {
+        return mockMvc.perform(post("/api/invoices/in/" + invoiceId + "/pay")
+                .header("Authorization", "Bearer " + financeToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("""
+                        {
+                            "method": "BANK",
+                            "amount": %s,
+                            "paidAt": "2024-11-20T10:00:00",
+                            "reference": "PART-%s"
+                        }
+                        """, amount, suffix)));
+    }
+
+    private Long approvedInvoice(String number, String total) throws Exception {
+        Long id = createInvoice(number, total);
+        mockMvc.perform(post("/api/invoices/in/" + id + "/submit")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/invoices/in/" + id + "/approve")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+        return id;
+    }
+
+    private Long createInvoice(String number, String total) throws Exception {
+        String request = String.format("""
+                {
+                    "vendorId": %d,
+                    "invoiceNo": "PART-%s-%s",
+                    "invoiceDate": "2024-10-01",
+                    "dueDate": "2024-11-01",
+                    "currency": "USD",
+                    "subtotal": %s,
+                    "total": %s
+                }
+                """, vendorId, suffix, number, total, total);
+
+        MvcResult result = mockMvc.perform(post("/api/invoices/in")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private String loginAs(String email, String password) throws Exception {
+        String loginRequest = String.format("""
+                {
+                    "email": "%s",
+                    "password": "%s"
+                }
+                """, email, password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+        return response.get("token").asText();
+    }
+}
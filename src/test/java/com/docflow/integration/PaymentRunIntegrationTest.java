@@ -0,0 +1,217 @@
+package com.docflow.integration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Integration tests for payment runs. Each test pays its own vendor's invoices, in chunks
+ * of 2 (see application-test.properties).
+ */
+@DisplayName("Payment Run Integration Tests")
+public class PaymentRunIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String financeToken;
+    private String employeeToken;
+    private String suffix;
+    private long vendorId;
+
+    @BeforeEach
+    @Override
+    void setUp() throws Exception {
+        financeToken = loginAs("finance1@docflow.com", "Password@123");
+        employeeToken = loginAs("employee1@docflow.com", "Password@123");
+        suffix = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+
+        String vendorName = "Payment Run Vendor " + suffix;
+        jdbcTemplate.update("INSERT INTO vendors (name) VALUES (?)", vendorName);
+        vendorId = jdbcTemplate.queryForObject("SELECT id FROM vendors WHERE name = ?", Long.class, vendorName);
+    }
+
+    @Test
+    @DisplayName("Should pay approved invoices due by the date and total them per currency")
+    void testRunPaysDueApprovedInvoices() throws Exception {
+        Long first = approvedInvoice("1", "2024-11-01", "USD", "100.00");
+        approvedInvoice("2", "2024-11-20", "USD", "50.00");
+        approvedInvoice("3", "2024-11-30", "EUR", "30.00");
+        Long notDue = approvedInvoice("4", "2024-12-15", "USD", "999.00");
+        Long notApproved = createInvoice("5", "2024-11-01", "USD", "75.00");
+
+        MvcResult result = mockMvc.perform(post("/api/payment-runs")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                {
+                                    "dueBefore": "2024-11-30",
+                                    "vendorId": %d,
+                                    "method": "BANK",
+                                    "paidAt": "2024-12-01T09:00:00"
+                                }
+                                """, vendorId)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.invoiceCount").value(3))
+                .andExpect(jsonPath("$.vendorCount").value(1))
+                .andExpect(jsonPath("$.totals.length()").value(2))
+                .andExpect(jsonPath("$.totals[0].currency").value("EUR"))
+                .andExpect(jsonPath("$.totals[0].totalAmount").value(30.00))
+                .andExpect(jsonPath("$.totals[1].currency").value("USD"))
+                .andExpect(jsonPath("$.totals[1].count").value(2))
+                .andExpect(jsonPath("$.totals[1].totalAmount").value(150.00))
+                .andReturn();
+        long runId = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+
+        expectStatus(first, "PAID");
+        expectStatus(notDue, "APPROVED");
+        expectStatus(notApproved, "DRAFT");
+
+        mockMvc.perform(get("/api/payment-runs/" + runId)
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.invoiceCount").value(3));
+
+        mockMvc.perform(post("/api/payment-runs/" + runId + "/resume")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should write the run's pain.001 file to the vendor's account")
+    void testPain001File() throws Exception {
+        jdbcTemplate.update("UPDATE vendors SET iban = 'GB29NWBK60161331926819', bic = 'NWBKGB2L' WHERE id = ?",
+                vendorId);
+        approvedInvoice("1", "2024-11-01", "USD", "100.00");
+        approvedInvoice("2", "2024-11-20", "EUR", "30.50");
+        long runId = startRun();
+
+        mockMvc.perform(get("/api/payment-runs/" + runId + "/pain001")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_XML))
+                .andExpect(header().string("Content-Disposition", containsString("PAYRUN-" + runId)))
+                .andExpect(content().string(containsString("<NbOfTxs>2</NbOfTxs><CtrlSum>130.50</CtrlSum>")))
+                .andExpect(content().string(containsString("<ReqdExctnDt>2024-12-01</ReqdExctnDt>")))
+                .andExpect(content().string(containsString("<InstdAmt Ccy=\"EUR\">30.50</InstdAmt>")))
+                .andExpect(content().string(containsString("<IBAN>GB29NWBK60161331926819</IBAN>")))
+                .andExpect(content().string(containsString("<Ustrd>RUN-" + suffix + "-1</Ustrd>")));
+    }
+
+    @Test
+    @DisplayName("Should refuse a pain.001 file when a vendor has no IBAN")
+    void testPain001WithoutVendorAccount() throws Exception {
+        approvedInvoice("1", "2024-11-01", "USD", "100.00");
+        long runId = startRun();
+
+        mockMvc.perform(get("/api/payment-runs/" + runId + "/pain001")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return 403 for EMPLOYEE")
+    void testEmployeeCannotStartRun() throws Exception {
+        mockMvc.perform(post("/api/payment-runs")
+                        .header("Authorization", "Bearer " + employeeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "dueBefore": "2024-11-30", "method": "BANK" }
+                                """))
+                .andExpect(status().isForbidden());
+    }
+
+    private long startRun() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/payment-runs")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                {
+                                    "dueBefore": "2024-11-30",
+                                    "vendorId": %d,
+                                    "method": "BANK",
+                                    "paidAt": "2024-12-01T09:00:00"
+                                }
+                                """, vendorId)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private void expectStatus(Long id, String expected) throws Exception {
+        mockMvc.perform(get("/api/invoices/in/" + id)
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(expected));
+    }
+
+    private Long approvedInvoice(String number, String dueDate, String currency, String total) throws Exception {
+        Long id = createInvoice(number, dueDate, currency, total);
+        mockMvc.perform(post("/api/invoices/in/" + id + "/submit")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/invoices/in/" + id + "/approve")
+                        .header("Authorization", "Bearer " + financeToken))
+                .andExpect(status().isOk());
+        return id;
+    }
+
+    private Long createInvoice(String number, String dueDate, String currency, String total) throws Exception {
+        String request = String.format("""
+                {
+                    "vendorId": %d,
+                    "invoiceNo": "RUN-%s-%s",
+                    "invoiceDate": "2024-10-01",
+                    "dueDate": "%s",
+                    "currency": "%s",
+                    "subtotal": %s,
+                    "total": %s
+                }
+                """, vendorId, suffix, number, dueDate, currency, total, total);
+
+        MvcResult result = mockMvc.perform(post("/api/invoices/in")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private String loginAs(String email, String password) throws Exception {
+        String loginRequest = String.format("""
+                {
+                    "email": "%s",
+                    "password": "%s"
+                }
+                """, email, password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+        return response.get("token").asText();
+    }
+}
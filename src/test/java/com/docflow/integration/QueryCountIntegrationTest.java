@@ -0,0 +1,172 @@
+package com.docflow.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Regression tests for N+1 queries on list endpoints.
+ * Each endpoint must issue the same number of statements for a small and a full page.
+ */
+@DisplayName("Query Count Integration Tests")
+public class QueryCountIntegrationTest extends BaseIntegrationTest {
+
+    private static final int ROWS = 20;
+    // Authentication lookup, page query, count query and batched role/employee loads
+    private static final long MAX_STATEMENTS_PER_REQUEST = 15;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String financeToken;
+    private String employeeToken;
+
+    @BeforeEach
+    @Override
+    void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        financeToken = loginAs("finance1@docflow.com", "Password@123");
+        employeeToken = loginAs("employee1@docflow.com", "Password@123");
+
+        for (int i = 0; i < ROWS; i++) {
+            createInvoiceIn();
+            createClaim();
+        }
+    }
+
+    @Test
+    @DisplayName("Incoming invoice list does not query per row")
+    void testInvoiceInList() throws Exception {
+        assertBounded(size -> get("/api/invoices/in")
+                .param("size", String.valueOf(size))
+                .header("Authorization", "Bearer " + financeToken));
+    }
+
+    @Test
+    @DisplayName("Incoming invoice filter does not query per row")
+    void testInvoiceInFilter() throws Exception {
+        assertBounded(size -> post("/api/invoices/in/filter")
+                .param("size", String.valueOf(size))
+                .header("Authorization", "Bearer " + financeToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"));
+    }
+
+    @Test
+    @DisplayName("Expense claim list does not query per row or per item collection")
+    void testClaimList() throws Exception {
+        assertBounded(size -> get("/api/claims")
+                .param("size", String.valueOf(size))
+                .header("Authorization", "Bearer " + employeeToken));
+    }
+
+    @Test
+    @DisplayName("Expense claim filter does not query per row or per item collection")
+    void testClaimFilter() throws Exception {
+        assertBounded(size -> post("/api/claims/filter")
+                .param("size", String.valueOf(size))
+                .header("Authorization", "Bearer " + employeeToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"));
+    }
+
+    private void assertBounded(PageRequestFactory request) throws Exception {
+        // Warm-up: loads the cached approximate count so both measured calls hit it
+        mockMvc.perform(request.create(ROWS)).andExpect(status().isOk());
+
+        long small = countStatements(request.create(2));
+        long full = countStatements(request.create(ROWS));
+
+        assertEquals(small, full, "Statement count grows with page size");
+        assertTrue(full <= MAX_STATEMENTS_PER_REQUEST,
+                "Expected at most " + MAX_STATEMENTS_PER_REQUEST + " statements but got " + full);
+    }
+
+    private long countStatements(MockHttpServletRequestBuilder request) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createInvoiceIn() throws Exception {
+        String request = String.format("""
+                {
+                    "vendorId": 1,
+                    "invoiceNo": "INV-QC-%s",
+                    "invoiceDate": "2024-11-15",
+                    "dueDate": "2024-12-15",
+                    "currency": "USD",
+                    "subtotal": 100.00,
+                    "tax": 10.00,
+                    "total": 110.00
+                }
+                """, UUID.randomUUID());
+
+        mockMvc.perform(post("/api/invoices/in")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    private void createClaim() throws Exception {
+        String request = """
+                {
+                    "claimDate": "2024-11-15",
+                    "currency": "USD",
+                    "items": [
+                        {"description": "Taxi", "date": "2024-11-14", "category": "TRAVEL", "amount": 25.00},
+                        {"description": "Lunch", "date": "2024-11-14", "category": "MEALS", "amount": 15.00}
+                    ]
+                }
+                """;
+
+        mockMvc.perform(post("/api/claims")
+                        .header("Authorization", "Bearer " + employeeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    private String loginAs(String email, String password) throws Exception {
+        String loginRequest = String.format("""
+                {
+                    "email": "%s",
+                    "password": "%s"
+                }
+                """, email, password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+        return response.get("token").asText();
+    }
+
+    @FunctionalInterface
+    private interface PageRequestFactory {
+        MockHttpServletRequestBuilder create(int size) throws Exception;
+    }
+}
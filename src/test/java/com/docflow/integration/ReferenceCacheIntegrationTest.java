@@ -0,0 +1,186 @@
+package com.docflow.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Integration tests for the second-level cache of reference entities.
+ * Once warm, document writes must resolve vendors, clients, roles and employees
+ * without selecting them: every lookup is a region hit and none is a miss.
+ */
+@DisplayName("Reference Cache Integration Tests")
+public class ReferenceCacheIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String financeToken;
+    private String employeeToken;
+
+    @BeforeEach
+    @Override
+    void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        financeToken = loginAs("finance1@docflow.com", "Password@123");
+        employeeToken = loginAs("employee1@docflow.com", "Password@123");
+    }
+
+    @Test
+    @DisplayName("Should resolve the vendor from cache on a warm invoice create")
+    void testVendorCachedOnInvoiceInCreate() throws Exception {
+        createInvoice("/api/invoices/in", "vendorId");
+
+        statistics.clear();
+        createInvoice("/api/invoices/in", "vendorId");
+
+        assertServedFromCache(statistics.getDomainDataRegionStatistics("vendors"));
+    }
+
+    @Test
+    @DisplayName("Should resolve the client from cache on a warm invoice create")
+    void testClientCachedOnInvoiceOutCreate() throws Exception {
+        createInvoice("/api/invoices/out", "clientId");
+
+        statistics.clear();
+        createInvoice("/api/invoices/out", "clientId");
+
+        assertServedFromCache(statistics.getDomainDataRegionStatistics("clients"));
+    }
+
+    @Test
+    @DisplayName("Should resolve the default role by natural id from cache on a warm signup")
+    void testRoleCachedOnSignup() throws Exception {
+        signup();
+
+        statistics.clear();
+        signup();
+
+        assertServedFromCache(statistics.getDomainDataRegionStatistics("roles-by-name"));
+        assertServedFromCache(statistics.getDomainDataRegionStatistics("roles"));
+    }
+
+    @Test
+    @DisplayName("Should resolve the claimant's employee record from cache on a warm claim create")
+    void testEmployeeCachedOnClaimCreate() throws Exception {
+        createClaim();
+
+        statistics.clear();
+        createClaim();
+
+        assertServedFromCache(statistics.getQueryRegionStatistics("employee-by-user"));
+        assertServedFromCache(statistics.getDomainDataRegionStatistics("employees"));
+    }
+
+    @Test
+    @DisplayName("Should drop a cached vendor when it is updated")
+    void testVendorUpdateRefreshesCache() throws Exception {
+        createInvoice("/api/invoices/in", "vendorId");
+
+        entityManagerFactory.unwrap(SessionFactory.class).inTransaction(session ->
+                session.createMutationQuery("UPDATE Vendor v SET v.contactEmail = :email WHERE v.id = 1")
+                        .setParameter("email", "ap-" + UUID.randomUUID() + "@example.com")
+                        .executeUpdate());
+
+        statistics.clear();
+        createInvoice("/api/invoices/in", "vendorId");
+
+        // The bulk update evicted the region, so the next create reloads the vendor once
+        assertEquals(1, statistics.getDomainDataRegionStatistics("vendors").getMissCount());
+    }
+
+    private void assertServedFromCache(CacheRegionStatistics region) {
+        assertEquals(0, region.getMissCount(), region.getRegionName() + " was read from the database");
+        assertTrue(region.getHitCount() > 0, region.getRegionName() + " was not consulted");
+    }
+
+    private void createInvoice(String path, String counterpartyField) throws Exception {
+        String request = String.format("""
+                {
+                    "%s": 1,
+                    "invoiceNo": "INV-L2-%s",
+                    "invoiceDate": "2024-11-15",
+                    "dueDate": "2024-12-15",
+                    "currency": "USD",
+                    "subtotal": 100.00,
+                    "tax": 10.00,
+                    "total": 110.00
+                }
+                """, counterpartyField, UUID.randomUUID());
+
+        mockMvc.perform(post(path)
+                        .header("Authorization", "Bearer " + financeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    private void createClaim() throws Exception {
+        String request = """
+                {
+                    "claimDate": "2024-11-15",
+                    "currency": "USD",
+                    "items": [
+                        {"description": "Taxi", "date": "2024-11-14", "category": "TRAVEL", "amount": 25.00}
+                    ]
+                }
+                """;
+
+        mockMvc.perform(post("/api/claims")
+                        .header("Authorization", "Bearer " + employeeToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    private void signup() throws Exception {
+        String request = String.format("""
+                {
+                    "name": "Cache User",
+                    "email": "cache-%s@example.com",
+                    "password": "Test@123"
+                }
+                """, UUID.randomUUID());
+
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated());
+    }
+
+    private String loginAs(String email, String password) throws Exception {
+        String loginRequest = String.format("""
+                {
+                    "email": "%s",
+                    "password": "%s"
+                }
+                """, email, password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode response = objectMapper.readTree(result.getResponse().getContentAsString());
+        return response.get("token").asText();
+    }
+}
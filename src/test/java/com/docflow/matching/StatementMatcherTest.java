@@ -0,0 +1,99 @@
+package com.docflow.matching;
+
+import com.docflow.banking.StatementEntry;
+import com.docflow.domain.enums.StatementReviewReason;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementMatcherTest {
+
+    private StatementMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        matcher = new StatementMatcher();
+        matcher.add(1L, "Acme Corporation", "INV-2024-001", "EUR", new BigDecimal("1200.00"));
+        matcher.add(2L, "Acme Corporation", "INV-2024-002", "EUR", new BigDecimal("350.00"));
+        matcher.add(3L, "Globex", "INV-2024-003", "EUR", new BigDecimal("350.00"));
+        matcher.add(4L, "Initech", "INV-2024-004", "USD", new BigDecimal("99.90"));
+    }
+
+    @Test
+    void testInvoiceNumberInRemittance_Matched() {
+        StatementMatch match = matcher.match(credit("1200", "EUR", null, "Payment inv-2024/001, thanks"));
+
+        assertTrue(match.matched());
+        assertEquals(1L, match.invoiceId());
+        assertEquals(3, matcher.size());
+    }
+
+    @Test
+    void testInvoiceNumberWithOtherAmount_AmountMismatch() {
+        StatementMatch match = matcher.match(credit("1000.00", "EUR", null, "INV-2024-001"));
+
+        assertFalse(match.matched());
+        assertEquals(StatementReviewReason.AMOUNT_MISMATCH, match.reason());
+        assertEquals(1L, match.invoiceId());
+        assertEquals(4, matcher.size());
+    }
+
+    @Test
+    void testPayerAndAmount_Matched() {
+        StatementMatch match = matcher.match(credit("350.00", "EUR", "GLOBEX", null));
+
+        assertTrue(match.matched());
+        assertEquals(3L, match.invoiceId());
+    }
+
+    @Test
+    void testAmountOnly_Matched() {
+        StatementMatch match = matcher.match(credit("99.9", "USD", "Someone Else", "no reference"));
+
+        assertTrue(match.matched());
+        assertEquals(4L, match.invoiceId());
+    }
+
+    @Test
+    void testSameAmountTwice_Ambiguous() {
+        StatementMatch match = matcher.match(credit("350.00", "EUR", null, null));
+
+        assertEquals(StatementReviewReason.AMBIGUOUS, match.reason());
+        assertNull(match.invoiceId());
+    }
+
+    @Test
+    void testOtherCurrency_NoMatch() {
+        StatementMatch match = matcher.match(credit("1200.00", "GBP", "Acme Corporation", null));
+
+        assertEquals(StatementReviewReason.NO_MATCH, match.reason());
+    }
+
+    @Test
+    void testMatchedInvoice_MatchedOnce() {
+        assertTrue(matcher.match(credit("1200.00", "EUR", null, "INV-2024-001")).matched());
+
+        StatementMatch second = matcher.match(credit("1200.00", "EUR", null, "INV-2024-001"));
+
+        assertEquals(StatementReviewReason.NO_MATCH, second.reason());
+    }
+
+    @Test
+    void testMatchedInvoice_ResolvesAmbiguity() {
+        assertTrue(matcher.match(credit("350.00", "EUR", null, "INV-2024-002")).matched());
+
+        StatementMatch match = matcher.match(credit("350.00", "EUR", null, null));
+
+        assertTrue(match.matched());
+        assertEquals(3L, match.invoiceId());
+    }
+
+    private static StatementEntry credit(String amount, String currency, String debtorName, String remittance) {
+        return new StatementEntry("REF", new BigDecimal(amount), currency, true, true, LocalDate.of(2024, 12, 1),
+                debtorName, null, remittance, null);
+    }
+}
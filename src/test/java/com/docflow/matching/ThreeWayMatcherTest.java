@@ -0,0 +1,128 @@
+package com.docflow.matching;
+
+import com.docflow.domain.enums.MatchStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreeWayMatcherTest {
+
+    private static final long VENDOR = 1L;
+    private static final long PO = 10L;
+
+    private ThreeWayMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        matcher = new ThreeWayMatcher(new MatchTolerance(new BigDecimal("2"), new BigDecimal("1.00")));
+        // Ordered 1000, received 600, nothing invoiced yet
+        matcher.addPurchaseOrder(PO, VENDOR, "USD", amount("1000"), amount("600"), BigDecimal.ZERO);
+    }
+
+    @Test
+    void testWithinReceived_Matched() {
+        MatchOutcome outcome = matcher.match(VENDOR, PO, "USD", amount("600.00"));
+
+        assertEquals(MatchStatus.MATCHED, outcome.status());
+        assertEquals(amount("1000.00"), outcome.orderedAmount());
+        assertEquals(amount("600.00"), outcome.receivedAmount());
+        assertEquals(amount("0.00"), outcome.varianceAmount());
+    }
+
+    @Test
+    void testWithinTolerance_Matched() {
+        // 2% of 600 is 12.00
+        assertEquals(MatchStatus.MATCHED, matcher.match(VENDOR, PO, "USD", amount("612.00")).status());
+    }
+
+    @Test
+    void testSmallAmount_AbsoluteToleranceApplies() {
+        matcher.addPurchaseOrder(11L, VENDOR, "EUR", amount("10"), amount("10"), BigDecimal.ZERO);
+
+        // 2% of 10 is 0.20, the absolute tolerance is 1.00
+        assertEquals(MatchStatus.MATCHED, matcher.match(VENDOR, 11L, "EUR", amount("10.90")).status());
+    }
+
+    @Test
+    void testAboveReceived_QuantityVariance() {
+        MatchOutcome outcome = matcher.match(VENDOR, PO, "USD", amount("900.00"));
+
+        assertEquals(MatchStatus.QUANTITY_VARIANCE, outcome.status());
+        assertEquals(amount("300.00"), outcome.varianceAmount());
+    }
+
+    @Test
+    void testAboveOrdered_PriceVariance() {
+        assertEquals(MatchStatus.PRICE_VARIANCE, matcher.match(VENDOR, PO, "USD", amount("1100.00")).status());
+    }
+
+    @Test
+    void testOtherCurrency_PriceVariance() {
+        MatchOutcome outcome = matcher.match(VENDOR, PO, "EUR", amount("100.00"));
+
+        assertEquals(MatchStatus.PRICE_VARIANCE, outcome.status());
+        assertNull(outcome.varianceAmount());
+    }
+
+    @Test
+    void testNothingReceived_MissingGrn() {
+        matcher.addPurchaseOrder(11L, VENDOR, "USD", amount("500"), BigDecimal.ZERO, BigDecimal.ZERO);
+
+        assertEquals(MatchStatus.MISSING_GRN, matcher.match(VENDOR, 11L, "USD", amount("100.00")).status());
+    }
+
+    @Test
+    void testUnknownOrOtherVendorsOrder_NoPurchaseOrder() {
+        assertEquals(MatchStatus.NO_PURCHASE_ORDER, matcher.match(VENDOR, 99L, "USD", amount("100.00")).status());
+        assertEquals(MatchStatus.NO_PURCHASE_ORDER, matcher.match(2L, PO, "USD", amount("100.00")).status());
+    }
+
+    @Test
+    void testMatchedInvoices_ConsumeReceivedValue() {
+        assertEquals(MatchStatus.MATCHED, matcher.match(VENDOR, PO, "USD", amount("400.00")).status());
+
+        MatchOutcome second = matcher.match(VENDOR, PO, "USD", amount("400.00"));
+        assertEquals(MatchStatus.QUANTITY_VARIANCE, second.status());
+        assertEquals(amount("200.00"), second.receivedAmount());
+
+        // 800 invoiced against 600 received: nothing received is left to invoice
+        assertEquals(MatchStatus.MISSING_GRN, matcher.match(VENDOR, PO, "USD", amount("100.00")).status());
+    }
+
+    @Test
+    void testAlreadyInvoiced_ReducesOpenAmounts() {
+        matcher.addPurchaseOrder(11L, VENDOR, "USD", amount("500"), amount("500"), amount("500"));
+
+        assertEquals(MatchStatus.MISSING_GRN, matcher.match(VENDOR, 11L, "USD", amount("50.00")).status());
+    }
+
+    @Test
+    void testUnreferenced_PrefersMatchedThenClosest() {
+        matcher.addPurchaseOrder(11L, VENDOR, "USD", amount("300"), amount("300"), BigDecimal.ZERO);
+        matcher.addPurchaseOrder(12L, VENDOR, "USD", amount("5000"), amount("5000"), BigDecimal.ZERO);
+
+        // PO 10 and 12 both match 550; PO 10 has the smaller variance
+        MatchOutcome outcome = matcher.match(VENDOR, null, "USD", amount("550.00"));
+        assertEquals(MatchStatus.MATCHED, outcome.status());
+        assertEquals(PO, outcome.purchaseOrderId());
+
+        // PO 11 and 12 match 290, PO 11 more closely; PO 10 has only 50 received left
+        assertEquals(11L, matcher.match(VENDOR, null, "USD", amount("290.00")).purchaseOrderId());
+    }
+
+    @Test
+    void testUnreferenced_NoCandidate() {
+        MatchOutcome outcome = matcher.match(VENDOR, null, "USD", amount("2000.00"));
+
+        assertEquals(MatchStatus.NO_PURCHASE_ORDER, outcome.status());
+        assertNull(outcome.purchaseOrderId());
+        assertEquals(MatchStatus.NO_PURCHASE_ORDER, matcher.match(VENDOR, null, "GBP", amount("10.00")).status());
+    }
+
+    private static BigDecimal amount(String value) {
+        return new BigDecimal(value);
+    }
+}
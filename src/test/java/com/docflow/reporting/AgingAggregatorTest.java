@@ -0,0 +1,87 @@
+package com.docflow.reporting;
+
+import com.docflow.dto.dashboard.AgingReportEntry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AgingAggregatorTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2024, 12, 31);
+
+    @Test
+    void testBucketBoundaries() {
+        AgingAggregator aggregator = new AgingAggregator(AS_OF);
+        add(aggregator, 1, "USD", 0, "1.00");
+        add(aggregator, 1, "USD", -5, "2.00");
+        add(aggregator, 1, "USD", 1, "10.00");
+        add(aggregator, 1, "USD", 30, "20.00");
+        add(aggregator, 1, "USD", 31, "100.00");
+        add(aggregator, 1, "USD", 60, "200.00");
+        add(aggregator, 1, "USD", 61, "1000.00");
+        add(aggregator, 1, "USD", 90, "2000.00");
+        add(aggregator, 1, "USD", 91, "10000.00");
+        add(aggregator, 1, "USD", 400, "20000.00");
+
+        AgingReportEntry entry = aggregator.entries().get(0);
+        assertEquals(new BigDecimal("3.00"), entry.getCurrent());
+        assertEquals(new BigDecimal("30.00"), entry.getDays1To30());
+        assertEquals(new BigDecimal("300.00"), entry.getDays31To60());
+        assertEquals(new BigDecimal("3000.00"), entry.getDays61To90());
+        assertEquals(new BigDecimal("30000.00"), entry.getOver90());
+        assertEquals(new BigDecimal("33333.00"), entry.getTotal());
+        assertEquals(10, entry.getCount());
+    }
+
+    @Test
+    void testNoDueDate_Current() {
+        AgingAggregator aggregator = new AgingAggregator(AS_OF);
+        aggregator.add(1, "USD", null, new BigDecimal("50.5"));
+
+        assertEquals(new BigDecimal("50.50"), aggregator.entries().get(0).getCurrent());
+    }
+
+    @Test
+    void testEntriesPerCounterpartyAndCurrency_TotalsPerCurrency() {
+        AgingAggregator aggregator = new AgingAggregator(AS_OF);
+        add(aggregator, 2, "EUR", 10, "5.00");
+        add(aggregator, 1, "usd", 10, "7.00");
+        add(aggregator, 1, "USD", 45, "3.00");
+        add(aggregator, 2, "USD", 0, "1.25");
+
+        List<AgingReportEntry> entries = aggregator.entries();
+        assertEquals(3, entries.size());
+        assertEquals(1L, entries.get(0).getCounterpartyId());
+        assertEquals("USD", entries.get(0).getCurrency());
+        assertEquals(new BigDecimal("10.00"), entries.get(0).getTotal());
+        assertEquals("EUR", entries.get(1).getCurrency());
+        assertEquals(2L, entries.get(2).getCounterpartyId());
+
+        List<AgingReportEntry> totals = aggregator.totals();
+        assertEquals(2, totals.size());
+        assertEquals("EUR", totals.get(0).getCurrency());
+        assertNull(totals.get(1).getCounterpartyId());
+        assertEquals(new BigDecimal("8.25"), totals.get(1).getCurrent().add(totals.get(1).getDays1To30()));
+        assertEquals(new BigDecimal("11.25"), totals.get(1).getTotal());
+        assertEquals(3, totals.get(1).getCount());
+        assertEquals(4, aggregator.getInvoiceCount());
+    }
+
+    @Test
+    void testEmpty() {
+        AgingAggregator aggregator = new AgingAggregator(AS_OF);
+
+        assertTrue(aggregator.entries().isEmpty());
+        assertTrue(aggregator.totals().isEmpty());
+        assertEquals(0, aggregator.getInvoiceCount());
+    }
+
+    private static void add(AgingAggregator aggregator, long counterpartyId, String currency, int daysPastDue,
+                            String amount) {
+        aggregator.add(counterpartyId, currency, AS_OF.minusDays(daysPastDue), new BigDecimal(amount));
+    }
+}
@@ -0,0 +1,111 @@
+package com.docflow.reporting;
+
+import com.docflow.dto.filter.CurrencyTotal;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConvertedTotalsAggregatorTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 1, 10);
+
+    private final FxRateTable rates = FxRateTable.builder("EUR")
+            .add("USD", LocalDate.of(2024, 1, 2), new BigDecimal("1.10"))
+            .add("USD", LocalDate.of(2024, 1, 5), new BigDecimal("1.20"))
+            .build();
+
+    @Test
+    void testConvertsEachAmountAtItsDate() {
+        ConvertedTotalsAggregator aggregator = aggregator();
+
+        ConvertedTotalsAggregator.Result result = aggregator.convert(rates, "EUR");
+
+        ConvertedTotalsAggregator.GroupTotal first = result.groups().get(0);
+        assertEquals(3, first.count());
+        assertEquals(new BigDecimal("300.00"), first.convertedAmount());
+        assertEquals(List.of(total("EUR", "100.00", 1), total("USD", "230.00", 2)), first.totalsByCurrency());
+
+        ConvertedTotalsAggregator.GroupTotal second = result.groups().get(1);
+        assertEquals(2, second.count());
+        assertEquals(new BigDecimal("50.00"), second.convertedAmount());
+        assertEquals(List.of(total("USD", "70.00", 2)), second.totalsByCurrency());
+
+        assertEquals(List.of(total("USD", "10.00", 1)), result.unconverted());
+        assertEquals(5, aggregator.getCount());
+    }
+
+    @Test
+    void testConvertsIntoNonReferenceCurrency() {
+        ConvertedTotalsAggregator.Result result = aggregator().convert(rates, "USD");
+
+        // 100 EUR on Jan 3 at 1.10, plus 230 USD as they are
+        assertEquals(new BigDecimal("340.00"), result.groups().get(0).convertedAmount());
+        // The Jan 1 amount is in the base currency, so needs no rate
+        assertEquals(new BigDecimal("70.00"), result.groups().get(1).convertedAmount());
+        // EUR is always convertible; Jan 1 precedes the first USD rate
+        assertTrue(result.unconverted().isEmpty());
+    }
+
+    @Test
+    void testRoundsOncePerGroup() {
+        FxRateTable yen = FxRateTable.builder("EUR")
+                .add("JPY", LocalDate.of(2024, 1, 2), new BigDecimal("160"))
+                .build();
+        ConvertedTotalsAggregator aggregator = new ConvertedTotalsAggregator(FROM, TO, 1);
+        for (int day = 3; day <= 5; day++) {
+            // 1 JPY is 0.00625 EUR: rounding each would give 0.03
+            aggregator.add(0, "JPY", LocalDate.of(2024, 1, day).toEpochDay(), 100);
+        }
+
+        assertEquals(new BigDecimal("0.02"), aggregator.convert(yen, "EUR").groups().get(0).convertedAmount());
+    }
+
+    @Test
+    void testEmptyGroupsAndEmptyTable() {
+        ConvertedTotalsAggregator aggregator = new ConvertedTotalsAggregator(FROM, TO, 3);
+        aggregator.add(2, "EUR", TO.toEpochDay(), 500);
+
+        ConvertedTotalsAggregator.Result result = aggregator.convert(FxRateTable.empty("EUR"), "EUR");
+
+        assertEquals(0, result.groups().get(0).count());
+        assertEquals(new BigDecimal("0.00"), result.groups().get(0).convertedAmount());
+        assertTrue(result.groups().get(0).totalsByCurrency().isEmpty());
+        assertEquals(new BigDecimal("5.00"), result.groups().get(2).convertedAmount());
+    }
+
+    @Test
+    void testRejectsDatesOutsideThePeriod() {
+        ConvertedTotalsAggregator aggregator = new ConvertedTotalsAggregator(FROM, TO, 1);
+
+        long after = TO.plusDays(1).toEpochDay();
+        long before = FROM.minusDays(1).toEpochDay();
+
+        assertThrows(IllegalArgumentException.class, () -> aggregator.add(0, "EUR", after, 1));
+        assertThrows(IllegalArgumentException.class, () -> aggregator.add(0, "EUR", before, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ConvertedTotalsAggregator(TO, FROM, 1));
+    }
+
+    private ConvertedTotalsAggregator aggregator() {
+        ConvertedTotalsAggregator aggregator = new ConvertedTotalsAggregator(FROM, TO, 2);
+        add(aggregator, 0, "EUR", 3, 10_000);
+        add(aggregator, 0, "USD", 3, 11_000);
+        add(aggregator, 0, "USD", 6, 12_000);
+        add(aggregator, 1, "usd", 5, 6_000);
+        add(aggregator, 1, "USD", 1, 1_000);
+        return aggregator;
+    }
+
+    private static void add(ConvertedTotalsAggregator aggregator, int group, String currency, int dayOfMonth,
+                            long cents) {
+        aggregator.add(group, currency, LocalDate.of(2024, 1, dayOfMonth).toEpochDay(), cents);
+    }
+
+    private static CurrencyTotal total(String currency, String amount, long count) {
+        return CurrencyTotal.builder().currency(currency).totalAmount(new BigDecimal(amount)).count(count).build();
+    }
+}
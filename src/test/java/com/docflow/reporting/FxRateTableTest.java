@@ -0,0 +1,89 @@
+package com.docflow.reporting;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxRateTableTest {
+
+    private static final LocalDate JAN_2 = LocalDate.of(2024, 1, 2);
+    private static final LocalDate JAN_5 = LocalDate.of(2024, 1, 5);
+
+    private final FxRateTable table = FxRateTable.builder("EUR")
+            .add("USD", JAN_2, new BigDecimal("1.10"))
+            .add("USD", JAN_5, new BigDecimal("1.20"))
+            .add("GBP", JAN_2, new BigDecimal("0.85"))
+            .build();
+
+    @Test
+    void testQuote_LatestOnOrBefore() {
+        assertEquals(new FxRateTable.Quote(JAN_2, new BigDecimal("1.10")), table.quote("USD", JAN_2));
+        assertEquals(new FxRateTable.Quote(JAN_2, new BigDecimal("1.10")), table.quote("USD", JAN_5.minusDays(1)));
+        assertEquals(new FxRateTable.Quote(JAN_5, new BigDecimal("1.20")), table.quote("USD", JAN_5));
+        assertEquals(new FxRateTable.Quote(JAN_5, new BigDecimal("1.20")), table.quote("usd", JAN_5.plusYears(1)));
+    }
+
+    @Test
+    void testQuote_NoneBeforeFirstRateOrUnknown() {
+        assertNull(table.quote("USD", JAN_2.minusDays(1)));
+        assertNull(table.quote("JPY", JAN_5));
+    }
+
+    @Test
+    void testReferenceCurrency_OneOnEveryDate() {
+        LocalDate longAgo = LocalDate.of(1990, 1, 1);
+        assertEquals(new FxRateTable.Quote(longAgo, BigDecimal.ONE), table.quote("EUR", longAgo));
+        assertTrue(table.contains("eur"));
+        assertEquals(new BigDecimal("12.34"), table.convert(new BigDecimal("12.34"), "EUR", "EUR", longAgo));
+    }
+
+    @Test
+    void testConvert_ThroughReferenceCurrency() {
+        LocalDate date = LocalDate.of(2024, 1, 3);
+        assertEquals(new BigDecimal("110.00"), table.convert(new BigDecimal("100"), "EUR", "USD", date));
+        assertEquals(new BigDecimal("100.00"), table.convert(new BigDecimal("110"), "USD", "EUR", date));
+        assertEquals(new BigDecimal("85.00"), table.convert(new BigDecimal("110"), "USD", "GBP", date));
+        assertEquals(new BigDecimal("33.33"), table.convert(new BigDecimal("40"), "USD", "EUR", JAN_5));
+        assertNull(table.convert(BigDecimal.TEN, "USD", "EUR", JAN_2.minusDays(1)));
+        assertNull(table.convert(BigDecimal.TEN, "USD", "JPY", date));
+    }
+
+    @Test
+    void testCounts() {
+        assertEquals("EUR", table.getReferenceCurrency());
+        assertEquals(2, table.getCurrencyCount());
+        assertEquals(3, table.getRateCount());
+        assertEquals(0, FxRateTable.empty("EUR").getRateCount());
+    }
+
+    @Test
+    void testBuilder_RejectsInvalidRates() {
+        FxRateTable.Builder builder = FxRateTable.builder("EUR").add("USD", JAN_5, BigDecimal.ONE);
+
+        assertThrows(IllegalArgumentException.class, () -> builder.add("USD", JAN_2, BigDecimal.ONE));
+        assertThrows(IllegalArgumentException.class, () -> builder.add("USD", JAN_5, BigDecimal.ONE));
+        assertThrows(IllegalArgumentException.class, () -> builder.add("EUR", JAN_5, BigDecimal.ONE));
+        assertThrows(IllegalArgumentException.class, () -> builder.add("GBP", JAN_5, BigDecimal.ZERO));
+    }
+
+    @Test
+    void testManyRates_GrowsAndFindsEveryDay() {
+        FxRateTable.Builder builder = FxRateTable.builder("EUR");
+        LocalDate first = LocalDate.of(2020, 1, 1);
+        // Every other day, so odd days fall back to the day before
+        for (int i = 0; i < 2000; i += 2) {
+            builder.add("USD", first.plusDays(i), BigDecimal.valueOf(i + 1));
+        }
+        FxRateTable large = builder.build();
+
+        assertEquals(1000, large.getRateCount());
+        for (int i = 0; i < 2000; i++) {
+            FxRateTable.Quote quote = large.quote("USD", first.plusDays(i));
+            assertEquals(first.plusDays(i - i % 2), quote.date());
+            assertEquals(BigDecimal.valueOf(i - i % 2 + 1), quote.rate());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.docflow.scanning;
+
+import com.docflow.domain.enums.ScanStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignatureContentScannerTest {
+
+    private static final String EICAR =
+            "X5O!P%@AP[4\\PZX54(P^)7CC)7}$EICAR-STANDARD-ANTIVIRUS-TEST-FILE!$H+H*";
+
+    private final SignatureContentScanner scanner = new SignatureContentScanner();
+
+    @Test
+    void testPdfContent_Clean() throws IOException {
+        ScanResult result = scan("%PDF-1.7 regular invoice".getBytes(StandardCharsets.US_ASCII));
+
+        assertEquals(ScanStatus.CLEAN, result.status());
+        assertNull(result.detail());
+    }
+
+    @Test
+    void testWindowsExecutable_Infected() throws IOException {
+        ScanResult result = scan(new byte[]{'M', 'Z', 0x00, 0x01});
+
+        assertEquals(ScanStatus.INFECTED, result.status());
+        assertEquals("Windows PE executable", result.detail());
+    }
+
+    @Test
+    void testEicarSignature_Infected() throws IOException {
+        ScanResult result = scan(("%PDF-1.7 " + EICAR).getBytes(StandardCharsets.US_ASCII));
+
+        assertEquals(ScanStatus.INFECTED, result.status());
+        assertEquals("EICAR-Test-File", result.detail());
+    }
+
+    @Test
+    void testEicarSignatureAcrossChunkBoundary_Infected() throws IOException {
+        byte[] signature = EICAR.getBytes(StandardCharsets.US_ASCII);
+        byte[] content = new byte[64 * 1024 + signature.length];
+        Arrays.fill(content, (byte) 'a');
+        // Straddle the first 64KB chunk
+        System.arraycopy(signature, 0, content, 64 * 1024 - 10, signature.length);
+
+        ScanResult result = scan(content);
+
+        assertEquals(ScanStatus.INFECTED, result.status());
+    }
+
+    private ScanResult scan(byte[] content) throws IOException {
+        return scanner.scan(new ByteArrayInputStream(content), "file.pdf", "application/pdf");
+    }
+}
@@ -0,0 +1,23 @@
+package com.docflow.scanning;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+
+/**
+ * Stand-in scanner for tests. Flags files whose name contains "infected",
+ * everything else is clean. Does not read the content.
+ */
+@Component
+@ConditionalOnProperty(name = "file.scan.scanner", havingValue = "stub")
+public class StubContentScanner implements ContentScanner {
+
+    @Override
+    public ScanResult scan(InputStream content, String filename, String contentType) {
+        if (filename != null && filename.toLowerCase().contains("infected")) {
+            return ScanResult.infected("Stub-Test-Signature");
+        }
+        return ScanResult.clean();
+    }
+}
@@ -0,0 +1,81 @@
+package com.docflow.security;
+
+import com.docflow.domain.entity.Document;
+import com.docflow.domain.entity.DocumentFile;
+import com.docflow.exception.UnauthorizedActionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignedUrlServiceTest {
+
+    private SignedUrlService signedUrlService;
+    private DocumentFile file;
+
+    @BeforeEach
+    void setUp() {
+        signedUrlService = new SignedUrlService();
+        ReflectionTestUtils.setField(signedUrlService, "secret", "test-secret-key-for-signed-urls");
+        ReflectionTestUtils.setField(signedUrlService, "ttlSeconds", 300L);
+
+        file = DocumentFile.builder()
+                .id(7L)
+                .document(Document.builder().id(3L).build())
+                .storagePath("INVOICE_IN/3/abc_invoice|v2.pdf")
+                .contentType("application/pdf")
+                .originalFilename("invoice|v2.pdf")
+                .build();
+    }
+
+    @Test
+    void testSignAndVerify_RoundTripsMetadata() {
+        SignedFileToken signed = signedUrlService.sign(file);
+
+        SignedFileToken verified = signedUrlService.verify(signed.token());
+
+        assertEquals(7L, verified.fileId());
+        assertEquals(3L, verified.documentId());
+        assertEquals("INVOICE_IN/3/abc_invoice|v2.pdf", verified.storagePath());
+        assertEquals("application/pdf", verified.contentType());
+        assertEquals("invoice|v2.pdf", verified.originalFilename());
+        assertEquals(signed.expiresAt(), verified.expiresAt());
+        assertTrue(verified.expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void testVerify_TamperedPayloadRejected() {
+        String token = signedUrlService.sign(file).token();
+        String tampered = "A" + token.substring(1);
+
+        assertThrows(UnauthorizedActionException.class, () -> signedUrlService.verify(tampered));
+    }
+
+    @Test
+    void testVerify_DifferentSecretRejected() {
+        String token = signedUrlService.sign(file).token();
+        ReflectionTestUtils.setField(signedUrlService, "secret", "another-secret");
+
+        assertThrows(UnauthorizedActionException.class, () -> signedUrlService.verify(token));
+    }
+
+    @Test
+    void testVerify_ExpiredTokenRejected() {
+        ReflectionTestUtils.setField(signedUrlService, "ttlSeconds", -1L);
+        String token = signedUrlService.sign(file).token();
+
+        UnauthorizedActionException ex = assertThrows(UnauthorizedActionException.class,
+                () -> signedUrlService.verify(token));
+        assertEquals("Download link has expired", ex.getMessage());
+    }
+
+    @Test
+    void testVerify_MalformedTokenRejected() {
+        assertThrows(UnauthorizedActionException.class, () -> signedUrlService.verify("not-a-token"));
+        assertThrows(UnauthorizedActionException.class, () -> signedUrlService.verify("abc."));
+        assertThrows(UnauthorizedActionException.class, () -> signedUrlService.verify("!!!.???"));
+    }
+}
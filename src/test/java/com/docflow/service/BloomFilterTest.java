@@ -0,0 +1,76 @@
+package com.docflow.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    private static final int KEYS = 20_000;
+
+    @Test
+    void testPutKeys_AlwaysFound() {
+        BloomFilter filter = new BloomFilter(KEYS, 0.01);
+        for (int i = 0; i < KEYS; i++) {
+            filter.put("N|1|INV" + i);
+        }
+
+        for (int i = 0; i < KEYS; i++) {
+            assertTrue(filter.mightContain("N|1|INV" + i), "Missed key " + i);
+        }
+    }
+
+    @Test
+    void testAbsentKeys_FalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(KEYS, 0.01);
+        for (int i = 0; i < KEYS; i++) {
+            filter.put("N|1|INV" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < KEYS; i++) {
+            if (filter.mightContain("N|2|INV" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < KEYS * 0.02, "False positive rate " + (double) falsePositives / KEYS);
+    }
+
+    @Test
+    void testEmptyFilter_ContainsNothing() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        assertFalse(filter.mightContain(""));
+        assertFalse(filter.mightContain("A|1|2024-11-15|USD|110"));
+    }
+
+    @Test
+    void testConcurrentPuts_NoneLost() throws InterruptedException {
+        BloomFilter filter = new BloomFilter(KEYS, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                for (int i = thread; i < KEYS; i += 4) {
+                    filter.put("key-" + i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        for (int i = 0; i < KEYS; i++) {
+            assertTrue(filter.mightContain("key-" + i), "Missed key " + i);
+        }
+    }
+
+    @Test
+    void testInvalidSize_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.0));
+    }
+}
@@ -0,0 +1,97 @@
+package com.docflow.service;
+
+import com.docflow.exception.ResourceNotFoundException;
+import com.docflow.repository.DocumentRepository;
+import com.docflow.repository.ExpenseClaimRepository;
+import com.docflow.repository.InvoiceInRepository;
+import com.docflow.repository.InvoiceOutRepository;
+import com.docflow.repository.ReimbursementRepository;
+import com.docflow.repository.projection.DocumentHeader;
+import com.docflow.repository.projection.DocumentHeaderRow;
+import com.docflow.specification.DocumentVisibility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DocumentHeaderServiceTest {
+
+    private DocumentRepository documentRepository;
+    private InvoiceInRepository invoiceInRepository;
+    private DocumentHeaderService documentHeaderService;
+
+    @BeforeEach
+    void setUp() {
+        documentRepository = mock(DocumentRepository.class);
+        invoiceInRepository = mock(InvoiceInRepository.class);
+        documentHeaderService = new DocumentHeaderService(documentRepository, invoiceInRepository,
+                mock(InvoiceOutRepository.class), mock(ExpenseClaimRepository.class),
+                mock(ReimbursementRepository.class), 60, 100);
+    }
+
+    @Test
+    void testGetHeader_LoadsOnceFromDocumentsTable() {
+        DocumentHeaderRow pending = row(5L, "PENDING");
+        when(documentRepository.findHeaderById(5L)).thenReturn(Optional.of(pending));
+
+        DocumentHeader first = documentHeaderService.getHeader(5L);
+        DocumentHeader second = documentHeaderService.getHeader(5L);
+
+        assertSame(first, second);
+        assertEquals(42L, first.ownerUserId());
+        verify(documentRepository, times(1)).findHeaderById(5L);
+        verify(documentRepository, never()).findById(any());
+    }
+
+    @Test
+    void testGetHeader_MissingDocumentIsNotCached() {
+        DocumentHeaderRow created = row(9L, "DRAFT");
+        when(documentRepository.findHeaderById(9L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(created));
+
+        assertThrows(ResourceNotFoundException.class, () -> documentHeaderService.getHeader(9L));
+        assertEquals(9L, documentHeaderService.getHeader(9L).id());
+    }
+
+    @Test
+    void testEvict_ReloadsChangedHeader() {
+        DocumentHeaderRow draft = row(5L, "DRAFT");
+        DocumentHeaderRow pending = row(5L, "PENDING");
+        when(documentRepository.findHeaderById(5L))
+                .thenReturn(Optional.of(draft))
+                .thenReturn(Optional.of(pending));
+
+        assertEquals("DRAFT", documentHeaderService.getHeader(5L).status().name());
+        documentHeaderService.evict(5L);
+
+        assertEquals("PENDING", documentHeaderService.getHeader(5L).status().name());
+    }
+
+    @Test
+    void testRequireReadable_HiddenDocumentIsNotFound() {
+        DocumentHeaderRow draft = row(5L, "DRAFT");
+        when(documentRepository.findHeaderById(5L)).thenReturn(Optional.of(draft));
+        when(invoiceInRepository.findVisibleVersion(5L, 42L)).thenReturn(Optional.of(0));
+        when(invoiceInRepository.findVisibleVersion(5L, 7L)).thenReturn(Optional.empty());
+
+        documentHeaderService.requireReadable(5L, DocumentVisibility.unrestricted());
+        documentHeaderService.requireReadable(5L, DocumentVisibility.restrictedTo(42L));
+        assertThrows(ResourceNotFoundException.class,
+                () -> documentHeaderService.requireReadable(5L, DocumentVisibility.restrictedTo(7L)));
+        verify(invoiceInRepository, never()).findVisibleVersion(5L, null);
+    }
+
+    private DocumentHeaderRow row(Long id, String status) {
+        DocumentHeaderRow row = mock(DocumentHeaderRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getDocType()).thenReturn("INVOICE_IN");
+        when(row.getStatus()).thenReturn(status);
+        when(row.getOwnerUserId()).thenReturn(42L);
+        when(row.getVersion()).thenReturn(0);
+        return row;
+    }
+}
@@ -0,0 +1,125 @@
+package com.docflow.service;
+
+import com.docflow.domain.enums.DocumentType;
+import com.docflow.dto.invoice.InvoiceInResponse;
+import com.docflow.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentResponseCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DocumentResponseCache documentResponseCache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicInteger probes = new AtomicInteger();
+    private int loadedVersion;
+    private Optional<Integer> currentVersion = Optional.empty();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        documentResponseCache = new DocumentResponseCache(
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry, 1024 * 1024);
+    }
+
+    @Test
+    void testGet_ServesCachedResponseWhileVersionMatches() {
+        loadedVersion = 3;
+        currentVersion = Optional.of(3);
+
+        InvoiceInResponse first = get(7L);
+        InvoiceInResponse second = get(7L);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, requests("hit"));
+        assertEquals(1, requests("miss"));
+        assertTrue(meterRegistry.get("docflow.document.response.cache.weight").gauge().value() > 0);
+    }
+
+    @Test
+    void testGet_ReloadsWhenAnotherNodeBumpedTheVersion() {
+        loadedVersion = 3;
+        get(7L);
+
+        // Written elsewhere: the local cache was never evicted
+        loadedVersion = 4;
+        currentVersion = Optional.of(4);
+
+        assertEquals(4, get(7L).getVersion());
+        assertEquals(2, loads.get());
+        assertEquals(1, requests("stale"));
+    }
+
+    @Test
+    void testGet_DoesNotServeCachedResponseToViewerWhoCannotReadIt() {
+        loadedVersion = 3;
+        get(7L);
+
+        // The probe runs with the caller's visibility and finds nothing
+        currentVersion = Optional.empty();
+        Supplier<InvoiceInResponse> denied = () -> {
+            throw new ResourceNotFoundException("Invoice", 7L);
+        };
+
+        assertThrows(ResourceNotFoundException.class, () ->
+                documentResponseCache.get(DocumentType.INVOICE_IN, 7L, () -> currentVersion, denied));
+        assertEquals(0, requests("hit"));
+    }
+
+    @Test
+    void testEvict_ReloadsWithoutVersionCheck() {
+        loadedVersion = 3;
+        get(7L);
+
+        documentResponseCache.evict(DocumentType.INVOICE_IN, 7L);
+        get(7L);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, probes.get());
+    }
+
+    @Test
+    void testGet_KeysByDocumentType() {
+        loadedVersion = 3;
+        get(7L);
+
+        documentResponseCache.get(DocumentType.INVOICE_OUT, 7L, this::probe, loader(7L));
+
+        assertEquals(2, loads.get());
+    }
+
+    private InvoiceInResponse get(Long id) {
+        return documentResponseCache.get(DocumentType.INVOICE_IN, id, this::probe, loader(id));
+    }
+
+    private Optional<Integer> probe() {
+        probes.incrementAndGet();
+        return currentVersion;
+    }
+
+    private Supplier<InvoiceInResponse> loader(Long id) {
+        return () -> {
+            loads.incrementAndGet();
+            return InvoiceInResponse.builder()
+                    .id(id)
+                    .invoiceNo("INV-" + id)
+                    .version(loadedVersion)
+                    .build();
+        };
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("docflow.document.response.cache.requests").tag("result", result).counter().count();
+    }
+}
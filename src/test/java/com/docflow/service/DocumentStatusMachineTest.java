@@ -24,6 +24,18 @@ class DocumentStatusMachineTest {
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private DocumentSummaryService documentSummaryService;
+
+    @Mock
+    private DocumentIndexService documentIndexService;
+
+    @Mock
+    private DocumentHeaderService documentHeaderService;
+
+    @Mock
+    private DocumentResponseCache documentResponseCache;
+
     @InjectMocks
     private DocumentStatusMachine statusMachine;
 
@@ -62,6 +74,10 @@ class DocumentStatusMachineTest {
                 eq("PENDING"),
                 eq("Test submission")
         );
+        verify(documentSummaryService).recordTransition(testDocument, DocumentStatus.DRAFT, DocumentStatus.PENDING);
+        verify(documentIndexService).recordTransition(testDocument);
+        verify(documentHeaderService).evict(testDocument.getId());
+        verify(documentResponseCache).evict(DocumentType.INVOICE_IN, testDocument.getId());
     }
 
     @Test
@@ -130,6 +146,7 @@ class DocumentStatusMachineTest {
         assertThrows(InvalidStatusTransitionException.class,
                 () -> statusMachine.approve(testDocument, testUser, "Invalid"));
         verify(auditLogService, never()).logTransition(any(), any(), any(), any(), any(), any());
+        verifyNoInteractions(documentSummaryService, documentIndexService, documentResponseCache);
     }
 
     @Test
@@ -0,0 +1,86 @@
+package com.docflow.specification;
+
+import com.docflow.domain.enums.DocumentStatus;
+import com.docflow.dto.filter.ExpenseClaimFilterCriteria;
+import com.docflow.dto.filter.InvoiceFilterCriteria;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilterQueryTemplateTest {
+
+    private final FilterQueryTemplate<InvoiceFilterCriteria> template = InvoiceInSpecification.TEMPLATE;
+
+    @Test
+    void testMaskOf_OneBitPerPresentCriterion() {
+        assertEquals(0, template.maskOf(new InvoiceFilterCriteria()));
+        assertEquals(0b1, template.maskOf(InvoiceFilterCriteria.builder().status(DocumentStatus.PENDING).build()));
+        assertEquals(0b1000_0010, template.maskOf(InvoiceFilterCriteria.builder()
+                .vendorId(4L)
+                .invoiceNo("INV")
+                .build()));
+        // clientId is not part of the incoming invoice filter
+        assertEquals(0, template.maskOf(InvoiceFilterCriteria.builder().clientId(9L).build()));
+    }
+
+    @Test
+    void testShape_NoCriteriaHasNoWhereClause() {
+        FilterQueryTemplate.Shape shape = template.shape(0);
+
+        assertEquals("SELECT i FROM InvoiceIn i LEFT JOIN FETCH i.vendor i_f1 LEFT JOIN FETCH i.ownerUser i_f2",
+                shape.selectJpql());
+        assertEquals("SELECT COUNT(i) FROM InvoiceIn i", shape.countJpql());
+        assertEquals("SELECT i.currency, SUM(i.total), COUNT(i) FROM InvoiceIn i GROUP BY i.currency ORDER BY i.currency",
+                shape.totalsJpql());
+    }
+
+    @Test
+    void testShape_RenderedOncePerMask() {
+        InvoiceFilterCriteria first = InvoiceFilterCriteria.builder().status(DocumentStatus.DRAFT).currency("USD").build();
+        InvoiceFilterCriteria second = InvoiceFilterCriteria.builder().status(DocumentStatus.PAID).currency("EUR").build();
+
+        assertSame(template.bind(first).shape(), template.bind(second).shape());
+        assertNotSame(template.bind(first).shape(), template.bind(new InvoiceFilterCriteria()).shape());
+    }
+
+    @Test
+    void testBind_PredicatesAndValuesMatchSpecification() {
+        InvoiceFilterCriteria criteria = InvoiceFilterCriteria.builder()
+                .vendorId(4L)
+                .dateFrom(LocalDate.of(2024, 1, 1))
+                .amountMax(new BigDecimal("500.00"))
+                .invoiceNo("Inv-2024")
+                .build();
+
+        FilterQueryTemplate.BoundQuery bound = template.bind(criteria);
+
+        assertEquals(" WHERE i.vendor.id = :p1 AND i.invoiceDate >= :p2 AND i.total <= :p5 AND LOWER(i.invoiceNo) LIKE :p7",
+                bound.shape().countJpql().substring("SELECT COUNT(i) FROM InvoiceIn i".length()));
+        assertEquals(Map.of(
+                "p1", 4L,
+                "p2", LocalDate.of(2024, 1, 1),
+                "p5", new BigDecimal("500.00"),
+                "p7", "%inv-2024%"), bound.parameters());
+    }
+
+    @Test
+    void testFetch_NestedPathsReuseParentAlias() {
+        FilterQueryTemplate.Shape shape = ExpenseClaimSpecification.TEMPLATE.shape(
+                ExpenseClaimSpecification.TEMPLATE.maskOf(ExpenseClaimFilterCriteria.builder().employeeId(2L).build()));
+
+        assertEquals("SELECT e FROM ExpenseClaim e LEFT JOIN FETCH e.employee e_f1 LEFT JOIN FETCH e_f1.user e_f2 "
+                + "LEFT JOIN FETCH e.ownerUser e_f3 WHERE e.employee.id = :p1", shape.selectJpql());
+    }
+
+    @Test
+    void testBuild_FetchParentMustComeFirst() {
+        FilterQueryTemplate.Builder<ExpenseClaimFilterCriteria> builder =
+                FilterQueryTemplate.<ExpenseClaimFilterCriteria>builder(Object.class, "x").fetch("employee.user");
+
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+}
@@ -0,0 +1,54 @@
+package com.docflow.specification;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortWhitelistTest {
+
+    @Test
+    void testToSort_AppendsIdTieBreakerInSameDirection() {
+        assertEquals(Sort.by(Sort.Direction.DESC, "invoiceDate", "id"),
+                InvoiceInSpecification.SORT.toSort("invoiceDate", "DESC"));
+        assertEquals(Sort.by(Sort.Direction.ASC, "claimDate", "id"),
+                ExpenseClaimSpecification.SORT.toSort("claimDate", "asc"));
+    }
+
+    @Test
+    void testToSort_UnknownDirectionSortsDescending() {
+        assertEquals(Sort.by(Sort.Direction.DESC, "createdAt", "id"),
+                ReimbursementSpecification.SORT.toSort("createdAt", "sideways"));
+    }
+
+    @Test
+    void testToSort_RejectsFieldsWithoutIndex() {
+        assertThrows(IllegalArgumentException.class, () -> InvoiceInSpecification.SORT.toSort("subtotal", "DESC"));
+        assertThrows(IllegalArgumentException.class, () -> ExpenseClaimSpecification.SORT.toSort("total", "DESC"));
+        assertThrows(IllegalArgumentException.class, () -> InvoiceOutSpecification.SORT.toSort("vendor.name", "ASC"));
+    }
+
+    @Test
+    void testToSort_DefaultDependsOnFilter() {
+        assertEquals(Sort.by(Sort.Direction.DESC, "createdAt", "id"),
+                InvoiceInSpecification.SORT.toSort(null, "DESC"));
+        assertEquals(Sort.by(Sort.Direction.DESC, "invoiceDate", "id"),
+                InvoiceInSpecification.SORT.toSort(null, "DESC", "vendorId", null));
+        assertEquals(Sort.by(Sort.Direction.DESC, "createdAt", "id"),
+                InvoiceInSpecification.SORT.toSort(null, "DESC", null, "status"));
+        assertEquals(Sort.by(Sort.Direction.DESC, "requestedDate", "id"),
+                ReimbursementSpecification.SORT.toSort(null, "DESC", "employeeId", "status"));
+    }
+
+    @Test
+    void testToSort_RejectsSortsTheFilterIndexDoesNotServe() {
+        assertThrows(IllegalArgumentException.class,
+                () -> InvoiceInSpecification.SORT.toSort("createdAt", "DESC", "vendorId", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> InvoiceInSpecification.SORT.toSort("total", "DESC", null, "status"));
+        assertThrows(IllegalArgumentException.class,
+                () -> InvoiceOutSpecification.SORT.toSort("invoiceNo", "ASC", "clientId", null));
+        assertEquals(Sort.by(Sort.Direction.ASC, "invoiceNo", "id"),
+                InvoiceInSpecification.SORT.toSort("invoiceNo", "ASC", "vendorId", null));
+    }
+}